@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.benchmarks
+
+import com.phasmidsoftware.gryphon.adjunct.{DirectedGraph, UndirectedGraph}
+import com.phasmidsoftware.gryphon.core.{Vertex, VertexMap, VertexMapBuilder}
+import com.phasmidsoftware.gryphon.traverse.{ConnectedComponents, ConnectedResult, Kosaraju, SCCResult, TopologicalSort}
+import com.phasmidsoftware.visitor.core.{Evaluable, JournaledVisitor, QueueJournal, Visitor}
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+import scala.util.Random
+
+/**
+ * Measures the algorithms which seed a traversal from each component in turn
+ * (`dfsAll`, `TopologicalSort`, `Kosaraju` and `ConnectedComponents`) on a graph of isolated vertices,
+ * i.e. with as many components as vertices.
+ * Since the visited vertices are shared across components in a `VisitedBitSet`, each should be linear in `vertices`.
+ *
+ * Run with `sbt "benchmarks/Jmh/run -i 5 -wi 3 -f 1 .*ComponentsBenchmark.*"`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.SingleShotTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+class ComponentsBenchmark:
+
+  @Param(Array("10000", "100000", "1000000"))
+  var vertices: Int = 0
+
+  private var singletons: VertexMap[Int] = null
+
+  @Setup(Level.Trial)
+  def setUp(): Unit =
+    val builder = VertexMapBuilder[Int]
+    Range(0, vertices).foreach(v => builder.ensure(Vertex.createWithSet)(v): Unit)
+    singletons = builder.result()
+
+  @Benchmark
+  def dfsAll(): Visitor[Int, Int, QueueJournal[(Int, Option[Int])]] =
+    given Evaluable[Int, Int] with
+      def evaluate(v: Int): Option[Int] = Some(v)
+    given Random = Random(0)
+    DirectedGraph[Int, Unit](singletons).dfsAll(JournaledVisitor.withQueueJournal[Int, Int])
+
+  @Benchmark
+  def topologicalSort(): Option[Seq[Int]] =
+    TopologicalSort.sort(DirectedGraph[Int, Unit](singletons))
+
+  @Benchmark
+  def kosaraju(): SCCResult[Int] =
+    given Random = Random(0)
+    Kosaraju.stronglyConnectedComponents[Int, Unit](DirectedGraph[Int, Unit](singletons))
+
+  @Benchmark
+  def connectedComponents(): ConnectedResult[Int, Unit] =
+    given Random = Random(0)
+    ConnectedComponents.components[Int, Unit](UndirectedGraph[Int, Unit](singletons))
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.benchmarks
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.traverse.{DeltaStepping, DijkstraTraversal, TraversalResult}
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.util.concurrent.{ForkJoinPool, TimeUnit}
+import org.openjdk.jmh.annotations.*
+import scala.util.Random
+
+/**
+ * Measures the scalability of delta-stepping (`DeltaStepping.search`) with the number of threads,
+ * against (sequential) Dijkstra's algorithm on the generic path (`DijkstraTraversal`), on the same random graph
+ * (see `Graphs.randomDirected`, whose weights are in `[0, 1)`).
+ * With a mean out-degree of 8, a delta of 1/8 is about the mean weight divided by the mean out-degree.
+ *
+ * Run with `sbt "benchmarks/Jmh/run -i 5 -wi 3 -f 1 .*DeltaSteppingBenchmark.*"`;
+ * the `threads` parameter is the parallelism of the pool (not JMH's own `-t`, which should be left at 1).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+class DeltaSteppingBenchmark:
+
+  @Param(Array("100000"))
+  var vertices: Int = 0
+
+  @Param(Array("8"))
+  var degree: Int = 0
+
+  @Param(Array("1", "2", "4", "8", "16", "32", "64"))
+  var threads: Int = 0
+
+  @Param(Array("0.125"))
+  var delta: Double = 0
+
+  private var graph: DirectedGraph[Int, Double] = null
+  private var pool: ForkJoinPool = null
+
+  @Setup(Level.Trial)
+  def setUp(): Unit =
+    graph = Graphs.randomDirected(vertices, degree, Random(0))
+    pool = new ForkJoinPool(threads)
+
+  @TearDown(Level.Trial)
+  def tearDown(): Unit =
+    pool.shutdown()
+
+  @Benchmark
+  def deltaStepping(): TraversalResult[Int, AttributedDirectedEdge[Int, Double]] =
+    DeltaStepping.search(graph, 0, delta, pool)
+
+  @Benchmark
+  def dijkstra(): TraversalResult[Int, AttributedDirectedEdge[Int, Double]] =
+    given Ordering[Double] = Ordering.Double.TotalOrdering
+    given Random = Random(0)
+    DijkstraTraversal[Int, Double]().run(graph)(0)
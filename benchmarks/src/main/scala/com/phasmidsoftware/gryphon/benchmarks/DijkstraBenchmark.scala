@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.benchmarks
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph, IntDoubleGraph}
+import com.phasmidsoftware.gryphon.traverse.{DijkstraTraversal, IntDoubleTraversal, IntDoubleTree, TraversalResult}
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+import scala.util.Random
+
+/**
+ * Compares Dijkstra's algorithm on the generic path (`DirectedGraph` + `DijkstraTraversal`)
+ * with the primitive path (`IntDoubleGraph` + `IntDoubleTraversal`) on the same random graph.
+ *
+ * Run with `sbt "benchmarks/Jmh/run -i 5 -wi 3 -f 1 -prof gc .*DijkstraBenchmark.*"`;
+ * `-prof gc` shows the difference in allocation rate as well as in time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+class DijkstraBenchmark:
+
+  @Param(Array("1000", "10000"))
+  var vertices: Int = 0
+
+  @Param(Array("8"))
+  var degree: Int = 0
+
+  private var generic: DirectedGraph[Int, Double] = null
+  private var primitive: IntDoubleGraph = null
+
+  @Setup(Level.Trial)
+  def setUp(): Unit =
+    generic = Graphs.randomDirected(vertices, degree, Random(0))
+    primitive = IntDoubleGraph(generic)
+
+  @Benchmark
+  def genericDijkstra(): TraversalResult[Int, AttributedDirectedEdge[Int, Double]] =
+    given Ordering[Double] = Ordering.Double.TotalOrdering
+    given Random = Random(0)
+    DijkstraTraversal[Int, Double]().run(generic)(0)
+
+  @Benchmark
+  def primitiveDijkstra(): IntDoubleTree =
+    IntDoubleTraversal.dijkstra(primitive, 0)
+
+/**
+ * Random graphs shared by the benchmarks.
+ */
+object Graphs:
+
+  /**
+   * Creates a random directed graph on `0 until n` with `n * degree` edges.
+   * A Hamiltonian path `0 -> 1 -> ... -> n-1` is included so that every vertex is reachable from 0.
+   *
+   * @param n      the number of vertices.
+   * @param degree the mean out-degree.
+   * @param random the source of randomness.
+   * @return a `DirectedGraph[Int, Double]` with weights in `[0, 1)`.
+   */
+  def randomDirected(n: Int, degree: Int, random: Random): DirectedGraph[Int, Double] =
+    val path = Iterator.range(0, n - 1).map(i => AttributedDirectedEdge(random.nextDouble(), i, i + 1))
+    val others = Iterator.fill(n * degree - (n - 1))(AttributedDirectedEdge(random.nextDouble(), random.nextInt(n), random.nextInt(n)))
+    (path ++ others).foldLeft(DirectedGraph[Int, Double])((g, e) => g.addEdge(e))
+
+  /**
+   * Creates a square grid on (about) `n` vertices, each joined to its right and lower neighbours,
+   * plus `n / 100` random long-range edges.
+   * Every vertex is reachable from 0 (when the edges are taken as directed from `from` to `to`).
+   * The vertices are returned in a random order, so that a graph built from them has scattered ids.
+   *
+   * @param n      the (approximate) number of vertices.
+   * @param random the source of randomness.
+   * @return the vertices, in a random order, and the edges as (from, to, weight) triples with weights in `[0, 1)`.
+   */
+  def scrambledGrid(n: Int, random: Random): (Seq[Int], Seq[(Int, Int, Double)]) =
+    val side = math.sqrt(n.toDouble).toInt
+    val size = side * side
+    val grid = for
+      r <- 0 until side
+      c <- 0 until side
+      (dr, dc) <- Seq(0 -> 1, 1 -> 0)
+      if r + dr < side && c + dc < side
+    yield (r * side + c, (r + dr) * side + c + dc, random.nextDouble())
+    val others = Seq.fill(size / 100)((random.nextInt(size), random.nextInt(size), random.nextDouble()))
+    (random.shuffle(Range(0, size)), grid ++ others)
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.benchmarks
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph, UndirectedEdge, UndirectedGraph}
+import com.phasmidsoftware.gryphon.core.{Edge, Vertex, VertexMapBuilder}
+import com.phasmidsoftware.gryphon.traverse.{DijkstraTraversal, FrontierStrategy, PrimTraversal, TraversalResult}
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+import scala.util.Random
+
+/**
+ * Compares the frontiers of `DijkstraTraversal` and `PrimTraversal` (see `FrontierStrategy`):
+ * the default `IndexedPrioQueue`, a 4-ary heap, a pairing heap and a binary heap with lazy deletion,
+ * on a sparse graph (100,000 vertices of mean degree 4) and on a dense one (2,000 vertices of mean degree 500),
+ * each random (see `Graphs.randomDirected`), the latter with many more decreases per removal.
+ * Prim's algorithm runs on the undirected graph with the same edges.
+ *
+ * Run with `sbt "benchmarks/Jmh/run -i 5 -wi 3 -f 1 .*FrontierBenchmark.*"`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+class FrontierBenchmark:
+
+  @Param(Array("sparse", "dense"))
+  var density: String = ""
+
+  @Param(Array("indexedPrioQueue", "dAryHeap", "pairingHeap", "lazyBinaryHeap"))
+  var strategy: String = ""
+
+  private var directed: DirectedGraph[Int, Double] = null
+  private var undirected: UndirectedGraph[Int, Double] = null
+  private var frontier: Option[FrontierStrategy[Double]] = None
+
+  given Ordering[Double] = Ordering.Double.TotalOrdering
+
+  given Random = Random(0)
+
+  @Setup(Level.Trial)
+  def setUp(): Unit =
+    val (n, degree) = if density == "dense" then (2000, 500) else (100000, 4)
+    directed = Graphs.randomDirected(n, degree, Random(0))
+    val builder = VertexMapBuilder[Int]
+    Range(0, n).foreach(v => builder.ensure(Vertex.createWithSet)(v): Unit)
+    val edges = directed.edges.collect { case e: AttributedDirectedEdge[Int, Double] @unchecked if e.white != e.black => UndirectedEdge(e.attribute, e.white, e.black) }
+    undirected = UndirectedGraph(builder.addEdges(edges.toSeq).result())
+    frontier = strategy match
+      case "dAryHeap" => Some(FrontierStrategy.dAryHeap[Double]())
+      case "pairingHeap" => Some(FrontierStrategy.pairingHeap[Double])
+      case "lazyBinaryHeap" => Some(FrontierStrategy.lazyBinaryHeap[Double])
+      case _ => None
+
+  @Benchmark
+  def dijkstra(): TraversalResult[Int, AttributedDirectedEdge[Int, Double]] =
+    DijkstraTraversal[Int, Double](frontier = frontier).run(directed)(0)
+
+  @Benchmark
+  def prim(): TraversalResult[Int, Edge[Int, Double]] =
+    PrimTraversal[Int, Double](frontier).run(undirected)(0)
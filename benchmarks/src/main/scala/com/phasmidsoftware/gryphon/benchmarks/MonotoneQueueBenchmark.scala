@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.benchmarks
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.traverse.{DijkstraTraversal, FrontierStrategy, TraversalResult}
+import com.phasmidsoftware.visitor.core.Monoid
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+import scala.util.Random
+
+/**
+ * Compares Dijkstra's algorithm with small integer weights (`DijkstraTraversal[Int, Long]`) on three frontiers:
+ * the default `IndexedPrioQueue`, a `RadixHeap` and a `DialQueue`, on the same random graph,
+ * whose weights are in `1 to maxWeight`.
+ *
+ * Run with `sbt "benchmarks/Jmh/run -i 5 -wi 3 -f 1 .*MonotoneQueueBenchmark.*"`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+class MonotoneQueueBenchmark:
+
+  @Param(Array("10000", "100000"))
+  var vertices: Int = 0
+
+  @Param(Array("8"))
+  var degree: Int = 0
+
+  @Param(Array("10", "1000"))
+  var maxWeight: Int = 0
+
+  private var graph: DirectedGraph[Int, Long] = null
+
+  given Monoid[Long] with
+    def identity: Long = 0L
+    def combine(x: Long, y: Long): Long = x + y
+
+  given Random = Random(0)
+
+  @Setup(Level.Trial)
+  def setUp(): Unit =
+    val random = Random(0)
+    val n = vertices
+    val path = Iterator.range(0, n - 1).map(i => AttributedDirectedEdge(1L + random.nextInt(maxWeight), i, i + 1))
+    val others = Iterator.fill(n * degree - (n - 1))(AttributedDirectedEdge(1L + random.nextInt(maxWeight), random.nextInt(n), random.nextInt(n)))
+    graph = (path ++ others).foldLeft(DirectedGraph[Int, Long])((g, e) => g.addEdge(e))
+
+  @Benchmark
+  def indexedPrioQueue(): TraversalResult[Int, AttributedDirectedEdge[Int, Long]] =
+    DijkstraTraversal[Int, Long]().run(graph)(0)
+
+  @Benchmark
+  def radixHeap(): TraversalResult[Int, AttributedDirectedEdge[Int, Long]] =
+    DijkstraTraversal[Int, Long](frontier = Some(FrontierStrategy.radixHeap[Long])).run(graph)(0)
+
+  @Benchmark
+  def dial(): TraversalResult[Int, AttributedDirectedEdge[Int, Long]] =
+    DijkstraTraversal[Int, Long](frontier = Some(FrontierStrategy.dial(maxWeight.toLong))).run(graph)(0)
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.benchmarks
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.traverse.{ContractionHierarchy, Path, ShortestPaths, TraversalResult}
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+import scala.util.Random
+
+/**
+ * Compares a point-to-point query answered by a full Dijkstra search (`ShortestPaths.dijkstra`)
+ * with the same query answered by a bidirectional search (`ShortestPaths.path`),
+ * and by a search of a `ContractionHierarchy` (built once, in the setup, which is not measured),
+ * on a road-like graph: the grid of `Graphs.scrambledGrid` (with its few long-range edges), whose edges run in both directions.
+ * The source and target are a tenth of the side of the grid apart.
+ *
+ * Run with `sbt "benchmarks/Jmh/run -i 5 -wi 3 -f 1 .*PointToPointBenchmark.*"`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+class PointToPointBenchmark:
+
+  @Param(Array("10000", "100000"))
+  var vertices: Int = 0
+
+  private var graph: DirectedGraph[Int, Double] = null
+  private var source: Int = 0
+  private var target: Int = 0
+  private var hierarchy: ContractionHierarchy[Int, Double] = null
+
+  given Ordering[Double] = Ordering.Double.TotalOrdering
+
+  @Setup(Level.Trial)
+  def setUp(): Unit =
+    val (_, edges) = Graphs.scrambledGrid(vertices, Random(0))
+    val side = math.sqrt(vertices.toDouble).toInt
+    graph = edges.filter(e => e._1 != e._2).flatMap((u, v, w) => Seq(AttributedDirectedEdge(w, u, v), AttributedDirectedEdge(w, v, u)))
+            .foldLeft(DirectedGraph[Int, Double].withInEdges)((g, e) => g.addEdge(e))
+    source = (side / 2) * side + side / 2
+    target = source + side / 10
+    hierarchy = ContractionHierarchy.build[Int, Double](graph)
+
+  @Benchmark
+  def dijkstra(): TraversalResult[Int, AttributedDirectedEdge[Int, Double]] =
+    given Random = Random(0)
+    ShortestPaths.dijkstra[Int, Double](graph, source)
+
+  @Benchmark
+  def bidirectional(): Option[Path[Int, Double]] =
+    ShortestPaths.path[Int, Double](graph, source, target)
+
+  @Benchmark
+  def contractionHierarchy(): Option[Path[Int, Double]] =
+    hierarchy.path(source, target)
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.benchmarks
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, CsrGraph, UndirectedEdge}
+import com.phasmidsoftware.gryphon.core.VertexOrdering
+import com.phasmidsoftware.gryphon.traverse.*
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+import scala.util.Random
+
+/**
+ * Measures the effect of vertex reordering (see `VertexOrdering`) on BFS, Dijkstra and connected components
+ * over a large, sparse graph whose vertices are initially numbered in a random order.
+ *
+ * The graph is a grid (with a few random long-range edges), a typical "geometric" sparse graph:
+ * its natural numbering (row by row) has excellent locality, which a random numbering destroys
+ * and which `BreadthFirst` and `ReverseCuthillMcKee` recover.
+ *
+ * Run with `sbt "benchmarks/Jmh/run -i 5 -wi 3 -f 1 .*ReorderBenchmark.*"`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+class ReorderBenchmark:
+
+  @Param(Array("100000"))
+  var vertices: Int = 0
+
+  @Param(Array("Natural", "Degree", "BreadthFirst", "ReverseCuthillMcKee"))
+  var ordering: String = ""
+
+  private var directed: CsrGraph[Int, Double] = null
+  private var undirected: CsrGraph[Int, Double] = null
+
+  @Setup(Level.Trial)
+  def setUp(): Unit =
+    val order: VertexOrdering = ordering match
+      case "Degree" => VertexOrdering.Degree
+      case "BreadthFirst" => VertexOrdering.BreadthFirst
+      case "ReverseCuthillMcKee" => VertexOrdering.ReverseCuthillMcKee
+      case _ => VertexOrdering.Natural
+    val (keys, triples) = Graphs.scrambledGrid(vertices, Random(0))
+    directed = CsrGraph.directed(keys, triples.map((u, v, w) => AttributedDirectedEdge(w, u, v))).reorder(order)
+    undirected = CsrGraph.undirected(keys, triples.map((u, v, w) => UndirectedEdge(w, u, v))).reorder(order)
+
+  @Benchmark
+  def bfs(): TraversalResult[Int, Int] =
+    given Random = Random(0)
+    BFSTraversal[Int]().run(directed)(0)
+
+  @Benchmark
+  def dijkstra(): TraversalResult[Int, AttributedDirectedEdge[Int, Double]] =
+    given Ordering[Double] = Ordering.Double.TotalOrdering
+    given Random = Random(0)
+    DijkstraTraversal[Int, Double]().run(directed)(0)
+
+  @Benchmark
+  def components(): ConnectedResult[Int, Double] =
+    given Random = Random(0)
+    ConnectedComponents.components[Int, Double](undirected)
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.adjunct
+
+import com.phasmidsoftware.gryphon.core.*
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.{Appendable, Evaluable, Visitor}
+import scala.collection.immutable.BitSet
+import scala.reflect.ClassTag
+import scala.util.Random
+
+/**
+ * An immutable, array-backed graph in compressed-sparse-row (CSR) form.
+ * See [Sparse matrix (CSR)](https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)).
+ *
+ * Vertices are numbered densely `0 until N` by `vertexIndex`.
+ * The adjacencies of vertex `i` occupy the slots `offsets(i) until offsets(i + 1)`,
+ * slot `s` leading to vertex `targets(s)` via an edge whose attribute is `attributes(s)`.
+ * There is no per-edge object: the `Adjacency` and `Edge` instances which `Traversable`
+ * hands out are materialised on demand from the arrays, so algorithms written against
+ * `Traversable` (Dijkstra, Prim, Bellman-Ford, Kosaraju, Borůvka, ...) run unchanged.
+ *
+ * A directed `CsrGraph` yields `AttributedDirectedEdge`s (an `OrderedEdge` in the source graph
+ * comes back as an `AttributedDirectedEdge` with a `Unit` attribute).
+ * An undirected `CsrGraph` stores each edge in two slots, one per endpoint,
+ * and the slot belonging to the edge's `black` vertex is marked as flipped,
+ * exactly mirroring the pair of `AdjacencyEdge`s held by an `UndirectedGraph`.
+ *
+ * Instances are normally obtained by calling `freeze` on a `DirectedGraph` or `UndirectedGraph`.
+ * A `CsrGraph` cannot be modified: to add edges, modify the original graph and freeze it again.
+ *
+ * NOTE: adjacencies are always returned in storage order; the `Random` passed to
+ * `adjacentVertices` is ignored.
+ *
+ * @param vertexIndex the numbering of the vertices.
+ * @param offsets     for each vertex id `i`, the first slot of `i`; `offsets(N)` is the total number of slots.
+ * @param targets     for each slot, the id of the vertex at the far end of the edge.
+ * @param attributes  for each slot, the attribute of the edge.
+ * @param flipped     the slots whose edge is stored in the reverse of its nominal direction (undirected only).
+ * @param directed    true if this graph is directed.
+ * @tparam V the type of the vertices.
+ * @tparam E the type of the edge attributes.
+ */
+class CsrGraph[V, E: ClassTag] private(
+                                              override val vertexIndex: VertexIndex[V],
+                                              private[adjunct] val offsets: Array[Int],
+                                              private[adjunct] val targets: Array[Int],
+                                              private[adjunct] val attributes: Array[E],
+                                              private[adjunct] val flipped: BitSet,
+                                              val directed: Boolean
+                                      ) extends ReversibleTraversable[V, E]:
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return the number of vertices.
+   */
+  def N: Int = vertexIndex.size
+
+  /**
+   * Returns the number of edges in this graph.
+   * For an undirected graph, each edge occupies two slots but is counted once.
+   *
+   * @return the number of edges.
+   */
+  val M: Int = if directed then targets.length else targets.length / 2
+
+  /**
+   * Returns the set of vertex keys in this graph.
+   *
+   * @return the set of all vertices.
+   */
+  lazy val keySet: Set[V] = vertexIndex.ids.keySet
+
+  /**
+   * Returns the out-degree of vertex `v` (for an undirected graph, the number of incident edges).
+   *
+   * @param v the vertex.
+   * @return the number of adjacencies of `v`.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def degree(v: V): Int =
+    val i = idOf(v)
+    offsets(i + 1) - offsets(i)
+
+  /**
+   * Materialises the vertex for `key`, including all of its adjacencies.
+   *
+   * @param key the vertex attribute to look up.
+   * @return `Some(vertex)` if found, `None` otherwise.
+   */
+  def get(key: V): Option[Vertex[V]] =
+    vertexIndex.get(key).map(i => Vertex.create(key, Unordered_Set(indexedAdjacencies(i).map(_._2).toSeq)))
+
+  /**
+   * Returns an iterator over the vertices adjacent to `v`, in storage order.
+   *
+   * @param v      the vertex whose neighbours are required.
+   * @param random ignored.
+   * @return an iterator of adjacent vertex keys.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def adjacentVertices(v: V)(using random: Random): Iterator[V] =
+    val i = idOf(v)
+    Iterator.range(offsets(i), offsets(i + 1)).map(s => vertexIndex(targets(s)))
+
+  /**
+   * Filters the adjacencies of a given vertex based on a specified predicate.
+   *
+   * @param predicate a function that evaluates each `Adjacency[V]`.
+   * @param v         the vertex whose adjacencies are to be filtered.
+   * @return an iterator over the adjacencies of `v` that satisfy the predicate.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def filteredAdjacencies(predicate: Adjacency[V] => Boolean)(v: V): Iterator[Adjacency[V]] =
+    indexedAdjacencies(idOf(v)).map(_._2).filter(predicate)
+
+  /**
+   * Edge-BFS is not yet implemented for `CsrGraph` — use `bfs`.
+   *
+   * @throws UnsupportedOperationException always.
+   */
+  def bfse[F, R, J <: Appendable[(Edge[V, F], Option[R])]](visitor: Visitor[Edge[V, F], R, J])(v: V)(goal: V => Boolean)(using ev: Evaluable[Edge[V, F], R], random: Random): Visitor[Edge[V, F], R, J] =
+    throw UnsupportedOperationException("bfse is not yet implemented for CsrGraph — use bfs")
+
+  /**
+   * Returns the adjacencies of the vertex whose id is `i`, each paired with the id
+   * of the vertex at its far end, read directly from the arrays.
+   *
+   * @param i the id of the vertex.
+   * @return an iterator of (id, adjacency) pairs.
+   */
+  override def indexedAdjacencies(i: Int): Iterator[(Int, Adjacency[V])] =
+    Iterator.range(offsets(i), offsets(i + 1)).map(s => targets(s) -> AdjacencyEdge[V, E](edgeAt(i, s), flipped(s)))
+
+  /**
+   * Returns a view of a subgraph of this graph which, like this graph, yields adjacencies in storage order.
+   *
+   * @param vertexPredicate the vertices which belong to the view.
+   * @param edgePredicate   the edges which belong to the view.
+   * @return a `GraphView[V, E]`.
+   */
+  override def view(vertexPredicate: V => Boolean, edgePredicate: Edge[V, E] => Boolean): GraphView[V, E] =
+    new GraphView(this, vertexPredicate, edgePredicate, AdjacencyOrder.Insertion)
+
+  /**
+   * Returns all the edges of this graph.
+   * For an undirected graph, each edge is yielded once (from its unflipped slot).
+   *
+   * @return an iterator of `Edge[V, E]`.
+   */
+  def edges: Iterator[Edge[V, E]] =
+    for
+      i <- Iterator.range(0, N)
+      s <- Iterator.range(offsets(i), offsets(i + 1))
+      if !flipped(s)
+    yield edgeAt(i, s)
+
+  /**
+   * Returns the transpose of this graph.
+   * For a directed graph, a new `CsrGraph` with every edge reversed is built in O(N + M);
+   * an undirected graph is its own transpose.
+   *
+   * @return the reversed graph.
+   */
+  def reverse: CsrGraph[V, E] =
+    if directed then
+      CsrGraph.build(vertexIndex, Iterator.range(0, N).flatMap(i => Iterator.range(offsets(i), offsets(i + 1)).map(s => (targets(s), i, attributes(s)))).toSeq, directed = true)
+    else
+      this
+
+  /**
+   * Returns a copy of this graph whose vertices are renumbered according to `ordering`,
+   * and whose slots are laid out in the new order: vertex by vertex and, within each vertex, by increasing target id.
+   * Since only the ids change, every algorithm gives the same result on the copy as on this graph,
+   * but one which keeps its working state in arrays indexed by vertex id may run considerably faster (see `VertexOrdering`).
+   *
+   * @param ordering the policy which determines the new ids.
+   * @return a new `CsrGraph[V, E]` with the same vertices and edges.
+   */
+  def reorder(ordering: VertexOrdering): CsrGraph[V, E] =
+    val order = ordering.order(this)
+    // NOTE rank is the inverse of order: rank(i) is the new id of the vertex whose id is currently i.
+    val rank = new Array[Int](N)
+    for k <- 0 until N do rank(order(k)) = k
+    val slots =
+      for
+        k <- 0 until N
+        s <- Range(offsets(order(k)), offsets(order(k) + 1)).sortBy(s => rank(targets(s)))
+      yield (k, rank(targets(s)), attributes(s), flipped(s))
+    CsrGraph.layout(VertexIndex(order.iterator.map(vertexIndex(_))), slots, directed)
+
+  override def toString: String =
+    s"CsrGraph(${if directed then "directed" else "undirected"}, N=$N, M=$M)"
+
+  private def idOf(v: V): Int =
+    vertexIndex.get(v).getOrElse(throw GraphException(s"CsrGraph: vertex $v does not exist"))
+
+  private def edgeAt(i: Int, s: Int): Edge[V, E] =
+    val (white, black) = if flipped(s) then (vertexIndex(targets(s)), vertexIndex(i)) else (vertexIndex(i), vertexIndex(targets(s)))
+    if directed then AttributedDirectedEdge(attributes(s), white, black)
+    else UndirectedEdge(attributes(s), white, black)
+
+/**
+ * Companion object for `CsrGraph`.
+ */
+object CsrGraph:
+
+  /**
+   * Creates a directed `CsrGraph`.
+   * Vertices which appear only as edge endpoints are added automatically.
+   *
+   * @param vertices the vertices (their order determines the vertex ids).
+   * @param edges    the edges; each contributes one slot from `white` to `black`.
+   * @tparam V the type of the vertices.
+   * @tparam E the type of the edge attributes.
+   * @return a new directed `CsrGraph[V, E]`.
+   */
+  def directed[V, E: ClassTag](vertices: Iterable[V], edges: Iterable[Edge[V, E]]): CsrGraph[V, E] =
+    val index = createIndex(vertices, edges)
+    build(index, edges.toSeq.map(e => (index.indexOf(e.white), index.indexOf(e.black), e.attribute)), directed = true)
+
+  /**
+   * Creates an undirected `CsrGraph`.
+   * Vertices which appear only as edge endpoints are added automatically.
+   *
+   * @param vertices the vertices (their order determines the vertex ids).
+   * @param edges    the edges; each contributes one slot at each endpoint.
+   * @tparam V the type of the vertices.
+   * @tparam E the type of the edge attributes.
+   * @return a new undirected `CsrGraph[V, E]`.
+   */
+  def undirected[V, E: ClassTag](vertices: Iterable[V], edges: Iterable[Edge[V, E]]): CsrGraph[V, E] =
+    val index = createIndex(vertices, edges)
+    build(index, edges.toSeq.map(e => (index.indexOf(e.white), index.indexOf(e.black), e.attribute)), directed = false)
+
+  private def createIndex[V, E](vertices: Iterable[V], edges: Iterable[Edge[V, E]]): VertexIndex[V] =
+    VertexIndex(vertices.iterator ++ edges.iterator.flatMap(e => Iterator(e.white, e.black)))
+
+  /**
+   * Lays out the given (from, to, attribute) triples in CSR form (see `layout`).
+   * For an undirected graph, each triple also yields a flipped slot at `to`.
+   * Within a vertex, slots keep the order of the triples.
+   */
+  private[adjunct] def build[V, E: ClassTag](index: VertexIndex[V], triples: Seq[(Int, Int, E)], directed: Boolean): CsrGraph[V, E] =
+    // NOTE each slot is (from, to, attribute, flipped).
+    val slots: Seq[(Int, Int, E, Boolean)] =
+      if directed then triples.map((u, v, e) => (u, v, e, false))
+      else triples.flatMap((u, v, e) => Seq((u, v, e, false), (v, u, e, true)))
+    layout(index, slots, directed)
+
+  /**
+   * Lays out the given (from, to, attribute, flipped) slots in CSR form using a counting sort on `from`.
+   * Within a vertex, slots keep the order in which they are given.
+   */
+  private def layout[V, E: ClassTag](index: VertexIndex[V], slots: Seq[(Int, Int, E, Boolean)], directed: Boolean): CsrGraph[V, E] =
+    val n = index.size
+    val offsets = new Array[Int](n + 1)
+    slots.foreach(t => offsets(t._1 + 1) += 1)
+    for i <- 0 until n do offsets(i + 1) += offsets(i)
+    val targets = new Array[Int](slots.size)
+    val attributes = new Array[E](slots.size)
+    val flippedSlots = BitSet.newBuilder
+    // NOTE next(i) is the next free slot for vertex i.
+    val next = offsets.clone()
+    slots.foreach { (u, v, e, f) =>
+      val s = next(u)
+      targets(s) = v
+      attributes(s) = e
+      if f then flippedSlots += s
+      next(u) += 1
+    }
+    new CsrGraph[V, E](index, offsets, targets, attributes, flippedSlots.result(), directed)
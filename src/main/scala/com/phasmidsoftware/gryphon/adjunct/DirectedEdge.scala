@@ -19,6 +19,13 @@ trait DirectedEdge[V, E] extends Edge[V, E]:
    */
   def edgeType: EdgeType = Directed
 
+  /**
+   * Returns this edge in the opposite direction, with the same attribute.
+   *
+   * @return a `DirectedEdge[V, E]` from `black` to `white`.
+   */
+  def reversed: DirectedEdge[V, E]
+
 /**
  * Represents a directed edge in a graph structure, connecting a starting vertex (`from`)
  * to an ending vertex (`to`) while carrying an associated attribute.
@@ -48,7 +55,6 @@ case class AttributedDirectedEdge[V, E](attribute: E, from: V, to: V) extends Di
    */
   def black: V = to
 
-  // In AttributedDirectedEdge:
   def reversed: AttributedDirectedEdge[V, E] = copy(from = to, to = from)
 
 /**
@@ -102,5 +108,4 @@ case class OrderedEdge[V](from: V, to: V) extends DirectedEdge[V, Unit]:
    */
   def black: V = to
 
-  // In OrderedEdge:
   def reversed: OrderedEdge[V] = copy(from = to, to = from)
@@ -1,9 +1,10 @@
 package com.phasmidsoftware.gryphon.adjunct
 
 import com.phasmidsoftware.gryphon.core.*
-import com.phasmidsoftware.gryphon.traverse.{BellmanFord, TopologicalSort, VertexTraversalResult}
+import com.phasmidsoftware.gryphon.traverse.{BellmanFord, TopologicalSort, TwoColoring, UndirectedSearch, VertexTraversalResult}
 import com.phasmidsoftware.gryphon.util.GraphException
 import com.phasmidsoftware.visitor.core.Monoid
+import scala.reflect.ClassTag
 import scala.util.{Failure, Success, Try}
 
 /**
@@ -15,23 +16,64 @@ import scala.util.{Failure, Success, Try}
  * @tparam E the type of attributes for the edges in the graph (invariant).
  * @param vertexMap the `VertexMap` that represents this `Graph`.
  */
-case class DirectedGraph[V, E](vertexMap: VertexMap[V]) extends AbstractGraph[V](vertexMap) with EdgeGraph[V, E] {
+case class DirectedGraph[V, E](vertexMap: VertexMap[V]) extends AbstractGraph[V](vertexMap) with EdgeGraph[V, E] with ReversibleTraversable[V, E] {
   /**
-   * Returns a new DirectedGraph with all edges reversed (every u→v becomes v→u).
+   * Returns a DirectedGraph with all edges reversed (every u→v becomes v→u).
    * The vertex set is preserved, including any vertices with no outgoing edges.
    *
    * This is the first step in Kosaraju's strongly-connected-components algorithm.
    *
-   * @return a new `DirectedGraph[V, E]` with reversed edges.
+   * The result is the transpose of the `VertexMap` (see `VertexMap.transpose`).
+   * If this graph maintains its in-edge index (see `withInEdges`), the transpose is that index, and this is O(1);
+   * otherwise it is built on first use, in O(N + M), and cached.
+   * Either way, the reversed graph has this graph as its own transpose, so `reverse.reverse` is O(1).
+   *
+   * @return a `DirectedGraph[V, E]` with reversed edges.
    */
-  def reverse: DirectedGraph[V, E] =
-    edges.foldLeft(DirectedGraph[V, E](vertexMap.keysOnly)) { (g, e) =>
-      val rev: DirectedEdge[V, E] = e match
-        case AttributedDirectedEdge(attr, from, to) => AttributedDirectedEdge(attr, to, from)
-        case OrderedEdge(from, to) => OrderedEdge(to, from)
-        case other => throw GraphException(s"unexpected edge type in reverse: $other")
-      g.addEdge(rev)
-    }
+  lazy val reverse: DirectedGraph[V, E] =
+    DirectedGraph(vertexMap.transpose)
+
+  /**
+   * Returns this graph, maintaining an in-edge index (built here in O(N + M), unless it is already maintained),
+   * so that `reverse` is O(1) and `inNeighbours` is O(in-degree), however many edges are added later.
+   * Edges added to the result (or to graphs derived from it) are also added to the index, at roughly twice the cost;
+   * so the index is worthwhile only for a graph which is reversed (or whose in-neighbours are sought) as it grows.
+   *
+   * @return a `DirectedGraph[V, E]` with the same vertices and edges.
+   */
+  def withInEdges: DirectedGraph[V, E] =
+    copy(vertexMap.withInEdges)
+
+  /**
+   * Returns this graph with the given adjacency order, for example `AdjacencyOrder.Insertion`
+   * for a traversal which need not be randomized.
+   *
+   * @param order the adjacency order.
+   * @return a new `DirectedGraph[V, E]` with the same vertices and edges.
+   */
+  def withAdjacencyOrder(order: AdjacencyOrder): DirectedGraph[V, E] =
+    copy(vertexMap.withAdjacencyOrder(order))
+
+  /**
+   * Converts this graph into an immutable, array-backed `CsrGraph` with the same vertices and edges.
+   * The result implements `ReversibleTraversable`, so traversals and algorithms
+   * which accept a `Traversable` run on it unchanged, with far less memory per edge.
+   *
+   * @return a directed `CsrGraph[V, E]`.
+   */
+  def freeze(using ClassTag[E]): CsrGraph[V, E] =
+    CsrGraph.directed(vertexMap.keySet, edges.toSeq)
+
+  /**
+   * Freezes this graph (see `freeze`) with its vertices renumbered according to `ordering`,
+   * so that neighbouring vertices have nearby ids and adjacent slots (see `VertexOrdering`).
+   * The vertices themselves are unchanged, and so are the results of all algorithms.
+   *
+   * @param ordering the policy which determines the vertex ids, for example `VertexOrdering.ReverseCuthillMcKee`.
+   * @return a directed `CsrGraph[V, E]`.
+   */
+  def reorder(ordering: VertexOrdering)(using ClassTag[E]): CsrGraph[V, E] =
+    freeze.reorder(ordering)
 
   /**
    * Checks whether the directed graph contains a cycle.
@@ -55,10 +97,37 @@ case class DirectedGraph[V, E](vertexMap: VertexMap[V]) extends AbstractGraph[V]
     throw UnsupportedOperationException("isConnected is not yet implemented for DirectedGraph — use ConnectedComponents or Kosaraju")
 
   /**
-   * Not yet implemented for directed graphs.
+   * Returns true if the underlying undirected graph (in which the direction of each edge is ignored) is bipartite.
+   *
+   * See `twoColoring`.
    */
   def isBipartite: Boolean =
-    throw UnsupportedOperationException("isBipartite is not yet implemented for DirectedGraph")
+    twoColoring.isRight
+
+  /**
+   * Attempts to 2-color the underlying undirected graph, in which the neighbours of each vertex
+   * are its successors and its predecessors, using an explicit-stack search (see `UndirectedSearch.twoColoringBy`).
+   *
+   * The predecessors are found by id alone, in O(N + M): the successor ids (see `indexedAdjacencies`) are counted
+   * by destination, and each source id is then placed in the slot of its destination, so no vertex is hashed.
+   *
+   * @return `Right(coloring)` if the underlying undirected graph is bipartite; otherwise `Left(cycle)`, where `cycle` is an odd cycle
+   *         (whose edges may have either direction).
+   */
+  def twoColoring: Either[Seq[V], TwoColoring[V]] =
+    val index = vertexIndex
+    val n = index.size
+    val successors = Array.tabulate(n)(i => indexedAdjacencies(i).map(_._1).toArray)
+    // NOTE the predecessors of vertex j are sources(offsets(j)) until sources(offsets(j + 1)).
+    val offsets = new Array[Int](n + 1)
+    successors.foreach(_.foreach(j => offsets(j + 1) += 1))
+    for j <- 0 until n do offsets(j + 1) += offsets(j)
+    val sources = new Array[Int](offsets(n))
+    val next = offsets.clone()
+    for i <- 0 until n; j <- successors(i) do
+      sources(next(j)) = i
+      next(j) += 1
+    UndirectedSearch.twoColoringBy(index)(i => successors(i).iterator ++ Iterator.range(offsets(i), offsets(i + 1)).map(sources))
 
   /**
    * Computes shortest paths from `start` using Bellman-Ford-Moore.
@@ -98,13 +167,6 @@ case class DirectedGraph[V, E](vertexMap: VertexMap[V]) extends AbstractGraph[V]
   def edges: Iterator[DirectedEdge[V, E]] =
     adjacencies map DirectedGraph.getDirectedEdgeFromAdjacency[V, E]
 
-  /**
-   * Computes and returns the total number of edges in the directed graph.
-   *
-   * @return the number of directed edges present in the graph.
-   */
-  override def M: Int = edges.size
-
   /**
    * Creates a new directed graph using the provided vertex map.
    *
@@ -127,6 +189,8 @@ object DirectedGraph {
   /**
    * Constructs a new, directed graph using the provided vertex map.
    *
+   * No in-edge index is built: the graph maintains one only if `vertexMap` already does, or if asked to (see `withInEdges`).
+   *
    * @param vertexMap a map containing the vertices of type `V` as keys and their associated
    *                  adjacency lists or other vertex-specific data.
    *
@@ -175,19 +239,19 @@ object DirectedGraph {
     SerializableGraph.createFromTriplets[V, E, EdgeType](triples) match {
       case triplets: Triplets[V, E, EdgeType] =>
         val vm: VertexMap[V] =
-          triplets.triplets.foldLeft(VertexMap[V]) {
+          triplets.triplets.foldLeft(VertexMapBuilder[V]) {
             (z, t) =>
               // TODO find another way to handle this anomaly
               if (!t.edgeType.oneWay)
                 System.err.println(s"WARNING: edge ${t.maybeAttribute} is not directed.")
-              z.createVerticesFromTriplet[E, EdgeType](f) {
+              z.addTriplet[E, EdgeType](f) {
                         case (vv1, vv2, Some(e)) =>
                           AdjacencyEdge(AttributedDirectedEdge(e, vv1.attribute, vv2.attribute))
                         case (vv1, vv2, None) =>
                           AdjacencyEdge(VertexPair(vv1.attribute, vv2.attribute))
                       }(false)
                       (t)
-          }
+          }.result()
         val graph = DirectedGraph(vm)
         // TODO find another way to handle this anomaly
         // NOTE duplicated code in UndirectedGraph
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.adjunct
+
+import com.phasmidsoftware.gryphon.core.*
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.{Appendable, Evaluable, Visitor}
+import scala.collection.immutable.BitSet
+import scala.util.Random
+
+/**
+ * A compressed-sparse-row graph specialized for `Int` vertices and `Double` edge weights.
+ *
+ * The vertices are exactly `0 until N` and each vertex is its own id, so no dictionary is needed
+ * (see `VertexIndex.identity`); a graph whose vertices are not `0 until N` for some N is rejected.
+ * The layout is the same as that of `CsrGraph`: the adjacencies of vertex `i` occupy the slots
+ * `offsets(i) until offsets(i + 1)`, slot `s` leading to `targets(s)` with weight `weights(s)`,
+ * but here the arrays are guaranteed to be primitive (`int[]`/`double[]`) and are visible to the
+ * specialized algorithms of `IntDoubleTraversal`, which therefore run with no boxing and no
+ * per-edge allocation.
+ *
+ * `ShortestPaths.dijkstra` and `MST.prim` select those algorithms automatically when they are given
+ * an `IntDoubleGraph` (together with the standard `Double` typeclass instances).
+ * As a `ReversibleTraversable[Int, Double]`, an `IntDoubleGraph` can also be given to any
+ * generic algorithm, in which case edges are materialised on demand, as for `CsrGraph`.
+ *
+ * @param N        the number of vertices.
+ * @param offsets  for each vertex `i`, the first slot of `i`; `offsets(N)` is the total number of slots.
+ * @param targets  for each slot, the vertex at the far end of the edge.
+ * @param weights  for each slot, the weight of the edge.
+ * @param flipped  the slots whose edge is stored in the reverse of its nominal direction (undirected only).
+ * @param directed true if this graph is directed.
+ */
+final class IntDoubleGraph private(
+                                          val N: Int,
+                                          private[gryphon] val offsets: Array[Int],
+                                          private[gryphon] val targets: Array[Int],
+                                          private[gryphon] val weights: Array[Double],
+                                          private[gryphon] val flipped: BitSet,
+                                          val directed: Boolean
+                                  ) extends ReversibleTraversable[Int, Double]:
+
+  /**
+   * Returns the number of edges in this graph.
+   * For an undirected graph, each edge occupies two slots but is counted once.
+   *
+   * @return the number of edges.
+   */
+  val M: Int = if directed then targets.length else targets.length / 2
+
+  /**
+   * Returns the identity numbering of the vertices, which takes O(1) space.
+   *
+   * @return a `VertexIndex[Int]` in which every vertex is its own id.
+   */
+  override lazy val vertexIndex: VertexIndex[Int] = VertexIndex.identity(N)
+
+  /**
+   * Returns the set of vertices, i.e. `0 until N`, as a view of `vertexIndex` (which is not materialized).
+   *
+   * @return the set of all vertices.
+   */
+  lazy val keySet: Set[Int] = vertexIndex.ids.keySet
+
+  /**
+   * Returns the out-degree of vertex `v` (for an undirected graph, the number of incident edges).
+   *
+   * @param v the vertex.
+   * @return the number of adjacencies of `v`.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def degree(v: Int): Int =
+    checkVertex(v)
+    offsets(v + 1) - offsets(v)
+
+  /**
+   * Materialises the vertex `key`, including all of its adjacencies.
+   *
+   * @param key the vertex.
+   * @return `Some(vertex)` if `key` is in `0 until N`, `None` otherwise.
+   */
+  def get(key: Int): Option[Vertex[Int]] =
+    Option.when(key >= 0 && key < N)(Vertex.create(key, Unordered_Set(indexedAdjacencies(key).map(_._2).toSeq)))
+
+  /**
+   * Returns an iterator over the vertices adjacent to `v`, in storage order.
+   *
+   * @param v      the vertex whose neighbours are required.
+   * @param random ignored.
+   * @return an iterator of adjacent vertices.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def adjacentVertices(v: Int)(using random: Random): Iterator[Int] =
+    checkVertex(v)
+    Iterator.range(offsets(v), offsets(v + 1)).map(targets(_))
+
+  /**
+   * Filters the adjacencies of a given vertex based on a specified predicate.
+   *
+   * @param predicate a function that evaluates each `Adjacency[Int]`.
+   * @param v         the vertex whose adjacencies are to be filtered.
+   * @return an iterator over the adjacencies of `v` that satisfy the predicate.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def filteredAdjacencies(predicate: Adjacency[Int] => Boolean)(v: Int): Iterator[Adjacency[Int]] =
+    checkVertex(v)
+    indexedAdjacencies(v).map(_._2).filter(predicate)
+
+  /**
+   * Edge-BFS is not yet implemented for `IntDoubleGraph` — use `bfs`.
+   *
+   * @throws UnsupportedOperationException always.
+   */
+  def bfse[E, R, J <: Appendable[(Edge[Int, E], Option[R])]](visitor: Visitor[Edge[Int, E], R, J])(v: Int)(goal: Int => Boolean)(using ev: Evaluable[Edge[Int, E], R], random: Random): Visitor[Edge[Int, E], R, J] =
+    throw UnsupportedOperationException("bfse is not yet implemented for IntDoubleGraph — use bfs")
+
+  /**
+   * Returns the adjacencies of vertex `i`, each paired with the vertex at its far end.
+   *
+   * @param i the vertex.
+   * @return an iterator of (vertex, adjacency) pairs.
+   */
+  override def indexedAdjacencies(i: Int): Iterator[(Int, Adjacency[Int])] =
+    Iterator.range(offsets(i), offsets(i + 1)).map(s => targets(s) -> AdjacencyEdge[Int, Double](edgeAt(i, s), flipped(s)))
+
+  /**
+   * Returns all the edges of this graph.
+   * For an undirected graph, each edge is yielded once (from its unflipped slot).
+   *
+   * @return an iterator of `Edge[Int, Double]`.
+   */
+  def edges: Iterator[Edge[Int, Double]] =
+    for
+      i <- Iterator.range(0, N)
+      s <- Iterator.range(offsets(i), offsets(i + 1))
+      if !flipped(s)
+    yield edgeAt(i, s)
+
+  /**
+   * Returns the transpose of this graph.
+   * For a directed graph, a new `IntDoubleGraph` with every edge reversed is built in O(N + M);
+   * an undirected graph is its own transpose.
+   *
+   * @return the reversed graph.
+   */
+  def reverse: IntDoubleGraph =
+    if directed then
+      val from = new Array[Int](targets.length)
+      for i <- 0 until N; s <- offsets(i) until offsets(i + 1) do from(s) = i
+      IntDoubleGraph.build(N, targets, from, weights, directed = true)
+    else
+      this
+
+  /**
+   * Materialises the edge stored in slot `s` of vertex `i`.
+   *
+   * @param i the vertex which owns slot `s`.
+   * @param s the slot.
+   * @return an `AttributedDirectedEdge` (directed) or `UndirectedEdge` (undirected).
+   */
+  def edgeAt(i: Int, s: Int): Edge[Int, Double] =
+    val (white, black) = if flipped(s) then (targets(s), i) else (i, targets(s))
+    if directed then AttributedDirectedEdge(weights(s), white, black)
+    else UndirectedEdge(weights(s), white, black)
+
+  override def toString: String =
+    s"IntDoubleGraph(${if directed then "directed" else "undirected"}, N=$N, M=$M)"
+
+  private def checkVertex(v: Int): Unit =
+    if v < 0 || v >= N then throw GraphException(s"IntDoubleGraph: vertex $v does not exist")
+
+/**
+ * Companion object for `IntDoubleGraph`.
+ */
+object IntDoubleGraph:
+
+  /**
+   * Converts a `DirectedGraph[Int, Double]` into a directed `IntDoubleGraph`.
+   *
+   * @param graph the graph, whose vertices must be `0 until N` for some N.
+   * @return a directed `IntDoubleGraph` with the same vertices and edges.
+   * @throws GraphException if the vertices are not `0 until N`.
+   */
+  def apply(graph: DirectedGraph[Int, Double]): IntDoubleGraph =
+    directed(graph.keySet, graph.edges.toSeq)
+
+  /**
+   * Converts an `UndirectedGraph[Int, Double]` into an undirected `IntDoubleGraph`.
+   *
+   * @param graph the graph, whose vertices must be `0 until N` for some N.
+   * @return an undirected `IntDoubleGraph` with the same vertices and edges.
+   * @throws GraphException if the vertices are not `0 until N`.
+   */
+  def apply(graph: UndirectedGraph[Int, Double]): IntDoubleGraph =
+    undirected(graph.keySet, graph.edges.toSeq)
+
+  /**
+   * Creates a directed `IntDoubleGraph`.
+   *
+   * @param vertices the vertices, which (together with the ends of the edges) must be `0 until N` for some N.
+   * @param edges    the edges; each contributes one slot from `white` to `black`.
+   * @return a new directed `IntDoubleGraph`.
+   * @throws GraphException if the vertices are not `0 until N`.
+   */
+  def directed(vertices: Iterable[Int], edges: Seq[Edge[Int, Double]]): IntDoubleGraph =
+    build(size(vertices, edges), edges.map(_.white).toArray, edges.map(_.black).toArray, edges.map(_.attribute).toArray, directed = true)
+
+  /**
+   * Creates an undirected `IntDoubleGraph`.
+   *
+   * @param vertices the vertices, which (together with the ends of the edges) must be `0 until N` for some N.
+   * @param edges    the edges; each contributes one slot at each endpoint.
+   * @return a new undirected `IntDoubleGraph`.
+   * @throws GraphException if the vertices are not `0 until N`.
+   */
+  def undirected(vertices: Iterable[Int], edges: Seq[Edge[Int, Double]]): IntDoubleGraph =
+    build(size(vertices, edges), edges.map(_.white).toArray, edges.map(_.black).toArray, edges.map(_.attribute).toArray, directed = false)
+
+  // NOTE the vertices must be dense: otherwise N would include phantom, isolated vertices.
+  private def size(vertices: Iterable[Int], edges: Seq[Edge[Int, Double]]): Int =
+    def all = vertices.iterator ++ edges.iterator.flatMap(e => Iterator(e.white, e.black))
+    val (min, max) = all.foldLeft((0, -1))((z, v) => (z._1 min v, z._2 max v))
+    if min < 0 then throw GraphException(s"IntDoubleGraph: vertices must be non-negative but found $min")
+    val present = new java.util.BitSet(max + 1)
+    all.foreach(v => present.set(v))
+    val missing = present.nextClearBit(0)
+    if missing <= max then throw GraphException(s"IntDoubleGraph: vertices must be 0 until ${max + 1} but $missing is missing")
+    max + 1
+
+  /**
+   * Lays out the parallel arrays `from`, `to`, `weight` in CSR form using a counting sort on `from`.
+   * For an undirected graph, each edge also yields a flipped slot at `to`.
+   * Within a vertex, slots keep the order of the edges.
+   */
+  private[adjunct] def build(n: Int, from: Array[Int], to: Array[Int], weight: Array[Double], directed: Boolean): IntDoubleGraph =
+    val m = from.length
+    val slots = if directed then m else 2 * m
+    val offsets = new Array[Int](n + 1)
+    for k <- 0 until m do
+      offsets(from(k) + 1) += 1
+      if !directed then offsets(to(k) + 1) += 1
+    for i <- 0 until n do offsets(i + 1) += offsets(i)
+    val targets = new Array[Int](slots)
+    val weights = new Array[Double](slots)
+    val flippedSlots = BitSet.newBuilder
+    // NOTE next(i) is the next free slot for vertex i.
+    val next = offsets.clone()
+    for k <- 0 until m do
+      val s = next(from(k))
+      targets(s) = to(k)
+      weights(s) = weight(k)
+      next(from(k)) += 1
+      if !directed then
+        val t = next(to(k))
+        targets(t) = from(k)
+        weights(t) = weight(k)
+        flippedSlots += t
+        next(to(k)) += 1
+    new IntDoubleGraph(n, offsets, targets, weights, flippedSlots.result(), directed)
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.adjunct
+
+import com.phasmidsoftware.gryphon.core.*
+import com.phasmidsoftware.gryphon.util.{BinaryCodec, GraphException}
+import com.phasmidsoftware.visitor.core.{Appendable, Evaluable, Visitor}
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.{Path, StandardOpenOption}
+import scala.reflect.ClassTag
+import scala.util.{Failure, Random, Success, Try, Using}
+
+/**
+ * A read-only graph whose compressed-sparse-row arrays live in a memory-mapped file rather than on the heap.
+ *
+ * The file is written by `MappedGraph.write` from any `EdgeTraversable[V, E]` (in particular any `EdgeGraph`)
+ * and is opened by `MappedGraph.open`, which maps it with `FileChannel.map` and reads only its header:
+ * opening is O(1) in the size of the graph, and several JVMs which open the same file share its pages
+ * in the operating system's page cache.
+ *
+ * The layout (see `MappedGraph.Layout`) is that of `CsrGraph` — offsets, targets, flipped bits and
+ * attributes, all indexed by vertex id — followed by the vertex dictionary: the encoded keys (using a
+ * `BinaryCodec[V]`), the position of each, and an open-addressing hash table from key to id.
+ * Thus `get`, `adjacentVertices`, etc. find a vertex by probing the table in place, and decode only
+ * the keys which they return.
+ *
+ * NOTE `keySet` and `vertexIndex` must decode every key, so they are computed lazily, on first use.
+ * A single mapping is limited to 2 GiB, so that is also the limit on the size of the file.
+ *
+ * @param buffer   the mapped file.
+ * @param layout   the positions of the sections of the file.
+ * @param directed true if this graph is directed.
+ * @tparam V the type of the vertices.
+ * @tparam E the type of the edge attributes.
+ */
+final class MappedGraph[V, E] private(buffer: ByteBuffer, layout: MappedGraph.Layout, val directed: Boolean)(using vc: BinaryCodec[V], ec: BinaryCodec[E])
+        extends EdgeTraversable[V, E]:
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return the number of vertices.
+   */
+  def N: Int = layout.n
+
+  /**
+   * Returns the number of edges in this graph.
+   * For an undirected graph, each edge occupies two slots but is counted once.
+   *
+   * @return the number of edges.
+   */
+  def M: Int = if directed then layout.slots else layout.slots / 2
+
+  /**
+   * Returns the set of vertex keys in this graph (decoding all of them).
+   *
+   * @return the set of all vertices.
+   */
+  lazy val keySet: Set[V] = vertexIndex.ids.keySet
+
+  /**
+   * Returns the numbering of the vertices, which is the numbering used in the file.
+   *
+   * @return a `VertexIndex[V]` consistent with `indexedAdjacencies`.
+   */
+  override lazy val vertexIndex: VertexIndex[V] = VertexIndex(Iterator.range(0, N).map(key))
+
+  /**
+   * Returns the vertex whose id is `i`, decoded from the dictionary.
+   *
+   * @param i the id (must be in the range `0 until N`).
+   * @return the vertex key.
+   */
+  def key(i: Int): V =
+    val start = keyPosition(i)
+    vc.decode(buffer, layout.bytesAt + start, keyPosition(i + 1) - start)
+
+  /**
+   * Returns the id of vertex `v`, found by probing the hash table of the file.
+   *
+   * @param v the vertex key.
+   * @return `Some(id)` if `v` is a vertex of this graph, otherwise `None`.
+   */
+  def idOf(v: V): Option[Int] =
+    val bytes = vc.encode(v)
+    val mask = layout.capacity - 1
+    var h = MappedGraph.hash(bytes) & mask
+    var result: Option[Int] = None
+    var done = false
+    while !done do
+      val entry = buffer.getInt(layout.tableAt + 4 * h)
+      if entry == 0 then done = true
+      else if matches(entry - 1, bytes) then
+        result = Some(entry - 1)
+        done = true
+      else h = (h + 1) & mask
+    result
+
+  /**
+   * Returns the out-degree of vertex `v` (for an undirected graph, the number of incident edges).
+   *
+   * @param v the vertex.
+   * @return the number of adjacencies of `v`.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def degree(v: V): Int =
+    val i = id(v)
+    offset(i + 1) - offset(i)
+
+  /**
+   * Materialises the vertex for `key`, including all of its adjacencies.
+   *
+   * @param key the vertex attribute to look up.
+   * @return `Some(vertex)` if found, `None` otherwise.
+   */
+  def get(key: V): Option[Vertex[V]] =
+    idOf(key).map(i => Vertex.create(key, Unordered_Set(indexedAdjacencies(i).map(_._2).toSeq)))
+
+  /**
+   * Returns an iterator over the vertices adjacent to `v`, in storage order.
+   *
+   * @param v      the vertex whose neighbours are required.
+   * @param random ignored.
+   * @return an iterator of adjacent vertex keys.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def adjacentVertices(v: V)(using random: Random): Iterator[V] =
+    val i = id(v)
+    Iterator.range(offset(i), offset(i + 1)).map(s => key(target(s)))
+
+  /**
+   * Filters the adjacencies of a given vertex based on a specified predicate.
+   *
+   * @param predicate a function that evaluates each `Adjacency[V]`.
+   * @param v         the vertex whose adjacencies are to be filtered.
+   * @return an iterator over the adjacencies of `v` that satisfy the predicate.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def filteredAdjacencies(predicate: Adjacency[V] => Boolean)(v: V): Iterator[Adjacency[V]] =
+    indexedAdjacencies(id(v)).map(_._2).filter(predicate)
+
+  /**
+   * Edge-BFS is not yet implemented for `MappedGraph` — use `bfs`.
+   *
+   * @throws UnsupportedOperationException always.
+   */
+  def bfse[F, R, J <: Appendable[(Edge[V, F], Option[R])]](visitor: Visitor[Edge[V, F], R, J])(v: V)(goal: V => Boolean)(using ev: Evaluable[Edge[V, F], R], random: Random): Visitor[Edge[V, F], R, J] =
+    throw UnsupportedOperationException("bfse is not yet implemented for MappedGraph — use bfs")
+
+  /**
+   * Returns the adjacencies of the vertex whose id is `i`, each paired with the id
+   * of the vertex at its far end, read directly from the mapped file.
+   *
+   * @param i the id of the vertex.
+   * @return an iterator of (id, adjacency) pairs.
+   */
+  override def indexedAdjacencies(i: Int): Iterator[(Int, Adjacency[V])] =
+    Iterator.range(offset(i), offset(i + 1)).map(s => target(s) -> AdjacencyEdge[V, E](edgeAt(i, s), flipped(s)))
+
+  /**
+   * Returns a view of a subgraph of this graph which, like this graph, yields adjacencies in storage order.
+   *
+   * @param vertexPredicate the vertices which belong to the view.
+   * @param edgePredicate   the edges which belong to the view.
+   * @return a `GraphView[V, E]`.
+   */
+  override def view(vertexPredicate: V => Boolean, edgePredicate: Edge[V, E] => Boolean): GraphView[V, E] =
+    new GraphView(this, vertexPredicate, edgePredicate, AdjacencyOrder.Insertion)
+
+  /**
+   * Returns all the edges of this graph.
+   * For an undirected graph, each edge is yielded once (from its unflipped slot).
+   *
+   * @return an iterator of `Edge[V, E]`.
+   */
+  def edges: Iterator[Edge[V, E]] =
+    for
+      i <- Iterator.range(0, N)
+      s <- Iterator.range(offset(i), offset(i + 1))
+      if !flipped(s)
+    yield edgeAt(i, s)
+
+  override def toString: String =
+    s"MappedGraph(${if directed then "directed" else "undirected"}, N=$N, M=$M)"
+
+  private def id(v: V): Int =
+    idOf(v).getOrElse(throw GraphException(s"MappedGraph: vertex $v does not exist"))
+
+  private def offset(i: Int): Int = buffer.getInt(layout.offsetsAt + 4 * i)
+
+  private def target(s: Int): Int = buffer.getInt(layout.targetsAt + 4 * s)
+
+  private def flipped(s: Int): Boolean = (buffer.get(layout.flippedAt + (s >> 3)) & (1 << (s & 7))) != 0
+
+  private def attribute(s: Int): E = ec.decode(buffer, layout.attributesAt + layout.width * s, layout.width)
+
+  private def keyPosition(i: Int): Int = buffer.getInt(layout.keysAt + 4 * i)
+
+  private def matches(i: Int, bytes: Array[Byte]): Boolean =
+    val start = keyPosition(i)
+    keyPosition(i + 1) - start == bytes.length &&
+            bytes.indices.forall(k => buffer.get(layout.bytesAt + start + k) == bytes(k))
+
+  private def edgeAt(i: Int, s: Int): Edge[V, E] =
+    val (white, black) = if flipped(s) then (key(target(s)), key(i)) else (key(i), key(target(s)))
+    if directed then AttributedDirectedEdge(attribute(s), white, black)
+    else UndirectedEdge(attribute(s), white, black)
+
+/**
+ * Companion object for `MappedGraph`: writes and opens graph files.
+ */
+object MappedGraph:
+
+  /**
+   * Writes `graph` to `path` in the binary layout of `MappedGraph`, replacing any existing file.
+   * The graph is directed if all its edges are one-way and undirected if none are.
+   *
+   * @param graph the graph to write.
+   * @param path  the file to create.
+   * @tparam V the type of the vertices, which are encoded by a `BinaryCodec[V]`.
+   * @tparam E the type of the edge attributes, whose `BinaryCodec[E]` must have a fixed width.
+   * @return `Success(path)`, or a `Failure` if the graph cannot be written.
+   */
+  def write[V: BinaryCodec, E: {BinaryCodec, ClassTag}](graph: EdgeTraversable[V, E], path: Path): Try[Path] =
+    Try(frozen(graph)).flatMap { csr =>
+      val width = summon[BinaryCodec[E]].width
+      val keys = csr.vertexIndex.keys.map(summon[BinaryCodec[V]].encode)
+      val layout = Layout(csr.N, csr.targets.length, width, capacity(csr.N), keys.iterator.map(_.length.toLong).sum)
+      if width < 0 then Failure(GraphException("MappedGraph.write: edge attributes must have a fixed width"))
+      else if layout.length > Int.MaxValue then Failure(GraphException(s"MappedGraph.write: graph too large (${layout.length} bytes)"))
+      else Using(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) { channel =>
+        val buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.length)
+        layout.writeHeader(buffer, csr.directed)
+        for i <- 0 to csr.N do buffer.putInt(layout.offsetsAt + 4 * i, csr.offsets(i))
+        for s <- csr.targets.indices do
+          buffer.putInt(layout.targetsAt + 4 * s, csr.targets(s))
+          if csr.flipped(s) then buffer.put(layout.flippedAt + (s >> 3), (buffer.get(layout.flippedAt + (s >> 3)) | (1 << (s & 7))).toByte): Unit
+          if width > 0 then buffer.put(layout.attributesAt + width * s, summon[BinaryCodec[E]].encode(csr.attributes(s))): Unit
+        var position = 0
+        for i <- keys.indices do
+          buffer.putInt(layout.keysAt + 4 * i, position)
+          buffer.put(layout.bytesAt + position, keys(i))
+          position += keys(i).length
+          // NOTE the table holds id + 1, so that zero marks an empty bucket.
+          var h = hash(keys(i)) & (layout.capacity - 1)
+          while buffer.getInt(layout.tableAt + 4 * h) != 0 do h = (h + 1) & (layout.capacity - 1)
+          buffer.putInt(layout.tableAt + 4 * h, i + 1)
+        buffer.putInt(layout.keysAt + 4 * keys.size, position)
+        buffer.force()
+        path
+      }
+    }
+
+  /**
+   * Opens a file written by `write`.
+   * Only the header is read; the rest of the file is paged in on demand.
+   *
+   * @param path the file.
+   * @tparam V the type of the vertices.
+   * @tparam E the type of the edge attributes.
+   * @return `Success(graph)`, or a `Failure` if the file cannot be mapped or is not a graph file
+   *         whose attribute width agrees with `BinaryCodec[E]`.
+   */
+  def open[V: BinaryCodec, E: BinaryCodec](path: Path): Try[MappedGraph[V, E]] =
+    Using(FileChannel.open(path, StandardOpenOption.READ))(channel => channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())).flatMap { buffer =>
+      Layout.read(buffer).flatMap { (layout, directed) =>
+        if layout.width != summon[BinaryCodec[E]].width then
+          Failure(GraphException(s"MappedGraph.open: attribute width is ${layout.width} but codec width is ${summon[BinaryCodec[E]].width}"))
+        else Success(new MappedGraph[V, E](buffer, layout, directed))
+      }
+    }
+
+  /**
+   * The FNV-1a hash of `bytes`, which (unlike `hashCode`) is the same in every JVM.
+   */
+  private[adjunct] def hash(bytes: Array[Byte]): Int =
+    bytes.foldLeft(0x811c9dc5)((h, b) => (h ^ (b & 0xff)) * 0x01000193)
+
+  private def frozen[V, E: ClassTag](graph: EdgeTraversable[V, E]): CsrGraph[V, E] =
+    val edges = graph.edges.toSeq
+    edges.map(_.edgeType.oneWay).distinct match
+      case Seq(false) => CsrGraph.undirected(graph.keySet, edges)
+      case Seq() | Seq(true) => CsrGraph.directed(graph.keySet, edges)
+      case _ => throw GraphException("MappedGraph.write: graph has both directed and undirected edges")
+
+  // NOTE the hash table is kept at most half full.
+  private def capacity(n: Int): Int =
+    Integer.highestOneBit(math.max(2, 2 * n - 1)) << 1
+
+  private val magic = 0x47525946 // "GRYF"
+  private val version = 1
+  private val headerLength = 32
+
+  /**
+   * The positions of the sections of a graph file, all derived from the header.
+   * Every section begins on an 8-byte boundary.
+   *
+   * | section    | content                                             |
+   * |------------|-----------------------------------------------------|
+   * | header     | magic, version, directed, n, slots, width, capacity, keyBytes |
+   * | offsets    | `n + 1` ints: the first slot of each vertex          |
+   * | targets    | `slots` ints: the id at the far end of each slot     |
+   * | flipped    | one bit per slot                                    |
+   * | attributes | `slots` attributes of `width` bytes each             |
+   * | keys       | `n + 1` ints: the position of each key in `bytes`    |
+   * | table      | `capacity` ints: id + 1 of the key hashed there, or 0 |
+   * | bytes      | the encoded keys                                    |
+   *
+   * @param n        the number of vertices.
+   * @param slots    the number of slots.
+   * @param width    the width of an encoded attribute.
+   * @param capacity the number of buckets in the hash table (a power of two).
+   * @param keyBytes the total length of the encoded keys.
+   */
+  private[adjunct] case class Layout(n: Int, slots: Int, width: Int, capacity: Int, keyBytes: Long):
+    val offsetsAt: Int = headerLength
+    val targetsAt: Int = align(offsetsAt + 4L * (n + 1))
+    val flippedAt: Int = align(targetsAt + 4L * slots)
+    val attributesAt: Int = align(flippedAt + (slots + 7L) / 8)
+    val keysAt: Int = align(attributesAt + width.toLong * slots)
+    val tableAt: Int = align(keysAt + 4L * (n + 1))
+    val bytesAt: Int = align(tableAt + 4L * capacity)
+    val length: Long = bytesAt + keyBytes
+
+    def writeHeader(buffer: ByteBuffer, directed: Boolean): Unit =
+      Seq(magic, version, if directed then 1 else 0, n, slots, width, capacity, keyBytes.toInt).zipWithIndex.foreach((x, k) => buffer.putInt(4 * k, x))
+
+    // NOTE positions beyond Int.MaxValue are clamped so that `length` reveals an oversized graph.
+    private def align(position: Long): Int = math.min((position + 7) & ~7L, Int.MaxValue.toLong).toInt
+
+  private[adjunct] object Layout:
+    def read(buffer: ByteBuffer): Try[(Layout, Boolean)] =
+      if buffer.capacity() < headerLength || buffer.getInt(0) != magic then Failure(GraphException("MappedGraph.open: not a graph file"))
+      else if buffer.getInt(4) != version then Failure(GraphException(s"MappedGraph.open: unsupported version ${buffer.getInt(4)}"))
+      else
+        val layout = Layout(buffer.getInt(12), buffer.getInt(16), buffer.getInt(20), buffer.getInt(24), buffer.getInt(28).toLong)
+        if layout.length != buffer.capacity() then Failure(GraphException("MappedGraph.open: file is truncated"))
+        else Success(layout -> (buffer.getInt(8) == 1))
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.adjunct
+
+import com.phasmidsoftware.gryphon.core.*
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.{Appendable, Evaluable, Visitor}
+import scala.util.Random
+
+/**
+ * An immutable, adjacency-matrix graph with `Double` edge weights, intended for dense (e.g. complete) graphs.
+ *
+ * Vertices are numbered densely `0 until N` by `vertexIndex`.
+ * The weight of the edge from vertex `i` to vertex `j` is `weights(i * N + j)`,
+ * and whether that edge exists at all is bit `j` of row `i` of the bitset `rows`
+ * (row `i` occupying the `words` longs starting at `i * words`).
+ * Thus the whole graph occupies two primitive arrays, of O(N²) words, however many edges it has:
+ * for a dense graph, that is far less than one `AdjacencyEdge` and one `Edge` object per edge.
+ * As for `CsrGraph`, the `Adjacency` and `Edge` instances which `Traversable` hands out are materialised on demand.
+ *
+ * An undirected `MatrixGraph` is symmetric: an edge between `i` and `j` is stored at both (i, j) and (j, i),
+ * and the adjacency belonging to the greater of `i` and `j` is flipped (the edge's `white` is the lesser).
+ * Since there is one cell per ordered pair of vertices, parallel edges cannot be represented:
+ * only the lightest of them is kept.
+ *
+ * `MST.prim` (via `PrimTraversal`) recognizes a `MatrixGraph` and runs the O(N²) array-based
+ * `MatrixTraversal.prim`, which, unlike the generic algorithm, needs no priority queue.
+ *
+ * NOTE: adjacencies are always returned in storage order (ascending id); the `Random` passed to
+ * `adjacentVertices` is ignored. Since cells are addressed by an `Int`, N is limited to 46340.
+ *
+ * @param vertexIndex the numbering of the vertices.
+ * @param weights     the weight matrix, in row-major order.
+ * @param rows        the existence bitset, in row-major order.
+ * @param directed    true if this graph is directed.
+ * @tparam V the type of the vertices.
+ */
+final class MatrixGraph[V] private(
+                                          override val vertexIndex: VertexIndex[V],
+                                          private[gryphon] val weights: Array[Double],
+                                          private[gryphon] val rows: Array[Long],
+                                          val directed: Boolean
+                                  ) extends ReversibleTraversable[V, Double]:
+
+  /**
+   * Returns the number of vertices in this graph.
+   *
+   * @return the number of vertices.
+   */
+  val N: Int = vertexIndex.size
+
+  /**
+   * The number of longs in each row of `rows`.
+   */
+  private[gryphon] val words: Int = MatrixGraph.words(N)
+
+  /**
+   * Returns the number of edges in this graph.
+   * For an undirected graph, each edge (other than a self-loop) occupies two cells but is counted once.
+   *
+   * @return the number of edges.
+   */
+  lazy val M: Int =
+    val cells = rows.iterator.map(java.lang.Long.bitCount).sum
+    if directed then cells else (cells + Range(0, N).count(i => hasEdge(i, i))) / 2
+
+  /**
+   * Returns the set of vertex keys in this graph.
+   *
+   * @return the set of all vertices.
+   */
+  lazy val keySet: Set[V] = vertexIndex.ids.keySet
+
+  /**
+   * Returns true if there is an edge from the vertex with id `i` to that with id `j`, in O(1).
+   *
+   * @param i the id of the vertex from which the edge leads.
+   * @param j the id of the vertex to which the edge leads.
+   * @return true if the edge exists.
+   */
+  def hasEdge(i: Int, j: Int): Boolean =
+    (rows(i * words + (j >>> 6)) & (1L << j)) != 0
+
+  /**
+   * Returns the weight of the edge from the vertex with id `i` to that with id `j`, in O(1).
+   *
+   * @param i the id of the vertex from which the edge leads.
+   * @param j the id of the vertex to which the edge leads.
+   * @return the weight (meaningful only if `hasEdge(i, j)`).
+   */
+  def weight(i: Int, j: Int): Double = weights(i * N + j)
+
+  /**
+   * Returns the out-degree of vertex `v` (for an undirected graph, the number of incident edges).
+   *
+   * @param v the vertex.
+   * @return the number of adjacencies of `v`.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def degree(v: V): Int =
+    val i = idOf(v)
+    Range(i * words, (i + 1) * words).map(w => java.lang.Long.bitCount(rows(w))).sum
+
+  /**
+   * Materialises the vertex for `key`, including all of its adjacencies.
+   *
+   * @param key the vertex attribute to look up.
+   * @return `Some(vertex)` if found, `None` otherwise.
+   */
+  def get(key: V): Option[Vertex[V]] =
+    vertexIndex.get(key).map(i => Vertex.create(key, Unordered_Set(indexedAdjacencies(i).map(_._2).toSeq)))
+
+  /**
+   * Returns an iterator over the vertices adjacent to `v`, in storage order.
+   *
+   * @param v      the vertex whose neighbours are required.
+   * @param random ignored.
+   * @return an iterator of adjacent vertex keys.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def adjacentVertices(v: V)(using random: Random): Iterator[V] =
+    neighbours(idOf(v)).map(vertexIndex(_))
+
+  /**
+   * Filters the adjacencies of a given vertex based on a specified predicate.
+   *
+   * @param predicate a function that evaluates each `Adjacency[V]`.
+   * @param v         the vertex whose adjacencies are to be filtered.
+   * @return an iterator over the adjacencies of `v` that satisfy the predicate.
+   * @throws GraphException if `v` is not a vertex of this graph.
+   */
+  def filteredAdjacencies(predicate: Adjacency[V] => Boolean)(v: V): Iterator[Adjacency[V]] =
+    indexedAdjacencies(idOf(v)).map(_._2).filter(predicate)
+
+  /**
+   * Edge-BFS is not yet implemented for `MatrixGraph` — use `bfs`.
+   *
+   * @throws UnsupportedOperationException always.
+   */
+  def bfse[E, R, J <: Appendable[(Edge[V, E], Option[R])]](visitor: Visitor[Edge[V, E], R, J])(v: V)(goal: V => Boolean)(using ev: Evaluable[Edge[V, E], R], random: Random): Visitor[Edge[V, E], R, J] =
+    throw UnsupportedOperationException("bfse is not yet implemented for MatrixGraph — use bfs")
+
+  /**
+   * Returns the adjacencies of the vertex whose id is `i`, each paired with the id
+   * of the vertex at its far end, read directly from the matrix.
+   *
+   * @param i the id of the vertex.
+   * @return an iterator of (id, adjacency) pairs.
+   */
+  override def indexedAdjacencies(i: Int): Iterator[(Int, Adjacency[V])] =
+    neighbours(i).map(j => j -> AdjacencyEdge[V, Double](edgeAt(i, j), !directed && i > j))
+
+  /**
+   * Returns all the edges of this graph.
+   * For an undirected graph, each edge is yielded once (from the cell in which `i <= j`).
+   *
+   * @return an iterator of `Edge[V, Double]`.
+   */
+  def edges: Iterator[Edge[V, Double]] =
+    for
+      i <- Iterator.range(0, N)
+      j <- neighbours(i)
+      if directed || i <= j
+    yield edgeAt(i, j)
+
+  /**
+   * Returns the transpose of this graph.
+   * For a directed graph, a new `MatrixGraph` is built in O(N²); an undirected graph is its own transpose.
+   *
+   * @return the reversed graph.
+   */
+  def reverse: MatrixGraph[V] =
+    if directed then
+      val transposed = MatrixGraph.empty(vertexIndex, directed = true)
+      for i <- 0 until N; j <- neighbours(i) do transposed.set(j, i, weight(i, j))
+      transposed
+    else
+      this
+
+  /**
+   * Materialises the edge from the vertex with id `i` to that with id `j`.
+   *
+   * @param i the id of the vertex from which the edge leads.
+   * @param j the id of the vertex to which the edge leads.
+   * @return an `AttributedDirectedEdge` (directed) or an `UndirectedEdge` whose `white` is the lesser id (undirected).
+   */
+  def edgeAt(i: Int, j: Int): Edge[V, Double] =
+    if directed then AttributedDirectedEdge(weight(i, j), vertexIndex(i), vertexIndex(j))
+    else UndirectedEdge(weight(i, j), vertexIndex(i min j), vertexIndex(i max j))
+
+  override def toString: String =
+    s"MatrixGraph(${if directed then "directed" else "undirected"}, N=$N, M=$M)"
+
+  /**
+   * Returns the ids of the neighbours of the vertex with id `i`, in ascending order,
+   * by scanning the set bits of its row.
+   */
+  private[gryphon] def neighbours(i: Int): Iterator[Int] =
+    Iterator.range(0, words).flatMap { w =>
+      val word = rows(i * words + w)
+      Iterator.iterate(word)(x => x & (x - 1)).takeWhile(_ != 0).map(x => (w << 6) + java.lang.Long.numberOfTrailingZeros(x))
+    }
+
+  /**
+   * Records the edge from `i` to `j` (and, if undirected, from `j` to `i`) unless a lighter one is already recorded.
+   * NOTE this is used only while a new graph is being built.
+   */
+  private def set(i: Int, j: Int, w: Double): Unit =
+    if !hasEdge(i, j) || w < weight(i, j) then
+      weights(i * N + j) = w
+      rows(i * words + (j >>> 6)) |= 1L << j
+      if !directed then
+        weights(j * N + i) = w
+        rows(j * words + (i >>> 6)) |= 1L << i
+
+  private def idOf(v: V): Int =
+    vertexIndex.get(v).getOrElse(throw GraphException(s"MatrixGraph: vertex $v does not exist"))
+
+/**
+ * Companion object for `MatrixGraph`.
+ */
+object MatrixGraph:
+
+  /**
+   * Converts a `DirectedGraph[V, Double]` into a directed `MatrixGraph`.
+   *
+   * @param graph the graph.
+   * @tparam V the type of the vertices.
+   * @return a directed `MatrixGraph[V]`.
+   */
+  def apply[V](graph: DirectedGraph[V, Double]): MatrixGraph[V] =
+    directed(graph.keySet, graph.edges)
+
+  /**
+   * Converts an `UndirectedGraph[V, Double]` into an undirected `MatrixGraph`.
+   *
+   * @param graph the graph.
+   * @tparam V the type of the vertices.
+   * @return an undirected `MatrixGraph[V]`.
+   */
+  def apply[V](graph: UndirectedGraph[V, Double]): MatrixGraph[V] =
+    undirected(graph.keySet, graph.edges)
+
+  /**
+   * Creates a directed `MatrixGraph`.
+   *
+   * @param vertices the vertices (those of the edges are added, in order of first appearance).
+   * @param edges    the edges; each is recorded from `white` to `black`.
+   * @tparam V the type of the vertices.
+   * @return a new directed `MatrixGraph[V]`.
+   * @throws GraphException if there are too many vertices.
+   */
+  def directed[V](vertices: Iterable[V], edges: IterableOnce[Edge[V, Double]]): MatrixGraph[V] =
+    build(vertices, edges.iterator.toSeq, directed = true)
+
+  /**
+   * Creates an undirected `MatrixGraph`.
+   *
+   * @param vertices the vertices (those of the edges are added, in order of first appearance).
+   * @param edges    the edges; each is recorded in both directions.
+   * @tparam V the type of the vertices.
+   * @return a new undirected `MatrixGraph[V]`.
+   * @throws GraphException if there are too many vertices.
+   */
+  def undirected[V](vertices: Iterable[V], edges: IterableOnce[Edge[V, Double]]): MatrixGraph[V] =
+    build(vertices, edges.iterator.toSeq, directed = false)
+
+  /**
+   * Creates the complete undirected graph on the given vertices, without creating any edge objects.
+   * This is the typical use of a `MatrixGraph`, for example for the pairwise distances between a set of points.
+   *
+   * @param vertices the vertices (duplicates are ignored).
+   * @param weight   the weight of the edge between two (distinct) vertices, which should be symmetric.
+   * @tparam V the type of the vertices.
+   * @return a new undirected `MatrixGraph[V]` with an edge between every pair of distinct vertices.
+   * @throws GraphException if there are too many vertices.
+   */
+  def complete[V](vertices: Iterable[V])(weight: (V, V) => Double): MatrixGraph[V] =
+    val graph = empty(VertexIndex(vertices), directed = false)
+    val index = graph.vertexIndex
+    for i <- 0 until graph.N; j <- i + 1 until graph.N do graph.set(i, j, weight(index(i), index(j)))
+    graph
+
+  private def build[V](vertices: Iterable[V], edges: Seq[Edge[V, Double]], directed: Boolean): MatrixGraph[V] =
+    val index = VertexIndex(vertices.iterator ++ edges.iterator.flatMap(e => Iterator(e.white, e.black)))
+    val graph = empty(index, directed)
+    for e <- edges do graph.set(index.indexOf(e.white), index.indexOf(e.black), e.attribute)
+    graph
+
+  private def empty[V](index: VertexIndex[V], directed: Boolean): MatrixGraph[V] =
+    val n = index.size
+    if n.toLong * n > Int.MaxValue then throw GraphException(s"MatrixGraph: too many vertices ($n)")
+    new MatrixGraph(index, new Array[Double](n * n), new Array[Long](n * words(n)), directed)
+
+  private def words(n: Int): Int = (n + 63) >>> 6
@@ -36,6 +36,13 @@ case class UndirectedEdge[V, E](attribute: E, white: V, black: V) extends Edge[V
    */
   def other(v: V): V = if v == white then black else white
 
+  /**
+   * Returns this edge with `white` and `black` exchanged (which, by symmetric equality, is equal to this edge).
+   *
+   * @return the reversed `UndirectedEdge`.
+   */
+  def reversed: UndirectedEdge[V, E] = copy(white = black, black = white)
+
   /**
    * Symmetric equality: UndirectedEdge(a, u, v) == UndirectedEdge(a, v, u).
    * The default case class equals treats white and black as ordered, which
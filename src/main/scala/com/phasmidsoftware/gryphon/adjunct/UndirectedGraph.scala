@@ -1,8 +1,10 @@
 package com.phasmidsoftware.gryphon.adjunct
 
 import com.phasmidsoftware.gryphon.core.*
+import com.phasmidsoftware.gryphon.traverse.{TwoColoring, UndirectedSearch}
 import com.phasmidsoftware.gryphon.util.GraphException
 import com.phasmidsoftware.visitor.core.{Evaluable, JournaledVisitor}
+import scala.reflect.ClassTag
 import scala.util.{Failure, Random, Success, Try}
 
 /**
@@ -38,7 +40,44 @@ case class UndirectedGraph[V, E](vertexMap: VertexMap[V]) extends AbstractGraph[
     adjacencies.collect { case AdjacencyEdge(e: UndirectedEdge[V, E] @unchecked, false) => e }
   }
 
-  override def M: Int = edges.size
+  /**
+   * Returns the number of edges in the graph, in O(1).
+   * Each edge (whether an `UndirectedEdge` or a vertex pair) is counted once.
+   *
+   * @return the number of edges.
+   */
+  override def M: Int = vertexMap.undirectedM
+
+  /**
+   * Returns this graph with the given adjacency order, for example `AdjacencyOrder.Insertion`
+   * for a traversal which need not be randomized.
+   *
+   * @param order the adjacency order.
+   * @return a new `UndirectedGraph[V, E]` with the same vertices and edges.
+   */
+  def withAdjacencyOrder(order: AdjacencyOrder): UndirectedGraph[V, E] =
+    copy(vertexMap.withAdjacencyOrder(order))
+
+  /**
+   * Converts this graph into an immutable, array-backed `CsrGraph` with the same vertices and edges.
+   * The result implements `ReversibleTraversable`, so traversals and algorithms
+   * which accept a `Traversable` run on it unchanged, with far less memory per edge.
+   *
+   * @return an undirected `CsrGraph[V, E]`.
+   */
+  def freeze(using ClassTag[E]): CsrGraph[V, E] =
+    CsrGraph.undirected(vertexMap.keySet, edges.toSeq)
+
+  /**
+   * Freezes this graph (see `freeze`) with its vertices renumbered according to `ordering`,
+   * so that neighbouring vertices have nearby ids and adjacent slots (see `VertexOrdering`).
+   * The vertices themselves are unchanged, and so are the results of all algorithms.
+   *
+   * @param ordering the policy which determines the vertex ids, for example `VertexOrdering.ReverseCuthillMcKee`.
+   * @return an undirected `CsrGraph[V, E]`.
+   */
+  def reorder(ordering: VertexOrdering)(using ClassTag[E]): CsrGraph[V, E] =
+    freeze.reorder(ordering)
 
   /**
    * Returns the degree of vertex `v` — the number of edges incident to it.
@@ -47,37 +86,34 @@ case class UndirectedGraph[V, E](vertexMap: VertexMap[V]) extends AbstractGraph[
     vertexMap(v).adjacencies.size
 
   /**
-   * Returns the maximum degree of any vertex in the graph.
+   * Returns the maximum degree of any vertex in the graph, in O(1).
    */
   def maxDegree: Int =
-    vertexMap.keySet.toSeq.map(degree).max
+    vertexMap.maxOutDegree
 
   /**
-   * Returns the mean degree across all vertices in the graph.
+   * Returns the mean degree across all vertices in the graph, in O(1).
    */
   def meanDegree: Double =
-    vertexMap.keySet.toSeq.map(degree).sum.toDouble / N
+    vertexMap.adjacencyCount.toDouble / N
 
   /**
-   * Determines whether the graph contains a cycle using DFS to detect is we encounter a previously visited vertex.
+   * Determines whether the graph contains a cycle (see `findCycle`).
    *
    * @return true if the graph is cyclic (i.e., it contains at least one cycle), false otherwise.
    */
   def isCyclic: Boolean =
-    given Random = Random(0)
-
-    val visited = scala.collection.mutable.Set.empty[V]
+    findCycle.isDefined
 
-    def dfs(v: V, parent: Option[V]): Boolean =
-      visited += v
-      adjacentVertices(v).exists { w =>
-        if !visited.contains(w) then dfs(w, Some(v))
-        else !parent.contains(w)
-      }
-
-    vertexMap.keySet.exists { v =>
-      !visited.contains(v) && dfs(v, None)
-    }
+  /**
+   * Finds a cycle of this graph, if it has one, using an explicit-stack search (see `UndirectedSearch.cycle`),
+   * so that there is no limit on the length of a path.
+   * A self-loop, or a pair of parallel edges, is a cycle.
+   *
+   * @return `Some(cycle)`, whose vertices are in order around the cycle, or `None` if this graph is a forest.
+   */
+  def findCycle: Option[Seq[V]] =
+    UndirectedSearch.cycle(this)
 
   /**
    * Returns true if this undirected graph is connected — i.e. every vertex
@@ -102,24 +138,19 @@ case class UndirectedGraph[V, E](vertexMap: VertexMap[V]) extends AbstractGraph[
    * can be partitioned into two sets such that every edge connects vertices
    * in different sets. Equivalently, the graph contains no odd-length cycle.
    *
-   * Uses DFS with 2-coloring. Handles disconnected graphs by seeding each
-   * unvisited component in turn.
+   * See `twoColoring`.
    */
   def isBipartite: Boolean =
-    given Random = Random(0)
+    twoColoring.isRight
 
-    val color = scala.collection.mutable.Map.empty[V, Boolean]
-
-    def dfs(v: V, c: Boolean): Boolean =
-      color(v) = c
-      adjacentVertices(v).forall { w =>
-        if !color.contains(w) then dfs(w, !c)
-        else color(w) != c
-      }
-
-    vertexMap.keySet.forall { v =>
-      color.contains(v) || dfs(v, true)
-    }
+  /**
+   * Attempts to 2-color this graph, using an explicit-stack search (see `UndirectedSearch.twoColoring`)
+   * which handles disconnected graphs by seeding each uncolored component in turn.
+   *
+   * @return `Right(coloring)` if this graph is bipartite; otherwise `Left(cycle)`, where `cycle` is an odd cycle.
+   */
+  def twoColoring: Either[Seq[V], TwoColoring[V]] =
+    UndirectedSearch.twoColoring(this)
 
   /**
    * Creates a new directed graph using the provided vertex map.
@@ -180,18 +211,18 @@ object UndirectedGraph {
     SerializableGraph.createFromTriplets[V, E, EdgeType](triples) match {
       case triplets: Triplets[V, E, EdgeType] =>
         val vm: VertexMap[V] =
-          triplets.triplets.foldLeft(VertexMap[V]) {
+          triplets.triplets.foldLeft(VertexMapBuilder[V]) {
             (z, t) =>
               // TODO find another way to handle this anomaly
               if (t._4.oneWay) System.err.println(s"WARNING: edge ${t._3} is directed.")
-              z.createVerticesFromTriplet[E, EdgeType](f) {
+              z.addTriplet[E, EdgeType](f) {
                         case (vv1, vv2, Some(e)) =>
                           AdjacencyEdge(UndirectedEdge(e, vv1.attribute, vv2.attribute))
                         case (vv1, vv2, None) => // TODO fix this case so that it doesn't use a directed edge.
                           AdjacencyEdge(AttributedDirectedEdge(None, vv1.attribute, vv2.attribute))
                       }(!t._4.oneWay)
                       (t)
-          }
+          }.result()
         val graph = UndirectedGraph(vm)
         // TODO find another way to handle this anomaly
         val expectedAdjacencies = triplets.triplets.map(t => if t._4.oneWay then 1 else 2).sum
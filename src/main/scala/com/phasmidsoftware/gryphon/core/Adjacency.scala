@@ -78,17 +78,18 @@ case class AdjacencyEdge[V, E](connexion: Connexion[V], flipped: Boolean = false
  * Type alias for an unordered collection of adjacencies for a given vertex type.
  *
  * NOTE: when `AdjacencyEdge` is used, an `Unordered_Set` is appropriate (no duplicate edges).
- * When `AdjacencyVertex` is used, use `Unordered_Bag` (duplicate vertices are possible).
+ * When `AdjacencyVertex` is used, use a bag such as `Unordered_Vector` (duplicate vertices are possible).
  *
  * //@tparam V the type of the vertex attribute.
  */
 type Adjacencies[V] = Unordered[Adjacency[V]]
 
 /**
- * Creates an empty `Adjacencies` instance backed by an `Unordered_Bag`.
+ * Creates an empty `Adjacencies` instance which allows duplicates, backed by an `Unordered_Vector`
+ * (so that adding an adjacency takes effectively constant time).
  */
 def emptyAdjacenciesBag[V]: Adjacencies[V] =
-  Unordered_Bag.empty[Adjacency[V]]
+  Unordered_Vector.empty[Adjacency[V]]
 
 /**
  * Creates an empty `Adjacencies` instance backed by an `Unordered_Set`.
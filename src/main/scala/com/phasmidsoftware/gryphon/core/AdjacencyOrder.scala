@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.util.RandomIterator
+import scala.util.Random
+
+/**
+ * The policy which determines the order in which `adjacentVertices` yields the neighbours of a vertex
+ * (and so the order in which DFS and BFS explore them).
+ *
+ * The policy belongs to a `VertexMap` (see `VertexMap.withAdjacencyOrder`),
+ * and thus to each graph (see `Graph.withAdjacencyOrder`).
+ * Since changing the policy is O(1) (except for `Shuffled`), a policy may also be chosen for a single traversal,
+ * for example `graph.withAdjacencyOrder(AdjacencyOrder.Insertion).dfs(visitor)(start)`.
+ *
+ * There are three policies:
+ * - `Insertion`: the adjacencies are yielded in the order in which they are stored: O(d) and no allocation;
+ * - `Randomized`: the adjacencies are yielded in a random order, determined by the `Random` given to each call;
+ * - `Shuffled(seed)`: the adjacencies of every vertex are shuffled once (using `seed`), and thereafter yielded in that order.
+ *
+ * `Randomized` is the default, so that tests (which supply a seeded `Random`) continue to explore graphs in a random order.
+ */
+sealed trait AdjacencyOrder:
+
+  /**
+   * Arranges the given elements according to this policy.
+   *
+   * @param xs     the elements, in storage order.
+   * @param random the source of randomness (ignored by `Insertion`).
+   * @tparam T the type of the elements.
+   * @return an iterator over the same elements.
+   */
+  def arrange[T](xs: Iterator[T])(using random: Random): Iterator[T]
+
+/**
+ * Companion object for `AdjacencyOrder`, defining the available policies.
+ */
+object AdjacencyOrder:
+
+  /**
+   * Adjacencies are yielded in storage order.
+   */
+  case object Insertion extends AdjacencyOrder:
+    def arrange[T](xs: Iterator[T])(using random: Random): Iterator[T] = xs
+
+  /**
+   * Adjacencies are yielded in a new random order on every call (see `RandomIterator`).
+   */
+  case object Randomized extends AdjacencyOrder:
+    def arrange[T](xs: Iterator[T])(using random: Random): Iterator[T] = RandomIterator(xs)
+
+  /**
+   * Adjacencies are shuffled once, using a `Random` seeded with `seed`, and then yielded in that fixed order.
+   *
+   * NOTE `arrange` performs the shuffle; `VertexMap` calls it once for each vertex and keeps the result.
+   *
+   * @param seed the seed of the shuffle.
+   */
+  case class Shuffled(seed: Long) extends AdjacencyOrder:
+    def arrange[T](xs: Iterator[T])(using random: Random): Iterator[T] = random.shuffle(xs.toIndexedSeq).iterator
@@ -1,6 +1,5 @@
 package com.phasmidsoftware.gryphon.core
 
-import com.phasmidsoftware.gryphon.util.RandomIterator
 import scala.util.Random
 
 /**
@@ -61,14 +60,13 @@ abstract class AbstractBag[+X](xs: Seq[X]) extends Bag[X] {
 
   /**
    * Returns an iterator over the elements contained in this `ListBag`.
-   * The elements are iterated in a randomized order.
+   * The elements are iterated in the order in which they were added:
+   * the order in which a graph visits adjacencies is determined by its `AdjacencyOrder`.
    *
-   * @return an `Iterator[X]` that provides a randomized traversal of the elements in the bag.
+   * @return an `Iterator[X]` over the elements of the bag.
    */
-  def iterator: Iterator[X] = {
-    import Bag.*
-    RandomIterator(xs)
-  }
+  def iterator: Iterator[X] =
+    xs.iterator
 
   /**
    * Filters the elements of the Bag using the provided predicate function.
@@ -144,7 +142,7 @@ object Bag {
    * @return an empty `Bag` of type `Bag[X]`.
    */
   def empty[X]: Bag[X] =
-    ListBag(Seq.empty)
+    ListBag(Vector.empty)
 
   /**
    * Creates a new `Bag` instance populated with the specified elements.
@@ -154,7 +152,7 @@ object Bag {
    * @return a new `Bag[X]` instance containing the provided elements.
    */
   def create[X](xs: X*): Bag[X] =
-    ListBag(xs)
+    ListBag(xs.toVector)
 
   implicit val random: Random = new scala.util.Random
 }
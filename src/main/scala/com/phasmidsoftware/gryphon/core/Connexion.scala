@@ -30,6 +30,13 @@ trait Connexion[V] {
    * @return the "black" vertex.
    */
   def black: V
+
+  /**
+   * Returns the connexion in the opposite direction, i.e. from `black` to `white`, with the same attribute (if any).
+   *
+   * @return a `Connexion[V]` whose `white` is this `black` and vice versa.
+   */
+  def reversed: Connexion[V]
 }
 
 /**
@@ -44,4 +51,5 @@ trait Connexion[V] {
  * @param white the first vertex in the connection, referred to as `white`.
  * @param black the second vertex in the connection, referred to as `black`.
  */
-case class VertexPair[V](white: V, black: V) extends Connexion[V]
+case class VertexPair[V](white: V, black: V) extends Connexion[V]:
+  def reversed: VertexPair[V] = copy(white = black, black = white)
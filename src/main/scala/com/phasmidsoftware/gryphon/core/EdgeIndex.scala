@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import scala.collection.mutable
+
+/**
+ * A hash index from an ordered pair of vertices (from, to) to the edge which connects them.
+ *
+ * Without an index, the only way to find the edge from `u` to `v` is to scan the adjacencies of `u`,
+ * which is O(deg(u)). An `EdgeIndex` is built once, in O(M), and thereafter answers each query in O(1).
+ * An `EdgeGraph` builds its index lazily, on the first call of `edge` or `hasEdge` (see `EdgeGraph.edgeIndex`).
+ *
+ * An undirected edge between `u` and `v` is indexed under both (u, v) and (v, u).
+ * In a multigraph, the first edge found for a pair is the one which is returned,
+ * and the number of such edges is its `multiplicity`.
+ *
+ * The entries are filled by `EdgeIndex.apply` and never modified thereafter; they are private, so an `EdgeIndex` is immutable.
+ *
+ * @param entries a map from each (from, to) pair to its `EdgeIndex.Entry`.
+ * @tparam V the type of the vertices.
+ * @tparam E the type of the edge attributes.
+ */
+class EdgeIndex[V, E] private(entries: collection.Map[(V, V), EdgeIndex.Entry[V, E]]):
+
+  /**
+   * Returns the edge from `u` to `v`, if there is one.
+   *
+   * @param u the vertex from which the edge leads.
+   * @param v the vertex to which the edge leads.
+   * @return `Some(edge)` if there is an edge from `u` to `v`, otherwise `None`.
+   */
+  def edge(u: V, v: V): Option[Edge[V, E]] = entries.get(u -> v).map(_.edge)
+
+  /**
+   * Returns true if there is an edge from `u` to `v`.
+   *
+   * @param u the vertex from which the edge leads.
+   * @param v the vertex to which the edge leads.
+   * @return true if the edge exists.
+   */
+  def hasEdge(u: V, v: V): Boolean = entries.contains(u -> v)
+
+  /**
+   * Returns the number of edges from `u` to `v` (greater than 1 only in a multigraph).
+   *
+   * @param u the vertex from which the edges lead.
+   * @param v the vertex to which the edges lead.
+   * @return the number of such edges.
+   */
+  def multiplicity(u: V, v: V): Int = entries.get(u -> v).fold(0)(_.multiplicity)
+
+  override def toString: String = s"EdgeIndex(size=${entries.size})"
+
+/**
+ * Companion object for `EdgeIndex`.
+ */
+object EdgeIndex:
+
+  /**
+   * The indexed value of a (from, to) pair.
+   *
+   * @param edge         the (first) edge from `from` to `to`.
+   * @param multiplicity the number of edges from `from` to `to`.
+   * @tparam V the type of the vertices.
+   * @tparam E the type of the edge attributes.
+   */
+  case class Entry[V, E](edge: Edge[V, E], multiplicity: Int)
+
+  /**
+   * Builds an `EdgeIndex` from the given edges in O(M).
+   * A two-way edge (other than a self-loop) is indexed in both directions.
+   *
+   * @param edges the edges.
+   * @tparam V the type of the vertices.
+   * @tparam E the type of the edge attributes.
+   * @return a new `EdgeIndex[V, E]`.
+   */
+  def apply[V, E](edges: IterableOnce[Edge[V, E]]): EdgeIndex[V, E] =
+    val entries = mutable.HashMap.empty[(V, V), Entry[V, E]]
+
+    def add(key: (V, V), edge: Edge[V, E]): Unit =
+      entries.updateWith(key)(x => Some(x.fold(Entry(edge, 1))(y => y.copy(multiplicity = y.multiplicity + 1)))): Unit
+
+    edges.iterator.foreach { e =>
+      add(e.white -> e.black, e)
+      if !e.edgeType.oneWay && e.white != e.black then add(e.black -> e.white, e)
+    }
+    // NOTE the mutable map is never modified after this point.
+    new EdgeIndex(entries)
+
+  /**
+   * Creates an empty `EdgeIndex`.
+   *
+   * @tparam V the type of the vertices.
+   * @tparam E the type of the edge attributes.
+   * @return an empty `EdgeIndex[V, E]`.
+   */
+  def empty[V, E]: EdgeIndex[V, E] = new EdgeIndex(Map.empty)
@@ -2,14 +2,14 @@ package com.phasmidsoftware.gryphon.core
 
 import com.phasmidsoftware.gryphon.adjunct.AttributedDirectedEdge
 import com.phasmidsoftware.gryphon.core
-import com.phasmidsoftware.visitor.core.{*, given} // This is not unused
+import com.phasmidsoftware.visitor.core.{Appendable, Evaluable, Visitor}
 import scala.util.Random
 
 /**
  * A trait representing an abstract graph structure composed of vertices.
  *
- * All traversal methods delegate to the `VertexMap` which in turn uses the
- * Visitor V1.2.0 typeclass engine (`Traversal.dfs` / `Traversal.bfs`).
+ * The traversal methods are inherited from `Traversable`, which drives the
+ * Visitor V1.2.0 typeclass engine (`Traversal.dfs` / `Traversal.bfs`) from `adjacentVertices`.
  * The mutable `discovered` flag pattern has been removed throughout; visited-node
  * tracking is handled by the immutable `VisitedSet[V]` inside the engine.
  *
@@ -17,57 +17,6 @@ import scala.util.Random
  */
 trait Graph[V] extends Traversable[V]:
 
-  /**
-   * Performs DFS from `v`, accumulating results into `visitor`.
-   *
-   * @param visitor the visitor accumulating results.
-   * @param v       the starting vertex.
-   * @tparam R the result type extracted from each node by `Evaluable`.
-   * @tparam J the journal type.
-   * @return the updated visitor after traversal.
-   */
-  def dfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J], order: DfsOrder = DfsOrder.Pre)(v: V)(using ev: Evaluable[V, R], random: Random): Visitor[V, R, J] =
-    vertexMap.dfs(visitor, order)(v)
-
-  /**
-   * Performs DFS for all vertices in the graph, including those unreachable from any
-   * single start vertex.
-   *
-   * @param visitor the visitor accumulating results.
-   * @tparam R the result type.
-   * @tparam J the journal type.
-   * @return the updated visitor after traversing all vertices.
-   */
-  def dfsAll[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(using ev: Evaluable[V, R], random: Random): Visitor[V, R, J] =
-    vertexMap.dfsAll(visitor)
-
-  /**
-   * Performs BFS from `v`, accumulating results into `visitor`.
-   *
-   * @param visitor the visitor accumulating results.
-   * @param v       the starting vertex.
-   * @param goal    early-termination predicate (default: never stop early).
-   * @tparam R the result type.
-   * @tparam J the journal type.
-   * @return the updated visitor after traversal.
-   */
-  def bfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(v: V, goal: V => Boolean = _ => false)(using ev: Evaluable[V, R], random: Random): Visitor[V, R, J] =
-    vertexMap.bfs(visitor)(v, goal)
-
-  /**
-   * BFS over edges rather than vertices.
-   *
-   * @param visitor the visitor processing edges.
-   * @param v       the starting vertex.
-   * @param goal    early-termination predicate on destination vertices.
-   * @tparam E the type of the edge attribute.
-   * @tparam R the result type.
-   * @tparam J the journal type.
-   * @return the visitor after traversal.
-   */
-  def bfse[E, R, J <: Appendable[(Edge[V, E], Option[R])]](visitor: Visitor[Edge[V, E], R, J])(v: V)(goal: V => Boolean)(using ev: Evaluable[Edge[V, E], R], random: Random): Visitor[Edge[V, E], R, J] =
-    vertexMap.bfse(visitor)(v)(goal)
-
   /**
    * Determines if the graph contains any cycles.
    *
@@ -89,7 +38,9 @@ trait Graph[V] extends Traversable[V]:
    * Returns true if this graph is bipartite (2-colorable).
    *
    * For undirected graphs: true iff the graph contains no odd-length cycle.
-   * For directed graphs: not yet implemented — throws UnsupportedOperationException.
+   * For directed graphs: true iff the underlying undirected graph (in which the direction of each edge is ignored,
+   * so that each weakly connected component is colored as a whole) contains no odd-length cycle
+   * (see `DirectedGraph.twoColoring`).
    */
   def isBipartite: Boolean
 
@@ -117,6 +68,15 @@ trait Graph[V] extends Traversable[V]:
    */
   def unit(vertexMap: VertexMap[V]): Graph[V]
 
+  /**
+   * Returns a graph with the same vertices and edges whose `adjacentVertices` (and hence dfs and bfs)
+   * yields neighbours in the given order.
+   *
+   * @param order the adjacency order (see `AdjacencyOrder`).
+   * @return a new graph instance.
+   */
+  def withAdjacencyOrder(order: AdjacencyOrder): Graph[V]
+
   /**
    * Returns the directed edges reachable from v.
    */
@@ -162,6 +122,54 @@ abstract class AbstractGraph[V](vertexMap: VertexMap[V]) extends Graph[V]:
    */
   def M: Int = vertexMap.M
 
+  /**
+   * Returns the number of adjacencies leading to vertex `v`
+   * (in O(1) if the in-edge index is maintained, see `VertexMap.inDegree`).
+   *
+   * @param v the vertex.
+   * @return the in-degree of `v`.
+   */
+  def inDegree(v: V): Int = vertexMap.inDegree(v)
+
+  /**
+   * Returns the number of adjacencies leading from vertex `v`, in O(1).
+   *
+   * @param v the vertex.
+   * @return the out-degree of `v`.
+   */
+  def outDegree(v: V): Int = vertexMap.outDegree(v)
+
+  /**
+   * Returns the vertices from which an adjacency leads to vertex `v` (its predecessors, for a directed graph).
+   * See `VertexMap.inNeighbours`.
+   *
+   * @param v the vertex.
+   * @return an iterator over the in-neighbours of `v`.
+   */
+  def inNeighbours(v: V): Iterator[V] = vertexMap.inNeighbours(v)
+
+  /**
+   * Returns the set of vertex keys in the graph.
+   *
+   * @return the set of all vertices of type V.
+   */
+  def keySet: Set[V] = vertexMap.keySet
+
+  /**
+   * Returns the dense integer numbering of the vertices of this graph.
+   *
+   * @return the `VertexIndex[V]` of the underlying `VertexMap`.
+   */
+  override def vertexIndex: VertexIndex[V] = vertexMap.vertexIndex
+
+  /**
+   * Returns the adjacencies of the vertex whose id is `i`, each paired with the id of the vertex at its far end.
+   *
+   * @param i the id of the vertex.
+   * @return the `indexedAdjacencies` of the underlying `VertexMap`, which are read from its id-keyed table.
+   */
+  override def indexedAdjacencies(i: Int): Iterator[(Int, Adjacency[V])] = vertexMap.indexedAdjacencies(i)
+
   /**
    * Retrieves an iterator over all adjacencies in the graph.
    *
@@ -200,6 +208,20 @@ abstract class AbstractGraph[V](vertexMap: VertexMap[V]) extends Graph[V]:
    */
   def adjacentVertices(v: V)(using random: Random): Iterator[V] = vertexMap.adjacentVertices(v)
 
+  /**
+   * BFS over edges rather than vertices.
+   *
+   * @param visitor the visitor processing edges.
+   * @param v       the starting vertex.
+   * @param goal    early-termination predicate on destination vertices.
+   * @tparam E the type of the edge attribute.
+   * @tparam R the result type.
+   * @tparam J the journal type.
+   * @return the visitor after traversal.
+   */
+  def bfse[E, R, J <: Appendable[(Edge[V, E], Option[R])]](visitor: Visitor[Edge[V, E], R, J])(v: V)(goal: V => Boolean)(using ev: Evaluable[Edge[V, E], R], random: Random): Visitor[Edge[V, E], R, J] =
+    vertexMap.bfse(visitor)(v)(goal)
+
 /**
  * A trait for graphs that carry both vertices and edges, supporting edge-based operations.
  *
@@ -216,9 +238,54 @@ trait EdgeGraph[V, E] extends Graph[V] with EdgeTraversable[V, E]:
    */
   def addEdge(edge: Edge[V, E]): EdgeGraph[V, E]
 
+  /**
+   * The index of the edges of this graph by (from, to), which is built (in O(M)) on first use
+   * and thereafter shared by every call of `edge`, `hasEdge` and `multiplicity`.
+   * A graph which results from `addEdge` has its own (not yet built) index.
+   */
+  lazy val edgeIndex: EdgeIndex[V, E] = EdgeIndex(edges)
+
+  /**
+   * Returns the edge from `u` to `v` (for an undirected edge, in either direction), in O(1).
+   *
+   * @param u the vertex from which the edge leads.
+   * @param v the vertex to which the edge leads.
+   * @return `Some(edge)` if there is such an edge, otherwise `None`.
+   */
+  def edge(u: V, v: V): Option[Edge[V, E]] = edgeIndex.edge(u, v)
+
+  /**
+   * Returns true if there is an edge from `u` to `v` (for an undirected edge, in either direction), in O(1).
+   *
+   * @param u the vertex from which the edge leads.
+   * @param v the vertex to which the edge leads.
+   * @return true if the edge exists.
+   */
+  def hasEdge(u: V, v: V): Boolean = edgeIndex.hasEdge(u, v)
+
+  /**
+   * Returns the number of edges from `u` to `v`, in O(1).
+   *
+   * @param u the vertex from which the edges lead.
+   * @param v the vertex to which the edges lead.
+   * @return the number of such edges (0 if there are none).
+   */
+  def multiplicity(u: V, v: V): Int = edgeIndex.multiplicity(u, v)
+
   /**
    * Returns the number of self-loops in the graph
    * (edges where both endpoints are the same vertex).
    */
   def numberOfSelfLoops: Int =
-    edges.count(e => e.white == e.black)
\ No newline at end of file
+    edges.count(e => e.white == e.black)
+
+  /**
+   * Returns a view of a subgraph of this graph, whose adjacency order is that of this graph (see `EdgeTraversable.view`).
+   * Since this graph is immutable, the view remains valid (and unchanged) when edges are added to this graph.
+   *
+   * @param vertexPredicate the vertices which belong to the view.
+   * @param edgePredicate   the edges which belong to the view.
+   * @return a `GraphView[V, E]`.
+   */
+  override def view(vertexPredicate: V => Boolean, edgePredicate: Edge[V, E] => Boolean): GraphView[V, E] =
+    new GraphView(this, vertexPredicate, edgePredicate, vertexMap.adjacencyOrder)
\ No newline at end of file
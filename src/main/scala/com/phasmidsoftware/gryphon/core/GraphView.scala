@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.{Appendable, Evaluable, Visitor}
+import scala.util.Random
+
+/**
+ * A read-only view of the subgraph of `underlying` which is induced by the vertices which satisfy `vertexPredicate`,
+ * and which includes only those edges which satisfy `edgePredicate`.
+ *
+ * Nothing is copied: the predicates are applied lazily, as `adjacentVertices`, `filteredAdjacencies`, etc. are called,
+ * so creating a view is O(1), and each query costs what it costs on `underlying` (plus the predicates).
+ * Since a view is an `EdgeTraversable`, it can be given directly to `GraphTraversal.run`, `ShortestPaths.dijkstra`,
+ * `ConnectedComponents.components`, and so on.
+ * Views are normally obtained by calling `view` on a graph (see `EdgeTraversable.view`).
+ *
+ * An adjacency which carries no edge (an `AdjacencyVertex`) is subject only to `vertexPredicate`.
+ *
+ * NOTE `keySet` (and hence `N`, `vertexIndex`) and `M` must visit every vertex (respectively every edge),
+ * so they are computed lazily, on first use.
+ *
+ * @param underlying      the graph of which this is a view.
+ * @param vertexPredicate the vertices which belong to the view.
+ * @param edgePredicate   the edges which belong to the view (provided that both of their vertices belong).
+ * @param adjacencyOrder  the order in which `adjacentVertices` yields the neighbours of a vertex.
+ * @tparam V the type of the vertices.
+ * @tparam E the type of the edge attributes.
+ */
+class GraphView[V, E](val underlying: EdgeTraversable[V, E], vertexPredicate: V => Boolean, edgePredicate: Edge[V, E] => Boolean, adjacencyOrder: AdjacencyOrder = AdjacencyOrder.Randomized)
+        extends EdgeTraversable[V, E]:
+
+  /**
+   * Returns the number of vertices in this view.
+   *
+   * @return the number of vertices which satisfy the vertex predicate.
+   */
+  lazy val N: Int = keySet.size
+
+  /**
+   * Returns the number of edges in this view.
+   *
+   * @return the number of edges.
+   */
+  lazy val M: Int = edges.size
+
+  /**
+   * Returns the vertices of this view.
+   *
+   * @return the set of vertices which satisfy the vertex predicate.
+   */
+  lazy val keySet: Set[V] = underlying.keySet.filter(vertexPredicate)
+
+  /**
+   * Returns the numbering of the vertices of this view.
+   *
+   * @return a `VertexIndex[V]` for the vertices of this view.
+   */
+  override lazy val vertexIndex: VertexIndex[V] = VertexIndex(keySet)
+
+  /**
+   * Materialises the vertex for `key`, including the adjacencies which belong to this view.
+   *
+   * @param key the vertex attribute to look up.
+   * @return `Some(vertex)` if `key` belongs to this view, otherwise `None`.
+   */
+  def get(key: V): Option[Vertex[V]] =
+    if vertexPredicate(key) then underlying.get(key).map(_ => Vertex.create(key, Unordered_Vector(filteredAdjacencies(_ => true)(key).toSeq)))
+    else None
+
+  /**
+   * Returns an iterator over the vertices of this view which are adjacent to `v` via an edge of this view,
+   * in the order determined by `adjacencyOrder`.
+   *
+   * @param v      the vertex whose neighbours are required.
+   * @param random the source of randomness for `AdjacencyOrder.Randomized`.
+   * @return an iterator of adjacent vertex keys.
+   * @throws GraphException if `v` does not belong to this view.
+   */
+  def adjacentVertices(v: V)(using random: Random): Iterator[V] =
+    if !vertexPredicate(v) then throw GraphException(s"vertex $v not found")
+    val adjacencies = filteredAdjacencies(_ => true)(v)
+    // NOTE a Shuffled order is re-created from its seed so that it is the same on every call.
+    val arranged = adjacencyOrder match
+      case order@AdjacencyOrder.Shuffled(seed) => order.arrange(adjacencies)(using Random(seed))
+      case order => order.arrange(adjacencies)
+    arranged.map(_.vertex)
+
+  /**
+   * Filters those adjacencies of `v` which belong to this view.
+   *
+   * @param predicate a function that evaluates each `Adjacency[V]`.
+   * @param v         the vertex whose adjacencies are to be filtered.
+   * @return an iterator over the adjacencies of `v` which belong to this view and satisfy `predicate`
+   *         (empty if `v` does not belong to this view).
+   */
+  def filteredAdjacencies(predicate: Adjacency[V] => Boolean)(v: V): Iterator[Adjacency[V]] =
+    if vertexPredicate(v) then underlying.filteredAdjacencies(a => admits(a) && predicate(a))(v)
+    else Iterator.empty
+
+  /**
+   * Edge-BFS is not yet implemented for `GraphView` — use `bfs`.
+   *
+   * @throws UnsupportedOperationException always.
+   */
+  def bfse[F, R, J <: Appendable[(Edge[V, F], Option[R])]](visitor: Visitor[Edge[V, F], R, J])(v: V)(goal: V => Boolean)(using ev: Evaluable[Edge[V, F], R], random: Random): Visitor[Edge[V, F], R, J] =
+    throw UnsupportedOperationException("bfse is not yet implemented for GraphView — use bfs")
+
+  /**
+   * Returns the edges of this view.
+   *
+   * @return an iterator over the edges of `underlying` which belong to this view.
+   */
+  def edges: Iterator[Edge[V, E]] =
+    underlying.edges.filter(e => vertexPredicate(e.white) && vertexPredicate(e.black) && edgePredicate(e))
+
+  /**
+   * Returns a view of this view, whose predicates are the conjunction of those of this view and those given.
+   * The result is a view of `underlying` (not a view of a view).
+   *
+   * @param vertexPredicate the vertices which belong to the result.
+   * @param edgePredicate   the edges which belong to the result.
+   * @return a `GraphView[V, E]`.
+   */
+  override def view(vertexPredicate: V => Boolean, edgePredicate: Edge[V, E] => Boolean): GraphView[V, E] =
+    new GraphView(underlying, v => this.vertexPredicate(v) && vertexPredicate(v), e => this.edgePredicate(e) && edgePredicate(e), adjacencyOrder)
+
+  private def admits(a: Adjacency[V]): Boolean =
+    vertexPredicate(a.vertex) && a.maybeEdge[E].forall(edgePredicate)
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.traverse.TraversalResult
+import com.phasmidsoftware.gryphon.util.GraphException
+import java.nio.charset.StandardCharsets
+import java.util.Arrays
+
+/**
+ * The id of a label in a `LabelDictionary`: a vertex type for graphs whose vertices are identified by long strings.
+ *
+ * A `Label` is represented by an `Int`, so that a graph of type `DirectedGraph[Label, E]` (or a `TraversalResult[Label, T]`)
+ * holds, in each `Edge`, `AdjacencyEdge`, etc., a small integer rather than a reference to a string,
+ * and compares and hashes vertices as integers.
+ * The string itself is stored once, in the dictionary which issued the label.
+ */
+opaque type Label = Int
+
+/**
+ * Companion object for `Label`.
+ */
+object Label:
+
+  /**
+   * Returns the label whose id is `id`.
+   * Normally, labels are obtained from a `LabelDictionaryBuilder` (see `intern`).
+   *
+   * @param id the id.
+   * @return a `Label`.
+   */
+  def apply(id: Int): Label = id
+
+  extension (label: Label)
+    /**
+     * Returns the id of this label, which is its position (`0 until size`) in its dictionary.
+     *
+     * @return the id.
+     */
+    def id: Int = label
+
+  given Ordering[Label] = Ordering.Int
+
+/**
+ * An immutable dictionary of strings (labels), each of which is stored exactly once, and identified by a `Label`.
+ *
+ * The labels are packed into a single byte array: each is encoded in UTF-8 or,
+ * if it consists entirely of lower-case hexadecimal digits (as do hash-like ids, which are the usual reason for a dictionary),
+ * as binary, two digits per byte, which halves its size.
+ * Thus a 64-digit hex id occupies 32 bytes (plus 8 bytes of offset and length), rather than the 100 or more bytes of a `String`
+ * and the 8 bytes of each reference to it.
+ * Looking up a string (`get`) uses an open-addressing hash table (of ids) over the packed bytes; decoding a label (`apply`)
+ * creates a new `String`.
+ *
+ * Dictionaries are created by `LabelDictionaryBuilder` (see `LabelDictionary.newBuilder` and `LabelDictionary.apply`).
+ *
+ * @param data    the packed encodings of the labels.
+ * @param offsets for each id, the position in `data` of its encoding.
+ * @param lengths for each id, the length of the label in bytes (UTF-8) or, if negative, in hexadecimal digits.
+ * @param table   the hash table: each non-zero entry is one more than an id.
+ * @param hex     true if hexadecimal labels are packed as binary.
+ */
+final class LabelDictionary private[core](data: Array[Byte], offsets: Array[Int], lengths: Array[Int], table: Array[Int], hex: Boolean):
+
+  /**
+   * Returns the number of labels in this dictionary.
+   *
+   * @return the number of labels.
+   */
+  def size: Int = lengths.length
+
+  /**
+   * Decodes `label`.
+   *
+   * @param label the label.
+   * @return its string.
+   * @throws GraphException if `label` was not issued by this dictionary.
+   */
+  def apply(label: Label): String =
+    if label.id < 0 || label.id >= size then throw GraphException(s"LabelDictionary: label ${label.id} does not exist")
+    LabelDictionary.decode(data, offsets(label.id), lengths(label.id))
+
+  /**
+   * Returns the label of the string `s`, if it is in this dictionary.
+   *
+   * @param s the string.
+   * @return `Some(label)` if `s` is in this dictionary, otherwise `None`.
+   */
+  def get(s: String): Option[Label] =
+    val (bytes, length) = LabelDictionary.encode(s, hex)
+    val slot = LabelDictionary.find(data, offsets, lengths, table)(bytes, 0, length)
+    Option.when(table(slot) != 0)(Label(table(slot) - 1))
+
+  /**
+   * Returns the label of the string `s`.
+   *
+   * @param s the string.
+   * @return the label of `s`.
+   * @throws GraphException if `s` is not in this dictionary.
+   */
+  def labelOf(s: String): Label =
+    get(s).getOrElse(throw GraphException(s"LabelDictionary: $s does not exist"))
+
+  /**
+   * Returns true if `s` is in this dictionary.
+   *
+   * @param s the string.
+   * @return true if `s` has a label.
+   */
+  def contains(s: String): Boolean = get(s).isDefined
+
+  /**
+   * Returns all the labels of this dictionary, in order of id.
+   *
+   * @return an iterator of labels.
+   */
+  def labels: Iterator[Label] = Iterator.range(0, size).map(Label(_))
+
+  /**
+   * Returns the number of bytes occupied by the arrays of this dictionary (excluding object headers).
+   *
+   * @return the footprint of this dictionary, in bytes.
+   */
+  def footprint: Long = data.length + 4L * (offsets.length + lengths.length + table.length)
+
+  /**
+   * Decodes the keys of a traversal result whose vertices are labels.
+   *
+   * @param result the traversal result.
+   * @tparam T the type of the result for each vertex.
+   * @return a map from the string of each vertex to its result.
+   */
+  def decode[T](result: TraversalResult[Label, T]): Map[String, T] =
+    result.keySet.iterator.flatMap(k => result.vertexTraverse(k).map(apply(k) -> _)).toMap
+
+  override def toString: String = s"LabelDictionary(size=$size)"
+
+/**
+ * Companion object for `LabelDictionary`.
+ */
+object LabelDictionary:
+
+  /**
+   * Creates a new (empty) builder.
+   *
+   * @param hex true (the default) if hexadecimal labels should be packed as binary.
+   * @return a new `LabelDictionaryBuilder`.
+   */
+  def newBuilder(hex: Boolean = true): LabelDictionaryBuilder = new LabelDictionaryBuilder(hex)
+
+  /**
+   * Creates a dictionary of the given strings, labelled in order of first appearance.
+   *
+   * @param strings the strings (duplicates are ignored).
+   * @param hex     true (the default) if hexadecimal labels should be packed as binary.
+   * @return a new `LabelDictionary`.
+   */
+  def apply(strings: IterableOnce[String], hex: Boolean = true): LabelDictionary =
+    val builder = newBuilder(hex)
+    strings.iterator.foreach(s => builder.intern(s): Unit)
+    builder.result()
+
+  /**
+   * Encodes `s`, returning its bytes and its length code:
+   * the number of UTF-8 bytes or, if `hex` is true and `s` consists of lower-case hex digits, minus the number of digits.
+   */
+  private[core] def encode(s: String, hex: Boolean): (Array[Byte], Int) =
+    if hex && s.nonEmpty && s.forall(c => (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')) then
+      val bytes = new Array[Byte]((s.length + 1) / 2)
+      for k <- s.indices do
+        bytes(k / 2) = (bytes(k / 2) | (Character.digit(s.charAt(k), 16) << (if k % 2 == 0 then 4 else 0))).toByte
+      bytes -> -s.length
+    else
+      val bytes = s.getBytes(StandardCharsets.UTF_8)
+      bytes -> bytes.length
+
+  /**
+   * Returns the number of bytes taken by an encoding whose length code is `length`.
+   */
+  private[core] def width(length: Int): Int = if length < 0 then (1 - length) / 2 else length
+
+  private[core] def decode(data: Array[Byte], offset: Int, length: Int): String =
+    if length < 0 then
+      val chars = Array.tabulate(-length)(k => Character.forDigit((data(offset + k / 2) >> (if k % 2 == 0 then 4 else 0)) & 0xf, 16))
+      new String(chars)
+    else
+      new String(data, offset, length, StandardCharsets.UTF_8)
+
+  private def hash(bytes: Array[Byte], offset: Int, length: Int): Int =
+    var h = length
+    for k <- offset until offset + width(length) do h = 31 * h + bytes(k)
+    h ^ (h >>> 16)
+
+  /**
+   * Finds the slot of `table` which holds the label encoded at `bytes(offset)` (with length code `length`),
+   * or the empty slot at which it should be inserted.
+   * NOTE `table` must have a power-of-two length and at least one empty slot.
+   */
+  private[core] def find(data: Array[Byte], offsets: Array[Int], lengths: Array[Int], table: Array[Int])(bytes: Array[Byte], offset: Int, length: Int): Int =
+    val mask = table.length - 1
+    var slot = hash(bytes, offset, length) & mask
+    while table(slot) != 0 && !matches(data, offsets(table(slot) - 1), lengths(table(slot) - 1), bytes, offset, length) do
+      slot = (slot + 1) & mask
+    slot
+
+  private def matches(data: Array[Byte], position: Int, length: Int, bytes: Array[Byte], offset: Int, other: Int): Boolean =
+    length == other && Arrays.equals(data, position, position + width(length), bytes, offset, offset + width(other))
+
+/**
+ * A transient (mutable) builder which interns strings and then produces an immutable `LabelDictionary`.
+ *
+ * NOTE a builder must not be used after `result` has been called, and it is not thread-safe.
+ *
+ * @param hex true if hexadecimal labels should be packed as binary.
+ */
+final class LabelDictionaryBuilder private[core](hex: Boolean):
+
+  private var data: Array[Byte] = new Array[Byte](1024)
+  private var used: Int = 0
+  private var offsets: Array[Int] = new Array[Int](64)
+  private var lengths: Array[Int] = new Array[Int](64)
+  private var count: Int = 0
+  private var table: Array[Int] = new Array[Int](128)
+
+  /**
+   * Returns the number of labels interned so far.
+   *
+   * @return the number of labels.
+   */
+  def size: Int = count
+
+  /**
+   * Returns the label of `s`, adding `s` to the dictionary if it is not already present.
+   *
+   * @param s the string.
+   * @return the label of `s`.
+   */
+  def intern(s: String): Label =
+    val (bytes, length) = LabelDictionary.encode(s, hex)
+    val slot = LabelDictionary.find(data, offsets, lengths, table)(bytes, 0, length)
+    if table(slot) != 0 then Label(table(slot) - 1)
+    else
+      if used + bytes.length > data.length then data = Arrays.copyOf(data, math.max(data.length * 2, used + bytes.length))
+      if count == offsets.length then
+        offsets = Arrays.copyOf(offsets, count * 2)
+        lengths = Arrays.copyOf(lengths, count * 2)
+      System.arraycopy(bytes, 0, data, used, bytes.length)
+      offsets(count) = used
+      lengths(count) = length
+      used += bytes.length
+      table(slot) = count + 1
+      count += 1
+      // NOTE the table is kept at most half full.
+      if count * 2 > table.length then rehash(table.length * 2)
+      Label(count - 1)
+
+  /**
+   * Returns the dictionary of the strings interned so far, with its arrays trimmed to size.
+   *
+   * @return a new `LabelDictionary`.
+   */
+  def result(): LabelDictionary =
+    new LabelDictionary(Arrays.copyOf(data, used), Arrays.copyOf(offsets, count), Arrays.copyOf(lengths, count), table, hex)
+
+  private def rehash(capacity: Int): Unit =
+    table = new Array[Int](capacity)
+    for id <- 0 until count do
+      table(LabelDictionary.find(data, offsets, lengths, table)(data, offsets(id), lengths(id))) = id + 1
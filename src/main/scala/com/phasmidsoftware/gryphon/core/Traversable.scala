@@ -34,6 +34,35 @@ trait Traversable[V] {
    */
   def M: Int
 
+  /**
+   * Retrieves the set of vertex keys in the graph.
+   *
+   * @return the set of all vertices of type V.
+   */
+  def keySet: Set[V]
+
+  /**
+   * Retrieves the dense integer numbering of the vertices of this graph.
+   * Algorithms use it to keep their per-vertex working state in `Int`-keyed structures.
+   *
+   * NOTE: `indexedAdjacencies` calls this once per vertex, so an implementation must build the index
+   * only once (typically as a `lazy val`), not on each call.
+   *
+   * @return a `VertexIndex[V]` covering every vertex in `keySet`.
+   */
+  def vertexIndex: VertexIndex[V]
+
+  /**
+   * Returns the adjacencies of the vertex whose id (in `vertexIndex`) is `i`,
+   * each paired with the id of the vertex at its far end.
+   *
+   * @param i the id of the vertex.
+   * @return an iterator of (id, adjacency) pairs.
+   */
+  def indexedAdjacencies(i: Int): Iterator[(Int, Adjacency[V])] =
+    val index = vertexIndex
+    filteredAdjacencies(_ => true)(index(i)).map(a => index.indexOf(a.vertex) -> a)
+
   /**
    * Retrieves the vertex associated with the given key.
    *
@@ -85,18 +114,28 @@ trait Traversable[V] {
    * @tparam J the journal type.
    * @return the updated visitor after traversal.
    */
-  def dfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J], order: DfsOrder = DfsOrder.Pre)(v: V)(using ev: Evaluable[V, R], random: Random = Random()): Visitor[V, R, J]
+  def dfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J], order: DfsOrder = DfsOrder.Pre)(v: V)(using ev: Evaluable[V, R], random: Random = Random()): Visitor[V, R, J] =
+    new GraphNeighboursTraversal[V, Visitor[V, R, J]](this) {
+      def traversal: Visitor[V, R, J] = Traversal.dfs(v, visitor, order)
+    }.traversal
 
   /**
    * Performs a DFS traversal for all vertices in the graph using the supplied visitor.
-   * Vertices not reachable from the first traversal are visited in subsequent passes.
+   * Vertices not reachable from the first traversal are visited in subsequent passes,
+   * each seeded from the unvisited vertex with the least id (see `vertexIndex`).
+   *
+   * The visited vertices are shared across passes in a `VisitedBitSet`, so that the whole is O(V + E)
+   * however many components there are.
    *
    * @param visitor the visitor, accumulating results into its journal.
    * @tparam R the result type extracted from each node.
    * @tparam J the journal type.
    * @return the updated visitor after traversing all vertices.
    */
-  def dfsAll[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(using ev: Evaluable[V, R], random: Random = Random()): Visitor[V, R, J]
+  def dfsAll[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(using ev: Evaluable[V, R], random: Random = Random()): Visitor[V, R, J] =
+    val visited = VisitedBitSet(vertexIndex)
+    val neighbours: GraphNeighbours[V] = visited.neighbours(this)
+    visited.seeds.foldLeft(visitor)((vis, seed) => Traversal.dfs(seed, vis)(using neighbours, ev, summon[VisitedSet[V]], summon[Tracer[V]]))
 
   /**
    * Performs a breadth-first search (BFS) traversal starting from the specified vertex.
@@ -110,7 +149,10 @@ trait Traversable[V] {
    * @tparam J the journal type.
    * @return the updated visitor after traversal.
    */
-  def bfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(v: V, goal: V => Boolean = _ => false)(using ev: Evaluable[V, R], random: Random = Random()): Visitor[V, R, J]
+  def bfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(v: V, goal: V => Boolean = _ => false)(using ev: Evaluable[V, R], random: Random = Random()): Visitor[V, R, J] =
+    new GraphNeighboursTraversal[V, Visitor[V, R, J]](this) {
+      def traversal: Visitor[V, R, J] = Traversal.bfs(v, visitor, goal)
+    }.traversal
 
   /**
    * Performs a BFS traversal visiting edges rather than vertices, starting from `v`.
@@ -250,6 +292,37 @@ trait EdgeTraversable[V, E] extends Traversable[V] {
    * @return an `Iterator[Edge[V, E]]` over all edges.
    */
   def edges: Iterator[Edge[V, E]]
+
+  /**
+   * Returns a view (without copying anything) of the subgraph induced by the vertices which satisfy `vertexPredicate`,
+   * restricted to the edges which satisfy `edgePredicate` (see `GraphView`).
+   *
+   * @param vertexPredicate the vertices which belong to the view.
+   * @param edgePredicate   the edges which belong to the view (by default, all those between its vertices).
+   * @return a `GraphView[V, E]`.
+   */
+  def view(vertexPredicate: V => Boolean, edgePredicate: Edge[V, E] => Boolean = (_: Edge[V, E]) => true): GraphView[V, E] =
+    new GraphView(this, vertexPredicate, edgePredicate)
+}
+
+/**
+ * An `EdgeTraversable` which can produce its transpose, i.e. the same vertices with every
+ * edge u→v replaced by v→u.
+ * For an undirected structure, the transpose is the structure itself.
+ *
+ * This is what Kosaraju's algorithm requires of its input, so both `DirectedGraph` and
+ * the frozen `CsrGraph` can be given to it.
+ *
+ * @tparam V the type of the vertices.
+ * @tparam E the type of the attribute associated with an edge.
+ */
+trait ReversibleTraversable[V, E] extends EdgeTraversable[V, E] {
+  /**
+   * Returns the transpose of this structure.
+   *
+   * @return a `ReversibleTraversable[V, E]` with all edges reversed.
+   */
+  def reverse: ReversibleTraversable[V, E]
 }
 
 /**
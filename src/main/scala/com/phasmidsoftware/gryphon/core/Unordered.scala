@@ -92,6 +92,15 @@ trait Unordered[+T] {
    * @tparam U a supertype of T
    */
   def +[U >: T](u: U): Unordered[U]
+
+  /**
+   * Adds all the specified elements to the unordered collection in a single step.
+   *
+   * @param us the elements to be added to the collection
+   * @return a new instance of `Unordered` with the specified elements added
+   * @tparam U a supertype of T
+   */
+  def ++[U >: T](us: IterableOnce[U]): Unordered[U]
 }
 
 /**
@@ -165,6 +174,17 @@ abstract class AbstractUnordered[+T](elements: IterableOnce[T]) extends Unordere
   def +[U >: T](u: U): Unordered[U] =
     unit(elements.iterator.toSeq :+ u)
 
+  /**
+   * Adds all the specified elements to the unordered collection in a single step.
+   * Unlike repeated calls of `+`, the underlying storage is rebuilt only once.
+   *
+   * @param us the elements to be added to the collection
+   * @return a new instance of `Unordered` with the specified elements added
+   * @tparam U a supertype of T
+   */
+  def ++[U >: T](us: IterableOnce[U]): Unordered[U] =
+    unit(elements.iterator.toSeq ++ us)
+
   /**
    * Creates a new instance of `Unordered` containing the specified sequence of elements.
    *
@@ -220,6 +240,17 @@ case class Unordered_Bag[+T](elements: Bag[T]) extends AbstractUnordered[T](elem
   def unit[U >: T](elements: Seq[U]): Unordered[U] =
     copy(elements = Bag.create(elements *))
 
+  /**
+   * Adds the specified element to the underlying `Bag` (whose storage is a `Vector`, so that appending
+   * does not copy the existing elements).
+   *
+   * @param u the element to be added.
+   * @tparam U a supertype of T.
+   * @return a new `Unordered_Bag[U]` with `u` added.
+   */
+  override def +[U >: T](u: U): Unordered[U] =
+    copy(elements = elements + u)
+
 /**
  * Companion object for the `Unordered_Bag` class providing factory methods to create instances of `Unordered`
  * with unordered collections of elements.
@@ -244,7 +275,7 @@ object Unordered_Bag {
    * @return an `Unordered` collection containing the elements from the input sequence
    */
   def apply[X](xs: Seq[X]): Unordered_Bag[X] =
-    Unordered_Bag(ListBag[X](xs))
+    Unordered_Bag(ListBag[X](xs.toVector))
 
   /**
    * Creates an instance of `Unordered` containing the provided elements.
@@ -259,6 +290,119 @@ object Unordered_Bag {
     apply(xs)
 }
 
+/**
+ * A case class representing an unordered collection of elements (a multi-set) backed by a `Vector`.
+ *
+ * A `Vector` is a persistent, radix-balanced tree of 32-element arrays, so (unlike `Unordered_Bag`,
+ * whose `+` copies its underlying `Seq`) appending is effectively O(1), `size` is O(1),
+ * and iteration proceeds chunk by chunk through contiguous arrays.
+ * This makes it suitable for the adjacencies of vertices of very high degree:
+ * building a vertex with `d` adjacencies one at a time costs O(d) rather than O(d²).
+ *
+ * Elements are iterated in the order in which they were added.
+ *
+ * @tparam T the type of the elements contained in the collection.
+ * @param elements the elements, in the order in which they were added.
+ */
+case class Unordered_Vector[+T](elements: Vector[T]) extends AbstractUnordered[T](elements):
+
+  /**
+   * Checks if the collection is empty, in O(1).
+   *
+   * @return `true` if the collection contains no elements, `false` otherwise.
+   */
+  override def isEmpty: Boolean = elements.isEmpty
+
+  /**
+   * Retrieves the number of elements in this collection, in O(1).
+   *
+   * @return the number of elements.
+   */
+  override def size: Int = elements.size
+
+  /**
+   * Checks if the specified element is present in the collection.
+   *
+   * @param u the element to be checked for presence.
+   * @tparam U the type of `u` and a supertype of `T`.
+   * @return `true` if the element is present, `false` otherwise.
+   */
+  def contains[U >: T](u: U): Boolean =
+    elements.contains(u)
+
+  /**
+   * Filters the elements of the collection without copying them into an intermediate `Seq`.
+   *
+   * @param p a predicate function.
+   * @return an `Unordered_Vector[T]` containing the elements that satisfy the predicate.
+   */
+  override def filter(p: T => Boolean): Unordered[T] =
+    copy(elements = elements.filter(p))
+
+  /**
+   * Appends the specified element, in effectively constant time.
+   *
+   * @param u the element to be added.
+   * @tparam U a supertype of T.
+   * @return a new `Unordered_Vector[U]` with `u` appended.
+   */
+  override def +[U >: T](u: U): Unordered[U] =
+    copy(elements = elements :+ u)
+
+  /**
+   * Appends all the specified elements.
+   *
+   * @param us the elements to be added.
+   * @tparam U a supertype of T.
+   * @return a new `Unordered_Vector[U]` with `us` appended.
+   */
+  override def ++[U >: T](us: IterableOnce[U]): Unordered[U] =
+    copy(elements = elements ++ us)
+
+  /**
+   * Creates a new `Unordered_Vector` with the specified sequence of elements.
+   *
+   * @param elements the elements of the new collection.
+   * @tparam U a supertype of `T`.
+   * @return a new `Unordered_Vector[U]`.
+   */
+  def unit[U >: T](elements: Seq[U]): Unordered[U] =
+    copy(elements = elements.toVector)
+
+/**
+ * Companion object for `Unordered_Vector`, providing factory methods.
+ */
+object Unordered_Vector {
+  /**
+   * Creates an empty `Unordered_Vector`.
+   *
+   * @tparam X the type of elements that the collection can hold.
+   * @return an empty collection.
+   */
+  def empty[X]: Unordered_Vector[X] =
+    Unordered_Vector(Vector.empty)
+
+  /**
+   * Creates an `Unordered_Vector` containing the elements of the provided sequence.
+   *
+   * @param xs the elements.
+   * @tparam X the type of the elements.
+   * @return a new `Unordered_Vector[X]`.
+   */
+  def apply[X](xs: Seq[X]): Unordered_Vector[X] =
+    new Unordered_Vector(xs.toVector)
+
+  /**
+   * Creates an `Unordered_Vector` containing the provided elements.
+   *
+   * @param xs the elements.
+   * @tparam X the type of the elements.
+   * @return a new `Unordered_Vector[X]`.
+   */
+  def create[X](xs: X*): Unordered_Vector[X] =
+    apply(xs)
+}
+
 /**
  * A case class representing an unordered collection of elements in the form of a Set.
  *
@@ -298,6 +442,46 @@ case class Unordered_Set[T](elements: Set[T]) extends AbstractUnordered[T](eleme
    */
   def unit[U >: T](elements: Seq[U]): Unordered[U] = copy(elements = Set(elements *))
 
+  /**
+   * Retrieves the number of elements in this set, in O(1).
+   *
+   * @return the number of elements.
+   */
+  override def size: Int = elements.size
+
+  /**
+   * Checks if this set is empty, in O(1).
+   *
+   * @return `true` if the set contains no elements, `false` otherwise.
+   */
+  override def isEmpty: Boolean = elements.isEmpty
+
+  /**
+   * Filters the elements of this set directly, rather than rebuilding a `Set` from a `Seq`.
+   *
+   * @param p a predicate function.
+   * @return an `Unordered_Set[T]` containing the elements that satisfy the predicate.
+   */
+  override def filter(p: T => Boolean): Unordered[T] = copy(elements = elements.filter(p))
+
+  /**
+   * Adds the specified element to this set, without copying the existing elements.
+   *
+   * @param u the element to be added.
+   * @tparam U a supertype of T.
+   * @return a new `Unordered` with `u` included.
+   */
+  override def +[U >: T](u: U): Unordered[U] = copy(elements = elements.asInstanceOf[Set[U]] + u)
+
+  /**
+   * Adds all the specified elements to this set, without copying the existing elements.
+   *
+   * @param us the elements to be added.
+   * @tparam U a supertype of T.
+   * @return a new `Unordered` with `us` included.
+   */
+  override def ++[U >: T](us: IterableOnce[U]): Unordered[U] = copy(elements = elements.asInstanceOf[Set[U]] ++ us)
+
 /**
  * A companion object for `Unordered_Set`, providing factory methods to create instances of
  * unordered collections.
@@ -30,6 +30,14 @@ trait Vertex[V] extends Attribute[V]:
    */
   def +(a: Adjacency[V]): Vertex[V]
 
+  /**
+   * Adds all the given adjacencies to this vertex, returning a new vertex instance.
+   *
+   * @param as the adjacencies to be added.
+   * @return a new `Vertex[V]` with the adjacencies included.
+   */
+  def ++(as: IterableOnce[Adjacency[V]]): Vertex[V]
+
   /**
    * Renders the vertex as a human-readable string.
    *
@@ -94,6 +102,11 @@ abstract class AbstractVertex[V](val attribute: V, val adjacencies: Adjacencies[
    */
   def +(a: Adjacency[V]): AbstractVertex[V] = unit(adjacencies + a)
 
+  /**
+   * Adds all the given adjacencies, rebuilding the adjacency collection only once.
+   */
+  def ++(as: IterableOnce[Adjacency[V]]): AbstractVertex[V] = unit(adjacencies ++ as)
+
   /**
    * Constructs a new instance of this vertex type with the given adjacencies,
    * preserving all other fields.
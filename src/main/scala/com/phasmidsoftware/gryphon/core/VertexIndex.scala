@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.util.GraphException
+import scala.collection.immutable.AbstractMap
+
+/**
+ * A bidirectional dictionary between vertex keys of type `V` and dense integer ids `0 until size`.
+ *
+ * A `VertexIndex` is built once per graph (see `Traversable.vertexIndex`).
+ * Algorithms translate each vertex to its id once, at the start, and then keep their
+ * per-vertex working state (costs, predecessors, queue flags, ...) in structures keyed by `Int`,
+ * so that hashing of `V` — which may be an expensive type such as a long hex string —
+ * does not occur on every edge relaxation.
+ * Results are translated back to `V` at the `TraversalResult` boundary.
+ *
+ * @param keys the vertex keys, indexed by id.
+ * @param ids  the inverse of `keys`.
+ * @tparam V the type of the vertices.
+ */
+case class VertexIndex[V](keys: IndexedSeq[V], ids: Map[V, Int]):
+
+  /**
+   * Returns the number of vertices in this index.
+   *
+   * @return the number of vertices.
+   */
+  def size: Int = keys.size
+
+  /**
+   * Returns the vertex whose id is `i`.
+   *
+   * @param i the id (must be in the range `0 until size`).
+   * @return the vertex key.
+   */
+  def apply(i: Int): V = keys(i)
+
+  /**
+   * Returns the id of vertex `v`.
+   *
+   * @param v the vertex key.
+   * @return the id of `v`.
+   * @throws GraphException if `v` is not in this index.
+   */
+  def indexOf(v: V): Int =
+    ids.getOrElse(v, throw GraphException(s"VertexIndex: vertex $v does not exist"))
+
+  /**
+   * Returns the id of vertex `v`, if it exists.
+   *
+   * @param v the vertex key.
+   * @return `Some(id)` if `v` is in this index, otherwise `None`.
+   */
+  def get(v: V): Option[Int] = ids.get(v)
+
+  /**
+   * Returns true if `v` is in this index.
+   *
+   * @param v the vertex key.
+   * @return true if `v` has an id.
+   */
+  def contains(v: V): Boolean = ids.contains(v)
+
+  /**
+   * Returns an index which also includes `v`, which (if new) is given the id `size`.
+   *
+   * @param v the vertex key.
+   * @return a `VertexIndex[V]` containing `v`.
+   */
+  def +(v: V): VertexIndex[V] =
+    if contains(v) then this else VertexIndex(keys :+ v, ids + (v -> size))
+
+  override def toString: String = s"VertexIndex(size=$size)"
+
+/**
+ * Companion object for `VertexIndex`.
+ */
+object VertexIndex:
+
+  /**
+   * Creates a `VertexIndex` from the given vertices, numbering them in order of first appearance.
+   *
+   * @param vertices the vertices (duplicates are ignored).
+   * @tparam V the type of the vertices.
+   * @return a new `VertexIndex[V]`.
+   */
+  def apply[V](vertices: IterableOnce[V]): VertexIndex[V] =
+    val keys = vertices.iterator.distinct.toIndexedSeq
+    VertexIndex(keys, keys.iterator.zipWithIndex.toMap)
+
+  /**
+   * Creates an empty `VertexIndex`.
+   *
+   * @tparam V the type of the vertices.
+   * @return an empty `VertexIndex[V]`.
+   */
+  def empty[V]: VertexIndex[V] =
+    VertexIndex(IndexedSeq.empty, Map.empty)
+
+  /**
+   * Creates the identity `VertexIndex` of the vertices `0 until n`, in which every vertex is its own id.
+   * Neither the keys nor the ids are materialized, so this takes O(1) space, whatever the value of `n`.
+   *
+   * @param n the number of vertices.
+   * @return a `VertexIndex[Int]` which maps each of `0 until n` to itself.
+   */
+  def identity(n: Int): VertexIndex[Int] =
+    VertexIndex(Range(0, n), IdentityMap(n))
+
+  /**
+   * The map from each of `0 until n` to itself, which is materialized only if it is changed.
+   */
+  private class IdentityMap(n: Int) extends AbstractMap[Int, Int]:
+    def get(key: Int): Option[Int] = Option.when(contains(key))(key)
+
+    override def contains(key: Int): Boolean = key >= 0 && key < n
+
+    override def getOrElse[V1 >: Int](key: Int, default: => V1): V1 = if contains(key) then key else default
+
+    override def size: Int = n
+
+    override def knownSize: Int = n
+
+    def iterator: Iterator[(Int, Int)] = Iterator.range(0, n).map(i => i -> i)
+
+    def removed(key: Int): Map[Int, Int] = if contains(key) then Map.from(iterator).removed(key) else this
+
+    def updated[V1 >: Int](key: Int, value: V1): Map[Int, V1] =
+      if key == n && value == n then IdentityMap(n + 1) else Map.from[Int, V1](iterator).updated(key, value)
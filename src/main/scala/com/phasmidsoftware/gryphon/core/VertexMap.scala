@@ -1,11 +1,10 @@
 package com.phasmidsoftware.gryphon.core
 
-import com.phasmidsoftware.gryphon.core.Bag.random
-import com.phasmidsoftware.gryphon.core.Vertex.createWithSet
-import com.phasmidsoftware.gryphon.util.{GraphException, RandomIterator}
-import com.phasmidsoftware.visitor.core.{*, given}
+import com.phasmidsoftware.gryphon.core.Vertex.{createWithBag, createWithSet}
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.*
 import org.slf4j.{Logger, LoggerFactory}
-import scala.annotation.tailrec
+import scala.collection.mutable
 import scala.util.Random
 
 /**
@@ -16,10 +15,27 @@ import scala.util.Random
  * The mutable `discovered` flag pattern has been removed; visited-node tracking is now
  * handled entirely by the immutable `VisitedSet[V]` inside the traversal engine.
  *
+ * The edge count and the other counts of `statistics` are kept as part of the
+ * immutable state, and are updated in O(1) as each adjacency is added, so that `M`, `maxOutDegree`, etc.
+ * need not re-scan the vertices.
+ * The in-degrees are not counted (that would cost a persistent map update per adjacency):
+ * they are read from the in-edge index, if it is maintained.
+ * Instances are created by the factory methods of the companion object, which compute `statistics`.
+ *
+ * Optionally (see `withInEdges`), a `VertexMap` also maintains its in-edge index, `incoming`:
+ * the transposed `VertexMap`, in which each vertex holds the reverse of every adjacency which leads to it.
+ * While the index is maintained, every adjacency which is added is mirrored in it (at roughly twice the cost),
+ * and in return `inNeighbours` is O(in-degree) and `transpose` is O(1).
+ * The index is never built implicitly: a `DirectedGraph` maintains it only if asked to (see `DirectedGraph.withInEdges`).
+ * Neither the index nor `adjacencyOrder` takes part in `equals` or `hashCode`: only `map` does.
+ *
  * @tparam V the type representing the vertex attributes (invariant).
- * @param map a mapping from vertex attributes to their associated Vertex instances.
+ * @param map            a mapping from vertex attributes to their associated Vertex instances.
+ * @param adjacencyOrder the order in which `adjacentVertices` yields the neighbours of a vertex.
+ * @param statistics     the counts which are derived from `map`.
+ * @param incoming       the in-edge index (a transposed `VertexMap` without an index of its own), if maintained.
  */
-case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
+case class VertexMap[V] private(map: Map[V, Vertex[V]], adjacencyOrder: AdjacencyOrder, statistics: VertexMap.Statistics[V], incoming: Option[VertexMap[V]]) extends Traversable[V]:
 
   // -----------------------------------------------------------------------
   // Traversable implementation
@@ -33,95 +49,132 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
   def N: Int = map.size
 
   /**
-   * Returns the number of edges in the graph.
-   *
-   * TODO: this mechanism uses a var and we should change that.
+   * Returns the number of edges in the graph, in O(1).
+   * Each undirected edge is counted once (its flipped adjacency is not counted).
    *
    * @return the number of edges in the graph.
    */
-  def M: Int = edgeCount
+  def M: Int = statistics.edgeCount
 
   /**
-   * Returns an iterator over the vertices adjacent to the given vertex.
+   * Returns the number of edges in the graph, in O(1), on the assumption that it is undirected:
+   * as for `M`, but each undirected vertex pair (which is held as two `AdjacencyVertex`s, one at each end) is counted once.
    *
-   * @param v the vertex for which adjacent vertices are to be retrieved.
-   * @return an iterator over the adjacent vertex attributes.
-   * @throws GraphException if the specified vertex is not found in the graph.
+   * @return the number of undirected edges in the graph.
    */
-  def adjacentVertices(v: V)(using random: Random): Iterator[V] =
-    val vo = get(v)
-    if vo.isEmpty then throw GraphException(s"vertex $v not found")
-    for vv <- vo.iterator; va <- randomAdjacencies(vv) yield va.vertex
+  def undirectedM: Int =
+    // NOTE an undirected self-loop between vertices is held as a single adjacency, so it is not halved.
+    val pairs = statistics.vertexAdjacencyCount - statistics.vertexSelfLoopCount
+    statistics.edgeCount - statistics.vertexAdjacencyCount + pairs / 2 + statistics.vertexSelfLoopCount
 
   /**
-   * Filters the adjacencies of a given vertex based on a specified predicate.
+   * Returns the out-degree of vertex `v` (for an undirected graph, its degree), in O(1).
    *
-   * @param predicate a function that evaluates each `Adjacency[V]`
-   *                  and returns true if the adjacency satisfies the specified condition.
+   * @param v the vertex.
+   * @return the number of adjacencies of `v` (0 if `v` is not in this map).
+   */
+  def outDegree(v: V): Int = get(v).fold(0)(_.adjacencies.size)
+
+  /**
+   * Returns the in-degree of vertex `v` (for an undirected graph, its degree).
+   * This is O(1) if the in-edge index is maintained (see `withInEdges`), otherwise O(N + M).
    *
-   * @param v         the vertex whose adjacencies are to be filtered.
-   * @return an iterator over the adjacencies of the given vertex that satisfy the predicate.
+   * @param v the vertex.
+   * @return the number of adjacencies which lead to `v`.
    */
-  def filteredAdjacencies(predicate: Adjacency[V] => Boolean)(v: V): Iterator[Adjacency[V]] =
-    map(v).adjacencies.filter(predicate).iterator
+  def inDegree(v: V): Int = incoming match
+    case Some(transposed) =>
+      transposed.outDegree(v)
+    case None =>
+      map.valuesIterator.map(_.adjacencies.iterator.count(_.vertex == v)).sum
 
   /**
-   * Provides a `GraphNeighbours[V]` instance derived from the `graphNeighbours` method.
-   * The `GraphNeighbours[V]` instance facilitates efficient access to the neighbors of a vertex
-   * within the graph, enabling traversal algorithms to query adjacent vertices.
+   * Returns the greatest out-degree of any vertex, in O(1).
    *
-   * @return a `GraphNeighbours[V]` instance for querying vertex neighbors.
+   * @return the maximum out-degree (0 if there are no vertices).
    */
-  def neighboursGiven: GraphNeighbours[V] = graphNeighbours
+  def maxOutDegree: Int = statistics.maxOutDegree
 
   /**
-   * Performs DFS from `v`, accumulating results into `visitor`.
+   * Returns the total number of adjacencies (i.e. the sum of the out-degrees), in O(1).
    *
-   * A local `GraphNeighbours[V]` derived from `adjacentVertices` is provided to the engine.
+   * @return the number of adjacencies.
+   */
+  def adjacencyCount: Int = statistics.adjacencyCount
+
+  /**
+   * Returns the vertices from which an adjacency leads to `v` (with repetition for parallel edges).
+   * This is O(in-degree) if the in-edge index is maintained (see `withInEdges`), otherwise O(N + M).
    *
-   * @param visitor the visitor to accumulate results.
-   * @param v       the starting vertex.
+   * @param v the vertex.
+   * @return an iterator over the predecessors of `v`.
    */
-  def dfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J], order: DfsOrder = DfsOrder.Pre)(v: V)(using ev: Evaluable[V, R], random: Random): Visitor[V, R, J] =
-    new GraphNeighboursTraversal[V, Visitor[V, R, J]](this) {
-      def traversal: Visitor[V, R, J] = Traversal.dfs(v, visitor, order)
-    }.traversal
+  def inNeighbours(v: V): Iterator[V] = incoming match
+    case Some(transposed) =>
+      transposed.get(v).iterator.flatMap(_.adjacencies.iterator.map(_.vertex))
+    case None =>
+      for (u, vv) <- map.iterator; a <- vv.adjacencies.iterator if a.vertex == v yield u
 
   /**
-   * Performs DFS for all vertices in the graph, including those not reachable from any
-   * single start vertex.
+   * Returns true if this `VertexMap` maintains its in-edge index.
    *
-   * @param visitor the visitor to accumulate results.
+   * @return true if `incoming` is defined.
    */
-  def dfsAll[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(using ev: Evaluable[V, R], random: Random): Visitor[V, R, J] =
-    new GraphNeighboursTraversal[V, Visitor[V, R, J]](this) {
-      def traversal: Visitor[V, R, J] =
-        @tailrec
-        def loop(vis: Visitor[V, R, J], visited: Set[V]): Visitor[V, R, J] =
-          val unvisited = map.keySet.diff(visited)
-          if unvisited.isEmpty then vis
-          else
-            val next = unvisited.head
-            // Pre-mark all already-visited vertices so the engine skips them
-            val vs: VisitedSet[V] = visited.foldLeft(summon[VisitedSet[V]])(_.markVisited(_))
-            val result = Traversal.dfs(next, vis)(using nbrs, ev, vs, summon[Tracer[V]])
-            loop(result, visited + next)
+  def hasInEdges: Boolean = incoming.isDefined
 
-        loop(visitor, Set.empty)
-    }.traversal
+  /**
+   * Returns this `VertexMap` with its in-edge index, which is built (in O(N + M)) if it is not already maintained.
+   * Every `VertexMap` derived from the result (by adding vertices or edges) maintains the index too.
+   *
+   * @return a `VertexMap[V]` with the same vertices and adjacencies, which maintains its in-edge index.
+   */
+  def withInEdges: VertexMap[V] =
+    if hasInEdges then this else copy(incoming = Some(VertexMap.transposeOf(map, adjacencyOrder)))
 
+  /**
+   * Returns the transpose of this `VertexMap`: the same vertices, with every adjacency u→v replaced by v→u
+   * (an undirected edge is transposed by flipping its adjacencies, a directed edge by reversing it).
+   *
+   * If the in-edge index is maintained, this is O(1): the transpose is the index, and its index is this map.
+   * Otherwise, the transpose is built in O(N + M) (this map itself is unchanged);
+   * the result maintains an index in either case (which is this map, at no extra cost),
+   * so that the transpose of the transpose is O(1).
+   *
+   * NOTE the vertices of the index are created with bags (see `Vertex.createWithBag`).
+   *
+   * @return the transposed `VertexMap[V]`.
+   */
+  def transpose: VertexMap[V] = incoming match
+    case Some(transposed) =>
+      transposed.copy(incoming = Some(copy(incoming = None)))
+    case None =>
+      withInEdges.transpose
 
   /**
-   * Performs BFS from `v`, accumulating results into `visitor`.
+   * Returns an iterator over the vertices adjacent to the given vertex,
+   * in the order determined by `adjacencyOrder`.
    *
-   * @param visitor the visitor to accumulate results.
-   * @param v       the starting vertex.
-   * @param goal    early-termination predicate (default: never stop early).
+   * @param v the vertex for which adjacent vertices are to be retrieved.
+   * @return an iterator over the adjacent vertex attributes.
+   * @throws GraphException if the specified vertex is not found in the graph.
    */
-  def bfs[R, J <: Appendable[(V, Option[R])]](visitor: Visitor[V, R, J])(v: V, goal: V => Boolean = _ => false)(using ev: Evaluable[V, R], random: Random): Visitor[V, R, J] =
-    new GraphNeighboursTraversal[V, Visitor[V, R, J]](this) {
-      def traversal: Visitor[V, R, J] = Traversal.bfs(v, visitor, goal)
-    }.traversal
+  def adjacentVertices(v: V)(using random: Random): Iterator[V] =
+    val vo = get(v)
+    if vo.isEmpty then throw GraphException(s"vertex $v not found")
+    for vv <- vo.iterator; va <- orderedAdjacencies(vv) yield va.vertex
+
+  /**
+   * Filters the adjacencies of a given vertex based on a specified predicate.
+   * The adjacencies are yielded in storage order, without copying them.
+   *
+   * @param predicate a function that evaluates each `Adjacency[V]`
+   *                  and returns true if the adjacency satisfies the specified condition.
+   *
+   * @param v         the vertex whose adjacencies are to be filtered.
+   * @return an iterator over the adjacencies of the given vertex that satisfy the predicate.
+   */
+  def filteredAdjacencies(predicate: Adjacency[V] => Boolean)(v: V): Iterator[Adjacency[V]] =
+    map(v).adjacencies.iterator.filter(predicate)
 
   /**
    * BFS over edges rather than vertices.
@@ -135,6 +188,24 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
   def bfse[E, R, J <: Appendable[(Edge[V, E], Option[R])]](visitor: Visitor[Edge[V, E], R, J])(v: V)(goal: V => Boolean)(using ev: Evaluable[Edge[V, E], R], random: Random): Visitor[Edge[V, E], R, J] =
     visitor // stub — full edge-BFS implementation deferred
 
+  /**
+   * Returns a `VertexMap` with the same vertices which yields adjacent vertices in the given order.
+   *
+   * @param order the new adjacency order.
+   * @return a new `VertexMap[V]`.
+   */
+  def withAdjacencyOrder(order: AdjacencyOrder): VertexMap[V] =
+    copy(adjacencyOrder = order, incoming = incoming.map(_.withAdjacencyOrder(order)))
+
+  /**
+   * Provides a `GraphNeighbours[V]` instance derived from the `graphNeighbours` method.
+   * The `GraphNeighbours[V]` instance facilitates efficient access to the neighbors of a vertex
+   * within the graph, enabling traversal algorithms to query adjacent vertices.
+   *
+   * @return a `GraphNeighbours[V]` instance for querying vertex neighbors.
+   */
+  def neighboursGiven: GraphNeighbours[V] = graphNeighbours
+
   // -----------------------------------------------------------------------
   // Graph mutation
   // -----------------------------------------------------------------------
@@ -166,25 +237,40 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
   def contains(key: V): Boolean = map.contains(key)
 
   /**
-   * Adds a vertex to the VertexMap.
+   * Adds (or replaces) a vertex in the VertexMap.
+   * The statistics are adjusted for the adjacencies of the new vertex (and of the vertex which it replaces),
+   * so this is O(d); to add a single adjacency, prefer adding an edge.
    */
   def +(vertex: Vertex[V]): VertexMap[V] =
-    VertexMap(map = map + (vertex.attribute -> vertex))
+    val previous = get(vertex.attribute)
+    val updated = map + (vertex.attribute -> vertex)
+    val removed = previous.fold(statistics)(vv => vv.adjacencies.iterator.foldLeft(statistics)(_.removed(vv.attribute)(_)))
+    val added = vertex.adjacencies.iterator.foldLeft(removed)(_.added(vertex.attribute)(_))
+    val degree = vertex.adjacencies.size
+    // NOTE the maximum out-degree must be recomputed only if it belonged to the replaced vertex.
+    val maximum =
+      if degree >= statistics.maxOutDegree then degree
+      else if previous.exists(_.adjacencies.size == statistics.maxOutDegree) then VertexMap.Statistics.maxOutDegree(updated)
+      else statistics.maxOutDegree
+    // NOTE the adjacencies of the replaced vertex are removed from the in-edge index, and those of the new vertex added to it.
+    val index = incoming.map { transposed =>
+      val repaired = previous.fold(transposed)(vv => transposed.unmirror(vv.attribute)(vv.adjacencies.iterator))
+      vertex.adjacencies.iterator.foldLeft(repaired.ensure(createWithBag[V])(vertex.attribute))(_.mirror(vertex.attribute)(_))
+    }
+    copy(map = updated, statistics = added.copy(maxOutDegree = maximum), incoming = index)
 
   /**
    * Adds a directed or undirected edge to the vertex map.
+   * Each adjacency is added, and the statistics updated, in O(1) (apart from the cost of the persistent map update,
+   * and, if the in-edge index is maintained, of mirroring the adjacency in it).
    */
   def +[E](edge: Edge[V, E]): VertexMap[V] =
-    val addAdj = addAdjFunction
-    val adjFrom = AdjacencyEdge[V, E](edge)
-    val adjTo = AdjacencyEdge[V, E](edge, flipped = true)
-    edgeCount = edgeCount + 1
-    // Ensure both vertices exist, then always add adjacencies using modifyVertex
+    // Ensure both vertices exist, then add the adjacencies one by one
     // so that existing vertices correctly accumulate adjacencies from multiple edges.
     val m0 = ensure(createWithSet[V])(edge.black).ensure(createWithSet[V])(edge.white)
-    val m1 = m0.modifyVertex(addAdj(adjFrom))(edge.white)
+    val m1 = m0.withAdjacency(edge.white)(AdjacencyEdge[V, E](edge))
     if edge.edgeType.oneWay then m1
-    else m1.modifyVertex(addAdj(adjTo))(edge.black)
+    else m1.withAdjacency(edge.black)(AdjacencyEdge[V, E](edge, flipped = true))
 
   /**
    * Adds a vertex pair (with EdgeType) to the VertexMap.
@@ -193,8 +279,9 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
     val create: V => Vertex[V] = Vertex.createWithBag[V]
     val v1 = pair._1
     val v2 = pair._2
-    val vm = ensure(create)(v1).ensure(create)(v2).modifyVertex(addAdjFunction(AdjacencyVertex(v2)))(v1)
-    if pair._3.oneWay then vm else vm.modifyVertex(addAdjFunction(AdjacencyVertex(v1)))(v2)
+    val vm = ensure(create)(v1).ensure(create)(v2).withAdjacency(v1)(AdjacencyVertex(v2))
+    // NOTE as for a triplet, an undirected self-loop yields one vertex with one adjacency.
+    if pair._3.oneWay || v1 == v2 then vm else vm.withAdjacency(v2)(AdjacencyVertex(v1))
 
   /**
    * Retrieves the vertex associated with the specified key.
@@ -223,6 +310,25 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
    */
   def keySet: Set[V] = map.keySet
 
+  /**
+   * Returns the dense integer numbering of the vertices of this `VertexMap`, built on first use.
+   *
+   * @return a `VertexIndex[V]` covering every vertex in `keySet`.
+   */
+  override lazy val vertexIndex: VertexIndex[V] = VertexIndex(map.keys)
+
+  /**
+   * Returns the adjacencies of the vertex whose id is `i`, in storage order, each paired with the id
+   * of the vertex at its far end.
+   * They are read from a table (see `adjacencyTable`) which is built, along with `vertexIndex`, on first use,
+   * so each vertex is hashed once in all, rather than on each expansion and for each adjacency.
+   *
+   * @param i the id of the vertex.
+   * @return an iterator of (id, adjacency) pairs.
+   */
+  override def indexedAdjacencies(i: Int): Iterator[(Int, Adjacency[V])] =
+    adjacencyTable(i).iterator
+
   /**
    * Provides an iterator over the keys in the underlying map.
    */
@@ -230,48 +336,60 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
 
   /**
    * Adds the edges from the provided EdgeList to this VertexMap.
+   * If this map is empty, the edges are accumulated in a `VertexMapBuilder`, so the map is built only once;
+   * otherwise they are added one at a time, so the cost is proportional to the number of edges, not to the size of this map.
    */
   def addEdges[E, Z](edgeList: EdgeList[V, E, Z]): VertexMap[V] =
-    edgeList.edges.foldLeft[VertexMap[V]](this)((vm, e) => vm + e)
+    if map.isEmpty then VertexMapBuilder.from(this).addEdges(edgeList.edges).result()
+    else edgeList.edges.foldLeft[VertexMap[V]](this)((vm, e) => vm + e)
 
   /**
    * Adds a sequence of vertex pairs with their EdgeTypes to this VertexMap.
+   * As with `addEdges`, a `VertexMapBuilder` is used only if this map is empty.
    */
   def addVertexPairs[E](pairs: Seq[(V, V, EdgeType)]): VertexMap[V] =
-    pairs.foldLeft[VertexMap[V]](this)((vm, pair) => vm + pair)
+    if map.isEmpty then VertexMapBuilder.from(this).addVertexPairs(pairs).result()
+    else pairs.foldLeft[VertexMap[V]](this)((vm, pair) => vm + pair)
 
   /**
    * Processes a sequence of triplets and adds them to the VertexMap.
+   * As with `addEdges`, a `VertexMapBuilder` is used only if this map is empty.
    */
   def addTriplets[E, Z](vertexFunction: V => Vertex[V], edgeFunction: Z => ProtoConnexion[V, E] => Connexion[V])(triplets: Seq[Triplet[V, E, Z]]): VertexMap[V] =
-    triplets.foldLeft[VertexMap[V]](this)((vm, triplet) => vm.addTriplet(edgeFunction)(vertexFunction)(triplet))
+    if map.isEmpty then
+      triplets.foldLeft(VertexMapBuilder.from(this)) { (b, triplet) =>
+        b.addTriplet[E, Z](vertexFunction)(createAdjacency(edgeFunction(triplet.edgeType)))(triplet.edgeType != Directed)(triplet)
+      }.result()
+    else
+      triplets.foldLeft[VertexMap[V]](this)((vm, triplet) => vm.addTriplet(edgeFunction)(vertexFunction)(triplet))
 
   /**
    * Returns a new VertexMap with the same vertex keys but empty adjacency lists.
-   * Used to seed a reversed or transformed graph before re-adding edges.
+   * Used to seed a transformed graph before re-adding edges.
    */
   def keysOnly: VertexMap[V] =
     VertexMap(map.keys.foldLeft(Map.empty[V, Vertex[V]]) { (m, k) =>
       m + (k -> Vertex.createWithSet(k))
-    })
+    }, adjacencyOrder)
 
   /**
    * Creates vertices and adjacencies from a triplet.
    */
   def createVerticesFromTriplet[E, Z](f: V => Vertex[V])(g: (Vertex[V], Vertex[V], Option[E]) => Adjacency[V])(condition: Boolean)(triplet: Triplet[V, E, Z]): VertexMap[V] =
-    val vv1: Vertex[V] = getOrCreate(f)(triplet.from)
-    val vv2: Vertex[V] = getOrCreate(f)(triplet.to)
+    val vm = ensure(f)(triplet.from).ensure(f)(triplet.to)
+    val vv1: Vertex[V] = vm(triplet.from)
+    val vv2: Vertex[V] = vm(triplet.to)
     val va: Adjacency[V] = g(vv1, vv2, triplet.maybeAttribute)
-    val updatedVv1 = vv1 + va
-    if vv1.attribute == vv2.attribute then
-      this + updatedVv1  // self-loop: one vertex, one adjacency
+    val vm1 = vm.withAdjacency(triplet.from)(va)
+    if vv1.attribute == vv2.attribute || !condition then
+      vm1  // NOTE a self-loop yields one vertex with one adjacency
     else
-      val vao: Option[Adjacency[V]] = Option.when(condition) {
+      vm1.withAdjacency(triplet.to) {
         va match
           case AdjacencyEdge(connexion, _) => AdjacencyEdge(connexion, flipped = true)
+          case AdjacencyVertex(_) => AdjacencyVertex(triplet.from)
           case other => other
       }
-      this + updatedVv1 + vao.fold(vv2)(vv2 + _)
 
   /**
    * Creates an Adjacency from an optional edge.
@@ -288,6 +406,21 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
     val f: (Vertex[V], Vertex[V], Option[E]) => Adjacency[V] = createAdjacency(edgeFunction(triplet.edgeType))
     createVerticesFromTriplet[E, Z](vertexFunction)(f)(triplet.edgeType != Directed)(triplet)
 
+  // -----------------------------------------------------------------------
+  // Equality
+  // -----------------------------------------------------------------------
+
+  /**
+   * Two `VertexMap`s are equal if they have the same vertices, with the same adjacencies.
+   * Neither the adjacency order, which affects only the order in which neighbours are yielded,
+   * nor the in-edge index, which is derived from the vertices, is compared.
+   */
+  override def equals(obj: Any): Boolean = obj match
+    case that: VertexMap[?] => map == that.map
+    case _ => false
+
+  override def hashCode(): Int = map.hashCode()
+
   // -----------------------------------------------------------------------
   // toString
   // -----------------------------------------------------------------------
@@ -296,10 +429,7 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
     map.map((v, vv) => s"v:$v, vv:${vv.render}").mkString("[", ", ", "]")
 
   def debug: String =
-    s"VertexMap(size=${map.size}, edgeCount=$edgeCount, vertices=$map)"
-
-  // CONSIDER making this a member and use copy to increment the edgeCount
-  private var edgeCount: Int = 0
+    s"VertexMap(size=${map.size}, edgeCount=${statistics.edgeCount}, vertices=$map)"
 
   // -----------------------------------------------------------------------
   // Private helpers
@@ -314,20 +444,115 @@ case class VertexMap[V](map: Map[V, Vertex[V]]) extends Traversable[V]:
     case None =>
       this + f(v)
 
-  private val addAdjFunction: Adjacency[V] => Vertex[V] => Vertex[V] = va => w => w + va
+  /**
+   * Adds adjacency `a` to the (existing) vertex `v`, updating the statistics in O(1).
+   * If the adjacencies of `v` already include `a` (and form a set), this map is returned unchanged.
+   */
+  private def withAdjacency(v: V)(a: Adjacency[V]): VertexMap[V] = get(v) match
+    case Some(vv) =>
+      val updated = vv + a
+      val degree = updated.adjacencies.size
+      if degree == vv.adjacencies.size then this
+      else copy(
+        map = map + (v -> updated),
+        statistics = statistics.added(v)(a).copy(maxOutDegree = math.max(statistics.maxOutDegree, degree)),
+        incoming = incoming.map(_.mirror(v)(a))
+      )
+    case None =>
+      this
+
+  /**
+   * Adds to this (transposed) map the reverse of adjacency `a` of vertex `v`.
+   */
+  private def mirror(v: V)(a: Adjacency[V]): VertexMap[V] =
+    ensure(createWithBag[V])(v).ensure(createWithBag[V])(a.vertex).withAdjacency(a.vertex)(VertexMap.reverseOf(v)(a))
 
-  private def getOrCreate(f: V => Vertex[V])(v: V): Vertex[V] =
-    map.getOrElse(v, f(v))
+  /**
+   * Removes from this (transposed) map the reverse of each of the given adjacencies of vertex `v` (one occurrence apiece).
+   * Only the vertices to which those adjacencies lead are rebuilt, each in a single pass over its adjacencies,
+   * so this is O(k + deg(w)) for each such vertex `w` (where `k` is the number of adjacencies removed from it).
+   */
+  private def unmirror(v: V)(as: Iterator[Adjacency[V]]): VertexMap[V] =
+    as.toSeq.groupMap(_.vertex)(VertexMap.reverseOf(v)).foldLeft(this) { case (m, (w, reversed)) =>
+      m.get(w).fold(m) { ww =>
+        val pending = mutable.HashMap.empty[Adjacency[V], Int]
+        reversed.foreach(r => pending.updateWith(r)(k => Some(k.fold(1)(_ + 1))): Unit)
+        val remaining = ww.adjacencies.iterator.filterNot { a =>
+          pending.get(a) match
+            case Some(k) =>
+              if k == 1 then pending.remove(a): Unit else pending.update(a, k - 1)
+              true
+            case None =>
+              false
+        }
+        m + (createWithBag[V](w) ++ remaining.toList)
+      }
+    }
 
-  private def randomAdjacencies(vv: Vertex[V])(using random: Random) =
-    RandomIterator(vv.adjacencies.iterator)
+  private def orderedAdjacencies(vv: Vertex[V])(using random: Random): Iterator[Adjacency[V]] =
+    adjacencyOrder match
+      case AdjacencyOrder.Shuffled(_) =>
+        shuffledAdjacencies(vv.attribute).iterator
+      case order =>
+        order.arrange(vv.adjacencies.iterator)
+
+  // NOTE built on first use (in O(N + M)): for each vertex id, its adjacencies paired with the ids of their far ends.
+  private lazy val adjacencyTable: Array[Array[(Int, Adjacency[V])]] =
+    val index = vertexIndex
+    Array.tabulate(index.size)(i => map(index(i)).adjacencies.iterator.map(a => index.indexOf(a.vertex) -> a).toArray)
+
+  // NOTE built on first use, and only for the Shuffled order.
+  private lazy val shuffledAdjacencies: Map[V, IndexedSeq[Adjacency[V]]] =
+    adjacencyOrder match
+      case order@AdjacencyOrder.Shuffled(seed) =>
+        given Random = Random(seed)
+        map.map((v, vv) => v -> order.arrange(vv.adjacencies.iterator).toIndexedSeq)
+      case _ =>
+        Map.empty
 
 /**
  * Companion object for VertexMap.
  */
 object VertexMap:
 
-  def apply[V](map: Map[V, Vertex[V]]): VertexMap[V] = new VertexMap(map)
+  /**
+   * Creates a `VertexMap` from the given map, computing its statistics in O(N + M).
+   *
+   * @param map            a mapping from vertex attributes to their associated Vertex instances.
+   * @param adjacencyOrder the order in which `adjacentVertices` yields the neighbours of a vertex.
+   * @tparam V the type of the vertex attributes.
+   * @return a new `VertexMap[V]`.
+   */
+  def apply[V](map: Map[V, Vertex[V]], adjacencyOrder: AdjacencyOrder = AdjacencyOrder.Randomized): VertexMap[V] =
+    new VertexMap(map, adjacencyOrder, Statistics.of(map), None)
+
+  /**
+   * Returns the reverse of adjacency `a` of vertex `v`, i.e. the adjacency from `a.vertex` to `v`.
+   * A two-way edge is reversed by flipping its adjacency; any other connexion is itself reversed.
+   *
+   * @param v the vertex to which `a` belongs.
+   * @param a the adjacency.
+   * @tparam V the type of the vertex attributes.
+   * @return an `Adjacency[V]` whose `vertex` is `v`.
+   */
+  def reverseOf[V](v: V)(a: Adjacency[V]): Adjacency[V] = a match
+    case AdjacencyEdge(e: Edge[V, ?] @unchecked, flipped) if !e.edgeType.oneWay =>
+      AdjacencyEdge(e, !flipped)
+    case AdjacencyEdge(connexion, flipped) =>
+      AdjacencyEdge(connexion.reversed, flipped)
+    case AdjacencyVertex(_) =>
+      AdjacencyVertex(v)
+    case other =>
+      throw GraphException(s"VertexMap.reverseOf: unsupported adjacency: $other")
+
+  /**
+   * Builds, in O(N + M), the transpose of the given vertices: the in-edge index of a `VertexMap`.
+   */
+  private def transposeOf[V](map: Map[V, Vertex[V]], adjacencyOrder: AdjacencyOrder): VertexMap[V] =
+    val seeded = map.keysIterator.foldLeft(VertexMapBuilder[V])(_.ensure(createWithBag[V])(_))
+    map.foldLeft(seeded) { case (b, (u, vv)) =>
+      vv.adjacencies.iterator.foldLeft(b)((z, a) => z.addAdjacency(a.vertex)(reverseOf(u)(a)))
+    }.result().withAdjacencyOrder(adjacencyOrder)
 
   def apply[V]: VertexMap[V] = apply(Map.empty[V, Vertex[V]])
 
@@ -343,4 +568,61 @@ object VertexMap:
       vm + (t.from -> vv1) + (t.to -> vv2)
     }
 
+  /**
+   * The counts which a `VertexMap` maintains as adjacencies are added.
+   * Every count is a function of the vertices alone, so that two equal maps have equal statistics.
+   *
+   * @param edgeCount            the number of adjacencies other than flipped `AdjacencyEdge`s (so each edge is counted once).
+   * @param adjacencyCount       the total number of adjacencies (the sum of the out-degrees).
+   * @param vertexAdjacencyCount the number of `AdjacencyVertex`s (an undirected vertex pair contributes two).
+   * @param vertexSelfLoopCount  the number of `AdjacencyVertex`s which lead back to their own vertex
+   *                             (an undirected self-loop contributes only one).
+   * @param maxOutDegree         the greatest out-degree of any vertex (0 if there are no vertices).
+   * @tparam V the type of the vertex attributes.
+   */
+  case class Statistics[V](edgeCount: Int, adjacencyCount: Int, vertexAdjacencyCount: Int, vertexSelfLoopCount: Int, maxOutDegree: Int):
+
+    /**
+     * Accounts, in O(1), for the addition of adjacency `a` to vertex `v` (but not for any change to the maximum out-degree).
+     */
+    def added(v: V)(a: Adjacency[V]): Statistics[V] =
+      Statistics(edgeCount + Statistics.edgeWeight(a), adjacencyCount + 1, vertexAdjacencyCount + Statistics.vertexWeight(a), vertexSelfLoopCount + Statistics.selfLoopWeight(v)(a), maxOutDegree)
+
+    /**
+     * Accounts, in O(1), for the removal of adjacency `a` from vertex `v` (but not for any change to the maximum out-degree).
+     */
+    def removed(v: V)(a: Adjacency[V]): Statistics[V] =
+      Statistics(edgeCount - Statistics.edgeWeight(a), adjacencyCount - 1, vertexAdjacencyCount - Statistics.vertexWeight(a), vertexSelfLoopCount - Statistics.selfLoopWeight(v)(a), maxOutDegree)
+
+  /**
+   * Companion object for `Statistics`.
+   */
+  object Statistics:
+
+    /**
+     * Computes the statistics of the given vertices in O(N + M).
+     *
+     * @param map a mapping from vertex attributes to their associated Vertex instances.
+     * @tparam V the type of the vertex attributes.
+     * @return the `Statistics[V]` of `map`.
+     */
+    def of[V](map: Map[V, Vertex[V]]): Statistics[V] =
+      val empty = Statistics[V](0, 0, 0, 0, maxOutDegree(map))
+      map.foldLeft(empty) { case (s, (v, vv)) => vv.adjacencies.iterator.foldLeft(s)(_.added(v)(_)) }
+
+    private[VertexMap] def maxOutDegree[V](map: Map[V, Vertex[V]]): Int =
+      map.valuesIterator.map(_.adjacencies.size).maxOption.getOrElse(0)
+
+    private def edgeWeight[V](a: Adjacency[V]): Int = a match
+      case AdjacencyEdge(_, true) => 0
+      case _ => 1
+
+    private def vertexWeight[V](a: Adjacency[V]): Int = a match
+      case AdjacencyVertex(_) => 1
+      case _ => 0
+
+    private def selfLoopWeight[V](v: V)(a: Adjacency[V]): Int = a match
+      case AdjacencyVertex(w) if w == v => 1
+      case _ => 0
+
   val logger: Logger = LoggerFactory.getLogger("VertexMap")
\ No newline at end of file
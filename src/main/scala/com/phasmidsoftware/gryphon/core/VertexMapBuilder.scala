@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.core.Vertex.{createWithBag, createWithSet}
+import scala.collection.mutable
+
+/**
+ * A transient (mutable) builder which accumulates vertices and adjacencies
+ * and then produces an immutable `VertexMap` in a single pass.
+ *
+ * Adding edges one at a time to a `VertexMap` rewrites the persistent map, and rebuilds
+ * a `Vertex` and its `Unordered` adjacency collection, for every edge.
+ * A `VertexMapBuilder` instead appends each adjacency to a growable buffer belonging to its vertex;
+ * `result` then adds each buffer to its vertex (via `Vertex.++`) and builds the map, once.
+ *
+ * The methods of this builder mirror those of `VertexMap` (`+`, `addTriplet`, etc.)
+ * and yield the same `VertexMap` as the corresponding fold would.
+ *
+ * NOTE a builder must not be used after `result` has been called, and it is not thread-safe.
+ *
+ * @param seed           the vertices with which to begin.
+ * @param adjacencyOrder the adjacency order of the resulting `VertexMap`.
+ * @param inEdges        true if the resulting `VertexMap` should maintain its in-edge index (see `VertexMap.withInEdges`).
+ * @tparam V the type of the vertex attributes.
+ */
+class VertexMapBuilder[V] private(seed: Map[V, Vertex[V]], adjacencyOrder: AdjacencyOrder, inEdges: Boolean):
+
+  // NOTE each vertex is held exactly as it was created (or found in seed) until `result` is called.
+  private val vertices: mutable.HashMap[V, Vertex[V]] = mutable.HashMap.from(seed)
+  private val pending: mutable.HashMap[V, mutable.ArrayBuffer[Adjacency[V]]] = mutable.HashMap.empty
+
+  /**
+   * Returns the number of vertices added so far.
+   *
+   * @return the number of vertices.
+   */
+  def size: Int = vertices.size
+
+  /**
+   * Ensures that there is a vertex for `v`, creating it with `f` if absent.
+   *
+   * @param f the function with which to create a new vertex.
+   * @param v the vertex attribute.
+   * @return this builder.
+   */
+  def ensure(f: V => Vertex[V])(v: V): VertexMapBuilder[V] =
+    vertices.getOrElseUpdate(v, f(v)): Unit
+    this
+
+  /**
+   * Adds an adjacency to the (existing) vertex `v`.
+   * If `v` has not been added to this builder, the adjacency is ignored (as in `VertexMap.modifyVertex`).
+   *
+   * @param v the vertex attribute.
+   * @param a the adjacency.
+   * @return this builder.
+   */
+  def addAdjacency(v: V)(a: Adjacency[V]): VertexMapBuilder[V] =
+    if vertices.contains(v) then pending.getOrElseUpdate(v, mutable.ArrayBuffer.empty) += a: Unit
+    this
+
+  /**
+   * Adds a directed or undirected edge, as does `VertexMap.+[E]`.
+   *
+   * @param edge the edge.
+   * @tparam E the type of the edge attribute.
+   * @return this builder.
+   */
+  def +=[E](edge: Edge[V, E]): VertexMapBuilder[V] =
+    ensure(createWithSet[V])(edge.black).ensure(createWithSet[V])(edge.white)
+    addAdjacency(edge.white)(AdjacencyEdge[V, E](edge))
+    if edge.edgeType.oneWay then this
+    else addAdjacency(edge.black)(AdjacencyEdge[V, E](edge, flipped = true))
+
+  /**
+   * Adds a vertex pair (with EdgeType), as does `VertexMap.+(pair)`.
+   *
+   * @param pair the two vertices and the type of the connection between them.
+   * @return this builder.
+   */
+  def +=(pair: (V, V, EdgeType)): VertexMapBuilder[V] =
+    val (v1, v2, edgeType) = pair
+    ensure(createWithBag[V])(v1).ensure(createWithBag[V])(v2).addAdjacency(v1)(AdjacencyVertex(v2))
+    // NOTE as for a triplet, an undirected self-loop yields one vertex with one adjacency.
+    if edgeType.oneWay || v1 == v2 then this
+    else addAdjacency(v2)(AdjacencyVertex(v1))
+
+  /**
+   * Adds the vertices and adjacencies of a triplet, as does `VertexMap.createVerticesFromTriplet`.
+   *
+   * NOTE the vertices passed to `g` are those created by `f`, without any adjacencies which have been added to them.
+   *
+   * @param f         the function with which to create a new vertex.
+   * @param g         the function which yields the adjacency from `triplet.from` to `triplet.to`.
+   * @param condition true if the (flipped) adjacency from `triplet.to` should also be added.
+   * @param triplet   the triplet.
+   * @tparam E the type of the edge attribute.
+   * @tparam Z the type of the edge type.
+   * @return this builder.
+   */
+  def addTriplet[E, Z](f: V => Vertex[V])(g: (Vertex[V], Vertex[V], Option[E]) => Adjacency[V])(condition: Boolean)(triplet: Triplet[V, E, Z]): VertexMapBuilder[V] =
+    val vv1 = vertices.getOrElseUpdate(triplet.from, f(triplet.from))
+    val vv2 = vertices.getOrElseUpdate(triplet.to, f(triplet.to))
+    val va = g(vv1, vv2, triplet.maybeAttribute)
+    addAdjacency(triplet.from)(va)
+    // NOTE a self-loop yields one vertex with one adjacency.
+    if !condition || triplet.from == triplet.to then this
+    else addAdjacency(triplet.to) {
+      va match
+        case AdjacencyEdge(connexion, _) => AdjacencyEdge(connexion, flipped = true)
+        case AdjacencyVertex(_) => AdjacencyVertex(triplet.from)
+        case other => other
+    }
+
+  /**
+   * Adds all the given edges.
+   *
+   * @param edges the edges.
+   * @tparam E the type of the edge attributes.
+   * @return this builder.
+   */
+  def addEdges[E](edges: IterableOnce[Edge[V, E]]): VertexMapBuilder[V] =
+    edges.iterator.foreach(this += _)
+    this
+
+  /**
+   * Adds all the given vertex pairs.
+   *
+   * @param pairs the vertex pairs.
+   * @return this builder.
+   */
+  def addVertexPairs(pairs: IterableOnce[(V, V, EdgeType)]): VertexMapBuilder[V] =
+    pairs.iterator.foreach(this += _)
+    this
+
+  /**
+   * Produces the `VertexMap`, adding to each vertex all of its accumulated adjacencies at once.
+   *
+   * @return a new immutable `VertexMap[V]`.
+   */
+  def result(): VertexMap[V] =
+    val builder = Map.newBuilder[V, Vertex[V]]
+    builder.sizeHint(vertices.size)
+    for (v, vv) <- vertices do
+      builder += v -> pending.get(v).fold(vv)(vv ++ _)
+    val vertexMap = VertexMap(builder.result(), adjacencyOrder)
+    if inEdges then vertexMap.withInEdges else vertexMap
+
+/**
+ * Companion object for `VertexMapBuilder`.
+ */
+object VertexMapBuilder:
+
+  /**
+   * Creates an empty `VertexMapBuilder`.
+   *
+   * @tparam V the type of the vertex attributes.
+   * @return a new `VertexMapBuilder[V]`.
+   */
+  def apply[V]: VertexMapBuilder[V] = new VertexMapBuilder[V](Map.empty, AdjacencyOrder.Randomized, false)
+
+  /**
+   * Creates a `VertexMapBuilder` which begins with the vertices (and adjacencies) of `vertexMap`
+   * and whose result has the same adjacency order (and, if `vertexMap` maintains one, an in-edge index).
+   *
+   * NOTE the vertices of `vertexMap` are copied, and `result` rebuilds the whole map (and its statistics),
+   * so this is worthwhile only if many adjacencies are to be added; to add a few, use `VertexMap.+`.
+   *
+   * @param vertexMap the initial vertices.
+   * @tparam V the type of the vertex attributes.
+   * @return a new `VertexMapBuilder[V]`.
+   */
+  def from[V](vertexMap: VertexMap[V]): VertexMapBuilder[V] = new VertexMapBuilder[V](vertexMap.map, vertexMap.adjacencyOrder, vertexMap.hasInEdges)
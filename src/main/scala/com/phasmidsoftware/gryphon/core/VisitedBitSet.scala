@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.visitor.core.GraphNeighbours
+import java.util.BitSet
+import scala.util.Random
+
+/**
+ * A dense bitset of visited vertices, indexed by vertex id (see `VertexIndex`),
+ * which is shared by a sequence of traversals, one per component (as in `dfsAll`, `TopologicalSort`, `Kosaraju`
+ * and `ConnectedComponents`).
+ *
+ * The traversal engine's `VisitedSet` belongs to a single traversal; seeding each traversal with a `VisitedSet`
+ * which already holds every vertex visited by the earlier ones costs O(V) per component, and hence O(V²) in all
+ * for a graph with many small components.
+ * Instead, each traversal starts with an empty `VisitedSet`, and is prevented from entering earlier components
+ * by the `GraphNeighbours` given by `neighbours`, which marks each vertex as it is expanded
+ * and yields only the neighbours which are not yet marked.
+ * Together with `seeds`, which yields the unmarked vertices in order of id, a whole sequence of traversals is O(V + E).
+ *
+ * NOTE a `VisitedBitSet` is mutable and is not thread-safe: it belongs to a single run of an algorithm.
+ *
+ * @param index the numbering of the vertices.
+ * @tparam V the type of the vertices.
+ */
+final class VisitedBitSet[V](index: VertexIndex[V]):
+
+  private val bits: BitSet = new BitSet(index.size)
+  private var count: Int = 0
+
+  /**
+   * Returns the number of vertices marked so far, in O(1).
+   *
+   * @return the number of visited vertices.
+   */
+  def size: Int = count
+
+  /**
+   * Returns true if `v` has been marked.
+   *
+   * @param v the vertex.
+   * @return true if `v` has been visited.
+   */
+  def contains(v: V): Boolean = bits.get(index.indexOf(v))
+
+  /**
+   * Marks `v` as visited.
+   *
+   * @param v the vertex.
+   */
+  def mark(v: V): Unit =
+    val i = index.indexOf(v)
+    if !bits.get(i) then
+      bits.set(i)
+      count += 1
+
+  /**
+   * Returns the vertices which are not (yet) marked, in order of id.
+   * The iterator is lazy: each vertex is found (in amortized O(1)) only when it is required,
+   * so vertices which are marked while it is in use (typically by the traversal from the previous seed) are skipped.
+   *
+   * @return an iterator of unvisited vertices.
+   */
+  def seeds: Iterator[V] =
+    Iterator.iterate(bits.nextClearBit(0))(i => bits.nextClearBit(i + 1)).takeWhile(_ < index.size).map(index(_))
+
+  /**
+   * Returns the neighbours function for a traversal of `graph` which is confined to unvisited vertices:
+   * each vertex is marked when it is expanded, and only its unmarked neighbours are yielded.
+   *
+   * @param graph  the graph.
+   * @param random controls adjacency ordering.
+   * @return a `GraphNeighbours[V]`.
+   */
+  def neighbours(graph: Traversable[V])(using random: Random): GraphNeighbours[V] = (v: V) =>
+    mark(v)
+    graph.adjacentVertices(v).filterNot(contains)
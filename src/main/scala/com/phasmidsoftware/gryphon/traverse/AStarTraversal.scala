@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.AttributedDirectedEdge
+import com.phasmidsoftware.gryphon.core.Edge
+import com.phasmidsoftware.visitor.core.{Monoid, Zero}
+
+/**
+ * Typeclass which estimates the cost of a path from a vertex to a target, for A* search.
+ *
+ * For `AStarTraversal` to find a shortest path, the estimate must be admissible (never more than the true cost)
+ * and, since settled vertices are never reopened, consistent: for every edge u -> w of cost c,
+ * `estimate(u, t) <= c + estimate(w, t)`.
+ * A geometric distance, such as `Heuristic.haversine`, is consistent for edges whose costs are no less than
+ * the distance between their ends.
+ *
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type.
+ */
+trait Heuristic[V, E]:
+
+  /**
+   * Estimates the cost of a shortest path from `v` to `target`.
+   *
+   * @param v      the vertex.
+   * @param target the target vertex.
+   * @return a lower bound on the cost of any path from `v` to `target`.
+   */
+  def estimate(v: V, target: V): E
+
+/**
+ * Companion object for `Heuristic`.
+ */
+object Heuristic:
+
+  /**
+   * The mean radius of the Earth, in kilometres.
+   */
+  val earthRadius: Double = 6371.0088
+
+  /**
+   * The trivial heuristic, with which A* is Dijkstra's algorithm (stopping at the target).
+   *
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type.
+   * @return a `Heuristic[V, E]` whose estimate is always `Zero.identity`.
+   */
+  def zero[V, E: Zero]: Heuristic[V, E] =
+    (_, _) => summon[Zero[E]].identity
+
+  /**
+   * The great-circle distance heuristic for vertices which are located on the Earth,
+   * for example the locations (longitude, latitude) of the team-project CSV.
+   * It is consistent provided that the cost of each edge is no less than the great-circle distance between its ends,
+   * in kilometres (see `distance`).
+   *
+   * @param location for each vertex, its (longitude, latitude), in degrees.
+   * @tparam V the vertex type.
+   * @return a `Heuristic[V, Double]`, in kilometres.
+   */
+  def haversine[V](location: V => (Double, Double)): Heuristic[V, Double] =
+    (v, target) => distance(location(v), location(target))
+
+  /**
+   * Returns the great-circle distance between two points, by the haversine formula.
+   * See [Haversine formula](https://en.wikipedia.org/wiki/Haversine_formula).
+   *
+   * @param p a (longitude, latitude), in degrees.
+   * @param q a (longitude, latitude), in degrees.
+   * @return the distance from `p` to `q`, in kilometres.
+   */
+  def distance(p: (Double, Double), q: (Double, Double)): Double =
+    val (phi1, phi2) = (math.toRadians(p._2), math.toRadians(q._2))
+    val dPhi = phi2 - phi1
+    val dLambda = math.toRadians(q._1 - p._1)
+    val a = math.pow(math.sin(dPhi / 2), 2) + math.cos(phi1) * math.cos(phi2) * math.pow(math.sin(dLambda / 2), 2)
+    2 * earthRadius * math.asin(math.min(1.0, math.sqrt(a)))
+
+// ============================================================
+// A*
+// ============================================================
+
+/**
+ * A* search for a shortest path to `target`.
+ * See [A* search algorithm](https://en.wikipedia.org/wiki/A*_search_algorithm).
+ *
+ * This is a `WeightedTraversal` which, like `DijkstraTraversal`, accumulates the cost g(w) of the cheapest known path
+ * to each vertex w, and admits only `AttributedDirectedEdge` instances.
+ * The difference is the priority of w (see `priority`): not g(w), but g(w) + h(w), where h is the `Heuristic`
+ * estimate of the cost from w to `target`, so that vertices which lead away from `target` are put off;
+ * and the traversal ends as soon as `target` is settled (see `bounds`).
+ * Since h(w) is fixed, a lower g(w) always means a lower priority, so `decreaseKey` applies as for Dijkstra;
+ * and, since h is consistent, the priorities of the vertices settled never decrease,
+ * so a monotone `frontier` (such as `FrontierStrategy.radixHeap`) may be used as for Dijkstra.
+ *
+ * The result maps each settled vertex (other than `start`) to its cheapest incoming edge,
+ * and so includes a shortest path to `target`, if it is reachable (see `ShortestPaths.aStar`).
+ *
+ * @param target    the target vertex.
+ * @param radius    if defined, the maximum cost (not priority) of a vertex which may be settled.
+ * @param budget    the maximum number of vertices to settle (including the start).
+ * @param frontier  the strategy for the frontier (by default, None, for the `IndexedPrioQueue`).
+ * @param heuristic the (consistent) estimate of the cost to `target`.
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type; must have Monoid and Ordering.
+ */
+case class AStarTraversal[V, E: {Monoid, Ordering}](target: V, radius: Option[E] = None, budget: Int = Int.MaxValue, override val frontier: Option[FrontierStrategy[E]] = None)(using heuristic: Heuristic[V, E])
+        extends WeightedTraversal[V, E, AttributedDirectedEdge[V, E]]:
+
+  override def bounds: SearchBounds[V, E] = SearchBounds(targets = Set(target), radius = radius, budget = budget)
+
+  protected def edgeCost(accCost: E, e: Edge[V, E], v: V): E =
+    summon[Monoid[E]].combine(accCost, e.attribute)
+
+  protected def destination(v: V, e: Edge[V, E]): V =
+    e.black
+
+  protected def filterEdge(e: Edge[V, E]): Option[AttributedDirectedEdge[V, E]] = e match
+    case ade: AttributedDirectedEdge[V, E] => Some(ade)
+    case _ => None
+
+  override protected def priority(cost: E, v: V): E =
+    summon[Monoid[E]].combine(cost, heuristic.estimate(v, target))
@@ -4,10 +4,10 @@
 
 package com.phasmidsoftware.gryphon.traverse
 
-import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedEdge}
+import com.phasmidsoftware.gryphon.core.Traversable
 import com.phasmidsoftware.visitor.core.Monoid
 import scala.collection.mutable
-import scala.util.Random
 
 /**
  * Computes shortest paths in a weighted directed graph using the
@@ -29,13 +29,17 @@ import scala.util.Random
  *
  * The edge-weight type `E` requires `Monoid` (zero + combine) and `Ordering`
  * (comparison) — consistent with `AcyclicShortestPaths`.
+ *
+ * All working state is indexed by the vertex ids of `graph.vertexIndex`,
+ * so vertices are hashed only when the result is built.
  */
 object BellmanFord:
 
   /**
    * Computes shortest paths from `start` to all reachable vertices in `graph`.
    *
-   * @param graph the directed graph (may contain cycles and negative weights).
+   * @param graph the directed graph (may contain cycles and negative weights),
+   *              e.g. a `DirectedGraph` or a frozen `CsrGraph`.
    * @param start the source vertex.
    * @tparam V the vertex type.
    * @tparam E the edge-weight type; must have `Monoid` and `Ordering`.
@@ -43,19 +47,21 @@ object BellmanFord:
    *         to its shortest-path incoming edge, or `None` if a negative cycle is
    *         reachable from `start`.
    */
-  def shortestPaths[V, E: {Monoid, Ordering}](graph: DirectedGraph[V, E], start: V): Option[VertexTraversalResult[V, DirectedEdge[V, E]]] =
-    given Random = Random(0)
-
+  def shortestPaths[V, E: {Monoid, Ordering}](graph: Traversable[V], start: V): Option[VertexTraversalResult[V, DirectedEdge[V, E]]] =
     val em = implicitly[Monoid[E]]
     val eo = implicitly[Ordering[E]]
-    val V = graph.N
+    val index = graph.vertexIndex
+    val V = index.size
+    val s = index.indexOf(start)
 
-    // NOTE Create all the working data structures.
-    val dist: mutable.Map[V, E] = mutable.Map(start -> em.identity)
-    val pred: mutable.Map[V, DirectedEdge[V, E]] = mutable.Map.empty
-    val onQueue: mutable.Set[V] = mutable.Set(start)
-    val enqueued: mutable.Map[V, Int] = mutable.Map(start -> 1)
-    val queue: mutable.Queue[V] = mutable.Queue(start)
+    // NOTE Create all the working data structures, indexed by vertex id (see VertexIndex).
+    val dist: mutable.ArrayBuffer[Option[E]] = mutable.ArrayBuffer.fill(V)(None)
+    val pred: mutable.ArrayBuffer[Option[DirectedEdge[V, E]]] = mutable.ArrayBuffer.fill(V)(None)
+    val onQueue: mutable.BitSet = mutable.BitSet(s)
+    val enqueued: Array[Int] = new Array[Int](V)
+    val queue: mutable.Queue[Int] = mutable.Queue(s)
+    dist(s) = Some(em.identity)
+    enqueued(s) = 1
 
     // NOTE this is a mutable variable, but it is only used in the loop condition.
     var negativeCycle = false
@@ -64,21 +70,19 @@ object BellmanFord:
       val v = queue.dequeue()
       onQueue -= v
       for
-        adj <- graph.filteredAdjacencies(_ => true)(v)
+        (w, adj) <- graph.indexedAdjacencies(v)
         edge <- adj.maybeEdge[E].collect { case e: AttributedDirectedEdge[V, E] => e }
         if !negativeCycle
       do
-        val w = edge.black
-        val newDist = em.combine(dist(v), edge.attribute)
-        if dist.get(w).forall(eo.lt(newDist, _)) then
-          dist(w) = newDist
-          pred(w) = edge
+        val newDist = em.combine(dist(v).get, edge.attribute)
+        if dist(w).forall(eo.lt(newDist, _)) then
+          dist(w) = Some(newDist)
+          pred(w) = Some(edge)
           if !onQueue.contains(w) then
             queue.enqueue(w)
             onQueue += w
-            val count = enqueued.getOrElse(w, 0) + 1
-            enqueued(w) = count
-            if count >= V then negativeCycle = true
+            enqueued(w) += 1
+            if enqueued(w) >= V then negativeCycle = true
 
     if negativeCycle then None
-    else Some(VertexTraversalResult(pred.toMap))
\ No newline at end of file
+    else Some(VertexTraversalResult(pred.iterator.zipWithIndex.collect { case (Some(e), i) => index(i) -> e }.toMap))
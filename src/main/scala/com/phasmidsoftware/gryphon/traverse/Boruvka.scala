@@ -4,7 +4,7 @@
 
 package com.phasmidsoftware.gryphon.traverse
 
-import com.phasmidsoftware.gryphon.adjunct.{Connectivity, UndirectedEdge, UndirectedGraph}
+import com.phasmidsoftware.gryphon.adjunct.{Connectivity, UndirectedEdge}
 import com.phasmidsoftware.gryphon.core.*
 import com.phasmidsoftware.visitor.core.Monoid
 
@@ -30,13 +30,13 @@ object Boruvka:
   /**
    * Computes the MST of `graph` using Borůvka's algorithm.
    *
-   * @param graph the undirected weighted graph.
+   * @param graph the undirected weighted graph, e.g. an `UndirectedGraph` or a frozen `CsrGraph`.
    * @tparam V the vertex attribute type.
    * @tparam E the edge weight type; must have `Monoid` and `Ordering`.
    * @return a `Seq[Edge[V, E]]` — the MST edges in order of addition, consistent with `Kruskal.mst`.
    */
-  def mst[V, E: {Monoid, Ordering}](graph: UndirectedGraph[V, E]): Seq[Edge[V, E]] =
-    val vertices = graph.vertexMap.keySet.toSeq
+  def mst[V, E: {Monoid, Ordering}](graph: EdgeTraversable[V, E]): Seq[Edge[V, E]] =
+    val vertices = graph.keySet.toSeq
 
     // Each vertex starts as its own component using optimized Connectivity
     val wc0: Connectivity[V] = Connectivity.createOptimized(vertices *)
@@ -109,7 +109,7 @@ object Boruvka:
    * @return a map from component root to the cheapest crossing edge out of that component.
    */
   private def cheapestCrossingEdges[V, E: {Monoid, Ordering}](
-                                                                     graph: UndirectedGraph[V, E],
+                                                                     graph: EdgeTraversable[V, E],
                                                                      vertices: Seq[V],
                                                                      wc: Connectivity[V]
                                                              ): Map[V, Edge[V, E]] =
@@ -126,12 +126,11 @@ object Boruvka:
 
   /**
    * Returns an iterator over all edges adjacent to vertex `v` in `graph`.
-   * Uses `Vertex.adjacencies` directly — no traversal engine involvement.
+   * Uses `filteredAdjacencies` directly — no traversal engine involvement.
    */
-  private def edgesFrom[V, E](graph: EdgeGraph[V, E])(v: V): Iterator[UndirectedEdge[V, E]] =
+  private def edgesFrom[V, E](graph: EdgeTraversable[V, E])(v: V): Iterator[UndirectedEdge[V, E]] =
     for
-      vv <- graph.vertexMap.get(v).iterator
-      a <- vv.adjacencies.iterator
+      a <- graph.filteredAdjacencies(_ => true)(v)
       e <- a.maybeEdge[E]
       ue <- e match {
         case ee: UndirectedEdge[V, E] @unchecked => Some(ee);
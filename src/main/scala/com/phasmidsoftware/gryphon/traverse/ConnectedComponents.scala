@@ -4,8 +4,7 @@
 
 package com.phasmidsoftware.gryphon.traverse
 
-import com.phasmidsoftware.gryphon.core.{Graph, Traversable}
-import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.gryphon.core.{Traversable, VisitedBitSet}
 import scala.annotation.tailrec
 import scala.util.Random
 
@@ -22,6 +21,8 @@ type ConnectedResult[V, E] = (Connexions[V, E], Map[V, Int])
  *
  * Uses `getConnexions` (the manual parent-tracking DFS on `Traversable`) to explore
  * each component in turn, labelling vertices with a monotonically increasing component ID.
+ * Each component is seeded from the unvisited vertex with the least id, found in a `VisitedBitSet`,
+ * so that the whole is O(V + E) however many components there are.
  *
  * NOTE: this implementation is intended for undirected graphs only.
  * For strongly connected components of a directed graph,
@@ -33,33 +34,29 @@ object ConnectedComponents:
    * Identifies all connected components of `graph`, returning both the DFS discovery
    * tree (as `Connexions`) and a component-ID map for every vertex.
    *
-   * @param graph  the graph to analyse; must be a `Graph[V]` to allow key enumeration.
+   * @param graph  the graph to analyse.
    * @param random controls adjacency ordering during traversal.
    * @tparam V the vertex type.
    * @tparam E the edge-attribute type.
    * @return a `ConnectedResult[V, E]` — a pair of (Connexions, componentMap).
-   * @throws GraphException if `graph` is not a `Graph[V]`.
    */
   def components[V, E](graph: Traversable[V])(using random: Random = Random()): ConnectedResult[V, E] =
-    graph match
-      case g: Graph[V] =>
-        val allVertices = g.vertexMap.keySet
-
-        @tailrec
-        def loop(unvisited: Set[V], connexions: Connexions[V, E], componentMap: Map[V, Int], componentId: Int): ConnectedResult[V, E] =
-          if unvisited.isEmpty then (connexions, componentMap)
-          else
-            val root = unvisited.head
-            val newConnexions = graph.getConnexions[E](root)
-            val visited = newConnexions.connexions.keySet + root
-            val newComponentMap = componentMap ++ visited.map(_ -> componentId)
-            loop(
-              unvisited -- visited,
-              Connexions(connexions.connexions ++ newConnexions.connexions),
-              newComponentMap,
-              componentId + 1
-            )
-
-        loop(allVertices, Connexions.empty[V, E], Map.empty, 0)
-
-      case _ => throw GraphException(s"ConnectedComponents.components: graph must be a Graph[V]")
\ No newline at end of file
+    val visitedBits = VisitedBitSet(graph.vertexIndex)
+
+    @tailrec
+    def loop(seeds: Iterator[V], connexions: Connexions[V, E], componentMap: Map[V, Int], componentId: Int): ConnectedResult[V, E] =
+      if !seeds.hasNext then (connexions, componentMap)
+      else
+        val root = seeds.next()
+        val newConnexions = graph.getConnexions[E](root)
+        val visited = newConnexions.connexions.keySet + root
+        visited.foreach(visitedBits.mark)
+        val newComponentMap = componentMap ++ visited.map(_ -> componentId)
+        loop(
+          seeds,
+          Connexions(connexions.connexions ++ newConnexions.connexions),
+          newComponentMap,
+          componentId + 1
+        )
+
+    loop(visitedBits.seeds, Connexions.empty[V, E], Map.empty, 0)
\ No newline at end of file
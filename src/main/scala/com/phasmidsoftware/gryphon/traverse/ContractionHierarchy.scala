@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.AttributedDirectedEdge
+import com.phasmidsoftware.gryphon.core.{Traversable, VertexIndex}
+import com.phasmidsoftware.gryphon.util.{BinaryCodec, GraphException}
+import com.phasmidsoftware.visitor.core.Monoid
+import java.io.{BufferedInputStream, BufferedOutputStream, DataInputStream, DataOutputStream}
+import java.nio.ByteBuffer
+import java.nio.file.{Files, Path as FilePath}
+import scala.collection.mutable
+import scala.util.{Try, Using}
+
+/**
+ * The arcs of one direction of a `ContractionHierarchy`, in compressed-sparse-row form, indexed by vertex id:
+ * the arcs of vertex i are the slots `offsets(i) until offsets(i + 1)`.
+ *
+ * @param offsets for each vertex id, its first slot (with one more entry, for the end of the last).
+ * @param targets for each slot, the id at the far end of the arc.
+ * @param costs   for each slot, the cost of the arc.
+ * @param middles for each slot, the id of the vertex whose contraction created the arc (a shortcut); -1 for an original edge.
+ * @tparam E the edge-weight type.
+ */
+case class Arcs[E](offsets: Array[Int], targets: Array[Int], costs: IndexedSeq[E], middles: Array[Int]):
+
+  /**
+   * Returns the slot of the arc of vertex `i` whose far end is `j`.
+   *
+   * @param i the vertex id.
+   * @param j the id at the far end.
+   * @return the slot.
+   */
+  def find(i: Int, j: Int): Int =
+    Range(offsets(i), offsets(i + 1)).find(targets(_) == j).getOrElse(throw GraphException(s"Arcs: no arc from $i to $j"))
+
+  /**
+   * @return the number of arcs which are shortcuts.
+   */
+  def shortcuts: Int = middles.count(_ >= 0)
+
+/**
+ * A contraction hierarchy: an index of a static weighted directed graph which answers shortest-path queries
+ * by searching only a tiny part of it.
+ * See [Geisberger, Sanders, Schultes and Delling, Contraction Hierarchies](https://doi.org/10.1007/978-3-540-68552-4_24).
+ *
+ * The vertices are ranked (see `ContractionHierarchy.build`), and each arc leads from a vertex to one of higher rank:
+ * `up` holds, at each vertex u, the arcs u -> w (rank of w above that of u);
+ * `down` holds, at each vertex u, the reversed arcs w -> u (rank of w above that of u).
+ * A query from s to t is a bidirectional Dijkstra search, forward from s over `up` and backward from t over `down`,
+ * each of which only ever climbs the hierarchy, and the shortest path is found where they meet.
+ * Each direction stops once the cost of its frontier is no less than that of the cheapest path yet found.
+ * Shortcuts on the path found are unpacked, recursively, into the edges of the original graph.
+ *
+ * The working state of a query is kept in hash maps, so that its size is proportional to the number of vertices searched,
+ * and an index may be queried by many threads at once.
+ * An index may be written to a file (see `write`) and read back (see `ContractionHierarchy.read`),
+ * so that the preprocessing is done once, offline.
+ *
+ * @param index the numbering of the vertices.
+ * @param rank  for each vertex id, its rank (the order in which it was contracted).
+ * @param up    the upward arcs.
+ * @param down  the downward arcs, reversed.
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type; must have Monoid and Ordering.
+ */
+case class ContractionHierarchy[V, E: {Monoid, Ordering}](index: VertexIndex[V], rank: Array[Int], up: Arcs[E], down: Arcs[E]):
+
+  /**
+   * Finds the cost of a shortest path from `source` to `target`.
+   *
+   * @param source the source vertex.
+   * @param target the target vertex.
+   * @return `Some(cost)` if `target` is reachable from `source`, otherwise `None`.
+   * @throws GraphException if `source` or `target` is not a vertex of the graph.
+   */
+  def distance(source: V, target: V): Option[E] =
+    query(source, target).map(_._1)
+
+  /**
+   * Finds a shortest path from `source` to `target`, in terms of the edges of the original graph
+   * (of which only the cheapest, between any two vertices, is kept).
+   *
+   * @param source the source vertex.
+   * @param target the target vertex.
+   * @return `Some(path)` if `target` is reachable from `source`, otherwise `None`.
+   * @throws GraphException if `source` or `target` is not a vertex of the graph.
+   */
+  def path(source: V, target: V): Option[Path[V, E]] =
+    query(source, target).map { (cost, forward, backward, m) =>
+      val first = forward.predecessors(m).reverse.flatMap((u, s) => unpack(u, up.targets(s), up.costs(s), up.middles(s)))
+      val second = backward.predecessors(m).flatMap((u, s) => unpack(down.targets(s), u, down.costs(s), down.middles(s)))
+      Path(source, first ++ second, cost)
+    }
+
+  /**
+   * @return the number of shortcuts added by the contraction.
+   */
+  def shortcuts: Int = up.shortcuts + down.shortcuts
+
+  /**
+   * Writes this index to `path`, replacing any existing file.
+   *
+   * @param path the file to create.
+   * @return `Success(path)`, or a `Failure` if the file cannot be written.
+   */
+  def write(path: FilePath)(using vc: BinaryCodec[V], ec: BinaryCodec[E]): Try[FilePath] =
+    Using(DataOutputStream(BufferedOutputStream(Files.newOutputStream(path)))) { out =>
+      def bytes(xs: Array[Byte]): Unit =
+        out.writeInt(xs.length)
+        out.write(xs)
+
+      def ints(xs: Array[Int]): Unit =
+        out.writeInt(xs.length)
+        xs.foreach(out.writeInt)
+
+      def arcs(a: Arcs[E]): Unit =
+        ints(a.offsets)
+        ints(a.targets)
+        ints(a.middles)
+        a.costs.foreach(c => bytes(ec.encode(c)))
+
+      out.writeInt(ContractionHierarchy.magic)
+      out.writeInt(ContractionHierarchy.version)
+      out.writeInt(index.size)
+      index.keys.foreach(v => bytes(vc.encode(v)))
+      ints(rank)
+      arcs(up)
+      arcs(down)
+      path
+    }
+
+  /**
+   * Searches from the source forward and from the target backward, returning the cost of a shortest path,
+   * both searches, and the id of the vertex at which they meet.
+   */
+  private def query(source: V, target: V): Option[(E, Side, Side, Int)] =
+    val ordering = summon[Ordering[E]]
+    val forward = Side(up, id(source))
+    val backward = Side(down, id(target))
+    var best: Option[(E, Int)] = None
+
+    def meet(v: Int, cost: E, other: Side): Unit =
+      other.cost.get(v).map(summon[Monoid[E]].combine(cost, _)).foreach { c =>
+        if best.forall(b => ordering.lt(c, b._1)) then best = Some(c -> v)
+      }
+
+    def open(side: Side): Option[E] =
+      side.peek.filter(c => best.forall(b => ordering.lt(c, b._1)))
+
+    var done = false
+    while !done do
+      (open(forward), open(backward)) match
+        case (Some(f), Some(b)) if ordering.lteq(f, b) => forward.settle(meet(_, _, backward))
+        case (Some(_), None) => forward.settle(meet(_, _, backward))
+        case (_, Some(_)) => backward.settle(meet(_, _, forward))
+        case _ => done = true
+    best.map((c, m) => (c, forward, backward, m))
+
+  // Unpacks the arc from -> to (of the given cost and middle) into the edges of the original graph.
+  private def unpack(from: Int, to: Int, cost: E, middle: Int): Seq[AttributedDirectedEdge[V, E]] =
+    if middle < 0 then Seq(AttributedDirectedEdge(cost, index(from), index(to)))
+    else
+      val a = down.find(middle, from)
+      val b = up.find(middle, to)
+      unpack(from, middle, down.costs(a), down.middles(a)) ++ unpack(middle, to, up.costs(b), up.middles(b))
+
+  private def id(v: V): Int =
+    index.get(v).getOrElse(throw GraphException(s"ContractionHierarchy: vertex $v does not exist"))
+
+  /**
+   * One direction of a query: a Dijkstra search over `arcs`, from `start`.
+   */
+  private class Side(arcs: Arcs[E], start: Int):
+    val cost: mutable.HashMap[Int, E] = mutable.HashMap(start -> summon[Monoid[E]].identity)
+    // NOTE for each vertex reached (other than start), the vertex from which it was reached and the slot of the arc.
+    private val pred = mutable.HashMap.empty[Int, (Int, Int)]
+    private val done = mutable.HashSet.empty[Int]
+    private val queue = mutable.PriorityQueue(summon[Monoid[E]].identity -> start)(using Ordering.by[(E, Int), E](_._1).reverse)
+
+    /**
+     * Returns the cost of the cheapest unsettled vertex, discarding stale entries of the queue.
+     */
+    def peek: Option[E] =
+      while queue.nonEmpty && done.contains(queue.head._2) do queue.dequeue(): Unit
+      queue.headOption.map(_._1)
+
+    /**
+     * Settles the cheapest unsettled vertex (which must exist) and relaxes its arcs,
+     * calling `reached` with the settled vertex, and with each vertex whose cost is lowered, and its cost.
+     */
+    def settle(reached: (Int, E) => Unit): Unit =
+      val (c, u) = queue.dequeue()
+      done += u: Unit
+      reached(u, c)
+      for s <- Range(arcs.offsets(u), arcs.offsets(u + 1)) do
+        val w = arcs.targets(s)
+        val d = summon[Monoid[E]].combine(c, arcs.costs(s))
+        if !done.contains(w) && cost.get(w).forall(summon[Ordering[E]].lt(d, _)) then
+          cost(w) = d
+          pred(w) = u -> s
+          queue.enqueue(d -> w)
+          reached(w, d)
+
+    /**
+     * Returns the (vertex, slot) pairs of the arcs from `v` back to `start`, nearest to `v` first.
+     */
+    def predecessors(v: Int): List[(Int, Int)] =
+      Iterator.unfold(v)(x => pred.get(x).map(p => p -> p._1)).toList
+
+/**
+ * Companion object for `ContractionHierarchy`: the preprocessing, and reading an index from a file.
+ */
+object ContractionHierarchy:
+
+  /**
+   * Builds the contraction hierarchy of `graph`.
+   *
+   * The vertices are contracted one at a time, in order of a priority which is recomputed lazily
+   * (a vertex whose priority has grown since it was queued is queued again): the edge difference
+   * (the number of shortcuts that its contraction requires, less the number of its arcs) plus the number of
+   * its neighbours already contracted, which spreads the contraction evenly over the graph.
+   * To contract a vertex v is to remove it from the remaining graph, adding a shortcut u -> w (via v) for each pair of
+   * arcs u -> v and v -> w unless a witness search (a Dijkstra search from u which avoids v) finds a path to w which is
+   * no more costly. The witness search settles at most `witnessLimit` vertices, and adds the shortcut if it gives up:
+   * this makes for a few unnecessary shortcuts, but the hierarchy is correct either way.
+   *
+   * Only `AttributedDirectedEdge`s are followed, as by `DijkstraTraversal`, and their attributes must not be negative.
+   * Where there are parallel edges, only the cheapest is kept.
+   *
+   * @param graph        the weighted directed graph, which must not change thereafter.
+   * @param witnessLimit the greatest number of vertices settled by a witness search.
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type; must have Monoid and Ordering.
+   * @return a `ContractionHierarchy[V, E]`.
+   */
+  def build[V, E: {Monoid, Ordering}](graph: Traversable[V], witnessLimit: Int = 500): ContractionHierarchy[V, E] =
+    val monoid = summon[Monoid[E]]
+    val ordering = summon[Ordering[E]]
+    val index = graph.vertexIndex
+    val n = index.size
+
+    // The remaining graph: for each vertex id, its arcs out and in, each as a map from the id at the far end
+    // to the cost and the middle (-1 for an original edge). Contracted vertices are removed from the maps of their neighbours.
+    val out = Array.fill(n)(mutable.HashMap.empty[Int, (E, Int)])
+    val in = Array.fill(n)(mutable.HashMap.empty[Int, (E, Int)])
+
+    def addArc(u: Int, w: Int, cost: E, middle: Int): Unit =
+      if u != w && out(u).get(w).forall(x => ordering.lt(cost, x._1)) then
+        out(u)(w) = cost -> middle
+        in(w)(u) = cost -> middle
+
+    for
+      i <- 0 until n
+      (j, a) <- graph.indexedAdjacencies(i)
+      e <- a.maybeEdge[E].collect { case e: AttributedDirectedEdge[V, E] @unchecked => e }
+    do addArc(i, if e.black == a.vertex then j else index.indexOf(e.black), e.attribute, -1)
+
+    val rank = Array.fill(n)(-1)
+    // NOTE for each vertex id, the number of its neighbours already contracted.
+    val contracted = new Array[Int](n)
+    val upArcs = new Array[Seq[(Int, (E, Int))]](n)
+    val downArcs = new Array[Seq[(Int, (E, Int))]](n)
+
+    // Returns the cost of the cheapest path found from u to each vertex (other than v) reached, within bound.
+    def witness(u: Int, v: Int, bound: E, targets: Set[Int]): mutable.Map[Int, E] =
+      val cost = mutable.HashMap(u -> monoid.identity)
+      val done = mutable.HashSet.empty[Int]
+      val queue = mutable.PriorityQueue(monoid.identity -> u)(using Ordering.by[(E, Int), E](_._1).reverse)
+      var remaining = targets.size
+      while queue.nonEmpty && remaining > 0 && done.size < witnessLimit do
+        val (c, x) = queue.dequeue()
+        if !done.contains(x) then
+          done += x: Unit
+          if targets.contains(x) then remaining -= 1
+          for (y, (d, _)) <- out(x) if y != v && !done.contains(y) do
+            val z = monoid.combine(c, d)
+            if ordering.lteq(z, bound) && cost.get(y).forall(ordering.lt(z, _)) then
+              cost(y) = z
+              queue.enqueue(z -> y)
+      cost
+
+    // Returns the shortcuts (u, w, cost) that the contraction of v requires.
+    def shortcutsOf(v: Int): Seq[(Int, Int, E)] =
+      val outs = out(v).toSeq
+      in(v).toSeq.flatMap { (u, x) =>
+        val costs = outs.collect { case (w, y) if w != u => w -> monoid.combine(x._1, y._1) }
+        if costs.isEmpty then Nil
+        else
+          val found = witness(u, v, costs.map(_._2).max(using ordering), costs.map(_._1).toSet)
+          costs.collect { case (w, c) if !found.get(w).exists(ordering.lteq(_, c)) => (u, w, c) }
+      }
+
+    def priority(v: Int, shortcuts: Seq[(Int, Int, E)]): Int =
+      shortcuts.size - out(v).size - in(v).size + contracted(v)
+
+    def contract(v: Int, r: Int, shortcuts: Seq[(Int, Int, E)]): Unit =
+      rank(v) = r
+      upArcs(v) = out(v).toSeq
+      downArcs(v) = in(v).toSeq
+      for (u, _) <- in(v) do
+        out(u) -= v: Unit
+        contracted(u) += 1
+      for (w, _) <- out(v) do
+        in(w) -= v: Unit
+        contracted(w) += 1
+      out(v).clear()
+      in(v).clear()
+      for (u, w, c) <- shortcuts do addArc(u, w, c, v)
+
+    val queue = mutable.PriorityQueue.empty[(Int, Int)](using Ordering[(Int, Int)].reverse)
+    for v <- 0 until n do queue.enqueue(priority(v, shortcutsOf(v)) -> v)
+    var r = 0
+    while queue.nonEmpty do
+      val (_, v) = queue.dequeue()
+      val shortcuts = shortcutsOf(v)
+      val p = priority(v, shortcuts)
+      if queue.nonEmpty && p > queue.head._1 then queue.enqueue(p -> v)
+      else
+        contract(v, r, shortcuts)
+        r += 1
+
+    def arcs(lists: Array[Seq[(Int, (E, Int))]]): Arcs[E] =
+      val offsets = lists.map(_.size).scanLeft(0)(_ + _)
+      val all = lists.toSeq.flatten
+      Arcs(offsets, all.map(_._1).toArray, all.map(_._2._1).toIndexedSeq, all.map(_._2._2).toArray)
+
+    ContractionHierarchy(index, rank, arcs(upArcs), arcs(downArcs))
+
+  /**
+   * Reads an index written by `ContractionHierarchy.write`.
+   *
+   * @param path the file.
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type.
+   * @return `Success(hierarchy)`, or a `Failure` if the file cannot be read or is not an index file.
+   */
+  def read[V: BinaryCodec, E: {BinaryCodec, Monoid, Ordering}](path: FilePath): Try[ContractionHierarchy[V, E]] =
+    Using(DataInputStream(BufferedInputStream(Files.newInputStream(path)))) { in =>
+      def bytes(): Array[Byte] =
+        val xs = new Array[Byte](in.readInt())
+        in.readFully(xs)
+        xs
+
+      def decode[T](codec: BinaryCodec[T])(xs: Array[Byte]): T =
+        codec.decode(ByteBuffer.wrap(xs), 0, xs.length)
+
+      def ints(): Array[Int] =
+        Array.fill(in.readInt())(in.readInt())
+
+      def arcs(): Arcs[E] =
+        val offsets = ints()
+        val targets = ints()
+        val middles = ints()
+        Arcs(offsets, targets, IndexedSeq.fill(targets.length)(decode(summon[BinaryCodec[E]])(bytes())), middles)
+
+      if in.readInt() != magic then throw GraphException("ContractionHierarchy.read: not an index file")
+      val v = in.readInt()
+      if v != version then throw GraphException(s"ContractionHierarchy.read: unsupported version $v")
+      val n = in.readInt()
+      val index = VertexIndex(IndexedSeq.fill(n)(decode(summon[BinaryCodec[V]])(bytes())))
+      ContractionHierarchy(index, ints(), arcs(), arcs())
+    }
+
+  private val magic = 0x47524348 // "GRCH"
+  private val version = 1
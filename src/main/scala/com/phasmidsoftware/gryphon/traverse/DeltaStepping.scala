@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.AttributedDirectedEdge
+import com.phasmidsoftware.gryphon.core.Traversable
+import com.phasmidsoftware.gryphon.util.GraphException
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.atomic.AtomicReferenceArray
+import scala.annotation.tailrec
+import scala.collection.mutable
+
+/**
+ * Delta-stepping: a parallel single-source shortest-path search for non-negative edge weights.
+ * See [Meyer and Sanders, Δ-stepping: a parallelizable shortest path algorithm](https://doi.org/10.1016/S0196-6774(03)00076-2).
+ *
+ * Tentative distances are kept in buckets of width `delta`, and the vertices of the lowest non-empty bucket
+ * are expanded together, in parallel, rather than one at a time as in `DijkstraTraversal`.
+ * Edges are split into light edges (no heavier than `delta`), which may lead back into the current bucket,
+ * and heavy edges, which cannot:
+ *   - the light edges of the vertices in the current bucket are relaxed, repeatedly, until the bucket stays empty;
+ *   - then the heavy edges of all the vertices removed from it are relaxed, once.
+ *
+ * Each phase of relaxation is split into chunks which are run on a `ForkJoinPool` (as for `ParallelBFS`);
+ * the label (distance and incoming edge) of each vertex is lowered by an atomic min, that is to say a
+ * compare-and-set loop on an `AtomicReferenceArray`, so that the distance and the edge always agree.
+ * The buckets themselves are only touched between phases, by the calling thread.
+ * A vertex which is lowered again is simply inserted again: stale entries are dropped when a bucket is taken.
+ *
+ * With `delta` at least as large as the heaviest edge, this is (a parallel) Bellman-Ford;
+ * as `delta` tends to zero, it becomes Dijkstra's algorithm. A good value is about the mean weight of an edge
+ * divided by the mean out-degree, or, for a road-like graph, a few times the mean weight of an edge.
+ */
+object DeltaStepping:
+
+  /**
+   * Finds the shortest paths from `start` to every vertex reachable from it.
+   *
+   * Only `AttributedDirectedEdge`s are followed, as by `DijkstraTraversal`, and their attributes must not be negative.
+   *
+   * NOTE `graph` is read concurrently: its adjacencies must not be mutated during the search.
+   *
+   * @param graph the weighted directed graph.
+   * @param start the source vertex.
+   * @param delta the width of a bucket; must be positive.
+   * @param pool  the pool on which each phase of relaxation is run.
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type.
+   * @return a `TraversalResult` mapping each vertex reached (other than `start`) to its incoming edge on a shortest path,
+   *         as does `ShortestPaths.dijkstra`.
+   */
+  def search[V, E: Numeric](graph: Traversable[V], start: V, delta: E, pool: ForkJoinPool = ForkJoinPool.commonPool()): TraversalResult[V, AttributedDirectedEdge[V, E]] =
+    val numeric = summon[Numeric[E]]
+    val width = numeric.toDouble(delta)
+    if !(width > 0) then throw GraphException(s"DeltaStepping: delta must be positive: $delta")
+    val index = graph.vertexIndex
+    val n = index.size
+    val s = index.get(start).getOrElse(throw GraphException(s"DeltaStepping: vertex $start does not exist"))
+
+    // NOTE the label of each vertex id; null until it is reached.
+    val labels = new AtomicReferenceArray[Label[V, E]](n)
+    labels.set(s, Label(numeric.zero, None))
+
+    def bucketOf(i: Int): Long = (numeric.toDouble(labels.get(i).cost) / width).toLong
+
+    // Lowers the label of w to cost (by way of e), if that is an improvement, returning true if it did.
+    @tailrec
+    def relax(w: Int, cost: E, e: AttributedDirectedEdge[V, E]): Boolean =
+      val label = labels.get(w)
+      if label != null && numeric.lteq(label.cost, cost) then false
+      else if labels.compareAndSet(w, label, Label(cost, Some(e))) then true
+      else relax(w, cost, e)
+
+    // Relaxes, in parallel, the light (or the heavy) edges of each of the vertices, returning the ids of those lowered.
+    def relaxAll(vertices: Array[Int], light: Boolean): Array[Int] =
+      Array.concat(ParallelBFS.parallel(pool, vertices.length) { (lo, hi) =>
+        val lowered = new mutable.ArrayBuilder.ofInt
+        for k <- lo until hi do
+          val u = vertices(k)
+          val cost = labels.get(u).cost
+          graph.indexedAdjacencies(u).foreach { (j, a) =>
+            a.maybeEdge[E].foreach {
+              case e: AttributedDirectedEdge[V, E] @unchecked if numeric.lteq(e.attribute, delta) == light =>
+                val w = if e.black == a.vertex then j else index.indexOf(e.black)
+                if relax(w, numeric.plus(cost, e.attribute), e) then lowered += w: Unit
+              case _ =>
+            }
+          }
+        lowered.result()
+      } *)
+
+    // The buckets, by number: each holds the ids of the vertices inserted into it (possibly more than once).
+    val buckets = mutable.TreeMap.empty[Long, mutable.ArrayBuilder.ofInt]
+
+    def insert(ids: Array[Int]): Unit =
+      ids.foreach(i => buckets.getOrElseUpdate(bucketOf(i), new mutable.ArrayBuilder.ofInt) += i: Unit)
+
+    // Removes bucket b, returning the ids of the vertices which are still in it (those since lowered into a lower bucket are dropped).
+    def take(b: Long): Array[Int] =
+      buckets.remove(b).fold(Array.emptyIntArray)(_.result().distinct.filter(bucketOf(_) == b))
+
+    insert(Array(s))
+    while buckets.nonEmpty do
+      val b = buckets.firstKey
+      val removed = new mutable.ArrayBuilder.ofInt
+      var current = take(b)
+      while current.nonEmpty do
+        removed.addAll(current): Unit
+        insert(relaxAll(current, light = true))
+        current = take(b)
+      insert(relaxAll(removed.result().distinct, light = false))
+
+    VertexTraversalResult(Range(0, n).iterator.flatMap(i => Option(labels.get(i)).flatMap(_.edge).map(index(i) -> _)).toMap)
+
+  /**
+   * The label of a vertex: its tentative distance, and the edge by which it was reached (None for the source).
+   */
+  private case class Label[V, E](cost: E, edge: Option[AttributedDirectedEdge[V, E]])
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.util.GraphException
+import scala.collection.mutable
+
+/**
+ * An indexed min-priority queue of the integers `0 until capacity` (vertex ids), keyed by `K`:
+ * the frontier of a `WeightedTraversal` which runs with a `FrontierStrategy`.
+ *
+ * @tparam K the key type.
+ */
+trait VertexQueue[K]:
+
+  /**
+   * @return true if the queue holds no elements.
+   */
+  def isEmpty: Boolean
+
+  /**
+   * @param x an element.
+   * @return true if `x` is currently in the queue.
+   */
+  def contains(x: Int): Boolean
+
+  /**
+   * Inserts `x` with key `k`, or, if `x` is already in the queue, lowers its key to `k`.
+   */
+  def insertOrDecrease(x: Int, k: K): Unit
+
+  /**
+   * Removes and returns the element with the smallest key; the queue must not be empty.
+   */
+  def removeMin(): Int
+
+/**
+ * A strategy for the frontier of a `WeightedTraversal`, as an alternative to the `IndexedPrioQueue`
+ * of the Visitor engine (see `WeightedTraversal.frontier`).
+ *
+ * @tparam E the edge-weight (key) type.
+ */
+trait FrontierStrategy[E]:
+
+  /**
+   * Creates an empty queue.
+   *
+   * @param capacity one more than the largest vertex id.
+   * @return a new `VertexQueue[E]`.
+   */
+  def create(capacity: Int): VertexQueue[E]
+
+/**
+ * Companion object for `FrontierStrategy`.
+ *
+ * The comparison heaps (`dAryHeap`, `pairingHeap` and `lazyBinaryHeap`) suit any weights, and so both
+ * `DijkstraTraversal` and `PrimTraversal`; the monotone queues (`radixHeap` and `dial`) suit only Dijkstra's algorithm.
+ * As a rule of thumb, a 4-ary heap is best on sparse graphs, where there are about as many removals as decreases;
+ * a pairing heap (whose decrease is O(1) amortized) is best on dense graphs, where decreases predominate;
+ * and the lazy-deletion heap does without decreases, at the cost of a larger heap.
+ */
+object FrontierStrategy:
+
+  /**
+   * An indexed d-ary heap (see `DAryHeap`).
+   *
+   * @param d the arity of the heap (by default, 4).
+   * @tparam E the edge-weight type.
+   * @return a `FrontierStrategy[E]`.
+   */
+  def dAryHeap[E: Ordering](d: Int = 4): FrontierStrategy[E] =
+    capacity => DAryHeap[E](capacity, d)
+
+  /**
+   * An indexed pairing heap (see `PairingHeap`).
+   *
+   * @tparam E the edge-weight type.
+   * @return a `FrontierStrategy[E]`.
+   */
+  def pairingHeap[E: Ordering]: FrontierStrategy[E] =
+    capacity => PairingHeap[E](capacity)
+
+  /**
+   * A binary heap with lazy deletion (see `LazyBinaryHeap`).
+   *
+   * @tparam E the edge-weight type.
+   * @return a `FrontierStrategy[E]`.
+   */
+  def lazyBinaryHeap[E: Ordering]: FrontierStrategy[E] =
+    capacity => LazyBinaryHeap[E](capacity)
+
+  /**
+   * A radix heap, for integer weights (see `RadixHeap`).
+   * Monotone: only for `DijkstraTraversal` (with non-negative weights).
+   *
+   * @tparam E the edge-weight type.
+   * @return a `FrontierStrategy[E]`.
+   */
+  def radixHeap[E: Integral]: FrontierStrategy[E] =
+    capacity => RadixHeap[E](capacity)
+
+  /**
+   * Dial's buckets, for integer weights no greater than `maxWeight` (see `DialQueue`).
+   * Monotone: only for `DijkstraTraversal` (with non-negative weights).
+   *
+   * @param maxWeight the greatest weight of any edge.
+   * @tparam E the edge-weight type.
+   * @return a `FrontierStrategy[E]`.
+   */
+  def dial[E: Integral](maxWeight: E): FrontierStrategy[E] =
+    capacity => DialQueue[E](capacity, maxWeight)
+
+// ============================================================
+// Comparison heaps
+// ============================================================
+
+/**
+ * An indexed d-ary min-heap of the integers `0 until capacity`, keyed by `E`, supporting `decreaseKey` in O(log n / log d).
+ * As `IndexedDoubleHeap` (which is binary), but for any keys; a wider heap is shallower, and so decreases are cheaper,
+ * while removals compare more children at each level (but these are adjacent in memory).
+ *
+ * @param capacity one more than the largest element which may be inserted.
+ * @param d        the arity of the heap; at least 2.
+ * @tparam E the key type.
+ */
+class DAryHeap[E: Ordering](capacity: Int, d: Int) extends VertexQueue[E]:
+  if d < 2 then throw GraphException(s"DAryHeap: arity $d is less than 2")
+  private val ordering = summon[Ordering[E]]
+  private val heap = new Array[Int](capacity)
+  private val position = Array.fill(capacity)(-1)
+  private val key = new Array[Any](capacity)
+  private var n = 0
+
+  def isEmpty: Boolean = n == 0
+
+  def contains(x: Int): Boolean = position(x) >= 0
+
+  def insertOrDecrease(x: Int, k: E): Unit =
+    key(x) = k
+    if !contains(x) then
+      heap(n) = x
+      position(x) = n
+      n += 1
+    siftUp(position(x))
+
+  def removeMin(): Int =
+    val x = heap(0)
+    n -= 1
+    swap(0, n)
+    position(x) = -1
+    siftDown(0)
+    x
+
+  private def less(x: Int, y: Int): Boolean = ordering.lt(key(x).asInstanceOf[E], key(y).asInstanceOf[E])
+
+  private def siftUp(i: Int): Unit =
+    var j = i
+    while j > 0 && less(heap(j), heap((j - 1) / d)) do
+      swap(j, (j - 1) / d)
+      j = (j - 1) / d
+
+  private def siftDown(i: Int): Unit =
+    var j = i
+    var done = false
+    while !done do
+      val first = d * j + 1
+      var c = first
+      var k = first + 1
+      while k < first + d && k < n do
+        if less(heap(k), heap(c)) then c = k
+        k += 1
+      if c < n && less(heap(c), heap(j)) then
+        swap(j, c)
+        j = c
+      else done = true
+
+  private def swap(i: Int, j: Int): Unit =
+    val x = heap(i)
+    heap(i) = heap(j)
+    heap(j) = x
+    position(heap(i)) = i
+    position(heap(j)) = j
+
+/**
+ * An indexed pairing heap of the integers `0 until capacity`, keyed by `E`.
+ * See [Fredman, Sedgewick, Sleator and Tarjan, The pairing heap](https://doi.org/10.1007/BF01840439).
+ *
+ * A heap-ordered tree, held in primitive arrays (the first child and the next sibling of each element, and its previous
+ * sibling, or its parent if it is a first child). Insertion and decrease cut out a subtree and link it to the root, in O(1);
+ * removal of the root links its children in pairs, left to right, and then the pairs, right to left, in O(log n) amortized.
+ *
+ * @param capacity one more than the largest element which may be inserted.
+ * @tparam E the key type.
+ */
+class PairingHeap[E: Ordering](capacity: Int) extends VertexQueue[E]:
+  private val ordering = summon[Ordering[E]]
+  private val child = Array.fill(capacity)(-1)
+  private val sibling = Array.fill(capacity)(-1)
+  private val prev = Array.fill(capacity)(-1)
+  private val present = new Array[Boolean](capacity)
+  private val key = new Array[Any](capacity)
+  // NOTE the roots of the pairs, during removeMin.
+  private val pairs = new Array[Int](capacity)
+  private var root = -1
+
+  def isEmpty: Boolean = root < 0
+
+  def contains(x: Int): Boolean = present(x)
+
+  def insertOrDecrease(x: Int, k: E): Unit =
+    key(x) = k
+    if !present(x) then
+      present(x) = true
+      child(x) = -1
+      detach(x)
+      root = link(root, x)
+    else if x != root then
+      if child(prev(x)) == x then child(prev(x)) = sibling(x) else sibling(prev(x)) = sibling(x)
+      if sibling(x) >= 0 then prev(sibling(x)) = prev(x)
+      sibling(x) = -1
+      prev(x) = -1
+      root = link(root, x)
+
+  def removeMin(): Int =
+    val x = root
+    present(x) = false
+    // First pass: link the children of x in pairs, left to right.
+    var m = 0
+    var y = child(x)
+    while y >= 0 do
+      val z = sibling(y)
+      val next = if z >= 0 then sibling(z) else -1
+      detach(y)
+      if z >= 0 then detach(z)
+      pairs(m) = link(y, z)
+      m += 1
+      y = next
+    child(x) = -1
+    // Second pass: link the pairs, right to left.
+    var r = -1
+    while m > 0 do
+      m -= 1
+      r = link(pairs(m), r)
+    root = r
+    x
+
+  // Makes the root with the greater key the first child of the other, returning the root of the result.
+  private def link(a: Int, b: Int): Int =
+    if a < 0 then b
+    else if b < 0 then a
+    else if ordering.lt(key(b).asInstanceOf[E], key(a).asInstanceOf[E]) then link(b, a)
+    else
+      sibling(b) = child(a)
+      if child(a) >= 0 then prev(child(a)) = b
+      prev(b) = a
+      child(a) = b
+      a
+
+  private def detach(x: Int): Unit =
+    sibling(x) = -1
+    prev(x) = -1
+
+/**
+ * A binary min-heap with lazy deletion, of the integers `0 until capacity`, keyed by `E`:
+ * a decrease inserts a duplicate entry with the lower key, rather than moving the existing one,
+ * and entries which are stale (superseded by a lower key, or whose element has already been removed) are skipped by `removeMin`.
+ * There is no index to maintain, but the heap holds (at most) one entry per decrease as well as one per element.
+ *
+ * @param capacity one more than the largest element which may be inserted.
+ * @tparam E the key type.
+ */
+class LazyBinaryHeap[E: Ordering](capacity: Int) extends VertexQueue[E]:
+  private val ordering = summon[Ordering[E]]
+  private val heap = mutable.PriorityQueue.empty[(E, Int)](using Ordering.by[(E, Int), E](_._1).reverse)
+  private val present = new Array[Boolean](capacity)
+  private val key = new Array[Any](capacity)
+  private var n = 0
+
+  def isEmpty: Boolean = n == 0
+
+  def contains(x: Int): Boolean = present(x)
+
+  def insertOrDecrease(x: Int, k: E): Unit =
+    if !present(x) then
+      present(x) = true
+      n += 1
+    key(x) = k
+    heap.enqueue(k -> x)
+
+  def removeMin(): Int =
+    var entry = heap.dequeue()
+    while !present(entry._2) || !ordering.equiv(entry._1, key(entry._2).asInstanceOf[E]) do entry = heap.dequeue()
+    val x = entry._2
+    present(x) = false
+    n -= 1
+    x
+
+// ============================================================
+// Monotone queues
+// ============================================================
+
+/**
+ * A radix heap: a monotone priority queue for integer keys.
+ * See [Ahuja, Mehlhorn, Orlin and Tarjan, Faster algorithms for the shortest path problem](https://doi.org/10.1145/77600.77615).
+ *
+ * An element whose key k differs from the last minimum removed (`last`) is kept in the bucket numbered by the position
+ * of the highest bit in which k and `last` differ (bucket 0 holds the keys equal to `last`).
+ * When bucket 0 is empty, the least key of the lowest non-empty bucket becomes `last`,
+ * and the elements of that bucket are redistributed among the lower buckets.
+ * An element moves to a lower bucket at most 64 times, so Dijkstra's algorithm takes O(M + N log C) time,
+ * where C is the greatest weight of an edge.
+ *
+ * The keys are held as `Long`s, and each bucket is an intrusive list over the ids (see `BucketLists`), so there is no boxing.
+ * The keys must be monotone: no key may be less than the last minimum removed.
+ *
+ * @param capacity one more than the largest element which may be inserted.
+ * @tparam E the key type.
+ */
+class RadixHeap[E: Integral](capacity: Int) extends VertexQueue[E]:
+  private val integral = summon[Integral[E]]
+  private val lists = BucketLists(capacity, 65)
+  private val key = new Array[Long](capacity)
+  private var last = 0L
+  private var n = 0
+
+  def isEmpty: Boolean = n == 0
+
+  def contains(x: Int): Boolean = lists.contains(x)
+
+  def insertOrDecrease(x: Int, k: E): Unit =
+    val kl = integral.toLong(k)
+    if kl < last then throw GraphException(s"RadixHeap: key $k is less than the last minimum $last")
+    if lists.contains(x) then lists.remove(x) else n += 1
+    key(x) = kl
+    lists.add(x, bucketOf(kl))
+
+  def removeMin(): Int =
+    if lists.first(0) < 0 then
+      var i = 1
+      while lists.first(i) < 0 do i += 1
+      var x = lists.first(i)
+      var min = Long.MaxValue
+      while x >= 0 do
+        min = math.min(min, key(x))
+        x = lists.next(x)
+      last = min
+      x = lists.first(i)
+      while x >= 0 do
+        val y = lists.next(x)
+        lists.remove(x)
+        lists.add(x, bucketOf(key(x)))
+        x = y
+    val x = lists.first(0)
+    lists.remove(x)
+    n -= 1
+    x
+
+  private def bucketOf(k: Long): Int =
+    if k == last then 0 else 64 - java.lang.Long.numberOfLeadingZeros(k ^ last)
+
+/**
+ * Dial's buckets: a monotone priority queue for integer keys, when the weight of every edge is at most `maxWeight`.
+ * See [Dial, Algorithm 360: shortest-path forest with topological ordering](https://doi.org/10.1145/363269.363610).
+ *
+ * Since all the keys in the queue lie between the last minimum removed and that plus `maxWeight`,
+ * a circular array of `maxWeight + 1` buckets holds one key in each; the minimum is found by scanning forward.
+ * Dijkstra's algorithm takes O(M + N C) time, where C is `maxWeight`, which is best when C is small.
+ *
+ * @param capacity  one more than the largest element which may be inserted.
+ * @param maxWeight the greatest difference between any key and the last minimum removed.
+ * @tparam E the key type.
+ */
+class DialQueue[E: Integral](capacity: Int, maxWeight: E) extends VertexQueue[E]:
+  private val integral = summon[Integral[E]]
+  private val width: Long = integral.toLong(maxWeight) + 1
+  if width < 1 || width > Int.MaxValue then throw GraphException(s"DialQueue: maxWeight $maxWeight is out of range")
+  private val lists = BucketLists(capacity, width.toInt)
+  private var last = 0L
+  private var n = 0
+
+  def isEmpty: Boolean = n == 0
+
+  def contains(x: Int): Boolean = lists.contains(x)
+
+  def insertOrDecrease(x: Int, k: E): Unit =
+    val kl = integral.toLong(k)
+    if kl < last || kl - last >= width then throw GraphException(s"DialQueue: key $k is not within $maxWeight of the last minimum $last")
+    if lists.contains(x) then lists.remove(x) else n += 1
+    lists.add(x, (kl % width).toInt)
+
+  def removeMin(): Int =
+    while lists.first((last % width).toInt) < 0 do last += 1
+    val x = lists.first((last % width).toInt)
+    lists.remove(x)
+    n -= 1
+    x
+
+/**
+ * A fixed number of buckets, each a doubly-linked list of elements of `0 until capacity`,
+ * threaded through primitive arrays; each element is in at most one bucket.
+ *
+ * @param capacity one more than the largest element.
+ * @param buckets  the number of buckets.
+ */
+private[traverse] class BucketLists(capacity: Int, buckets: Int):
+  private val head = Array.fill(buckets)(-1)
+  private val nextOf = Array.fill(capacity)(-1)
+  private val prevOf = Array.fill(capacity)(-1)
+  private val bucketOf = Array.fill(capacity)(-1)
+
+  def contains(x: Int): Boolean = bucketOf(x) >= 0
+
+  /**
+   * @return the first element of bucket `b`, or -1 if it is empty.
+   */
+  def first(b: Int): Int = head(b)
+
+  /**
+   * @return the element after `x` in its bucket, or -1 if there is none.
+   */
+  def next(x: Int): Int = nextOf(x)
+
+  def add(x: Int, b: Int): Unit =
+    nextOf(x) = head(b)
+    prevOf(x) = -1
+    if head(b) >= 0 then prevOf(head(b)) = x
+    head(b) = x
+    bucketOf(x) = b
+
+  def remove(x: Int): Unit =
+    if prevOf(x) >= 0 then nextOf(prevOf(x)) = nextOf(x) else head(bucketOf(x)) = nextOf(x)
+    if nextOf(x) >= 0 then prevOf(nextOf(x)) = prevOf(x)
+    bucketOf(x) = -1
@@ -1,8 +1,9 @@
 package com.phasmidsoftware.gryphon.traverse
 
-import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, UndirectedEdge}
-import com.phasmidsoftware.gryphon.core.{Edge, EvaluableGraphNeighboursTraversal, Traversable}
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, IntDoubleGraph, MatrixGraph, UndirectedEdge}
+import com.phasmidsoftware.gryphon.core.{Edge, EvaluableGraphNeighboursTraversal, Traversable, VertexIndex}
 import com.phasmidsoftware.visitor.core.{*, given}
+import java.util.concurrent.ForkJoinPool
 import scala.collection.mutable
 import scala.util.Random
 
@@ -76,16 +77,53 @@ case class BFSTraversal[V]() extends GraphTraversal[V, Unit, V]:
         )
     }.traversal
 
+/**
+ * Parallel, direction-optimizing breadth-first search traversal (see `ParallelBFS`). E = Unit, R = V.
+ * Each visited vertex maps to itself in the result, as for `BFSTraversal`;
+ * for the distances and parents, use `ParallelBFS.search` directly.
+ *
+ * The order of adjacencies is immaterial, so `random` is not used.
+ *
+ * @param pool the pool on which each level of the search is run.
+ * @tparam V the vertex type.
+ */
+case class ParallelBFSTraversal[V](pool: ForkJoinPool = ForkJoinPool.commonPool()) extends GraphTraversal[V, Unit, V]:
+
+  def run(graph: Traversable[V])(start: V)(using random: Random = Random()): TraversalResult[V, V] =
+    ParallelBFS.search(graph, start, pool).toTraversalResult
+
+/**
+ * Parallel single-source shortest paths by delta-stepping (see `DeltaStepping`). R = AttributedDirectedEdge[V, E].
+ * The result is the same as that of `DijkstraTraversal` (up to the choice between paths of equal cost),
+ * but the vertices of each bucket of width `delta` are expanded in parallel.
+ * Edge weights must not be negative.
+ *
+ * The order of adjacencies is immaterial, so `random` is not used.
+ *
+ * @param delta the width of a bucket; must be positive.
+ * @param pool  the pool on which each phase of relaxation is run.
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type.
+ */
+case class DeltaSteppingTraversal[V, E: Numeric](delta: E, pool: ForkJoinPool = ForkJoinPool.commonPool())
+        extends GraphTraversal[V, E, AttributedDirectedEdge[V, E]]:
+
+  def run(graph: Traversable[V])(start: V)(using random: Random = Random()): TraversalResult[V, AttributedDirectedEdge[V, E]] =
+    DeltaStepping.search(graph, start, delta, pool)
+
 // ============================================================
-// WeightedTraversal — shared base for Dijkstra and Prim
+// WeightedTraversal — shared base for Dijkstra, Prim and A*
 // ============================================================
 
 /**
- * Abstract base class for weighted graph traversals using a tuple `(E, V)` frontier.
+ * Abstract base class for weighted graph traversals using a tuple `(E, Int)` frontier.
  *
  * Encapsulates the shared structure of Dijkstra and Prim: both use an
- * `IndexedPrioQueue[(E, V)]` frontier, `CostUpdate` with `decreaseKey`, and
- * mutable `pred`/`bestCost` maps owned exclusively by `CostUpdate`.
+ * `IndexedPrioQueue` frontier, `CostUpdate` with `decreaseKey`, and
+ * mutable `pred`/`bestCost` tables owned exclusively by `CostUpdate`.
+ * Internally, vertices are replaced by their ids in `graph.vertexIndex`,
+ * so the frontier holds `(E, Int)` pairs and the tables are arrays;
+ * the result is translated back to `V` at the end.
  *
  * The context bound is `E: {Zero, Ordering}` — both algorithms need a seed
  * cost (`Zero.identity`) and a cost ordering (`Ordering`). Only Dijkstra
@@ -101,6 +139,20 @@ case class BFSTraversal[V]() extends GraphTraversal[V, Unit, V]:
  *   - `filterEdge` — which edges are admitted and what concrete `R` type they have:
  *     only `AttributedDirectedEdge` for Dijkstra; all edges for Prim.
  *
+ * A subclass may also override `priority`, the key of a vertex in the frontier, which is by default its cost:
+ * A* (see `AStarTraversal`) adds to the cost an estimate of the cost remaining to its target.
+ * The cost itself is still what is recorded (in `bestCost`) and what is accumulated by `edgeCost`.
+ *
+ * The traversal may be bounded (see `bounds` and `SearchBounds`): it ends early once its targets are settled
+ * or its budget of settled vertices is spent, by discarding the frontier; and it never admits to the frontier
+ * a vertex whose cost exceeds its radius. Either way, the work done is proportional to the neighbourhood searched,
+ * not to the whole graph.
+ *
+ * The frontier may also be replaced (see `frontier` and `FrontierStrategy`) by a queue suited to the graph,
+ * such as a `DAryHeap` or a `PairingHeap`, or a monotone `RadixHeap` or `DialQueue` for the small integer weights
+ * of Dijkstra's algorithm. The queue is then told only of improvements to vertices which are not yet settled
+ * (which are marked as such), so there is no need to look up the stale entry of a vertex, as for `decreaseKey`.
+ *
  * NOTE on lazy evaluation: `ev._1` and `ev._2` must be extracted via strict `val`
  * with explicit type ascriptions inside `Neighbours`. Using tuple pattern matching
  * `val (accCost, v) = ev` can generate a lazy binding that captures incorrectly
@@ -139,72 +191,238 @@ abstract class WeightedTraversal[V, E: {Zero, Ordering}, R <: Edge[V, E]]
    */
   protected def filterEdge(e: Edge[V, E]): Option[R]
 
+  /**
+   * Computes the priority in the frontier of vertex `v`, whose cost (as computed by `edgeCost`) is `cost`.
+   *
+   * Dijkstra, Prim: `cost`.
+   * A*:             `Monoid[E].combine(cost, h(v))`, where h is the estimate of the cost from `v` to the target.
+   *
+   * NOTE for a monotone `frontier` (a `RadixHeap` or a `DialQueue`), the priority of a neighbour
+   * must be no less than that of the vertex being expanded, as it is for a consistent estimate.
+   *
+   * @param cost the cost of `v`.
+   * @param v    the vertex.
+   * @return the key of `v` in the frontier; by default, `cost`.
+   */
+  protected def priority(cost: E, v: V): E = cost
+
+  /**
+   * The bounds of this traversal; by default, there are none and every vertex reachable from the start is settled.
+   *
+   * @return the `SearchBounds`.
+   */
+  def bounds: SearchBounds[V, E] = SearchBounds()
+
+  /**
+   * The strategy for the frontier; by default, None, for the `IndexedPrioQueue` of the Visitor engine.
+   * Otherwise, the traversal is driven by a plain loop over the `VertexQueue` which it creates
+   * (for example, a 4-ary `DAryHeap`, or a `RadixHeap` for integer weights).
+   *
+   * @return an optional `FrontierStrategy`.
+   */
+  def frontier: Option[FrontierStrategy[E]] = None
+
   def run(graph: Traversable[V])(start: V)(using random: Random = Random()): TraversalResult[V, R] =
+    val tables = search(graph, Seq(start))
+    // Translate ids back to vertices; source vertex has no predecessor so it's filtered out.
+    VertexTraversalResult(tables.settled.flatMap(i => tables.pred(i).map(tables.index(i) -> _)).toMap)
+
+  /**
+   * Runs the traversal from all of `starts` at once, each at cost `Zero.identity`,
+   * returning the working tables, in which each vertex is also attributed to the start from which it was reached.
+   *
+   * With more than one start, the traversal begins at a virtual root (whose id is one more than the last vertex id),
+   * whose neighbours are the starts; so the starts are seeded into the same `IndexedPrioQueue`, and settled first.
+   *
+   * @param graph  the graph to traverse.
+   * @param starts the starting vertices.
+   * @return the `WeightedSearch` tables.
+   */
+  protected def search(graph: Traversable[V], starts: Seq[V]): WeightedSearch[V, E, R] =
     val zero = summon[Zero[E]]
+    val ordering = summon[Ordering[E]]
+    val index = graph.vertexIndex
+    val root = index.size
 
     // pred: cheapest known incoming edge per vertex (typed as R for cast-free access).
-    // bestCost: current best frontier cost per vertex — used by CostUpdate to locate
+    // bestCost: current best cost per vertex — used by CostUpdate to locate (by its key)
     // the stale frontier entry for decreaseKey.
-    // Both maps are owned exclusively by CostUpdate; Neighbours is pure.
-    val pred: mutable.Map[V, R] = mutable.Map.empty
-    val bestCost: mutable.Map[V, E] = mutable.Map(start -> zero.identity)
+    // owner: the id of the start from which each vertex was reached.
+    // All are indexed by vertex id (see VertexIndex) so that V is never hashed during relaxation
+    // (with one more slot, for the virtual root).
+    // All are owned exclusively by CostUpdate; Neighbours is pure.
+    val pred: mutable.ArrayBuffer[Option[R]] = mutable.ArrayBuffer.fill(index.size + 1)(None)
+    val bestCost: mutable.ArrayBuffer[Option[E]] = mutable.ArrayBuffer.fill(index.size + 1)(None)
+    val owner: Array[Int] = Array.fill(index.size + 1)(-1)
+    val sources: Seq[Int] = starts.map(index.indexOf).distinct
+    for s <- sources do
+      bestCost(s) = Some(zero.identity)
+      owner(s) = s
+
+    // The key in the frontier of the vertex with id i at cost c (see priority).
+    def key(c: E, i: Int): E = priority(c, index(i))
+
+    val first = sources match
+      case Seq(s) => (key(zero.identity, s), s)
+      case _ => (zero.identity, root)
+
+    // Bookkeeping for the bounds, also owned by CostUpdate: the number of vertices settled,
+    // the targets not yet settled, and whether the traversal has been stopped.
+    var settled = 0
+    // NOTE targets which are not vertices of graph are ignored.
+    val targets: mutable.Set[Int] = mutable.Set.from(bounds.targets.iterator.flatMap(index.get))
+    val goals = targets.size
+    var stopped = false
+
+    def stop: Boolean =
+      settled >= bounds.budget || (goals > 0 && (if bounds.requireAll then targets.isEmpty else targets.size < goals))
 
     // Ordering: compare by cost component only.
-    given Ordering[(E, V)] = Ordering.by(_._1)
-
-    // Evaluable: when (cost, v) is settled, return its predecessor edge.
-    given Evaluable[(E, V), R] with
-      def evaluate(ev: (E, V)): Option[R] = pred.get(ev._2)
-
-    // Neighbours: pure — expand (accCost, v) into (newCost, neighbour) pairs.
+    given Ordering[(E, Int)] = Ordering.by(_._1)
+
+    // Evaluable: when (cost, i) is settled, return its predecessor edge.
+    given Evaluable[(E, Int), R] with
+      def evaluate(ev: (E, Int)): Option[R] = pred(ev._2)
+
+    // Expand the settled vertex with id i into (newCost, neighbour id, edge) triples.
+    // NOTE the cost of i is taken from bestCost, since its key in the frontier may be its priority rather than its cost.
+    // The neighbour id normally comes straight from indexedAdjacencies; only if `destination`
+    // disagrees with the adjacency's far end is the vertex looked up in the index.
+    def expand(i: Int): Iterator[(E, Int, R)] =
+      val accCost: E = bestCost(i).get
+      val v: V = index(i)
+      graph.indexedAdjacencies(i).flatMap { (j, a) =>
+        a.maybeEdge[E].flatMap(filterEdge).map { e =>
+          val w = destination(v, e)
+          (edgeCost(accCost, e, v), if w == a.vertex then j else index.indexOf(w), e)
+        }
+      }.filter(t => bounds.radius.forall(ordering.lteq(t._1, _)))
+
+    // Neighbours: pure — expand (key, i) into (newKey, neighbour) pairs; the neighbours of the root are the starts.
     // No side effects; all bookkeeping is owned by CostUpdate.
+    // Once the traversal is stopped, nothing more is yielded (the check is lazy, so the order
+    // in which the engine invokes Neighbours and CostUpdate does not matter).
     // IMPORTANT: use ev._1 / ev._2, not pattern matching, to avoid lazy binding bug.
-    given Neighbours[(E, V), (E, V)] with
-      def neighbours(ev: (E, V)): Iterator[(E, V)] =
-        val accCost: E = ev._1
-        val v: V = ev._2
-        graph.filteredAdjacencies(_ => true)(v)
-                .flatMap(_.maybeEdge[E])
-                .flatMap(filterEdge)
-                .map(e => (edgeCost(accCost, e, v), destination(v, e)))
-
-    // CostUpdate: after settling (cost, v), re-check each neighbour.
-    // Owns all writes to bestCost and pred.
-    //   - None:         first discovery — record cost and pred.
-    //   - Some(oldCost) with improvement and w in frontier — decreaseKey.
+    given Neighbours[(E, Int), (E, Int)] with
+      def neighbours(ev: (E, Int)): Iterator[(E, Int)] =
+        if ev._2 == root then sources.iterator.map(s => (key(zero.identity, s), s))
+        else expand(ev._2).filter(_ => !stopped).map(t => (key(t._1, t._2), t._2))
+
+    // CostUpdate: after settling (cost, i), re-check each neighbour.
+    // Owns all writes to bestCost, pred and owner.
+    //   - None:         first discovery — record cost, pred and owner.
+    //   - Some(oldCost) with improvement and w in frontier — decreaseKey (from the key of oldCost to that of newCost).
     //   - otherwise:    no-op.
-    given CostUpdate[(E, V), IndexedPrioQueue] with
-      def update(frontier: IndexedPrioQueue[(E, V)], ev: (E, V)): IndexedPrioQueue[(E, V)] =
-        val accCost: E = ev._1
-        val v: V = ev._2
-        graph.filteredAdjacencies(_ => true)(v)
-                .flatMap(_.maybeEdge[E])
-                .flatMap(filterEdge)
-                .foldLeft(frontier) { (pq, e) =>
-                  val newCost = edgeCost(accCost, e, v)
-                  val w = destination(v, e)
-                  bestCost.get(w) match
-                    case None =>
-                      bestCost(w) = newCost
-                      pred(w) = e
-                      pq
-                    case Some(oldCost) if summon[Ordering[E]].lt(newCost, oldCost) && pq.contains((oldCost, w)) =>
-                      bestCost(w) = newCost
-                      pred(w) = e
-                      pq.decreaseKey((oldCost, w), (newCost, w))
-                    case _ => pq
-                }
-
-    given IndexedPrioQueue[(E, V)] = IndexedPrioQueue.empty[(E, V)]
-
-    val visitor: Visitor[(E, V), R, QueueJournal[((E, V), Option[R])]] =
-      JournaledVisitor.withQueueJournal[(E, V), R]
-    val result = Traversal.bestFirstWeighted((zero.identity, start), visitor)
-
-    // Unwrap tuple keys; source vertex has no predecessor so it's filtered by collect.
-    VertexTraversalResult(
-      result.result.iterator.collect { case ((_, v), Some(e)) => v -> e }.toMap
-    )
+    // If settling i meets the bounds (see stop), the frontier is discarded instead, which ends the traversal.
+    // Nothing is recorded for the root (the costs of the starts are already known).
+    given CostUpdate[(E, Int), IndexedPrioQueue] with
+      def update(frontier: IndexedPrioQueue[(E, Int)], ev: (E, Int)): IndexedPrioQueue[(E, Int)] =
+        if ev._2 == root then frontier
+        else
+          settled += 1
+          targets -= ev._2: Unit
+          stopped = stopped || stop
+          if stopped then IndexedPrioQueue.empty[(E, Int)]
+          else
+            expand(ev._2).foldLeft(frontier) { (pq, t) =>
+              val (newCost, w, e) = t
+              bestCost(w) match
+                case None =>
+                  bestCost(w) = Some(newCost)
+                  pred(w) = Some(e)
+                  owner(w) = owner(ev._2)
+                  pq
+                case Some(oldCost) if ordering.lt(newCost, oldCost) =>
+                  val stale = (key(oldCost, w), w)
+                  if pq.contains(stale) then
+                    bestCost(w) = Some(newCost)
+                    pred(w) = Some(e)
+                    owner(w) = owner(ev._2)
+                    pq.decreaseKey(stale, (key(newCost, w), w))
+                  else pq
+                case _ => pq
+            }
+
+    // With a FrontierStrategy, the same relaxation is driven by a plain loop over its VertexQueue of ids
+    // (the starts are inserted directly, so there is no need for the root); settled vertices are marked as done.
+    def loop(queue: VertexQueue[E]): Seq[Int] =
+      val order = mutable.ArrayBuffer.empty[Int]
+      val done = new Array[Boolean](index.size)
+      sources.foreach(s => queue.insertOrDecrease(s, key(zero.identity, s)))
+      while !stopped && !queue.isEmpty do
+        val i = queue.removeMin()
+        done(i) = true
+        order += i: Unit
+        settled += 1
+        targets -= i: Unit
+        stopped = stop
+        if !stopped then
+          expand(i).foreach { (newCost, w, e) =>
+            if !done(w) && bestCost(w).forall(ordering.lt(newCost, _)) then
+              bestCost(w) = Some(newCost)
+              pred(w) = Some(e)
+              owner(w) = owner(i)
+              queue.insertOrDecrease(w, key(newCost, w))
+          }
+      order.toSeq
+
+    frontier match
+      case Some(strategy) =>
+        WeightedSearch(index, pred, bestCost, owner, loop(strategy.create(index.size)))
+      case None =>
+        given IndexedPrioQueue[(E, Int)] = IndexedPrioQueue.empty[(E, Int)]
+
+        val visitor: Visitor[(E, Int), R, QueueJournal[((E, Int), Option[R])]] =
+          JournaledVisitor.withQueueJournal[(E, Int), R]
+        val result = Traversal.bestFirstWeighted(first, visitor)
+
+        WeightedSearch(index, pred, bestCost, owner, result.result.iterator.map(_._1._2).filter(_ != root).toSeq)
+
+/**
+ * The working tables of a `WeightedTraversal` (see `WeightedTraversal.search`), indexed by vertex id.
+ *
+ * @param index    the numbering of the vertices.
+ * @param pred     for each vertex id, the cheapest known incoming edge.
+ * @param bestCost for each vertex id, the cost at which it was (or would have been) settled.
+ * @param owner    for each vertex id, the id of the start from which it was reached; -1 if it was not reached.
+ * @param settled  the ids of the settled vertices, in order of settlement.
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type.
+ * @tparam R the result type.
+ */
+case class WeightedSearch[V, E, R](index: VertexIndex[V], pred: collection.IndexedSeq[Option[R]], bestCost: collection.IndexedSeq[Option[E]], owner: Array[Int], settled: Seq[Int])
+
+/**
+ * The bounds of a `WeightedTraversal`, beyond which it need not search.
+ *
+ * @param targets    the vertices whose settlement ends the traversal (if empty, there is no such condition).
+ * @param requireAll if true (the default), the traversal ends when all of `targets` are settled; otherwise, when any one is.
+ * @param radius     if defined, the maximum cost (as computed by `edgeCost`) of a vertex which may be settled.
+ * @param budget     the maximum number of vertices to settle (including the start).
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type.
+ */
+case class SearchBounds[V, E](targets: Set[V] = Set.empty[V], requireAll: Boolean = true, radius: Option[E] = None, budget: Int = Int.MaxValue)
+
+/**
+ * Companion object for `SearchBounds`.
+ */
+object SearchBounds:
+
+  /**
+   * Bounds which end the traversal when `target` is settled.
+   */
+  def target[V, E](target: V): SearchBounds[V, E] = SearchBounds(targets = Set(target))
+
+  /**
+   * Bounds which end the traversal when the first (i.e. the nearest) of `targets` is settled.
+   */
+  def anyOf[V, E](targets: Set[V]): SearchBounds[V, E] = SearchBounds(targets = targets, requireAll = false)
+
+  /**
+   * Bounds which confine the traversal to the vertices whose cost is at most `radius`.
+   */
+  def within[V, E](radius: E): SearchBounds[V, E] = SearchBounds(radius = Some(radius))
 
 // ============================================================
 // Dijkstra
@@ -222,10 +440,17 @@ abstract class WeightedTraversal[V, E: {Zero, Ordering}, R <: Edge[V, E]]
  * requirement of `WeightedTraversal` is automatically satisfied, and `combine`
  * is additionally available for cumulative path cost computation.
  *
+ * For a goal-directed or bounded search (the nearest of a set of facilities, an isochrone, etc.), give `bounds`:
+ * the radius is then a maximum path cost.
+ * For integer weights, give a monotone `frontier`, such as `FrontierStrategy.radixHeap` (or, when the weights are
+ * bounded by a small C, `FrontierStrategy.dial`), for O(M + N log C) (or O(M + N C)) time, without comparisons.
+ *
+ * @param bounds   the bounds of the search (by default, none).
+ * @param frontier the strategy for the frontier (by default, None, for the `IndexedPrioQueue`).
  * @tparam V the vertex type.
  * @tparam E the edge-weight type; must have Monoid and Ordering.
  */
-case class DijkstraTraversal[V, E: {Monoid, Ordering}]()
+case class DijkstraTraversal[V, E: {Monoid, Ordering}](override val bounds: SearchBounds[V, E] = SearchBounds[V, E](), override val frontier: Option[FrontierStrategy[E]] = None)
         extends WeightedTraversal[V, E, AttributedDirectedEdge[V, E]]:
 
   protected def edgeCost(accCost: E, e: Edge[V, E], v: V): E =
@@ -238,6 +463,18 @@ case class DijkstraTraversal[V, E: {Monoid, Ordering}]()
     case ade: AttributedDirectedEdge[V, E] => Some(ade)
     case _ => None
 
+  /**
+   * Runs a multi-source Dijkstra traversal: a single traversal from all of `sources` at once,
+   * which attributes each vertex to its nearest source (ties being broken arbitrarily).
+   * This is the network Voronoi partition of the graph, at the cost of one traversal rather than one per source.
+   *
+   * @param graph   the graph to traverse.
+   * @param sources the sources (for example, depots).
+   * @return a `VoronoiPartition[V, E]`.
+   */
+  def voronoi(graph: Traversable[V])(sources: Seq[V]): VoronoiPartition[V, E] =
+    VoronoiPartition(search(graph, sources))
+
 // ============================================================
 // Prim
 // ============================================================
@@ -254,10 +491,17 @@ case class DijkstraTraversal[V, E: {Monoid, Ordering}]()
  * `Monoid.combine` is not needed. `Zero.identity` seeds the initial frontier cost
  * for the start vertex, which is immediately replaced by actual edge weights.
  *
+ * Unless a `frontier` is given, the primitive graphs (with the standard `Double` instances) are handed to
+ * specialized algorithms: a dense `MatrixGraph` to the O(N²) `MatrixTraversal.prim`, which scans rows
+ * instead of maintaining a priority queue, and an `IntDoubleGraph` to `IntDoubleTraversal.prim`.
+ * The frontier may be any of the comparison heaps of `FrontierStrategy`, but not a monotone queue,
+ * since the key of a vertex is the weight of an edge, not the cost of a path.
+ *
+ * @param frontier the strategy for the frontier (by default, None, for the `IndexedPrioQueue`).
  * @tparam V the vertex type.
  * @tparam E the edge-weight type; must have Zero and Ordering.
  */
-case class PrimTraversal[V, E: {Zero, Ordering}]()
+case class PrimTraversal[V, E: {Zero, Ordering}](override val frontier: Option[FrontierStrategy[E]] = None)
         extends WeightedTraversal[V, E, Edge[V, E]]:
 
   protected def edgeCost(accCost: E, e: Edge[V, E], v: V): E =
@@ -268,4 +512,15 @@ case class PrimTraversal[V, E: {Zero, Ordering}]()
     case de => de.black
 
   protected def filterEdge(e: Edge[V, E]): Option[Edge[V, E]] =
-    Some(e)
\ No newline at end of file
+    Some(e)
+
+  override def run(graph: Traversable[V])(start: V)(using random: Random = Random()): TraversalResult[V, Edge[V, E]] =
+    graph match
+      case g: MatrixGraph[V] @unchecked if frontier.isEmpty && IntDoubleTraversal.admits(summon[Zero[E]], summon[Ordering[E]]) =>
+        // NOTE E is Double here.
+        MatrixTraversal.prim(g, g.vertexIndex.indexOf(start)).toTraversalResult.asInstanceOf[TraversalResult[V, Edge[V, E]]]
+      case g: IntDoubleGraph if frontier.isEmpty && IntDoubleTraversal.admits(summon[Zero[E]], summon[Ordering[E]]) =>
+        // NOTE V is Int and E is Double here.
+        IntDoubleTraversal.prim(g, start.asInstanceOf[Int]).toTraversalResult.asInstanceOf[TraversalResult[V, Edge[V, E]]]
+      case _ =>
+        super.run(graph)(start)
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.IntDoubleGraph
+import com.phasmidsoftware.gryphon.core.Edge
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.{Zero, given_Monoid_Double}
+
+/**
+ * The result of a specialized traversal of an `IntDoubleGraph`: a tree rooted at the start vertex,
+ * held in primitive arrays indexed by vertex.
+ *
+ * @param graph the graph that was traversed.
+ * @param cost  for each vertex, its cost (the path length for shortest paths, the connecting edge
+ *              weight for a spanning tree); `Double.PositiveInfinity` if it was not reached.
+ * @param from  for each vertex, its parent in the tree; -1 for the root and for unreached vertices.
+ * @param slot  for each vertex, the slot (in `graph`) of the edge from its parent; -1 if there is none.
+ */
+case class IntDoubleTree(graph: IntDoubleGraph, cost: Array[Double], from: Array[Int], slot: Array[Int]):
+
+  /**
+   * Returns true if `v` is in the tree (including the root).
+   *
+   * @param v the vertex.
+   * @return true if `v` was reached.
+   */
+  def reached(v: Int): Boolean = cost(v) < Double.PositiveInfinity
+
+  /**
+   * Materialises the tree edge leading to `v`, if any.
+   *
+   * @param v the vertex.
+   * @return `Some(edge)` unless `v` is the root or was not reached.
+   */
+  def edgeTo(v: Int): Option[Edge[Int, Double]] =
+    Option.when(from(v) >= 0)(graph.edgeAt(from(v), slot(v)))
+
+  /**
+   * Converts this tree into a `VertexTraversalResult`, mapping each non-root vertex to its tree edge.
+   * This is the only place where edges are allocated.
+   *
+   * @return a `VertexTraversalResult[Int, Edge[Int, Double]]`.
+   */
+  def toTraversalResult: VertexTraversalResult[Int, Edge[Int, Double]] =
+    VertexTraversalResult(Range(0, graph.N).flatMap(v => edgeTo(v).map(v -> _)).toMap)
+
+/**
+ * Specialized implementations of Dijkstra, Prim, Kruskal and DAG shortest paths for `IntDoubleGraph`.
+ *
+ * These work directly on the `int[]`/`double[]` arrays of the graph, with primitive working arrays
+ * and an `IndexedDoubleHeap` as the priority queue, so there is no boxing of vertices or weights and
+ * no allocation per edge.
+ * Weights are combined by `+` and compared by `<`.
+ *
+ * `ShortestPaths.dijkstra` and `MST.prim` delegate here automatically (see `admits`);
+ * `Kruskal` and `AcyclicShortestPaths` equivalents are invoked directly.
+ */
+object IntDoubleTraversal:
+
+  /**
+   * Determines whether the specialized path computes the same result as the generic one,
+   * i.e. whether the given typeclass instances are the standard ones for `Double`.
+   *
+   * @param zero     the `Zero` (or `Monoid`) instance in use.
+   * @param ordering the `Ordering` instance in use.
+   * @return true if the specialized algorithms may be substituted for the generic ones.
+   */
+  def admits(zero: Zero[?], ordering: Ordering[?]): Boolean =
+    (zero eq given_Monoid_Double) && (ordering match
+      case _: Ordering.Double.TotalOrdering | _: Ordering.Double.IeeeOrdering => true
+      case _ => false)
+
+  /**
+   * Dijkstra's shortest-path algorithm.
+   *
+   * @param graph the graph (all slots of a vertex are followed, so an undirected graph is allowed).
+   * @param start the source vertex.
+   * @return an `IntDoubleTree` whose `cost` is the shortest-path distance from `start`.
+   */
+  def dijkstra(graph: IntDoubleGraph, start: Int): IntDoubleTree =
+    val tree = emptyTree(graph, start)
+    val (dist, from, slot) = (tree.cost, tree.from, tree.slot)
+    val heap = IndexedDoubleHeap(graph.N)
+    heap.insert(start, 0.0)
+    while !heap.isEmpty do
+      val u = heap.removeMin()
+      var s = graph.offsets(u)
+      val end = graph.offsets(u + 1)
+      while s < end do
+        val w = graph.targets(s)
+        val d = dist(u) + graph.weights(s)
+        if d < dist(w) then
+          dist(w) = d
+          from(w) = u
+          slot(w) = s
+          heap.insertOrDecrease(w, d)
+        s += 1
+    tree
+
+  /**
+   * Prim's minimum spanning tree algorithm.
+   *
+   * @param graph the graph.
+   * @param start the vertex from which the tree is grown.
+   * @return an `IntDoubleTree` spanning the component of `start`, whose `cost` is the weight
+   *         of the edge connecting each vertex to the tree.
+   */
+  def prim(graph: IntDoubleGraph, start: Int): IntDoubleTree =
+    val tree = emptyTree(graph, start)
+    val (key, from, slot) = (tree.cost, tree.from, tree.slot)
+    val inTree = new Array[Boolean](graph.N)
+    val heap = IndexedDoubleHeap(graph.N)
+    heap.insert(start, 0.0)
+    while !heap.isEmpty do
+      val u = heap.removeMin()
+      inTree(u) = true
+      var s = graph.offsets(u)
+      val end = graph.offsets(u + 1)
+      while s < end do
+        val w = graph.targets(s)
+        val weight = graph.weights(s)
+        if !inTree(w) && weight < key(w) then
+          key(w) = weight
+          from(w) = u
+          slot(w) = s
+          heap.insertOrDecrease(w, weight)
+        s += 1
+    tree
+
+  /**
+   * Kruskal's minimum spanning tree (forest) algorithm.
+   * Edges are drawn in weight order from an `IndexedDoubleHeap` of slots rather than by sorting,
+   * and components are tracked by an array-based union-find.
+   *
+   * @param graph an undirected graph.
+   * @return the MST edges in order of addition, consistent with `Kruskal.mst`.
+   * @throws GraphException if `graph` is directed.
+   */
+  def kruskal(graph: IntDoubleGraph): Seq[Edge[Int, Double]] =
+    if graph.directed then throw GraphException("IntDoubleTraversal.kruskal: graph must be undirected")
+    val n = graph.N
+    val slots = graph.targets.length
+    val owner = new Array[Int](slots)
+    val heap = IndexedDoubleHeap(slots)
+    for i <- 0 until n; s <- graph.offsets(i) until graph.offsets(i + 1) if !graph.flipped(s) do
+      owner(s) = i
+      heap.insert(s, graph.weights(s))
+    val parent = Array.tabulate(n)(identity)
+    val rank = new Array[Int](n)
+
+    def root(v: Int): Int =
+      var x = v
+      while parent(x) != x do
+        parent(x) = parent(parent(x))
+        x = parent(x)
+      x
+
+    val result = Seq.newBuilder[Edge[Int, Double]]
+    var added = 0
+    while !heap.isEmpty && added < n - 1 do
+      val s = heap.removeMin()
+      val (ru, rv) = (root(owner(s)), root(graph.targets(s)))
+      if ru != rv then
+        if rank(ru) < rank(rv) then parent(ru) = rv
+        else if rank(ru) > rank(rv) then parent(rv) = ru
+        else
+          parent(rv) = ru
+          rank(ru) += 1
+        result += graph.edgeAt(owner(s), s)
+        added += 1
+    result.result()
+
+  /**
+   * Shortest paths in a DAG by relaxing edges in topological order (Kahn's algorithm).
+   *
+   * @param graph a directed acyclic graph.
+   * @param start the source vertex.
+   * @return an `IntDoubleTree` whose `cost` is the shortest-path distance from `start`.
+   * @throws IllegalArgumentException if the graph contains a cycle.
+   */
+  def acyclicShortestPaths(graph: IntDoubleGraph, start: Int): IntDoubleTree =
+    val n = graph.N
+    val inDegree = new Array[Int](n)
+    for s <- graph.targets.indices do inDegree(graph.targets(s)) += 1
+    val order = new Array[Int](n)
+    var head = 0
+    var tail = 0
+    for v <- 0 until n if inDegree(v) == 0 do
+      order(tail) = v
+      tail += 1
+    while head < tail do
+      val u = order(head)
+      head += 1
+      for s <- graph.offsets(u) until graph.offsets(u + 1) do
+        val w = graph.targets(s)
+        inDegree(w) -= 1
+        if inDegree(w) == 0 then
+          order(tail) = w
+          tail += 1
+    if tail < n then throw IllegalArgumentException("AcyclicShortestPaths: graph contains a cycle")
+
+    val tree = emptyTree(graph, start)
+    val (dist, from, slot) = (tree.cost, tree.from, tree.slot)
+    for u <- order if dist(u) < Double.PositiveInfinity; s <- graph.offsets(u) until graph.offsets(u + 1) do
+      val w = graph.targets(s)
+      val d = dist(u) + graph.weights(s)
+      if d < dist(w) then
+        dist(w) = d
+        from(w) = u
+        slot(w) = s
+    tree
+
+  private def emptyTree(graph: IntDoubleGraph, start: Int): IntDoubleTree =
+    if start < 0 || start >= graph.N then throw GraphException(s"IntDoubleTraversal: vertex $start does not exist")
+    val cost = Array.fill(graph.N)(Double.PositiveInfinity)
+    cost(start) = 0.0
+    IntDoubleTree(graph, cost, Array.fill(graph.N)(-1), Array.fill(graph.N)(-1))
+
+/**
+ * An indexed binary min-heap of the integers `0 until capacity`, keyed by `Double`,
+ * supporting `decreaseKey` in O(log n) without any boxing.
+ *
+ * @param capacity one more than the largest element which may be inserted.
+ */
+class IndexedDoubleHeap(capacity: Int):
+  private val heap = new Array[Int](capacity)
+  private val position = Array.fill(capacity)(-1)
+  private val key = new Array[Double](capacity)
+  private var n = 0
+
+  /**
+   * @return true if the heap holds no elements.
+   */
+  def isEmpty: Boolean = n == 0
+
+  /**
+   * @return the number of elements in the heap.
+   */
+  def size: Int = n
+
+  /**
+   * @param x an element.
+   * @return true if `x` is currently in the heap.
+   */
+  def contains(x: Int): Boolean = position(x) >= 0
+
+  /**
+   * Inserts `x`, which must not be in the heap, with key `k`.
+   */
+  def insert(x: Int, k: Double): Unit =
+    heap(n) = x
+    position(x) = n
+    key(x) = k
+    n += 1
+    siftUp(n - 1)
+
+  /**
+   * Inserts `x` with key `k`, or, if `x` is already in the heap, lowers its key to `k`.
+   */
+  def insertOrDecrease(x: Int, k: Double): Unit =
+    if contains(x) then
+      key(x) = k
+      siftUp(position(x))
+    else insert(x, k)
+
+  /**
+   * Removes and returns the element with the smallest key.
+   */
+  def removeMin(): Int =
+    val x = heap(0)
+    n -= 1
+    swap(0, n)
+    position(x) = -1
+    siftDown(0)
+    x
+
+  private def siftUp(i: Int): Unit =
+    var j = i
+    while j > 0 && key(heap(j)) < key(heap((j - 1) / 2)) do
+      swap(j, (j - 1) / 2)
+      j = (j - 1) / 2
+
+  private def siftDown(i: Int): Unit =
+    var j = i
+    var done = false
+    while !done do
+      val l = 2 * j + 1
+      val c = if l + 1 < n && key(heap(l + 1)) < key(heap(l)) then l + 1 else l
+      if c < n && key(heap(c)) < key(heap(j)) then
+        swap(j, c)
+        j = c
+      else done = true
+
+  private def swap(i: Int, j: Int): Unit =
+    val x = heap(i)
+    heap(i) = heap(j)
+    heap(j) = x
+    position(heap(i)) = i
+    position(heap(j)) = j
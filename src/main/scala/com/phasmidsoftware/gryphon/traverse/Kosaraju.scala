@@ -4,7 +4,7 @@
 
 package com.phasmidsoftware.gryphon.traverse
 
-import com.phasmidsoftware.gryphon.adjunct.DirectedGraph
+import com.phasmidsoftware.gryphon.core.{ReversibleTraversable, VisitedBitSet}
 import com.phasmidsoftware.visitor.core.{*, given}
 import scala.annotation.tailrec
 import scala.util.Random
@@ -33,6 +33,9 @@ type SCCResult[V] = Map[V, Int]
  * pass 1, with a shared visited set carried across seeds.  Each DFS tree in pass 2
  * is exactly one SCC.
  *
+ * In both passes, the visited set which is shared across seeds is a `VisitedBitSet`,
+ * so that each pass is O(V + E) however many components there are.
+ *
  * NOTE: intended for directed graphs only.
  * For undirected graphs see `ConnectedComponents`.
  *
@@ -44,12 +47,13 @@ object Kosaraju {
   /**
    * Computes the strongly connected components (SCCs) of a directed graph using Kosaraju's algorithm.
    *
-   * @param graph  The directed graph for which strongly connected components are to be computed.
+   * @param graph  The directed graph for which strongly connected components are to be computed,
+   *               e.g. a `DirectedGraph` or a frozen `CsrGraph`.
    * @param random An implicit random number generator, defaulting to `Random()`.
    * @param tracer An implicit tracer for logging and debugging, defaulting to `Tracer.silent`.
    * @return An `SCCResult[V]` mapping each vertex to its strongly connected component identifier.
    */
-  def stronglyConnectedComponents[V, E](graph: DirectedGraph[V, E])(using random: Random = Random(), tracer: Tracer[V] = Tracer.silent): SCCResult[V] = {
+  def stronglyConnectedComponents[V, E](graph: ReversibleTraversable[V, E])(using random: Random = Random(), tracer: Tracer[V] = Tracer.silent): SCCResult[V] = {
     given Evaluable[V, V] with
       def evaluate(v: V): Option[V] = Some(v)
 
@@ -62,29 +66,30 @@ object Kosaraju {
      * @param reverseGraph the reversed directed graph.
      * @return a List[V] of vertices in "finish" order.
      */
-    def pass1Kosaraju(reverseGraph: DirectedGraph[V, E]): List[V] = {
+    def pass1Kosaraju(reverseGraph: ReversibleTraversable[V, E]): List[V] = {
       tracer.trace(0, "Kosaraju pass 1: post-order DFS on reversed graph")
 
-      given GraphNeighbours[V] = reverseGraph.vertexMap.neighboursGiven
+      val visitedBits = VisitedBitSet(graph.vertexIndex)
+
+      given GraphNeighbours[V] = visitedBits.neighbours(reverseGraph)
 
       @tailrec
-      def pass1Loop(unvisited: Set[V], vs: VisitedSet[V], acc: List[V]): List[V] =
-        if unvisited.isEmpty
+      def pass1Loop(seeds: Iterator[V], acc: List[V]): List[V] =
+        if !seeds.hasNext
         then
           acc
         else
-          tracer.trace(1, s"pass 1: seeding from ${unvisited.head}, ${unvisited.size} unvisited")
-          val result = Traversal.dfs(start = unvisited.head, visitor = JournaledVisitor.withListJournal[V, V], order = DfsOrder.Post)(using summon[GraphNeighbours[V]], summon[Evaluable[V, V]], vs, Tracer.silent)
+          val seed = seeds.next()
+          tracer.trace(1, s"pass 1: seeding from $seed, ${graph.N - visitedBits.size} unvisited")
+          val result = Traversal.dfs(start = seed, visitor = JournaledVisitor.withListJournal[V, V], order = DfsOrder.Post)(using summon[GraphNeighbours[V]], summon[Evaluable[V, V]], summon[VisitedSet[V]], Tracer.silent)
           // ListJournal prepends: head = last-finished within this component.
           // visited ++ acc keeps the most-recently-finished component at the front.
           val visited: List[V] = result.result.map(_._1).toList
           val (vb, vd) = Tracer.collectionMsg(visited)
           tracer.trace(2, s"pass 1: finished component: $vb", s"pass 1: finished component: $vd")
-          val newVs: VisitedSet[V] = visited.foldLeft(vs)(_.markVisited(_))
-          pass1Loop(unvisited -- visited.toSet, newVs, visited ++ acc)
+          pass1Loop(seeds, visited ++ acc)
 
-      val allVertices = graph.vertexMap.keySet
-      pass1Loop(allVertices, summon[VisitedSet[V]], Nil)
+      pass1Loop(visitedBits.seeds, Nil)
     }
 
     /**
@@ -99,12 +104,13 @@ object Kosaraju {
     def pass2Kosaraju(starters: List[V]): SCCResult[V] = {
       tracer.trace(0, s"Kosaraju pass 2: DFS on original graph, ${starters.size} starter vertices")
 
-      given GraphNeighbours[V] = graph.vertexMap.neighboursGiven
+      val visitedBits = VisitedBitSet(graph.vertexIndex)
+
+      given GraphNeighbours[V] = visitedBits.neighbours(graph)
 
       @tailrec
       def pass2Loop(
                            seeds: List[V],
-                           visited: Set[V],
                            componentMap: SCCResult[V],
                            sccId: Int
                    ): SCCResult[V] =
@@ -113,26 +119,23 @@ object Kosaraju {
             tracer.trace(1, s"pass 2: complete, $sccId SCCs found")
             componentMap
           case v :: rest =>
-            if visited.contains(v)
+            if visitedBits.contains(v)
             then
-              pass2Loop(rest, visited, componentMap, sccId)
+              pass2Loop(rest, componentMap, sccId)
             else
               tracer.trace(1, s"pass 2: SCC $sccId — seeding from $v")
 
-              given VisitedSet[V] = visited.foldLeft(summon[VisitedSet[V]])(_.markVisited(_))
-
               val sccVertices: Set[V] =
                 Traversal.dfs(v, JournaledVisitor.withListJournal[V, V])(using summon[GraphNeighbours[V]], summon[Evaluable[V, V]], summon[VisitedSet[V]], Tracer.silent).result.map(_._1).toSet
               val (mb, md) = Tracer.collectionMsg(sccVertices)
               tracer.trace(2, s"pass 2: SCC $sccId — members: $mb", s"pass 2: SCC $sccId — members: $md")
               pass2Loop(
                 rest,
-                visited ++ sccVertices,
                 componentMap ++ sccVertices.map(_ -> sccId),
                 sccId + 1
               )
 
-      pass2Loop(starters, Set.empty, Map.empty, 0)
+      pass2Loop(starters, Map.empty, 0)
     }
 
     // ------Kosaraju's algorithm: two passes------------------------------------------------------------
@@ -6,7 +6,8 @@ import scala.util.Random
 
 /**
  * Computes minimum spanning trees using Prim's algorithm.
- * Delegates to `PrimTraversal` from the `GraphTraversal` family.
+ * Delegates to `PrimTraversal` from the `GraphTraversal` family
+ * (which hands an `IntDoubleGraph` to `IntDoubleTraversal.prim` and a dense `MatrixGraph` to `MatrixTraversal.prim`).
  */
 object MST:
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.MatrixGraph
+import com.phasmidsoftware.gryphon.core.Edge
+import com.phasmidsoftware.gryphon.util.GraphException
+
+/**
+ * The result of a specialized traversal of a `MatrixGraph`: a tree rooted at the start vertex,
+ * held in primitive arrays indexed by vertex id.
+ *
+ * @param graph the graph that was traversed.
+ * @param cost  for each vertex id, the weight of the edge connecting it to the tree;
+ *              `Double.PositiveInfinity` if it was not reached.
+ * @param from  for each vertex id, the id of its parent in the tree; -1 for the root and for unreached vertices.
+ * @tparam V the type of the vertices.
+ */
+case class MatrixTree[V](graph: MatrixGraph[V], cost: Array[Double], from: Array[Int]):
+
+  /**
+   * Returns true if the vertex with id `i` is in the tree (including the root).
+   *
+   * @param i the vertex id.
+   * @return true if it was reached.
+   */
+  def reached(i: Int): Boolean = cost(i) < Double.PositiveInfinity
+
+  /**
+   * Materialises the tree edge leading to the vertex with id `i`, if any.
+   *
+   * @param i the vertex id.
+   * @return `Some(edge)` unless `i` is the root or was not reached.
+   */
+  def edgeTo(i: Int): Option[Edge[V, Double]] =
+    Option.when(from(i) >= 0)(graph.edgeAt(from(i), i))
+
+  /**
+   * Converts this tree into a `VertexTraversalResult`, mapping each non-root vertex to its tree edge.
+   * This is the only place where edges are allocated.
+   *
+   * @return a `VertexTraversalResult[V, Edge[V, Double]]`.
+   */
+  def toTraversalResult: VertexTraversalResult[V, Edge[V, Double]] =
+    VertexTraversalResult(Range(0, graph.N).flatMap(i => edgeTo(i).map(graph.vertexIndex(i) -> _)).toMap)
+
+/**
+ * Specialized algorithms for the dense `MatrixGraph`.
+ *
+ * On a dense graph (M close to N²), an algorithm which simply scans every row of the matrix is O(N²),
+ * whereas one driven by a priority queue is O(M log N) — and also allocates, for the generic algorithms, per edge.
+ * Weights are compared by `<`.
+ *
+ * `PrimTraversal` (and hence `MST.prim`) delegates here automatically (see `IntDoubleTraversal.admits`).
+ */
+object MatrixTraversal:
+
+  /**
+   * Prim's minimum spanning tree algorithm, in its original O(N²) form, without a priority queue:
+   * each step settles the unsettled vertex whose connecting edge is lightest, found by a linear scan,
+   * and then relaxes the row of that vertex.
+   *
+   * @param graph the graph.
+   * @param start the id of the vertex from which the tree is grown.
+   * @tparam V the type of the vertices.
+   * @return a `MatrixTree` spanning the component of `start`.
+   */
+  def prim[V](graph: MatrixGraph[V], start: Int): MatrixTree[V] =
+    val n = graph.N
+    if start < 0 || start >= n then throw GraphException(s"MatrixTraversal: vertex $start does not exist")
+    val key = Array.fill(n)(Double.PositiveInfinity)
+    val from = Array.fill(n)(-1)
+    val inTree = new Array[Boolean](n)
+    key(start) = 0.0
+    var u = start
+    while u >= 0 do
+      inTree(u) = true
+      val row = u * n
+      var w = 0
+      while w < n do
+        if !inTree(w) && graph.hasEdge(u, w) && graph.weights(row + w) < key(w) then
+          key(w) = graph.weights(row + w)
+          from(w) = u
+        w += 1
+      // NOTE the next vertex is the lightest reached (but unsettled) vertex, if any.
+      u = -1
+      var best = Double.PositiveInfinity
+      w = 0
+      while w < n do
+        if !inTree(w) && key(w) < best then
+          best = key(w)
+          u = w
+        w += 1
+    MatrixTree(graph, key, from)
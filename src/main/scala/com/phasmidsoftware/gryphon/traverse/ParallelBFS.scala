@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.UndirectedGraph
+import com.phasmidsoftware.gryphon.core.{ReversibleTraversable, Traversable, VertexIndex}
+import com.phasmidsoftware.gryphon.util.GraphException
+import java.util.BitSet
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.{Callable, ForkJoinPool}
+import scala.annotation.tailrec
+import scala.collection.mutable
+import scala.jdk.CollectionConverters.*
+
+/**
+ * The result of a breadth-first search: a tree rooted at the start vertex, held in primitive arrays indexed by vertex id.
+ *
+ * @param index    the numbering of the vertices.
+ * @param distance for each vertex id, the number of edges on a shortest path from the start; -1 if it was not reached.
+ * @param parent   for each vertex id, the id of its parent in the tree; -1 for the root and for unreached vertices.
+ * @tparam V the type of the vertices.
+ */
+case class BFSTree[V](index: VertexIndex[V], distance: Array[Int], parent: Array[Int]):
+
+  /**
+   * Returns true if the vertex with id `i` is in the tree (including the root).
+   *
+   * @param i the vertex id.
+   * @return true if it was reached.
+   */
+  def reached(i: Int): Boolean = distance(i) >= 0
+
+  /**
+   * Returns the number of edges on a shortest path from the start to `v`.
+   *
+   * @param v the vertex.
+   * @return `Some(distance)` if `v` was reached, otherwise `None`.
+   */
+  def distanceTo(v: V): Option[Int] =
+    index.get(v).filter(reached).map(distance(_))
+
+  /**
+   * Returns the parent of `v` in the tree.
+   *
+   * @param v the vertex.
+   * @return `Some(parent)` unless `v` is the root or was not reached.
+   */
+  def parentOf(v: V): Option[V] =
+    index.get(v).map(parent(_)).filter(_ >= 0).map(index(_))
+
+  /**
+   * Returns a shortest path from the start to `v`.
+   *
+   * @param v the vertex.
+   * @return `Some(path)`, beginning with the start and ending with `v`, if `v` was reached; otherwise `None`.
+   */
+  def pathTo(v: V): Option[Seq[V]] =
+    index.get(v).filter(reached).map(i => Iterator.iterate(i)(parent(_)).takeWhile(_ >= 0).map(index(_)).toList.reverse)
+
+  /**
+   * Converts this tree into a `VertexTraversalResult` which maps each reached vertex to itself, as does `BFSTraversal`.
+   *
+   * @return a `VertexTraversalResult[V, V]`.
+   */
+  def toTraversalResult: VertexTraversalResult[V, V] =
+    VertexTraversalResult(Range(0, index.size).filter(reached).map(i => index(i) -> index(i)).toMap)
+
+/**
+ * A level-synchronous, parallel breadth-first search, which switches between top-down and bottom-up steps.
+ * See [Beamer, Asanović and Patterson, Direction-Optimizing Breadth-First Search](https://doi.org/10.1109/SC.2012.50).
+ *
+ * Each level expands the whole frontier in parallel, split into chunks which are run on a `ForkJoinPool`:
+ *   - a top-down step examines the out-edges of each frontier vertex, and claims each unvisited neighbour
+ *     by setting its bit in an atomic bitset of visited vertices;
+ *   - a bottom-up step examines each unvisited vertex, and looks for any in-neighbour in the frontier,
+ *     stopping at the first one found.
+ *
+ * When the frontier is large (its out-edges number more than 1/`alpha` of the edges of the unvisited vertices),
+ * most of the edges examined by a top-down step lead to vertices which are already visited, so the search switches
+ * to bottom-up; it switches back when the frontier shrinks below 1/`beta` of the vertices.
+ * A bottom-up step requires the in-neighbours of each vertex: these are the neighbours in an `UndirectedGraph`
+ * (or an undirected `CsrGraph`) and the neighbours in the `reverse` of any other `ReversibleTraversable`
+ * (which is built, once, the first time it is required).
+ * The search of any other graph is top-down only.
+ *
+ * The working state is a distance and a parent (one int each) and one bit per vertex, with no allocation per vertex
+ * other than the (per-chunk) arrays of the next frontier.
+ */
+object ParallelBFS:
+
+  /**
+   * Performs a breadth-first search of `graph` from `start`.
+   *
+   * NOTE `graph` is read concurrently: its adjacencies must not be mutated during the search.
+   *
+   * @param graph the graph.
+   * @param start the starting vertex.
+   * @param pool  the pool on which each level is run.
+   * @param alpha the parameter which controls the switch from top-down to bottom-up.
+   * @param beta  the parameter which controls the switch from bottom-up to top-down.
+   * @tparam V the type of the vertices.
+   * @return a `BFSTree` of the vertices reachable from `start`.
+   */
+  def search[V](graph: Traversable[V], start: V, pool: ForkJoinPool = ForkJoinPool.commonPool(), alpha: Int = 14, beta: Int = 24): BFSTree[V] =
+    val index = graph.vertexIndex
+    val n = index.size
+    val s = index.get(start).getOrElse(throw GraphException(s"ParallelBFS: vertex $start does not exist"))
+    val distance = Array.fill(n)(-1)
+    val parent = Array.fill(n)(-1)
+    val visited = AtomicBitSet(n)
+
+    val reversible = graph match
+      case _: UndirectedGraph[?, ?] | _: ReversibleTraversable[?, ?] => true
+      case _ => false
+
+    // NOTE for each vertex id, the ids of its in-neighbours (in the numbering of graph).
+    lazy val incoming: Int => Iterator[Int] = graph match
+      case g: UndirectedGraph[V, ?] @unchecked =>
+        i => g.indexedAdjacencies(i).map(_._1)
+      case g: ReversibleTraversable[V, ?] @unchecked =>
+        val reversed = g.reverse
+        val rindex = reversed.vertexIndex
+        if rindex eq index then i => reversed.indexedAdjacencies(i).map(_._1)
+        else
+          val toReversed = Array.tabulate(n)(i => rindex.indexOf(index(i)))
+          val fromReversed = Array.tabulate(n)(j => index.indexOf(rindex(j)))
+          i => reversed.indexedAdjacencies(toReversed(i)).map(t => fromReversed(t._1))
+      case _ =>
+        throw GraphException("ParallelBFS: bottom-up step requires in-neighbours")
+
+    val degree: Array[Int] =
+      if reversible then Array.concat(parallel(pool, n)((lo, hi) => Array.range(lo, hi).map(graph.indexedAdjacencies(_).size)) *)
+      else Array.emptyIntArray
+
+    def claim(w: Int, u: Int, level: Int, next: mutable.ArrayBuilder.ofInt): Unit =
+      if !visited.contains(w) && visited.add(w) then
+        parent(w) = u
+        distance(w) = level
+        next += w: Unit
+
+    def topDown(frontier: Array[Int], level: Int): Array[Int] =
+      Array.concat(parallel(pool, frontier.length) { (lo, hi) =>
+        val next = new mutable.ArrayBuilder.ofInt
+        for k <- lo until hi do
+          val u = frontier(k)
+          graph.indexedAdjacencies(u).foreach(t => claim(t._1, u, level, next))
+        next.result()
+      } *)
+
+    def bottomUp(frontier: Array[Int], level: Int): Array[Int] =
+      val in = incoming
+      val current = new BitSet(n)
+      frontier.foreach(current.set(_))
+      Array.concat(parallel(pool, n) { (lo, hi) =>
+        val next = new mutable.ArrayBuilder.ofInt
+        for w <- lo until hi if !visited.contains(w) do
+          in(w).find(current.get(_)).foreach(u => claim(w, u, level, next))
+        next.result()
+      } *)
+
+    visited.add(s): Unit
+    distance(s) = 0
+    var frontier = Array(s)
+    var unexplored = if reversible then degree.foldLeft(0L)(_ + _) - degree(s) else 0L
+    var isTopDown = true
+    var level = 0
+    while frontier.nonEmpty do
+      level += 1
+      if reversible then
+        val edges = frontier.foldLeft(0L)((z, u) => z + degree(u))
+        isTopDown = if isTopDown then edges <= unexplored / alpha else frontier.length < n / beta
+      frontier = if isTopDown then topDown(frontier, level) else bottomUp(frontier, level)
+      if reversible then unexplored -= frontier.foldLeft(0L)((z, u) => z + degree(u))
+    BFSTree(index, distance, parent)
+
+  /**
+   * Splits the range `0 until n` into chunks, applies `f` to the bounds of each chunk, in parallel on `pool`,
+   * and returns the results in order.
+   */
+  private[traverse] def parallel[A](pool: ForkJoinPool, n: Int)(f: (Int, Int) => A): Seq[A] =
+    val chunks = math.max(1, math.min(n, 4 * pool.getParallelism))
+    val tasks = Range(0, chunks).map { c =>
+      new Callable[A]:
+        def call(): A = f((c.toLong * n / chunks).toInt, ((c + 1).toLong * n / chunks).toInt)
+    }
+    pool.invokeAll(tasks.asJava).asScala.map(_.get()).toSeq
+
+  /**
+   * A fixed-size bitset whose bits may be set concurrently.
+   *
+   * @param n the number of bits.
+   */
+  private class AtomicBitSet(n: Int):
+    private val words = new AtomicLongArray((n + 63) >>> 6)
+
+    def contains(i: Int): Boolean = (words.get(i >>> 6) & (1L << i)) != 0
+
+    /**
+     * Sets bit `i`, returning true if it was not already set (by this or any other thread).
+     */
+    def add(i: Int): Boolean =
+      val k = i >>> 6
+      val bit = 1L << i
+
+      @tailrec
+      def loop(): Boolean =
+        val word = words.get(k)
+        if (word & bit) != 0 then false
+        else if words.compareAndSet(k, word, word | bit) then true
+        else loop()
+
+      loop()
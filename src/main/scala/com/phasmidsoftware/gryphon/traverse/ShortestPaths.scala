@@ -1,14 +1,45 @@
 package com.phasmidsoftware.gryphon.traverse
 
-import com.phasmidsoftware.gryphon.adjunct.AttributedDirectedEdge
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, IntDoubleGraph}
 import com.phasmidsoftware.gryphon.core
-import com.phasmidsoftware.gryphon.core.{Edge, Traversable}
+import com.phasmidsoftware.gryphon.core.{Edge, ReversibleTraversable, Traversable}
 import com.phasmidsoftware.visitor.core.Monoid
+import scala.collection.mutable
 import scala.util.Random
 
+/**
+ * A path between two vertices of a weighted directed graph, together with its cost.
+ *
+ * @param source the first vertex of the path.
+ * @param edges  the edges of the path, in order from `source`.
+ * @param cost   the sum of the attributes of `edges`.
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type.
+ */
+case class Path[V, E](source: V, edges: Seq[AttributedDirectedEdge[V, E]], cost: E):
+
+  /**
+   * Returns the vertices of this path, in order, from `source` to `target`.
+   *
+   * @return the vertices of this path.
+   */
+  def vertices: Seq[V] = source +: edges.map(_.black)
+
+  /**
+   * Returns the last vertex of this path.
+   *
+   * @return the target.
+   */
+  def target: V = edges.lastOption.fold(source)(_.black)
+
 /**
  * Computes shortest paths in a weighted directed graph using Dijkstra's algorithm.
- * Delegates to `DijkstraTraversal` from the `GraphTraversal` family.
+ * Delegates to `DijkstraTraversal` from the `GraphTraversal` family,
+ * or to the primitive `IntDoubleTraversal.dijkstra` for a directed `IntDoubleGraph`.
+ * For a single pair of vertices, `path` runs a bidirectional search instead, and `aStar` an A* search;
+ * `nearest` stops as soon as the nearest of a set of vertices is settled (see also `SearchBounds`);
+ * and `voronoi` finds the nearest of a set of sources for every vertex, in a single traversal.
+ * For many point-to-point queries on a static graph, build a `ContractionHierarchy` once, and query that instead.
  */
 object ShortestPaths:
 
@@ -24,7 +55,171 @@ object ShortestPaths:
    *         vertex to its cheapest incoming edge, or None for the start vertex.
    */
   def dijkstra[V, E: {Monoid, Ordering}](traversable: Traversable[V], start: V)(using random: Random = Random()): TraversalResult[V, AttributedDirectedEdge[V, E]] =
-    DijkstraTraversal[V, E]().run(traversable)(start)
+    traversable match
+      case g: IntDoubleGraph if g.directed && IntDoubleTraversal.admits(summon[Monoid[E]], summon[Ordering[E]]) =>
+        // NOTE V is Int and E is Double here, and every edge of a directed IntDoubleGraph is an AttributedDirectedEdge.
+        IntDoubleTraversal.dijkstra(g, start.asInstanceOf[Int]).toTraversalResult.asInstanceOf[TraversalResult[V, AttributedDirectedEdge[V, E]]]
+      case _ =>
+        DijkstraTraversal[V, E]().run(traversable)(start)
+
+  /**
+   * Finds a shortest path from `source` to `target` by bidirectional Dijkstra:
+   * a forward search from `source` (on `graph`) and a backward search from `target` (on `graph.reverse`),
+   * each settling one vertex at a time, whichever has the cheaper frontier.
+   * The cheapest path seen through any vertex reached by both searches is kept, and the search stops
+   * as soon as the sum of the costs of the two frontiers is no less than it (the standard stopping criterion).
+   * Since each search covers (roughly) a ball of half the radius, on a road-like graph far fewer vertices are settled
+   * than by `dijkstra`, which settles every vertex reachable from `source`.
+   *
+   * The working state is kept in hash maps, so that its size is proportional to the number of vertices reached,
+   * not to the size of the graph.
+   * Only `AttributedDirectedEdge`s are followed, as in `dijkstra`, and their attributes must not be negative.
+   *
+   * NOTE: `graph.reverse` is taken once per call; a `DirectedGraph` caches its reverse (see `DirectedGraph.reverse`),
+   * so only the first call on a given graph pays O(N + M) for it (and none does, if the graph maintains its in-edge index).
+   *
+   * @param graph  the weighted directed graph.
+   * @param source the source vertex.
+   * @param target the target vertex.
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type; must be Monoid and Ordering.
+   * @return `Some(path)` for a shortest path from `source` to `target`, or `None` if `target` is unreachable.
+   */
+  def path[V, E: {Monoid, Ordering}](graph: ReversibleTraversable[V, E], source: V, target: V): Option[Path[V, E]] =
+    bidirectional(graph, source, target)._1
+
+  /**
+   * Finds a shortest path from `source` to `target` by A* search (see `AStarTraversal`),
+   * which settles only the vertices whose cost plus estimated cost to `target` is less than the cost of the path.
+   *
+   * @param traversable the weighted directed graph.
+   * @param source      the source vertex.
+   * @param target      the target vertex.
+   * @param heuristic   the (consistent) estimate of the cost of a path to `target`, for example `Heuristic.haversine`.
+   * @param random      controls adjacency ordering.
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type; must be Monoid and Ordering.
+   * @return `Some(path)` for a shortest path from `source` to `target`, or `None` if `target` is unreachable.
+   */
+  def aStar[V, E: {Monoid, Ordering}](traversable: Traversable[V], source: V, target: V)(using heuristic: Heuristic[V, E], random: Random = Random()): Option[Path[V, E]] =
+    pathTo(AStarTraversal[V, E](target).run(traversable)(source), source, target)
+
+  /**
+   * Finds a shortest path from `source` to the nearest of `targets` (for example, the nearest facility),
+   * by a Dijkstra search which stops as soon as any of `targets` is settled (see `SearchBounds.anyOf`).
+   *
+   * @param traversable the weighted directed graph.
+   * @param source      the source vertex.
+   * @param targets     the candidate targets.
+   * @param random      controls adjacency ordering.
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type; must be Monoid and Ordering.
+   * @return `Some(path)` for a shortest path from `source` to the nearest of `targets`, or `None` if none is reachable.
+   */
+  def nearest[V, E: {Monoid, Ordering}](traversable: Traversable[V], source: V, targets: Set[V])(using random: Random = Random()): Option[Path[V, E]] =
+    if targets.contains(source) then Some(Path(source, Nil, summon[Monoid[E]].identity))
+    else
+      val tree = DijkstraTraversal[V, E](SearchBounds.anyOf(targets)).run(traversable)(source)
+      targets.find(tree.keySet.contains).flatMap(pathTo(tree, source, _))
+
+  /**
+   * Partitions the vertices reachable from any of `sources` by their nearest source,
+   * with a single multi-source Dijkstra traversal (see `DijkstraTraversal.voronoi`).
+   *
+   * @param traversable the weighted directed graph.
+   * @param sources     the sources (for example, depots).
+   * @tparam V the vertex type.
+   * @tparam E the edge-weight type; must be Monoid and Ordering.
+   * @return a `VoronoiPartition[V, E]`.
+   */
+  def voronoi[V, E: {Monoid, Ordering}](traversable: Traversable[V], sources: Seq[V]): VoronoiPartition[V, E] =
+    DijkstraTraversal[V, E]().voronoi(traversable)(sources)
+
+  /**
+   * Extracts the path from `source` to `target` from a shortest-path tree, which maps each vertex to its incoming edge.
+   */
+  private def pathTo[V, E: Monoid](tree: TraversalResult[V, AttributedDirectedEdge[V, E]], source: V, target: V): Option[Path[V, E]] =
+    val edges = Iterator.unfold(target)(v => if v == source then None else tree.vertexTraverse(v).map(e => e -> e.white)).toList.reverse
+    Option.when(source == target || edges.headOption.exists(_.white == source))(Path(source, edges, edges.map(_.attribute).foldLeft(summon[Monoid[E]].identity)(summon[Monoid[E]].combine)))
+
+  /**
+   * Runs the bidirectional search of `path`, returning also the number of vertices settled (by both searches).
+   */
+  private[traverse] def bidirectional[V, E: {Monoid, Ordering}](graph: ReversibleTraversable[V, E], source: V, target: V): (Option[Path[V, E]], Int) =
+    val zero = summon[Monoid[E]].identity
+    if source == target then Some(Path(source, Nil, zero)) -> 0
+    else
+      val forward = Frontier[V, E](graph, source)
+      val backward = Frontier[V, E](graph.reverse, target)
+      val ordering = summon[Ordering[E]]
+      var best: Option[(E, V)] = None
+
+      // NOTE the search stops when either frontier is exhausted, or when the frontiers together cost no less than the best path.
+      def finished: Boolean = (forward.peek, backward.peek) match
+        case (Some(f), Some(b)) => best.exists(x => ordering.gteq(summon[Monoid[E]].combine(f, b), x._1))
+        case _ => true
+
+      while !finished do
+        val (near, far) = if ordering.lteq(forward.peek.get, backward.peek.get) then (forward, backward) else (backward, forward)
+        near.settle { (w, c) =>
+          for d <- far.cost.get(w) do
+            val total = summon[Monoid[E]].combine(c, d)
+            if best.forall(x => ordering.lt(total, x._1)) then best = Some(total -> w)
+        }
+
+      val result = best.map { (cost, meeting) =>
+        // NOTE the backward search follows reversed edges, so each of its edges is reversed again.
+        Path(source, forward.edgesTo(meeting).reverse ++ backward.edgesTo(meeting).map(_.reversed), cost)
+      }
+      result -> (forward.settled + backward.settled)
+
+  /**
+   * The state of one direction of a bidirectional Dijkstra search.
+   *
+   * @param graph the graph searched.
+   * @param start the vertex from which it is searched.
+   */
+  private class Frontier[V, E: {Monoid, Ordering}](graph: Traversable[V], start: V):
+    val cost: mutable.HashMap[V, E] = mutable.HashMap(start -> summon[Monoid[E]].identity)
+    private val pred = mutable.HashMap.empty[V, AttributedDirectedEdge[V, E]]
+    private val done = mutable.HashSet.empty[V]
+    private val queue = mutable.PriorityQueue(summon[Monoid[E]].identity -> start)(using Ordering.by[(E, V), E](_._1).reverse)
+
+    /**
+     * Returns the number of vertices settled.
+     */
+    def settled: Int = done.size
+
+    /**
+     * Returns the cost of the cheapest unsettled vertex, discarding stale entries of the queue.
+     */
+    def peek: Option[E] =
+      while queue.nonEmpty && done.contains(queue.head._2) do queue.dequeue(): Unit
+      queue.headOption.map(_._1)
+
+    /**
+     * Settles the cheapest unsettled vertex (which must exist) and relaxes its edges,
+     * calling `reached` with each neighbour whose cost is lowered, and its new cost.
+     */
+    def settle(reached: (V, E) => Unit): Unit =
+      val (c, u) = queue.dequeue()
+      done += u: Unit
+      for
+        e <- graph.filteredAdjacencies(_ => true)(u).flatMap(_.maybeEdge[E]).collect { case e: AttributedDirectedEdge[V, E] @unchecked => e }
+        w = e.black if !done.contains(w)
+      do
+        val d = summon[Monoid[E]].combine(c, e.attribute)
+        if cost.get(w).forall(summon[Ordering[E]].lt(d, _)) then
+          cost(w) = d
+          pred(w) = e
+          queue.enqueue(d -> w)
+          reached(w, d)
+
+    /**
+     * Returns the edges of the search tree from `v` back to `start`, nearest to `v` first.
+     */
+    def edgesTo(v: V): List[AttributedDirectedEdge[V, E]] =
+      Iterator.unfold(v)(x => pred.get(x).map(e => e -> e.white)).toList
 
   /**
    * Returns the directed edges reachable from v.
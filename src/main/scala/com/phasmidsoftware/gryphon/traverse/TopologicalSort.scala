@@ -1,7 +1,9 @@
 package com.phasmidsoftware.gryphon.traverse
 
 import com.phasmidsoftware.gryphon.adjunct.DirectedGraph
+import com.phasmidsoftware.gryphon.core.VisitedBitSet
 import com.phasmidsoftware.visitor.core.{*, given}
+import scala.util.Random
 
 /**
  * Represents a "topological sort" of a directed acyclic graph, mapping each vertex to its
@@ -51,26 +53,16 @@ object TopologicalSort:
     given Evaluable[V, V] with
       def evaluate(v: V): Option[V] = Some(v)
 
-    given GraphNeighbours[V] = (v: V) => graph.adjacentVertices(v)
-
     // Run post-order DFS over all vertices, seeding each unvisited component in turn.
-    // We manage the visited set explicitly so components share it across iterations.
+    // The visited vertices are shared across seeds in a VisitedBitSet (see VisitedBitSet.neighbours).
     type J = ListJournal[(V, Option[V])]
-    import scala.annotation.tailrec
-    val allVertices = graph.vertexMap.keySet
+    val visited = VisitedBitSet(graph.vertexIndex)
 
-    @tailrec
-    def loop(vis: Visitor[V, V, J], visited: Set[V]): Visitor[V, V, J] =
-      val unvisited = allVertices.diff(visited)
-      if unvisited.isEmpty then vis
-      else
-        val next = unvisited.head
-        val vs: VisitedSet[V] = visited.foldLeft(summon[VisitedSet[V]])(_.markVisited(_))
-        val result = Traversal.dfs(next, vis, DfsOrder.Post)(using summon[GraphNeighbours[V]], summon[Evaluable[V, V]], vs, summon[Tracer[V]])
-        val nowVisited = visited ++ result.result.map(_._1)
-        loop(result, nowVisited + next)
+    given GraphNeighbours[V] = visited.neighbours(graph)(using Random())
 
-    val finalVisitor = loop(JournaledVisitor.withListJournal[V, V], Set.empty)
+    val finalVisitor = visited.seeds.foldLeft[Visitor[V, V, J]](JournaledVisitor.withListJournal[V, V]) { (vis, seed) =>
+      Traversal.dfs(seed, vis, DfsOrder.Post)(using summon[GraphNeighbours[V]], summon[Evaluable[V, V]], summon[VisitedSet[V]], summon[Tracer[V]])
+    }
     // ListJournal prepends, so head = last recorded = root in post-order = topological order
     val orderedVertices: List[V] = finalVisitor.result.map(_._1).toList
     Option.when(acyclic(graph, orderedVertices))(orderedVertices)
@@ -96,14 +88,12 @@ object TopologicalSort:
    *
    * For every directed edge (white → black), white must appear no later than black
    * in the topological order. If this holds for all edges the graph is acyclic.
+   * The position of each vertex is looked up in a map, so this is O(V + E).
    *
    * @param graph           the directed graph to check.
    * @param topologicalSort the proposed vertex ordering.
    * @return `true` if acyclic, `false` if cyclic.
    */
   private def acyclic[V, E](graph: DirectedGraph[V, E], topologicalSort: List[V]): Boolean =
-    graph.edges.forall { edge =>
-      val pos1 = topologicalSort.indexOf(edge.white)
-      val pos2 = topologicalSort.indexOf(edge.black)
-      pos1 <= pos2
-    }
\ No newline at end of file
+    val position: Map[V, Int] = topologicalSort.iterator.zipWithIndex.toMap
+    graph.edges.forall(edge => position(edge.white) <= position(edge.black))
\ No newline at end of file
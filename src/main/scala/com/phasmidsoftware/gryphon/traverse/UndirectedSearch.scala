@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.core.{Traversable, VertexIndex}
+import java.util.BitSet
+import scala.collection.mutable
+
+/**
+ * A 2-coloring of the vertices of a (bipartite) graph: every edge connects vertices of different colors.
+ *
+ * @param index  the numbering of the vertices.
+ * @param colors the set of ids of the vertices whose color is `true`.
+ * @tparam V the type of the vertices.
+ */
+case class TwoColoring[V](index: VertexIndex[V], colors: BitSet):
+
+  /**
+   * Returns the color of `v`.
+   *
+   * @param v the vertex.
+   * @return its color: `true` or `false`.
+   */
+  def apply(v: V): Boolean = colors.get(index.indexOf(v))
+
+  /**
+   * Returns the vertices of the given color, in order of id.
+   *
+   * @param color the color.
+   * @return the vertices whose color is `color`.
+   */
+  def part(color: Boolean): Seq[V] =
+    Range(0, index.size).filter(colors.get(_) == color).map(index(_))
+
+/**
+ * Explicit-stack searches of the undirected structure of a graph, which detect cycles and odd cycles
+ * and return a witness of each.
+ *
+ * Unlike a recursive DFS, whose depth is bounded by the JVM stack (a path of some thousands of vertices is enough to overflow it),
+ * these searches keep their state in arrays indexed by vertex id (see `VertexIndex`):
+ * a color (one byte), a parent (one int) and one slot of the stack (one int) per vertex, however deep the search.
+ * Each vertex is colored when it is discovered and pushed only once, so a search of every component is O(V + E).
+ * The witness is recovered from the parent array only when it is found, by walking up the search tree from both ends
+ * of the offending edge.
+ */
+object UndirectedSearch:
+
+  /**
+   * Finds a cycle of the undirected graph `graph`, if it has one.
+   * Each undirected edge must be represented by an adjacency at each of its ends (as in `UndirectedGraph` and `CsrGraph`).
+   * A self-loop is a cycle of one vertex, and a pair of parallel edges is a cycle of two.
+   *
+   * @param graph the graph.
+   * @tparam V the type of the vertices.
+   * @return `Some(cycle)`, where the vertices of `cycle` are in order around it (the last is adjacent to the first),
+   *         or `None` if `graph` is a forest.
+   */
+  def cycle[V](graph: Traversable[V]): Option[Seq[V]] =
+    val index = graph.vertexIndex
+    val search = Search(index.size, i => graph.indexedAdjacencies(i).map(_._1))
+    search.run(skipParent = true)((_, _) => true).map((u, w) => search.path(u, w).map(index(_)))
+
+  /**
+   * Attempts to 2-color the undirected graph `graph`.
+   *
+   * @param graph the graph.
+   * @tparam V the type of the vertices.
+   * @return `Right(coloring)` if `graph` is bipartite; otherwise `Left(cycle)`, where `cycle` is an odd cycle (in order around it).
+   */
+  def twoColoring[V](graph: Traversable[V]): Either[Seq[V], TwoColoring[V]] =
+    val index = graph.vertexIndex
+    twoColoringBy(index)(i => graph.indexedAdjacencies(i).map(_._1))
+
+  /**
+   * Attempts to 2-color the graph whose vertices are numbered by `index` and whose (undirected) neighbours are given by `neighbours`.
+   * For example, the undirected structure of a directed graph yields, for each vertex, its successors and its predecessors.
+   *
+   * @param index      the numbering of the vertices.
+   * @param neighbours for each vertex id, the ids of its neighbours.
+   * @tparam V the type of the vertices.
+   * @return `Right(coloring)` if the graph is bipartite; otherwise `Left(cycle)`, where `cycle` is an odd cycle (in order around it).
+   */
+  def twoColoringBy[V](index: VertexIndex[V])(neighbours: Int => Iterator[Int]): Either[Seq[V], TwoColoring[V]] =
+    val search = Search(index.size, neighbours)
+    search.run(skipParent = false)((u, w) => search.color(u) == search.color(w)) match
+      case Some((u, w)) =>
+        Left(search.path(u, w).map(index(_)))
+      case None =>
+        val colors = new BitSet(index.size)
+        for i <- 0 until index.size if search.color(i) == 2 do colors.set(i)
+        Right(TwoColoring(index, colors))
+
+  /**
+   * The working state of a search of `n` vertices.
+   *
+   * @param n          the number of vertices.
+   * @param neighbours for each vertex id, the ids of its neighbours.
+   */
+  private class Search(n: Int, neighbours: Int => Iterator[Int]):
+    // NOTE 0 means undiscovered; otherwise 1 or 2, alternating along each edge of the search tree.
+    val color: Array[Byte] = new Array[Byte](n)
+    private val parent: Array[Int] = Array.fill(n)(-1)
+    private val stack: Array[Int] = new Array[Int](n)
+
+    /**
+     * Searches each component in turn until an edge (u, w) such that `conflict(u, w)` is found,
+     * where u is being expanded and w has already been discovered.
+     * If `skipParent` is true, the edge by which u was discovered is not considered (once).
+     *
+     * @return the first such edge, if any.
+     */
+    def run(skipParent: Boolean)(conflict: (Int, Int) => Boolean): Option[(Int, Int)] =
+      var result: Option[(Int, Int)] = None
+      var seed = 0
+      while result.isEmpty && seed < n do
+        if color(seed) == 0 then result = component(seed, skipParent, conflict)
+        seed += 1
+      result
+
+    private def component(seed: Int, skipParent: Boolean, conflict: (Int, Int) => Boolean): Option[(Int, Int)] =
+      var result: Option[(Int, Int)] = None
+      color(seed) = 1
+      stack(0) = seed
+      var top = 1
+      while result.isEmpty && top > 0 do
+        top -= 1
+        val u = stack(top)
+        var skip = skipParent && parent(u) >= 0
+        val ws = neighbours(u)
+        while result.isEmpty && ws.hasNext do
+          val w = ws.next()
+          if color(w) == 0 then
+            color(w) = (3 - color(u)).toByte
+            parent(w) = u
+            stack(top) = w
+            top += 1
+          else if skip && w == parent(u) then skip = false
+          else if conflict(u, w) then result = Some(u -> w)
+      result
+
+    /**
+     * Returns the cycle formed by the edge (u, w) and the paths of the search tree from u and w to their lowest common ancestor.
+     *
+     * @return the ids of the cycle, from u to w.
+     */
+    def path(u: Int, w: Int): Seq[Int] =
+      val ancestors = mutable.HashSet.from(Iterator.iterate(u)(parent(_)).takeWhile(_ >= 0))
+      val fromW = Iterator.iterate(w)(parent(_)).takeWhile(!ancestors.contains(_)).toList
+      val lca = if fromW.isEmpty then w else parent(fromW.last)
+      val fromU = Iterator.iterate(u)(parent(_)).takeWhile(_ != lca).toList :+ lca
+      fromU ++ fromW.reverse
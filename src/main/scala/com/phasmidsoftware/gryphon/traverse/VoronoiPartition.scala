@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.AttributedDirectedEdge
+
+/**
+ * The result of a multi-source Dijkstra traversal (see `DijkstraTraversal.voronoi`):
+ * for each vertex reached, the source nearest to it, its distance from that source, and its incoming edge on a shortest path.
+ * The cells of the sources partition the vertices reached (the network Voronoi partition).
+ *
+ * @param tables the working tables of the traversal.
+ * @tparam V the vertex type.
+ * @tparam E the edge-weight type.
+ */
+case class VoronoiPartition[V, E](tables: WeightedSearch[V, E, AttributedDirectedEdge[V, E]]):
+
+  private val settled: Set[Int] = tables.settled.toSet
+
+  /**
+   * Returns the source nearest to `v`.
+   *
+   * @param v the vertex.
+   * @return `Some(source)` if `v` was reached from any source, otherwise `None`.
+   */
+  def owner(v: V): Option[V] =
+    id(v).map(i => tables.index(tables.owner(i)))
+
+  /**
+   * Returns the distance of `v` from its nearest source.
+   *
+   * @param v the vertex.
+   * @return `Some(distance)` if `v` was reached, otherwise `None`.
+   */
+  def distance(v: V): Option[E] =
+    id(v).flatMap(tables.bestCost(_))
+
+  /**
+   * Returns the incoming edge of `v` on a shortest path from its nearest source.
+   *
+   * @param v the vertex.
+   * @return `Some(edge)` if `v` was reached and is not a source, otherwise `None`.
+   */
+  def edgeTo(v: V): Option[AttributedDirectedEdge[V, E]] =
+    id(v).flatMap(tables.pred(_))
+
+  /**
+   * Returns the cell of each source: the vertices (including the source itself) to which it is nearest.
+   *
+   * @return a map from each source to its cell.
+   */
+  def cells: Map[V, Seq[V]] =
+    tables.settled.groupBy(tables.owner(_)).map((s, is) => tables.index(s) -> is.map(tables.index(_)))
+
+  /**
+   * Converts this partition into a `VertexTraversalResult` which maps each vertex reached to its nearest source.
+   *
+   * @return a `VertexTraversalResult[V, V]`.
+   */
+  def toTraversalResult: VertexTraversalResult[V, V] =
+    VertexTraversalResult(tables.settled.map(i => tables.index(i) -> tables.index(tables.owner(i))).toMap)
+
+  private def id(v: V): Option[Int] =
+    tables.index.get(v).filter(settled.contains)
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.util
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+/**
+ * Type class which defines how values of type `T` are written to, and read from, a binary file
+ * such as the one used by `MappedGraph`.
+ *
+ * Values are read in place from a `ByteBuffer` (typically a `MappedByteBuffer`) using absolute
+ * positions only, so that a single buffer may be read by many threads.
+ *
+ * @tparam T the type of the values.
+ */
+trait BinaryCodec[T]:
+
+  /**
+   * The number of bytes taken by every value, or -1 if values have variable length.
+   */
+  def width: Int
+
+  /**
+   * Encodes `t` as bytes.
+   *
+   * @param t the value.
+   * @return its encoding (of length `width` if `width` is not -1).
+   */
+  def encode(t: T): Array[Byte]
+
+  /**
+   * Decodes a value from `buffer`.
+   *
+   * @param buffer   the buffer.
+   * @param position the absolute position of the first byte.
+   * @param length   the number of bytes in the encoding.
+   * @return the value.
+   */
+  def decode(buffer: ByteBuffer, position: Int, length: Int): T
+
+/**
+ * Companion object for `BinaryCodec`, with instances for the common vertex and attribute types.
+ */
+object BinaryCodec:
+
+  given BinaryCodec[Int] with
+    val width: Int = 4
+
+    def encode(t: Int): Array[Byte] = ByteBuffer.allocate(width).putInt(t).array()
+
+    def decode(buffer: ByteBuffer, position: Int, length: Int): Int = buffer.getInt(position)
+
+  given BinaryCodec[Long] with
+    val width: Int = 8
+
+    def encode(t: Long): Array[Byte] = ByteBuffer.allocate(width).putLong(t).array()
+
+    def decode(buffer: ByteBuffer, position: Int, length: Int): Long = buffer.getLong(position)
+
+  given BinaryCodec[Double] with
+    val width: Int = 8
+
+    def encode(t: Double): Array[Byte] = ByteBuffer.allocate(width).putDouble(t).array()
+
+    def decode(buffer: ByteBuffer, position: Int, length: Int): Double = buffer.getDouble(position)
+
+  given BinaryCodec[Unit] with
+    val width: Int = 0
+
+    def encode(t: Unit): Array[Byte] = Array.emptyByteArray
+
+    def decode(buffer: ByteBuffer, position: Int, length: Int): Unit = ()
+
+  given BinaryCodec[String] with
+    val width: Int = -1
+
+    def encode(t: String): Array[Byte] = t.getBytes(StandardCharsets.UTF_8)
+
+    def decode(buffer: ByteBuffer, position: Int, length: Int): String =
+      val bytes = new Array[Byte](length)
+      buffer.get(position, bytes)
+      String(bytes, StandardCharsets.UTF_8)
@@ -1,13 +1,15 @@
 package com.phasmidsoftware.gryphon.util
 
-import scala.collection.mutable
 import scala.util.Random
 
 /**
  * A class providing an iterator that iterates through elements of a collection in a random order.
  *
- * This iterator removes elements from the underlying collection as it iterates over them.
- * The randomness in the iteration order is determined by the implicit `Random` instance provided.
+ * Each call of `next` chooses one of the remaining elements (by its position among them) using
+ * `random.nextInt(remaining)`, so the order is determined entirely by the implicit `Random` instance provided.
+ * The remaining elements are tracked by a Fenwick (binary indexed) tree of counts rather than by removing
+ * them from a list, so iterating over `d` elements costs O(d log d) rather than O(d²),
+ * and the only allocations are one copy of the elements and one array of counts.
  *
  * @tparam T the type of elements contained in the iterator.
  * @param iterable the collection of elements to be iterated in random order.
@@ -21,23 +23,56 @@ case class RandomIterator[T](private val iterable: Iterable[T])(implicit random:
    * @return true if there are more elements to iterate through, false otherwise.
    */
   def hasNext: Boolean =
-    list.nonEmpty
+    remaining > 0
 
   /**
-   * Returns the next randomly selected element from the underlying collection and removes it.
+   * Returns the next randomly selected element from the remaining elements.
    *
    * The element is chosen randomly using the provided implicit `Random` instance.
    *
    * @return the next randomly selected element of type `T`.
-   * @throws NoSuchElementException if the collection is empty.
+   * @throws NoSuchElementException if there are no remaining elements.
    */
   def next(): T =
-    list.remove(random.nextInt(list.size))
+    if remaining == 0 then throw NoSuchElementException("RandomIterator: no more elements")
+    val i = select(random.nextInt(remaining))
+    remove(i)
+    elements(i)
 
   random.nextLong(): Unit // XXX burn the first value
 
-  private val list: mutable.ListBuffer[T] =
-    mutable.ListBuffer(iterable.toSeq *)
+  private val elements: IndexedSeq[T] = iterable.toIndexedSeq
+  private val n: Int = elements.size
+  private var remaining: Int = n
+
+  // NOTE counts(j) (1-based) is the number of remaining elements at positions j - (j & -j) until j.
+  private val counts: Array[Int] = new Array[Int](n + 1)
+  for j <- 1 to n do
+    counts(j) += 1
+    val parent = j + (j & -j)
+    if parent <= n then counts(parent) += counts(j)
+
+  /**
+   * Returns the position (in `elements`) of the `k`th remaining element (counting from zero).
+   */
+  private def select(k: Int): Int =
+    var position = 0
+    var rank = k + 1
+    var step = Integer.highestOneBit(n)
+    while step > 0 do
+      val next = position + step
+      if next <= n && counts(next) < rank then
+        position = next
+        rank -= counts(next)
+      step >>= 1
+    position
+
+  private def remove(i: Int): Unit =
+    var j = i + 1
+    while j <= n do
+      counts(j) -= 1
+      j += j & -j
+    remaining -= 1
 }
 
 /**
@@ -15,7 +15,7 @@ import scala.util.{Failure, Success, Try}
 
 /**
  * Tests for isBipartite and isConnected on UndirectedGraph,
- * and UnsupportedOperationException on DirectedGraph.
+ * isBipartite on DirectedGraph, and UnsupportedOperationException for DirectedGraph.isConnected.
  */
 class BipartiteAndConnectedSpec extends AnyFlatSpec with should.Matchers:
 
@@ -225,16 +225,45 @@ class BipartiteAndConnectedSpec extends AnyFlatSpec with should.Matchers:
       case other => fail(s"unexpected: $other")
 
   // -------------------------------------------------------------------------
-  // isBipartite — DirectedGraph throws
+  // isBipartite — DirectedGraph (underlying undirected graph)
   // -------------------------------------------------------------------------
 
   behavior of "DirectedGraph.isBipartite"
 
-  it should "throw UnsupportedOperationException" in :
+  it should "return true for a single edge 0->1" in :
     val triplets: Seq[Triplet[Int, Unit, EdgeType]] = Seq(
       Triplet(0, 1, None, Directed)
     )
     DirectedGraph.triplesToTryGraph[Int, Unit](Vertex.createWithSet)(triplets) match
       case Success(g: DirectedGraph[Int, Unit] @unchecked) =>
-        an[UnsupportedOperationException] should be thrownBy g.isBipartite
-      case other => fail(s"unexpected: $other")
\ No newline at end of file
+        g.isBipartite shouldBe true
+      case other => fail(s"unexpected: $other")
+
+  it should "return false for a triangle whose edges do not form a directed cycle" in :
+    val triplets: Seq[Triplet[Int, Unit, EdgeType]] = Seq(
+      Triplet(0, 1, None, Directed),
+      Triplet(1, 2, None, Directed),
+      Triplet(0, 2, None, Directed)
+    )
+    DirectedGraph.triplesToTryGraph[Int, Unit](Vertex.createWithSet)(triplets) match
+      case Success(g: DirectedGraph[Int, Unit] @unchecked) =>
+        g.isBipartite shouldBe false
+        g.twoColoring.left.map(_.toSet) shouldBe Left(Set(0, 1, 2))
+      case other => fail(s"unexpected: $other")
+
+  it should "2-color a square whose edges converge on two vertices" in :
+    val triplets: Seq[Triplet[Int, Unit, EdgeType]] = Seq(
+      Triplet(0, 1, None, Directed),
+      Triplet(2, 1, None, Directed),
+      Triplet(0, 3, None, Directed),
+      Triplet(2, 3, None, Directed)
+    )
+    DirectedGraph.triplesToTryGraph[Int, Unit](Vertex.createWithSet)(triplets) match
+      case Success(g: DirectedGraph[Int, Unit] @unchecked) =>
+        g.twoColoring match
+          case Right(coloring) =>
+            coloring(0) shouldBe coloring(2)
+            coloring(1) shouldBe coloring(3)
+            coloring(0) should not be coloring(1)
+          case Left(cycle) => fail(s"unexpected odd cycle: $cycle")
+      case other => fail(s"unexpected: $other")
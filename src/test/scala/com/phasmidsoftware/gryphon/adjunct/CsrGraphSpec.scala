@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.adjunct
+
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.core.{Adjacency, AdjacencyEdge, Edge, VertexOrdering}
+import com.phasmidsoftware.gryphon.traverse.*
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.{Evaluable, JournaledVisitor, given_Monoid_Double}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for CsrGraph — the frozen, array-backed graph produced by `freeze`.
+ *
+ * Each algorithm is run on both the original graph and its frozen form, and the results compared.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * prim.graph (Sedgewick tinyEWG) — 8 vertices, 16 undirected weighted edges; MST weight 1.81.
+ * directed.graph — 7 vertices, 12 directed edges; SCCs {0, 2, 5, 6}, {1}, {3}, {4}.
+ */
+class CsrGraphSpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  private lazy val primGraph: UndirectedGraph[Int, Double] =
+    GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+
+  private lazy val directedGraph: DirectedGraph[Int, Unit] =
+    GraphBuilder.directed[Int, Unit].fromResource("directed.graph").get
+
+  behavior of "CsrGraph — structure"
+
+  it should "preserve N, M and keySet of a directed graph" in :
+    val frozen = dijkstraGraph.freeze
+    frozen.directed shouldBe true
+    frozen.N shouldBe dijkstraGraph.N
+    frozen.M shouldBe dijkstraGraph.M
+    frozen.keySet shouldBe dijkstraGraph.keySet
+
+  it should "preserve N, M and keySet of an undirected graph" in :
+    val frozen = primGraph.freeze
+    frozen.directed shouldBe false
+    frozen.N shouldBe 8
+    frozen.M shouldBe 16
+    frozen.keySet shouldBe primGraph.keySet
+
+  it should "preserve the edges of a directed graph" in :
+    dijkstraGraph.freeze.edges.toSet shouldBe dijkstraGraph.edges.toSet
+
+  it should "preserve the edges of an undirected graph" in :
+    primGraph.freeze.edges.toSet shouldBe primGraph.edges.toSet
+
+  it should "refuse an edge-BFS, which it does not yet implement" in :
+    given Evaluable[Edge[Int, Double], Edge[Int, Double]] with
+      def evaluate(e: Edge[Int, Double]): Option[Edge[Int, Double]] = Some(e)
+    val visitor = JournaledVisitor.withQueueJournal[Edge[Int, Double], Edge[Int, Double]]
+    an[UnsupportedOperationException] should be thrownBy dijkstraGraph.freeze.bfse(visitor)(0)(_ => false)
+
+  it should "preserve the adjacent vertices of every vertex" in :
+    val frozen = primGraph.freeze
+    for v <- primGraph.keySet do
+      frozen.adjacentVertices(v).toList.sorted shouldBe primGraph.adjacentVertices(v).toList.sorted
+      frozen.degree(v) shouldBe primGraph.degree(v)
+
+  it should "flip exactly one of the two adjacencies of each undirected edge" in :
+    val adjacencies: Seq[Adjacency[Int]] = primGraph.keySet.toSeq.flatMap(primGraph.freeze.filteredAdjacencies(_ => true))
+    adjacencies.size shouldBe 32
+    adjacencies.count { case AdjacencyEdge(_, flipped) => flipped; case _ => false } shouldBe 16
+
+  it should "materialise a vertex with all its adjacencies" in :
+    val frozen = dijkstraGraph.freeze
+    frozen.get(0).map(_.adjacencies.size) shouldBe dijkstraGraph.get(0).map(_.adjacencies.size)
+    frozen.get(99) shouldBe None
+
+  it should "throw a GraphException for an unknown vertex" in :
+    a[GraphException] should be thrownBy dijkstraGraph.freeze.adjacentVertices(99)
+
+  it should "reverse a directed graph" in :
+    val reversed = dijkstraGraph.freeze.reverse
+    reversed.edges.toSet shouldBe dijkstraGraph.reverse.edges.toSet
+
+  it should "be its own reverse when undirected" in :
+    val frozen = primGraph.freeze
+    frozen.reverse shouldBe theSameInstanceAs(frozen)
+
+  behavior of "CsrGraph — algorithms"
+
+  it should "give the same shortest paths (Dijkstra) as the original graph" in :
+    val expected = ShortestPaths.dijkstra[Int, Double](dijkstraGraph, 0)
+    val actual = ShortestPaths.dijkstra[Int, Double](dijkstraGraph.freeze, 0)
+    actual.keySet shouldBe expected.keySet
+    for v <- expected.keySet do
+      actual.vertexTraverse(v) shouldBe expected.vertexTraverse(v)
+
+  it should "give the same shortest paths (Bellman-Ford) as the original graph" in :
+    val expected = BellmanFord.shortestPaths(dijkstraGraph, 0)
+    val actual = BellmanFord.shortestPaths(dijkstraGraph.freeze, 0)
+    actual.map(_.keySet) shouldBe expected.map(_.keySet)
+    for v <- expected.get.keySet do
+      actual.get.vertexTraverse(v) shouldBe expected.get.vertexTraverse(v)
+
+  it should "give an MST (Prim) of the same weight as the original graph" in :
+    val mst = MST.prim[Int, Double](primGraph.freeze, 0)
+    mst.size shouldBe 7
+    mst.keySet.toSeq.flatMap(mst.vertexTraverse).map(_.attribute).sum shouldBe 1.81 +- 0.001
+
+  it should "give the same MST (Boruvka) as the original graph" in :
+    Boruvka.mst(primGraph.freeze).toSet shouldBe Boruvka.mst(primGraph).toSet
+
+  it should "give the same strongly connected components (Kosaraju) as the original graph" in :
+    val result = Kosaraju.stronglyConnectedComponents[Int, Unit](directedGraph.freeze)
+    result.values.toSet.size shouldBe 4
+    result(0) shouldBe result(2)
+    result(0) shouldBe result(5)
+    result(0) shouldBe result(6)
+    Set(result(1), result(3), result(4), result(0)).size shouldBe 4
+
+  it should "give the same connected components as the original graph" in :
+    val (_, expected) = ConnectedComponents.components[Int, Double](primGraph)
+    val (_, actual) = ConnectedComponents.components[Int, Double](primGraph.freeze)
+    actual.values.toSet.size shouldBe expected.values.toSet.size
+    actual.keySet shouldBe expected.keySet
+
+  behavior of "CsrGraph — reorder"
+
+  private val orderings = Seq(VertexOrdering.Natural, VertexOrdering.Degree, VertexOrdering.BreadthFirst, VertexOrdering.ReverseCuthillMcKee)
+
+  it should "preserve the vertices and edges" in :
+    for ordering <- orderings do
+      val reordered = dijkstraGraph.reorder(ordering)
+      reordered.keySet shouldBe dijkstraGraph.keySet
+      reordered.edges.toSet shouldBe dijkstraGraph.edges.toSet
+      primGraph.reorder(ordering).edges.toSet shouldBe primGraph.edges.toSet
+
+  it should "renumber the vertices in the given order" in :
+    val frozen = primGraph.freeze
+    val reordered = frozen.reorder(VertexOrdering.Degree)
+    reordered.vertexIndex.keys shouldBe VertexOrdering.Degree.order(frozen).toSeq.map(frozen.vertexIndex(_))
+    val degrees = reordered.vertexIndex.keys.map(reordered.degree)
+    degrees shouldBe degrees.sorted.reverse
+
+  it should "lay out the slots of each vertex in increasing order of target id" in :
+    val reordered = dijkstraGraph.reorder(VertexOrdering.ReverseCuthillMcKee)
+    for i <- 0 until reordered.N do
+      val targets = reordered.indexedAdjacencies(i).map(_._1).toSeq
+      targets shouldBe targets.sorted
+
+  it should "give the same shortest paths (Dijkstra) as the original graph" in :
+    val expected = ShortestPaths.dijkstra[Int, Double](dijkstraGraph, 0)
+    for ordering <- orderings do
+      val actual = ShortestPaths.dijkstra[Int, Double](dijkstraGraph.reorder(ordering), 0)
+      actual.keySet shouldBe expected.keySet
+      for v <- expected.keySet do
+        actual.vertexTraverse(v) shouldBe expected.vertexTraverse(v)
+
+  it should "give the same breadth-first reachability as the original graph" in :
+    val expected = BFSTraversal[Int]().run(dijkstraGraph)(3)
+    for ordering <- orderings do
+      BFSTraversal[Int]().run(dijkstraGraph.reorder(ordering))(3).keySet shouldBe expected.keySet
+
+  it should "give an MST (Prim) of the same weight as the original graph" in :
+    for ordering <- orderings do
+      val mst = MST.prim[Int, Double](primGraph.reorder(ordering), 0)
+      mst.keySet.toSeq.flatMap(mst.vertexTraverse).map(_.attribute).sum shouldBe 1.81 +- 0.001
@@ -242,4 +242,79 @@ class DirectedGraphReverseSpec extends AnyFlatSpec with should.Matchers:
 
         r.adjacentVertices(99).toSet shouldBe Set.empty[Int]
       case other => fail(s"unexpected: $other")
-  }
\ No newline at end of file
+  }
+  // -------------------------------------------------------------------------
+  // In-edge index
+  // -------------------------------------------------------------------------
+
+  behavior of "DirectedGraph.reverse — in-edge index"
+
+  it should "share its adjacencies with the original when reversed twice" in {
+    val (original, reversed) = loadDagGraphs
+    reversed.vertexMap.hasInEdges shouldBe true
+    reversed.reverse.vertexMap.map shouldBe theSameInstanceAs(original.vertexMap.map)
+    reversed.reverse.reverse.vertexMap.map shouldBe theSameInstanceAs(reversed.vertexMap.map)
+  }
+
+  it should "preserve the degree statistics (transposed)" in {
+    val (original, reversed) = loadDagGraphs
+    for v <- original.keySet do
+      reversed.outDegree(v) shouldBe original.inDegree(v)
+      reversed.inDegree(v) shouldBe original.outDegree(v)
+  }
+
+  it should "answer inNeighbours with or without the index" in {
+    val (original, _) = loadDagGraphs
+    val indexed = original.withInEdges
+    original.vertexMap.hasInEdges shouldBe false
+    indexed.vertexMap.hasInEdges shouldBe true
+    original.inNeighbours(4).toSet shouldBe Set(3, 6, 1)
+    indexed.inNeighbours(4).toSet shouldBe Set(3, 6, 1)
+    indexed.inNeighbours(3).toSet shouldBe Set.empty[Int]
+  }
+
+  it should "be maintained only on request, without affecting equality" in {
+    val (original, _) = loadDagGraphs
+    val plain = VertexMap(original.vertexMap.map)
+    DirectedGraph[Int, Double](plain).vertexMap.hasInEdges shouldBe false
+    DirectedGraph[Int, Double].addEdge(AttributedDirectedEdge(1.0, 1, 2)).vertexMap.hasInEdges shouldBe false
+    DirectedGraph[Int, Double].withInEdges.addEdge(AttributedDirectedEdge(1.0, 1, 2)).vertexMap.hasInEdges shouldBe true
+    plain shouldBe original.withInEdges.vertexMap
+    plain.hashCode shouldBe original.withInEdges.vertexMap.hashCode
+    original.reverse.reverse shouldBe original
+  }
+
+  it should "build the reverse of a graph without the index once, and cache it" in {
+    val (original, reversed) = loadDagGraphs
+    original.vertexMap.hasInEdges shouldBe false
+    original.reverse shouldBe theSameInstanceAs(reversed)
+    reversed.reverse.vertexMap.map shouldBe theSameInstanceAs(original.vertexMap.map)
+  }
+
+  it should "repair the index when a vertex is replaced" in {
+    val (original, _) = loadDagGraphs
+    def inNeighbours(vm: VertexMap[Int]): Map[Int, Seq[Int]] =
+      vm.keySet.map(v => v -> vm.inNeighbours(v).toSeq.sorted).toMap
+
+    val target = original.withInEdges.vertexMap.modifyVertex(_ => Vertex.createWithSet(6))(6)
+    target.inNeighbours(4).toSet shouldBe Set(3, 1)
+    inNeighbours(target) shouldBe inNeighbours(VertexMap(target.map))
+    target.transpose.statistics shouldBe VertexMap.Statistics.of(target.transpose.map)
+    val restored = target + original.vertexMap(6)
+    restored.inNeighbours(4).toSet shouldBe Set(3, 6, 1)
+    inNeighbours(restored) shouldBe inNeighbours(original.vertexMap)
+  }
+
+  it should "maintain the index as edges and vertices are added" in {
+    val (original, _) = loadDagGraphs
+    val indexed = original.withInEdges.addEdge(AttributedDirectedEdge(9.0, 4, 7)).addVertex(Vertex.createWithSet(99)).asInstanceOf[DirectedGraph[Int, Double]]
+    indexed.inNeighbours(7).toList shouldBe List(4)
+    val r = indexed.reverse
+    r.N shouldBe 9
+    r.M shouldBe 12
+    r.edges.map(e => (e.white, e.black)).toSet should contain((7, 4))
+
+    given Random = Random(42)
+
+    r.adjacentVertices(99).toSet shouldBe Set.empty[Int]
+  }
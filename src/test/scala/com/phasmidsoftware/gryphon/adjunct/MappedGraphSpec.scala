@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.adjunct
+
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.traverse.{BellmanFord, ShortestPaths}
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.nio.file.{Files, Path}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for MappedGraph: each graph is written to a temporary file, opened again, and compared
+ * with the original.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * prim.graph (Sedgewick tinyEWG) — 8 vertices, 16 undirected weighted edges.
+ */
+class MappedGraphSpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  private lazy val primGraph: UndirectedGraph[Int, Double] =
+    GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+
+  private def tempFile(): Path =
+    val path = Files.createTempFile("gryphon", ".graph")
+    path.toFile.deleteOnExit()
+    path
+
+  behavior of "MappedGraph"
+
+  it should "round-trip a directed graph" in :
+    val path = MappedGraph.write(dijkstraGraph, tempFile()).get
+    val mapped = MappedGraph.open[Int, Double](path).get
+    mapped.directed shouldBe true
+    mapped.N shouldBe 8
+    mapped.M shouldBe 16
+    mapped.keySet shouldBe dijkstraGraph.keySet
+    mapped.edges.toSet shouldBe dijkstraGraph.edges.toSet
+    for v <- dijkstraGraph.keySet do
+      mapped.adjacentVertices(v).toList.sorted shouldBe dijkstraGraph.adjacentVertices(v).toList.sorted
+
+  it should "round-trip an undirected graph" in :
+    val mapped = MappedGraph.write(primGraph, tempFile()).flatMap(MappedGraph.open[Int, Double]).get
+    mapped.directed shouldBe false
+    mapped.M shouldBe 16
+    mapped.edges.toSet shouldBe primGraph.edges.toSet
+    for v <- primGraph.keySet do mapped.degree(v) shouldBe primGraph.adjacentVertices(v).size
+
+  it should "look up String vertices in place" in :
+    val graph = DirectedGraph[String, Unit]
+            .addEdge(AttributedDirectedEdge((), "alpha", "beta"))
+            .addEdge(AttributedDirectedEdge((), "beta", "gamma"))
+    val mapped = MappedGraph.open[String, Unit](MappedGraph.write(graph, tempFile()).get).get
+    mapped.idOf("gamma").map(mapped.key) shouldBe Some("gamma")
+    mapped.idOf("delta") shouldBe None
+    mapped.adjacentVertices("alpha").toList shouldBe List("beta")
+    a[GraphException] should be thrownBy mapped.adjacentVertices("delta")
+
+  it should "support the generic algorithms" in :
+    val mapped = MappedGraph.write(dijkstraGraph, tempFile()).flatMap(MappedGraph.open[Int, Double]).get
+    val expected = ShortestPaths.dijkstra[Int, Double](dijkstraGraph, 0)
+    val actual = ShortestPaths.dijkstra[Int, Double](mapped, 0)
+    for v <- 1 until 8 do actual.vertexTraverse(v) shouldBe expected.vertexTraverse(v)
+    BellmanFord.shortestPaths[Int, Double](mapped, 0).map(_.keySet) shouldBe BellmanFord.shortestPaths[Int, Double](dijkstraGraph, 0).map(_.keySet)
+
+  it should "fail to open a file which is not a graph" in :
+    val path = tempFile()
+    Files.write(path, "not a graph".getBytes)
+    MappedGraph.open[Int, Double](path).isFailure shouldBe true
+
+  it should "fail to open a file with the wrong attribute width" in :
+    val path = MappedGraph.write(dijkstraGraph, tempFile()).get
+    MappedGraph.open[Int, Int](path).isFailure shouldBe true
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.adjunct
+
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.core.{Adjacency, AdjacencyEdge, Edge}
+import com.phasmidsoftware.gryphon.traverse.*
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for MatrixGraph — the dense, adjacency-matrix graph.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * prim.graph (Sedgewick tinyEWG) — 8 vertices, 16 undirected weighted edges; MST weight 1.81.
+ */
+class MatrixGraphSpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  private lazy val primGraph: UndirectedGraph[Int, Double] =
+    GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+
+  // NOTE an undirected edge is compared without regard to which of its vertices is white.
+  private def normalized(edges: Iterator[Edge[Int, Double]]): Set[(Int, Int, Double)] =
+    edges.map(e => (e.white min e.black, e.white max e.black, e.attribute)).toSet
+
+  behavior of "MatrixGraph — structure"
+
+  it should "preserve N, M, keySet and edges of a directed graph" in :
+    val target = MatrixGraph(dijkstraGraph)
+    target.directed shouldBe true
+    target.N shouldBe dijkstraGraph.N
+    target.M shouldBe dijkstraGraph.M
+    target.keySet shouldBe dijkstraGraph.keySet
+    target.edges.toSet shouldBe dijkstraGraph.edges.toSet
+
+  it should "preserve N, M, keySet and edges of an undirected graph" in :
+    val target = MatrixGraph(primGraph)
+    target.directed shouldBe false
+    target.N shouldBe 8
+    target.M shouldBe 16
+    target.keySet shouldBe primGraph.keySet
+    normalized(target.edges) shouldBe normalized(primGraph.edges)
+
+  it should "preserve the adjacent vertices and degree of each vertex" in :
+    val target = MatrixGraph(primGraph)
+    for v <- primGraph.keySet do
+      target.adjacentVertices(v).toList.sorted shouldBe primGraph.adjacentVertices(v).toList.sorted
+      target.degree(v) shouldBe primGraph.degree(v)
+
+  it should "flip exactly one of the two adjacencies of each undirected edge" in :
+    val target = MatrixGraph(primGraph)
+    val adjacencies: Seq[Adjacency[Int]] = primGraph.keySet.toSeq.flatMap(target.filteredAdjacencies(_ => true))
+    adjacencies should have size 32
+    adjacencies.count { case AdjacencyEdge(_, flipped) => flipped; case _ => false } shouldBe 16
+
+  it should "answer hasEdge and weight in both directions for an undirected graph" in :
+    val target = MatrixGraph.undirected(Seq(0, 1, 2), Seq(UndirectedEdge(0.5, 0, 1), UndirectedEdge(0.25, 0, 1)))
+    target.M shouldBe 1
+    target.hasEdge(0, 1) shouldBe true
+    target.hasEdge(1, 0) shouldBe true
+    target.hasEdge(0, 2) shouldBe false
+    target.weight(1, 0) shouldBe 0.25
+
+  it should "create a complete graph" in :
+    val points = Seq(0.0 -> 0.0, 3.0 -> 0.0, 0.0 -> 4.0, 3.0 -> 4.0, 1.0 -> 1.0)
+    val target = MatrixGraph.complete(points)((p, q) => math.hypot(p._1 - q._1, p._2 - q._2))
+    target.N shouldBe 5
+    target.M shouldBe 10
+    target.edgeAt(0, 3).attribute shouldBe 5.0
+    for v <- points do target.degree(v) shouldBe 4
+
+  it should "reverse a directed graph" in :
+    MatrixGraph(dijkstraGraph).reverse.edges.toSet shouldBe dijkstraGraph.reverse.edges.toSet
+
+  it should "be its own reverse if undirected" in :
+    val target = MatrixGraph(primGraph)
+    target.reverse shouldBe theSameInstanceAs(target)
+
+  it should "throw a GraphException for an unknown vertex" in :
+    a[GraphException] should be thrownBy MatrixGraph(dijkstraGraph).adjacentVertices(99)
+
+  behavior of "MatrixGraph — algorithms"
+
+  it should "give the same MST total weight (Prim)" in :
+    val mst = MST.prim[Int, Double](MatrixGraph(primGraph), 0)
+    mst.keySet shouldBe primGraph.keySet - 0
+    mst.keySet.toSeq.flatMap(mst.vertexTraverse).map(_.attribute).sum shouldBe 1.81 +- 0.001
+
+  it should "give the same MST as the generic algorithm" in :
+    val expected = MST.prim[Int, Double](primGraph, 0)
+    val actual = MST.prim[Int, Double](MatrixGraph(primGraph), 0)
+    normalized(actual.keySet.iterator.flatMap(actual.vertexTraverse)) shouldBe normalized(expected.keySet.iterator.flatMap(expected.vertexTraverse))
+
+  it should "span only the component of the start vertex (Prim)" in :
+    val target = MatrixGraph.undirected(Seq(0, 1, 2, 3), Seq(UndirectedEdge(1.0, 0, 1), UndirectedEdge(2.0, 2, 3)))
+    val tree = MatrixTraversal.prim(target, 0)
+    tree.reached(1) shouldBe true
+    tree.reached(2) shouldBe false
+    tree.toTraversalResult.keySet shouldBe Set(1)
+
+  it should "give the same shortest paths (Dijkstra)" in :
+    val expected = ShortestPaths.dijkstra[Int, Double](dijkstraGraph, 0)
+    val actual = ShortestPaths.dijkstra[Int, Double](MatrixGraph(dijkstraGraph), 0)
+    actual.keySet shouldBe expected.keySet
+    for v <- expected.keySet do
+      actual.vertexTraverse(v) shouldBe expected.vertexTraverse(v)
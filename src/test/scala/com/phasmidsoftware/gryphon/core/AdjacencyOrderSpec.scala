@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.util.RandomIterator
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import scala.util.Random
+
+class AdjacencyOrderSpec extends AnyFlatSpec with Matchers:
+
+  behavior of "AdjacencyOrder"
+
+  // NOTE vertex 0 has twenty neighbours, added in the order 1, 2, ..., 20.
+  private val vertexMap: VertexMap[Int] =
+    VertexMapBuilder[Int].addVertexPairs((1 to 20).map(i => (0, i, Directed))).result()
+
+  private val storageOrder: List[Int] = vertexMap(0).adjacencies.iterator.map(_.vertex).toList
+
+  it should "default to Randomized" in {
+    vertexMap.adjacencyOrder shouldBe AdjacencyOrder.Randomized
+    DirectedGraph[Int, Unit].vertexMap.adjacencyOrder shouldBe AdjacencyOrder.Randomized
+  }
+
+  it should "yield neighbours in storage order for Insertion" in {
+    val target = vertexMap.withAdjacencyOrder(AdjacencyOrder.Insertion)
+    storageOrder shouldBe (1 to 20).toList
+    target.adjacentVertices(0)(using Random(0)).toList shouldBe storageOrder
+    target.adjacentVertices(0)(using Random(1)).toList shouldBe storageOrder
+  }
+
+  it should "yield neighbours in the same order as RandomIterator for Randomized" in {
+    val target = vertexMap.withAdjacencyOrder(AdjacencyOrder.Randomized)
+    val expected = RandomIterator(storageOrder)(using Random(42)).toList
+    target.adjacentVertices(0)(using Random(42)).toList shouldBe expected
+    expected.sorted shouldBe storageOrder
+  }
+
+  it should "yield neighbours in one fixed, shuffled order for Shuffled" in {
+    val target = vertexMap.withAdjacencyOrder(AdjacencyOrder.Shuffled(7L))
+    val first = target.adjacentVertices(0)(using Random(0)).toList
+    target.adjacentVertices(0)(using Random(1)).toList shouldBe first
+    first.sorted shouldBe storageOrder
+    first should not be storageOrder
+  }
+
+  it should "be preserved by adding vertices and edges" in {
+    val target = vertexMap.withAdjacencyOrder(AdjacencyOrder.Insertion)
+    (target + Vertex.createWithBag(99)).adjacencyOrder shouldBe AdjacencyOrder.Insertion
+    (target + AttributedDirectedEdge("x", 0, 21)).adjacencyOrder shouldBe AdjacencyOrder.Insertion
+    target.addVertexPairs(Seq((1, 2, Directed))).adjacencyOrder shouldBe AdjacencyOrder.Insertion
+  }
+
+  it should "be chosen for a graph" in {
+    val graph = DirectedGraph[Int, String](vertexMap).withAdjacencyOrder(AdjacencyOrder.Insertion)
+    graph.vertexMap.adjacencyOrder shouldBe AdjacencyOrder.Insertion
+    graph.adjacentVertices(0)(using Random(3)).toList shouldBe storageOrder
+  }
+
+  it should "not affect equality" in {
+    val target = vertexMap.withAdjacencyOrder(AdjacencyOrder.Insertion)
+    target shouldBe vertexMap
+    target.hashCode shouldBe vertexMap.hashCode
+    DirectedGraph[Int, String](target) shouldBe DirectedGraph[Int, String](vertexMap)
+    vertexMap.withAdjacencyOrder(AdjacencyOrder.Shuffled(7L)) shouldBe vertexMap
+  }
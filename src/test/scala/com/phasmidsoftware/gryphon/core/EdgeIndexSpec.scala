@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph, UndirectedEdge, UndirectedGraph}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class EdgeIndexSpec extends AnyFlatSpec with Matchers:
+
+  behavior of "EdgeIndex"
+
+  private val directedEdges: Seq[Edge[Int, String]] =
+    Seq(AttributedDirectedEdge("A", 1, 2), AttributedDirectedEdge("B", 2, 3), AttributedDirectedEdge("C", 1, 2), AttributedDirectedEdge("D", 3, 3))
+
+  it should "index directed edges in one direction only" in {
+    val target = EdgeIndex(directedEdges)
+    target.hasEdge(1, 2) shouldBe true
+    target.hasEdge(2, 1) shouldBe false
+    target.edge(2, 3) shouldBe Some(AttributedDirectedEdge("B", 2, 3))
+    target.edge(3, 2) shouldBe None
+    target.hasEdge(3, 3) shouldBe true
+    target.toString shouldBe "EdgeIndex(size=3)"
+  }
+
+  it should "count the multiplicity of parallel edges" in {
+    val target = EdgeIndex(directedEdges)
+    target.multiplicity(1, 2) shouldBe 2
+    target.edge(1, 2) shouldBe Some(AttributedDirectedEdge("A", 1, 2))
+    target.multiplicity(3, 3) shouldBe 1
+    target.multiplicity(2, 1) shouldBe 0
+  }
+
+  it should "index undirected edges in both directions" in {
+    val target = EdgeIndex(Seq(UndirectedEdge(1.5, 1, 2), UndirectedEdge(2.5, 4, 4)))
+    target.edge(1, 2) shouldBe Some(UndirectedEdge(1.5, 1, 2))
+    target.edge(2, 1) shouldBe Some(UndirectedEdge(1.5, 1, 2))
+    target.multiplicity(4, 4) shouldBe 1
+    target.toString shouldBe "EdgeIndex(size=3)"
+  }
+
+  it should "be empty" in {
+    EdgeIndex.empty[Int, String].hasEdge(1, 2) shouldBe false
+  }
+
+  behavior of "EdgeGraph.hasEdge"
+
+  it should "look up the edges of a DirectedGraph" in {
+    val graph = directedEdges.foldLeft(DirectedGraph[Int, String])(_ addEdge _)
+    graph.hasEdge(2, 3) shouldBe true
+    graph.hasEdge(3, 2) shouldBe false
+    graph.edge(2, 3).map(_.attribute) shouldBe Some("B")
+    graph.multiplicity(1, 2) shouldBe 2
+  }
+
+  it should "look up the edges of an UndirectedGraph" in {
+    val graph = UndirectedGraph[Int, Double](VertexMap[Int]).addEdge(UndirectedEdge(1.5, 1, 2)).addEdge(UndirectedEdge(2.5, 2, 3))
+    graph.hasEdge(3, 2) shouldBe true
+    graph.hasEdge(1, 3) shouldBe false
+    graph.edge(2, 1).map(_.attribute) shouldBe Some(1.5)
+  }
+
+  it should "not share its index with a graph to which an edge has been added" in {
+    val graph = DirectedGraph[Int, String].addEdge(AttributedDirectedEdge("A", 1, 2))
+    graph.hasEdge(2, 3) shouldBe false
+    graph.addEdge(AttributedDirectedEdge("B", 2, 3)).hasEdge(2, 3) shouldBe true
+  }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph, UndirectedGraph}
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.traverse.{ConnectedComponents, ShortestPaths}
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for GraphView: each result is compared with that of the same algorithm
+ * on a graph which has been built from the filtered edges.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * prim.graph (Sedgewick tinyEWG) — 8 vertices, 16 undirected weighted edges.
+ */
+class GraphViewSpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  private lazy val primGraph: UndirectedGraph[Int, Double] =
+    GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+
+  behavior of "GraphView"
+
+  it should "restrict the vertices and edges to the induced subgraph" in :
+    val target = dijkstraGraph.view(_ != 7)
+    target.N shouldBe 7
+    target.keySet shouldBe dijkstraGraph.keySet - 7
+    target.M shouldBe 11
+    target.edges.exists(e => e.white == 7 || e.black == 7) shouldBe false
+    target.adjacentVertices(0).toSet shouldBe Set(1, 4)
+    target.filteredAdjacencies(_ => true)(7).isEmpty shouldBe true
+
+  it should "restrict the edges to those which satisfy the edge predicate" in :
+    val target = dijkstraGraph.view(_ => true, _.attribute < 10.0)
+    target.N shouldBe 8
+    target.M shouldBe 11
+    target.adjacentVertices(1).toSet shouldBe Set(7)
+    target.get(1).map(_.adjacencies.size) shouldBe Some(1)
+    target.get(99) shouldBe None
+
+  it should "throw a GraphException for a vertex which does not belong to it" in :
+    a[GraphException] should be thrownBy dijkstraGraph.view(_ != 7).adjacentVertices(7)
+
+  it should "compose the predicates of a view of a view" in :
+    val target = dijkstraGraph.view(_ != 7).view(_ != 4, _.attribute < 10.0)
+    target.underlying shouldBe theSameInstanceAs(dijkstraGraph)
+    target.keySet shouldBe Set(0, 1, 2, 3, 5, 6)
+    target.adjacentVertices(0).toSet shouldBe Set(1)
+
+  it should "not change when edges are added to the original graph" in :
+    val target = dijkstraGraph.view(_ => true)
+    dijkstraGraph.addEdge(AttributedDirectedEdge(1.0, 6, 0)).M shouldBe 17
+    target.M shouldBe 16
+
+  it should "give the same shortest paths (Dijkstra) as a copy of the subgraph" in :
+    val target = dijkstraGraph.view(_ != 7, _.attribute < 12.0)
+    val copy = target.edges.foldLeft(DirectedGraph[Int, Double])(_ addEdge _)
+    val expected = ShortestPaths.dijkstra[Int, Double](copy, 0)
+    val actual = ShortestPaths.dijkstra[Int, Double](target, 0)
+    actual.keySet shouldBe expected.keySet
+    for v <- expected.keySet do
+      actual.vertexTraverse(v) shouldBe expected.vertexTraverse(v)
+
+  it should "give the connected components of the subgraph" in :
+    val target = primGraph.view(_ => true, _.attribute <= 0.3)
+    val (_, componentMap) = ConnectedComponents.components[Int, Double](target)
+    componentMap.keySet shouldBe primGraph.keySet
+    componentMap.values.toSet.size shouldBe 3
+    componentMap(4) should not be componentMap(6)
+    Set(0, 1, 2, 3, 5, 7).map(componentMap) should have size 1
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.adjunct.MatrixGraph
+import com.phasmidsoftware.gryphon.traverse.MST
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.io.Source
+import scala.util.{Random, Using}
+
+/**
+ * Tests for LabelDictionary.
+ *
+ * info6205.spring2023.teamproject.csv — 585 locations, each identified by a long hexadecimal id.
+ */
+class LabelDictionarySpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  // NOTE each row is (id, longitude, latitude).
+  private lazy val rows: Seq[(String, Double, Double)] =
+    Using.resource(Source.fromResource("info6205.spring2023.teamproject.csv")) { source =>
+      source.getLines().drop(1).map(_.split(",")).map(xs => (xs(0), xs(1).toDouble, xs(2).toDouble)).toList
+    }
+
+  behavior of "LabelDictionary"
+
+  it should "intern each distinct string once" in :
+    val builder = LabelDictionary.newBuilder()
+    val a = builder.intern("alpha")
+    val b = builder.intern("beta")
+    builder.intern("alpha") shouldBe a
+    builder.size shouldBe 2
+    val target = builder.result()
+    target(a) shouldBe "alpha"
+    target(b) shouldBe "beta"
+    target.get("beta") shouldBe Some(b)
+    target.get("gamma") shouldBe None
+
+  it should "round-trip hexadecimal and other labels" in :
+    val strings = Seq("0", "00", "0a1", "ff", "abc123", "ABC123", "ça va", "", "deadbeef" * 8)
+    val target = LabelDictionary(strings)
+    target.size shouldBe strings.size
+    target.labels.map(target(_)).toSeq shouldBe strings
+    for s <- strings do target(target.labelOf(s)) shouldBe s
+
+  it should "round-trip labels when hexadecimal packing is disabled" in :
+    val target = LabelDictionary(Seq("abc", "def"), hex = false)
+    target.labels.map(target(_)).toSeq shouldBe Seq("abc", "def")
+    target.contains("abc") shouldBe true
+
+  it should "throw a GraphException for an unknown string or label" in :
+    val target = LabelDictionary(Seq("abc"))
+    a[GraphException] should be thrownBy target.labelOf("xyz")
+    a[GraphException] should be thrownBy target(Label(1))
+
+  it should "store the ids of the team project in half their length" in :
+    val ids = rows.map(_._1)
+    val target = LabelDictionary(ids)
+    target.size shouldBe ids.distinct.size
+    for id <- ids do target(target.labelOf(id)) shouldBe id
+    target.footprint should be < ids.map(_.length.toLong).sum
+
+  it should "label the vertices of a graph and decode the result of an algorithm" in :
+    val builder = LabelDictionary.newBuilder()
+    val locations: Map[Label, (Double, Double)] = rows.take(20).map((id, x, y) => builder.intern(id) -> (x, y)).toMap
+    val dictionary = builder.result()
+    val graph = MatrixGraph.complete(locations.keys)((p, q) => math.hypot(locations(p)._1 - locations(q)._1, locations(p)._2 - locations(q)._2))
+    val start = dictionary.labelOf(rows.head._1)
+    val decoded = dictionary.decode(MST.prim[Label, Double](graph, start))
+    decoded.size shouldBe 19
+    decoded.keySet shouldBe rows.take(20).map(_._1).toSet - rows.head._1
@@ -0,0 +1,57 @@
+package com.phasmidsoftware.gryphon.core
+
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class Unordered_VectorSpec extends AnyFlatSpec with Matchers {
+
+  behavior of "Unordered_Vector"
+
+  it should "iterator" in {
+    val target: Unordered[Int] = Unordered_Vector(Seq(1, 2, 3))
+    target.iterator.toList shouldBe List(1, 2, 3)
+  }
+
+  it should "isEmpty" in {
+    Unordered_Vector(Seq(1)).isEmpty shouldBe false
+    Unordered_Vector.empty[Int].isEmpty shouldBe true
+  }
+
+  it should "$plus" in {
+    val target: Unordered[Int] = Unordered_Vector(Seq(1))
+    target + 2 should matchPattern { case Unordered_Vector(Vector(1, 2)) => }
+    target + 1 should matchPattern { case Unordered_Vector(Vector(1, 1)) => }
+  }
+
+  it should "$plus$plus" in {
+    val target: Unordered[Int] = Unordered_Vector.create(1, 2)
+    target ++ Seq(3, 4) should matchPattern { case Unordered_Vector(Vector(1, 2, 3, 4)) => }
+  }
+
+  it should "contains" in {
+    val target: Unordered[Int] = Unordered_Vector(Seq(1))
+    target.contains(1) shouldBe true
+    target.contains(2) shouldBe false
+  }
+
+  it should "size" in {
+    Unordered_Vector.create(1, 2, 2).size shouldBe 3
+  }
+
+  it should "filter" in {
+    val target: Unordered[Int] = Unordered_Vector.create(1, 2, 3, 4)
+    target.filter(_ % 2 == 0) should matchPattern { case Unordered_Vector(Vector(2, 4)) => }
+  }
+
+  it should "find" in {
+    Unordered_Vector.create(1, 2, 3).find(_ > 1) shouldBe Some(2)
+  }
+
+  it should "accumulate the adjacencies of a hub vertex one at a time" in {
+    val n = 100000
+    val target = (1 to n).foldLeft[Vertex[Int]](Vertex.createWithBag(0))((v, i) => v + AdjacencyVertex(i))
+    target.adjacencies should matchPattern { case Unordered_Vector(_) => }
+    target.adjacencies.size shouldBe n
+    target.adjacencies.iterator.map(_.vertex).take(3).toList shouldBe List(1, 2, 3)
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.util.GraphException
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+
+class VertexIndexSpec extends AnyFlatSpec with should.Matchers:
+
+  behavior of "VertexIndex"
+
+  it should "number vertices densely in order of first appearance" in :
+    val index = VertexIndex(Seq("c", "a", "c", "b"))
+    index.size shouldBe 3
+    index(0) shouldBe "c"
+    index(1) shouldBe "a"
+    index(2) shouldBe "b"
+
+  it should "translate in both directions" in :
+    val index = VertexIndex(Seq("x", "y", "z"))
+    for i <- 0 until index.size do index.indexOf(index(i)) shouldBe i
+
+  it should "return None or throw for an unknown vertex" in :
+    val index = VertexIndex(Seq("x"))
+    index.get("q") shouldBe None
+    index.contains("q") shouldBe false
+    a[GraphException] should be thrownBy index.indexOf("q")
+
+  it should "append a new vertex with the next id" in :
+    val index = VertexIndex(Seq("x", "y")) + "z"
+    index.indexOf("z") shouldBe 2
+    (index + "x") shouldBe index
+
+  it should "start empty" in :
+    VertexIndex.empty[Int].size shouldBe 0
+
+  it should "map each of 0 until n to itself, for an identity index" in :
+    val index = VertexIndex.identity(1000000)
+    index.size shouldBe 1000000
+    index(123456) shouldBe 123456
+    index.indexOf(999999) shouldBe 999999
+    index.get(1000000) shouldBe None
+    a[GraphException] should be thrownBy index.indexOf(-1)
+    (index + 1000000).indexOf(1000000) shouldBe 1000000
+    VertexIndex.identity(4) shouldBe VertexIndex(0 until 4)
+
+  behavior of "Traversable.vertexIndex"
+
+  it should "cover every vertex of a graph" in :
+    val graph = GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+    val index = graph.vertexIndex
+    index.size shouldBe graph.N
+    index.keys.toSet shouldBe graph.keySet
+    (graph.vertexIndex eq index) shouldBe true
+
+  it should "agree with filteredAdjacencies in indexedAdjacencies" in :
+    val graph = GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+    val index = graph.vertexIndex
+    for v <- graph.keySet do
+      val pairs = graph.indexedAdjacencies(index.indexOf(v)).toList
+      pairs.map(_._1).map(index(_)).sorted shouldBe graph.filteredAdjacencies(_ => true)(v).map(_.vertex).toList.sorted
+      pairs.foreach((j, a) => index(j) shouldBe a.vertex)
+
+  it should "yield the adjacencies of a graph in storage order, from the table of its VertexMap" in :
+    val graph = GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+    val index = graph.vertexIndex
+    for i <- 0 until index.size do
+      graph.indexedAdjacencies(i).map(_._2).toList shouldBe graph.filteredAdjacencies(_ => true)(index(i)).toList
+      graph.indexedAdjacencies(i).toList shouldBe graph.vertexMap.indexedAdjacencies(i).toList
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, UndirectedEdge}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+/**
+ * Tests for VertexMapBuilder: each result is compared with the `VertexMap` obtained
+ * by adding the same edges (or pairs) one at a time.
+ */
+class VertexMapBuilderSpec extends AnyFlatSpec with Matchers:
+
+  behavior of "VertexMapBuilder"
+
+  private def adjacencies(vm: VertexMap[Int]): Map[Int, Set[Adjacency[Int]]] =
+    vm.map.view.mapValues(_.adjacencies.iterator.toSet).toMap
+
+  private val directedEdges: Seq[Edge[Int, String]] =
+    Seq(AttributedDirectedEdge("A", 1, 2), AttributedDirectedEdge("B", 2, 3), AttributedDirectedEdge("C", 3, 1), AttributedDirectedEdge("D", 1, 3))
+
+  private val undirectedEdges: Seq[Edge[Int, Double]] =
+    Seq(UndirectedEdge(1.0, 1, 2), UndirectedEdge(2.0, 2, 3), UndirectedEdge(3.0, 4, 4))
+
+  it should "build the same VertexMap as + for directed edges" in {
+    val target = VertexMapBuilder[Int].addEdges(directedEdges).result()
+    val expected = directedEdges.foldLeft(VertexMap[Int])(_ + _)
+    target.keySet shouldBe Set(1, 2, 3)
+    adjacencies(target) shouldBe adjacencies(expected)
+    target(1).adjacencies.size shouldBe 2
+    target(3).adjacencies.size shouldBe 1
+  }
+
+  it should "build the same VertexMap as + for undirected edges (including a self-loop)" in {
+    val target = VertexMapBuilder[Int].addEdges(undirectedEdges).result()
+    val expected = undirectedEdges.foldLeft(VertexMap[Int])(_ + _)
+    target.keySet shouldBe Set(1, 2, 3, 4)
+    adjacencies(target) shouldBe adjacencies(expected)
+    target(2).adjacencies.size shouldBe 2
+  }
+
+  it should "build the same VertexMap as + for vertex pairs" in {
+    val pairs = Seq((1, 2, Directed), (2, 3, Undirected), (1, 2, Directed))
+    val target = VertexMapBuilder[Int].addVertexPairs(pairs).result()
+    val expected = pairs.foldLeft(VertexMap[Int])(_ + _)
+    target.keySet shouldBe Set(1, 2, 3)
+    adjacencies(target) shouldBe adjacencies(expected)
+    // NOTE vertex pairs use a Bag, so the duplicate pair yields a duplicate adjacency.
+    target(1).adjacencies.size shouldBe 2
+  }
+
+  it should "add to the vertices of an existing VertexMap" in {
+    val initial = VertexMapBuilder[Int].addEdges(directedEdges.take(2)).result()
+    val target = VertexMapBuilder.from(initial).addEdges(directedEdges.drop(2)).result()
+    adjacencies(target) shouldBe adjacencies(VertexMapBuilder[Int].addEdges(directedEdges).result())
+  }
+
+  it should "ensure a vertex without adjacencies" in {
+    val target = VertexMapBuilder[Int].ensure(Vertex.createWithSet)(5).result()
+    target.keySet shouldBe Set(5)
+    target(5).adjacencies.isEmpty shouldBe true
+  }
+
+  it should "ignore an adjacency for an unknown vertex" in {
+    val target = VertexMapBuilder[Int].addAdjacency(1)(AdjacencyVertex(2)).result()
+    target.N shouldBe 0
+  }
@@ -167,4 +167,104 @@ class VertexMapSpec extends AnyFlatSpec with Matchers:
     journal.size shouldBe 3
     journal.iterator.next()._1 shouldBe 1
     journal.iterator.toList.last._1 shouldBe 3
-  }
\ No newline at end of file
+  }
+  it should "maintain M and the degrees of directed edges" in {
+    val target = VertexMap[Int].addEdges(edgeList) + AttributedDirectedEdge("C", 1, 3)
+    target.M shouldBe 3
+    target.adjacencyCount shouldBe 3
+    target.outDegree(1) shouldBe 2
+    target.outDegree(3) shouldBe 0
+    target.inDegree(1) shouldBe 0
+    target.inDegree(3) shouldBe 2
+    target.maxOutDegree shouldBe 2
+    target.statistics shouldBe VertexMap.Statistics.of(target.map)
+  }
+
+  it should "maintain M and the degrees of undirected edges (including a self-loop)" in {
+    val target = VertexMap[Int] + UndirectedEdge(1.0, 1, 2) + UndirectedEdge(2.0, 2, 3) + UndirectedEdge(3.0, 3, 3)
+    target.M shouldBe 3
+    target.adjacencyCount shouldBe 5
+    target.outDegree(2) shouldBe 2
+    target.inDegree(2) shouldBe 2
+    target.inDegree(3) shouldBe 2
+    target.maxOutDegree shouldBe 2
+    target.statistics shouldBe VertexMap.Statistics.of(target.map)
+  }
+
+  it should "maintain the statistics of triplets and vertex pairs" in {
+    val undirected = VertexMap[Int].addTriplets[Unit, EdgeType](Vertex.createWithSet, edgeFunc)(tripletsUndirected)
+    undirected.statistics shouldBe VertexMap.Statistics.of(undirected.map)
+    undirected.M shouldBe 4
+    undirected.undirectedM shouldBe 2
+    undirected.inNeighbours(1).toSeq shouldBe Seq(2)
+    val pairs = VertexMap[Int].addVertexPairs(vertexPairListDirected.pairs)
+    pairs.M shouldBe 2
+    pairs.inDegree(2) shouldBe 1
+  }
+
+  it should "count each undirected vertex pair once" in {
+    val pairs = VertexMap[Int].addVertexPairs(vertexPairListUndirected.pairs)
+    pairs.adjacencyCount shouldBe 4
+    pairs.undirectedM shouldBe 2
+    pairs.statistics shouldBe VertexMap.Statistics.of(pairs.map)
+    (pairs + ((3, 3, Undirected))).undirectedM shouldBe 3
+    val triplets = VertexMap[Int].addTriplets[Unit, EdgeType](Vertex.createWithSet, edgeFunc)(tripletsUndirected)
+    triplets.undirectedM shouldBe 2
+    val edges = VertexMap[Int] + UndirectedEdge(1.0, 1, 2) + UndirectedEdge(2.0, 2, 3)
+    edges.undirectedM shouldBe 2
+  }
+
+  it should "count each undirected self-loop between vertices once" in {
+    val pairs = VertexMap[Int].addVertexPairs(vertexPairListUndirected.pairs) + ((1, 1, Undirected)) + ((3, 3, Undirected))
+    pairs.statistics.vertexSelfLoopCount shouldBe 2
+    pairs.undirectedM shouldBe 4
+    pairs.statistics shouldBe VertexMap.Statistics.of(pairs.map)
+    VertexMap[Int].addVertexPairs(Seq((1, 1, Undirected), (1, 2, Undirected), (2, 2, Undirected))).undirectedM shouldBe 3
+    val loops = Seq(Triplet[Int, Unit, EdgeType](1, 1, None, Undirected), Triplet[Int, Unit, EdgeType](2, 2, None, Undirected))
+    val triplets = VertexMap[Int].addTriplets[Unit, EdgeType](Vertex.createWithSet, edgeFunc)(tripletsUndirected ++ loops)
+    triplets.undirectedM shouldBe 4
+  }
+
+  it should "adjust the statistics when a vertex is replaced" in {
+    val initial = VertexMap[Int].addEdges(edgeList) + AttributedDirectedEdge("C", 1, 3)
+    val target = initial + Vertex.createWithSet(1)
+    target.M shouldBe 1
+    target.outDegree(1) shouldBe 0
+    target.inDegree(3) shouldBe 1
+    target.maxOutDegree shouldBe 1
+    target.statistics shouldBe VertexMap.Statistics.of(target.map)
+  }
+
+  it should "not count an edge twice" in {
+    val edge = AttributedDirectedEdge("A", 1, 2)
+    (VertexMap[Int] + edge + edge).M shouldBe 1
+  }
+
+  it should "transpose undirected edges by flipping their adjacencies" in {
+    val target = (VertexMap[Int] + UndirectedEdge(1.0, 1, 2) + UndirectedEdge(2.0, 2, 3)).transpose
+    target.M shouldBe 2
+    target.inNeighbours(2).toSet shouldBe Set(1, 3)
+    target.statistics shouldBe VertexMap.Statistics.of(target.map)
+  }
+
+  it should "transpose vertex pairs" in {
+    val target = VertexMap[Int].addVertexPairs(vertexPairListDirected.pairs).transpose
+    target.M shouldBe 2
+    target.inDegree(1) shouldBe 1
+    target.outDegree(3) shouldBe 1
+    target.transpose.outDegree(1) shouldBe 1
+  }
+
+  it should "add edges, vertex pairs and triplets to a non-empty VertexMap as + would" in {
+    val initial = VertexMap[Int] + AttributedDirectedEdge("C", 3, 1)
+    val edges = initial.addEdges(edgeList)
+    edges.map shouldBe edgeList.edges.foldLeft(initial)(_ + _).map
+    edges.statistics shouldBe VertexMap.Statistics.of(edges.map)
+    val pairs = initial.addVertexPairs(vertexPairListUndirected.pairs)
+    pairs.map shouldBe vertexPairListUndirected.pairs.foldLeft(initial)(_ + _).map
+    pairs.statistics shouldBe VertexMap.Statistics.of(pairs.map)
+    val triplets = initial.withInEdges.addTriplets[Unit, EdgeType](Vertex.createWithSet, edgeFunc)(tripletsDirected)
+    triplets.M shouldBe 3
+    triplets.hasInEdges shouldBe true
+    triplets.inNeighbours(1).toSeq shouldBe Seq(3)
+  }
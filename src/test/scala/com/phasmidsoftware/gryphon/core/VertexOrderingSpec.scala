@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.adjunct.{CsrGraph, UndirectedEdge}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+
+class VertexOrderingSpec extends AnyFlatSpec with should.Matchers:
+
+  // NOTE the path 0 - 1 - ... - 9, whose vertices are numbered in a scrambled order.
+  private val path: CsrGraph[Int, Double] =
+    CsrGraph.undirected(Seq(5, 2, 8, 0, 9, 3, 7, 1, 6, 4), Range(0, 9).map(i => UndirectedEdge(1.0, i, i + 1)))
+
+  // NOTE a star whose hub (9) is the last vertex.
+  private val star: CsrGraph[Int, Double] =
+    CsrGraph.undirected(Range(0, 10), Range(0, 9).map(i => UndirectedEdge(1.0, i, 9)))
+
+  private val orderings = Seq(VertexOrdering.Natural, VertexOrdering.Degree, VertexOrdering.BreadthFirst, VertexOrdering.ReverseCuthillMcKee)
+
+  private def bandwidth(graph: CsrGraph[Int, Double]): Int =
+    Range(0, graph.N).flatMap(i => graph.indexedAdjacencies(i).map(t => math.abs(t._1 - i))).max
+
+  behavior of "VertexOrdering"
+
+  it should "yield a permutation of the vertex ids" in :
+    for graph <- Seq(path, star); ordering <- orderings do
+      ordering.order(graph).sorted shouldBe Array.range(0, graph.N)
+
+  it should "keep the ids for Natural" in :
+    VertexOrdering.Natural.order(path) shouldBe Array.range(0, 10)
+
+  it should "put the hub first for Degree" in :
+    VertexOrdering.Degree.order(star).head shouldBe 9
+
+  it should "number the vertices in breadth-first order for BreadthFirst" in :
+    val reordered = path.reorder(VertexOrdering.BreadthFirst)
+    reordered.vertexIndex.keys.take(3) shouldBe Seq(5, 4, 6)
+    bandwidth(reordered) shouldBe 2
+
+  it should "minimize the bandwidth of a path for ReverseCuthillMcKee" in :
+    bandwidth(path) shouldBe 9
+    val reordered = path.reorder(VertexOrdering.ReverseCuthillMcKee)
+    bandwidth(reordered) shouldBe 1
+    reordered.vertexIndex.keys shouldBe Range(9, -1, -1)
@@ -12,7 +12,7 @@ class VertexSpec extends AnyFlatSpec with should.Matchers:
   val target: DiscoverableVertex[Int] = Vertex.create(1)
 
   it should "adjacencies" in {
-    target.adjacencies shouldBe Unordered_Bag(Bag.empty)
+    target.adjacencies shouldBe Unordered_Vector.empty
   }
 
   it should "attribute" in {
@@ -22,7 +22,7 @@ class VertexSpec extends AnyFlatSpec with should.Matchers:
   it should "createWithBag" in {
     val iv: Vertex[Int] = Vertex.createWithBag(2)
     iv.attribute shouldBe 2
-    iv.adjacencies shouldBe Unordered_Bag(Bag.empty)
+    iv.adjacencies shouldBe Unordered_Vector.empty
   }
 
   it should "createWithSet" in {
@@ -35,8 +35,8 @@ class VertexSpec extends AnyFlatSpec with should.Matchers:
     val vertex2 = Vertex.create(2)
     val result = vertex2 + AdjacencyVertex(2)
     result.attribute shouldBe 2
-    val adjacencies: Unordered_Bag[Adjacency[Int]] = result.adjacencies.asInstanceOf[Unordered_Bag[Adjacency[Int]]]
-    adjacencies should matchPattern { case Unordered_Bag(_) => }
+    val adjacencies: Unordered_Vector[Adjacency[Int]] = result.adjacencies.asInstanceOf[Unordered_Vector[Adjacency[Int]]]
+    adjacencies should matchPattern { case Unordered_Vector(_) => }
     adjacencies.size shouldBe 1
     adjacencies.elements.contains(AdjacencyVertex(2)) shouldBe true
   }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.core
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph, UndirectedEdge, UndirectedGraph}
+import com.phasmidsoftware.gryphon.traverse.{ConnectedComponents, Kosaraju, TopologicalSort}
+import com.phasmidsoftware.visitor.core.{Evaluable, JournaledVisitor}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+class VisitedBitSetSpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  private given Evaluable[Int, Int] with
+    def evaluate(v: Int): Option[Int] = Some(v)
+
+  // NOTE 0 -> 1 -> 2 and 3 -> 4, plus isolated vertices 5 until n.
+  private val n = 2000
+
+  private val edges: Seq[(Int, Int)] = Seq(0 -> 1, 1 -> 2, 3 -> 4)
+
+  private lazy val directed: DirectedGraph[Int, Unit] =
+    val builder = VertexMapBuilder[Int]
+    Range(0, n).foreach(v => builder.ensure(Vertex.createWithSet)(v): Unit)
+    DirectedGraph(builder.addEdges(edges.map((u, v) => AttributedDirectedEdge((), u, v))).result())
+
+  private lazy val undirected: UndirectedGraph[Int, Unit] =
+    val builder = VertexMapBuilder[Int]
+    Range(0, n).foreach(v => builder.ensure(Vertex.createWithSet)(v): Unit)
+    UndirectedGraph(builder.addEdges(edges.map((u, v) => UndirectedEdge((), u, v))).result())
+
+  behavior of "VisitedBitSet"
+
+  it should "mark vertices and count them" in :
+    val target = VisitedBitSet(VertexIndex(Seq("a", "b", "c")))
+    target.size shouldBe 0
+    target.mark("b")
+    target.mark("b")
+    target.size shouldBe 1
+    target.contains("b") shouldBe true
+    target.contains("a") shouldBe false
+
+  it should "yield the unmarked vertices lazily, in order of id" in :
+    val target = VisitedBitSet(VertexIndex(Seq("a", "b", "c", "d")))
+    target.mark("b")
+    val seeds = target.seeds
+    seeds.next() shouldBe "a"
+    target.mark("c")
+    seeds.toList shouldBe List("d")
+
+  behavior of "VisitedBitSet (many small components)"
+
+  it should "visit every vertex exactly once in dfsAll" in :
+    val result = directed.dfsAll(JournaledVisitor.withQueueJournal[Int, Int])
+    val visited = result.result.map(_._1).toList
+    visited.size shouldBe n
+    visited.toSet.size shouldBe n
+
+  it should "sort the vertices topologically" in :
+    val sorted = TopologicalSort.sort(directed)
+    sorted.map(_.size) shouldBe Some(n)
+    for s <- sorted; (u, v) <- edges do s.indexOf(u) should be < s.indexOf(v)
+
+  it should "find the strongly connected components" in :
+    Kosaraju.stronglyConnectedComponents[Int, Unit](directed).values.toSet.size shouldBe n
+
+  it should "find the connected components" in :
+    val (_, componentMap) = ConnectedComponents.components[Int, Unit](undirected)
+    componentMap.size shouldBe n
+    componentMap.values.toSet.size shouldBe n - 3
+    componentMap(0) shouldBe componentMap(2)
+    componentMap(3) shouldBe componentMap(4)
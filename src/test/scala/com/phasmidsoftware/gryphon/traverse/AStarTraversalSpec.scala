@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.io.Source
+import scala.util.{Random, Using}
+
+/**
+ * Tests for AStarTraversal and Heuristic.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * info6205.spring2023.teamproject.csv — 585 locations in London, as (id, longitude, latitude).
+ */
+class AStarTraversalSpec extends AnyFlatSpec with should.Matchers with ShortestPathFixtures:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  // NOTE the (longitude, latitude) of each location, which is identified by its row.
+  private lazy val locations: IndexedSeq[(Double, Double)] =
+    Using.resource(Source.fromResource("info6205.spring2023.teamproject.csv")) { source =>
+      source.getLines().drop(1).map(_.split(",")).map(xs => (xs(1).toDouble, xs(2).toDouble)).toIndexedSeq
+    }
+
+  // NOTE each location is joined, in both directions, to its 6 nearest neighbours,
+  // by an edge whose cost is 1.2 times the distance between them (no less than the distance, so haversine is consistent).
+  private lazy val geographic: DirectedGraph[Int, Double] =
+    val edges = for
+      u <- locations.indices
+      v <- locations.indices.filter(_ != u).sortBy(v => Heuristic.distance(locations(u), locations(v))).take(6)
+      (x, y) <- Seq(u -> v, v -> u)
+    yield AttributedDirectedEdge(1.2 * Heuristic.distance(locations(x), locations(y)), x, y)
+    edges.distinct.foldLeft(DirectedGraph[Int, Double])((g, e) => g.addEdge(e))
+
+  behavior of "Heuristic"
+
+  it should "measure the great-circle distance" in :
+    // NOTE a degree of latitude is about 111.2 km.
+    Heuristic.distance(0.0 -> 51.0, 0.0 -> 52.0) shouldBe 111.2 +- 0.1
+    Heuristic.distance(-0.1 -> 51.5, -0.1 -> 51.5) shouldBe 0.0
+
+  behavior of "AStarTraversal"
+
+  it should "find the same costs as Dijkstra with the trivial heuristic" in :
+    given Heuristic[Int, Double] = Heuristic.zero
+    val tree = ShortestPaths.dijkstra[Int, Double](dijkstraGraph, 0)
+    for target <- dijkstraGraph.keySet do
+      ShortestPaths.aStar[Int, Double](dijkstraGraph, 0, target).map(_.cost) match
+        case Some(x) => x shouldBe cost(tree, 0)(target).get +- 1E-9
+        case None => cost(tree, 0)(target) shouldBe None
+
+  it should "find a shortest path between locations, settling fewer vertices than Dijkstra" in :
+    val source = 0
+    val tree = ShortestPaths.dijkstra[Int, Double](geographic, source)
+
+    def settled(heuristic: Heuristic[Int, Double], target: Int): Int =
+      given Heuristic[Int, Double] = heuristic
+      AStarTraversal[Int, Double](target).run(geographic)(source).keySet.size
+
+    val targets = tree.keySet.toSeq.sorted.take(20)
+    targets should not be empty
+    for target <- targets do
+      given Heuristic[Int, Double] = Heuristic.haversine(locations)
+      val path = ShortestPaths.aStar[Int, Double](geographic, source, target)
+      path.map(_.cost).getOrElse(Double.NaN) shouldBe cost(tree, source)(target).get +- 1E-6
+      path.map(_.target) shouldBe Some(target)
+      val informed = settled(Heuristic.haversine(locations), target)
+      informed should be <= settled(Heuristic.zero, target)
+      informed should be <= tree.keySet.size
+
+  it should "find the same cost with a FrontierStrategy, and respect its budget" in :
+    given Heuristic[Int, Double] = Heuristic.haversine(locations)
+    val source = 0
+    val tree = ShortestPaths.dijkstra[Int, Double](geographic, source)
+    val target = tree.keySet.maxBy(v => cost(tree, source)(v).get)
+    for strategy <- Seq(FrontierStrategy.dAryHeap[Double](), FrontierStrategy.pairingHeap[Double]) do
+      val informed = AStarTraversal[Int, Double](target, frontier = Some(strategy)).run(geographic)(source)
+      cost(informed, source)(target).getOrElse(Double.NaN) shouldBe cost(tree, source)(target).get +- 1E-6
+    AStarTraversal[Int, Double](target, budget = 10).run(geographic)(source).keySet.size shouldBe 9
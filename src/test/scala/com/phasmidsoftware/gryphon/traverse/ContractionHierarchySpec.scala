@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.nio.file.Files
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for ContractionHierarchy.
+ *
+ * Each query is compared with Dijkstra's algorithm, and each path is checked against the edges of the graph.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ */
+class ContractionHierarchySpec extends AnyFlatSpec with should.Matchers with ShortestPathFixtures:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val randomGraph: DirectedGraph[Int, Double] = randomDirected(400, 2000)
+
+  // NOTE a road-like grid of side k, whose edges run in both directions, with random weights.
+  private def roadGrid(k: Int): DirectedGraph[Int, Double] =
+    val random = Random(2)
+    val edges = for
+      r <- 0 until k
+      c <- 0 until k
+      (dr, dc) <- Seq(0 -> 1, 1 -> 0) if r + dr < k && c + dc < k
+      w = 1.0 + random.nextDouble()
+      (u, v) <- Seq(r * k + c -> ((r + dr) * k + c + dc), ((r + dr) * k + c + dc) -> (r * k + c))
+    yield AttributedDirectedEdge(w, u, v)
+    edges.foldLeft(DirectedGraph[Int, Double])((g, e) => g.addEdge(e))
+
+  private def check(graph: DirectedGraph[Int, Double], hierarchy: ContractionHierarchy[Int, Double], source: Int, targets: Iterable[Int]): Unit =
+    val tree = ShortestPaths.dijkstra[Int, Double](graph, source)
+    val edges = graph.edges.collect { case e: AttributedDirectedEdge[Int, Double] @unchecked => (e.white, e.black) -> e.attribute }.toSeq
+    for target <- targets do
+      val expected = cost(tree, source)(target)
+      hierarchy.distance(source, target).isDefined shouldBe expected.isDefined
+      for d <- hierarchy.distance(source, target) do d shouldBe expected.get +- 1E-9
+      hierarchy.path(source, target) match
+        case Some(path) =>
+          path.cost shouldBe expected.get +- 1E-9
+          path.edges.map(_.attribute).sum shouldBe path.cost +- 1E-9
+          path.vertices.head shouldBe source
+          path.target shouldBe target
+          for e <- path.edges do edges should contain((e.white, e.black) -> e.attribute)
+        case None =>
+          expected shouldBe None
+
+  behavior of "ContractionHierarchy"
+
+  it should "find the same costs as Dijkstra for every pair of vertices" in :
+    val hierarchy = ContractionHierarchy.build[Int, Double](dijkstraGraph)
+    for source <- dijkstraGraph.keySet do check(dijkstraGraph, hierarchy, source, dijkstraGraph.keySet)
+
+  it should "find the same costs as Dijkstra on a random graph, which has unreachable vertices" in :
+    val hierarchy = ContractionHierarchy.build[Int, Double](randomGraph)
+    for source <- Seq(0, 17, 123, 399).filter(randomGraph.keySet.contains) do
+      check(randomGraph, hierarchy, source, randomGraph.keySet.toSeq.sorted.take(100))
+
+  it should "find the same costs as Dijkstra on a road-like grid, with a small witness limit" in :
+    val k = 20
+    val graph = roadGrid(k)
+    for limit <- Seq(1, 500) do
+      val hierarchy = ContractionHierarchy.build[Int, Double](graph, limit)
+      hierarchy.rank.sorted shouldBe Array.range(0, k * k)
+      check(graph, hierarchy, 0, Seq(k - 1, k * k - 1, k * k / 2 + k / 2))
+      check(graph, hierarchy, k * k - 1, Seq(0, k))
+
+  it should "find an empty path from a vertex to itself" in :
+    val hierarchy = ContractionHierarchy.build[Int, Double](dijkstraGraph)
+    hierarchy.path(3, 3).map(_.edges) shouldBe Some(Nil)
+    hierarchy.distance(3, 3) shouldBe Some(0.0)
+
+  it should "be written to a file and read back" in :
+    val hierarchy = ContractionHierarchy.build[Int, Double](roadGrid(10))
+    val file = Files.createTempFile("gryphon", ".ch")
+    try
+      hierarchy.write(file).isSuccess shouldBe true
+      val copy = ContractionHierarchy.read[Int, Double](file).get
+      copy.index shouldBe hierarchy.index
+      copy.rank shouldBe hierarchy.rank
+      copy.shortcuts shouldBe hierarchy.shortcuts
+      for source <- Seq(0, 55); target <- Seq(9, 90, 99) do copy.path(source, target) shouldBe hierarchy.path(source, target)
+    finally Files.delete(file)
+
+  it should "fail to read a file which is not an index" in :
+    val file = Files.createTempFile("gryphon", ".ch")
+    try
+      Files.write(file, Array[Byte](1, 2, 3, 4, 5, 6, 7, 8)): Unit
+      ContractionHierarchy.read[Int, Double](file).isFailure shouldBe true
+    finally Files.delete(file)
+
+  it should "throw a GraphException for an unknown vertex" in :
+    val hierarchy = ContractionHierarchy.build[Int, Double](dijkstraGraph)
+    a[GraphException] should be thrownBy hierarchy.distance(0, 99)
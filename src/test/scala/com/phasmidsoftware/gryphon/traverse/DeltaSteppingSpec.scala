@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.DirectedGraph
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import java.util.concurrent.ForkJoinPool
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for DeltaStepping and DeltaSteppingTraversal.
+ *
+ * Each search is compared with Dijkstra's algorithm, for deltas from much less than the lightest edge
+ * (which makes it Dijkstra's algorithm) to more than the heaviest (which makes it Bellman-Ford).
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ */
+class DeltaSteppingSpec extends AnyFlatSpec with should.Matchers with ShortestPathFixtures:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val randomGraph: DirectedGraph[Int, Double] = randomDirected(2000, 20000)
+
+  private val deltas: Seq[Double] = Seq(0.001, 0.1, 0.35, 1.0, 100.0)
+
+  private def check(graph: DirectedGraph[Int, Double], start: Int): Unit =
+    val expected = ShortestPaths.dijkstra[Int, Double](graph, start)
+    val pool = new ForkJoinPool(4)
+    try
+      for delta <- deltas do
+        val tree = DeltaStepping.search(graph, start, delta, pool)
+        tree.keySet shouldBe expected.keySet
+        for v <- expected.keySet do
+          cost(tree, start)(v).getOrElse(Double.NaN) shouldBe cost(expected, start)(v).get +- 1E-9
+          tree.vertexTraverse(v).foreach(_.black shouldBe v)
+    finally pool.shutdown()
+
+  behavior of "DeltaStepping"
+
+  it should "find the same costs as Dijkstra" in :
+    for start <- dijkstraGraph.keySet do check(dijkstraGraph, start)
+
+  it should "find the same costs as Dijkstra on a larger random graph" in :
+    check(randomGraph, 0)
+
+  it should "not reach the vertices which Dijkstra does not reach" in :
+    val tree = DeltaStepping.search(dijkstraGraph.view(_ != 2), 0, 0.2)
+    tree.keySet shouldBe ShortestPaths.dijkstra[Int, Double](dijkstraGraph.view(_ != 2), 0).keySet
+    cost(tree, 0)(2) shouldBe None
+
+  it should "throw a GraphException for a delta which is not positive" in :
+    a[GraphException] should be thrownBy DeltaStepping.search(dijkstraGraph, 0, 0.0)
+
+  it should "throw a GraphException for an unknown start vertex" in :
+    a[GraphException] should be thrownBy DeltaStepping.search(dijkstraGraph, 99, 0.2)
+
+  behavior of "DeltaSteppingTraversal"
+
+  it should "give the same result as DijkstraTraversal" in :
+    val tree = DeltaSteppingTraversal[Int, Double](0.2).run(dijkstraGraph)(0)
+    tree shouldBe DijkstraTraversal[Int, Double]().run(dijkstraGraph)(0)
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph, UndirectedGraph}
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.{Monoid, given_Monoid_Double}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.collection.mutable
+import scala.util.Random
+
+/**
+ * Tests for FrontierStrategy and its queues, and for DijkstraTraversal with a FrontierStrategy.
+ *
+ * Each queue is driven as Dijkstra's algorithm drives it (no key less than the last minimum removed)
+ * and compared with a simple reference; each traversal is compared with the default, which uses `IndexedPrioQueue`.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * prim.graph (Sedgewick tinyEWG) — 8 vertices, 16 undirected weighted edges.
+ */
+class FrontierStrategySpec extends AnyFlatSpec with should.Matchers with ShortestPathFixtures:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  given Monoid[Long] with
+    def identity: Long = 0L
+    def combine(x: Long, y: Long): Long = x + y
+
+  // NOTE a random graph with small integer weights, in which every vertex is reachable from 0.
+  private lazy val longsGraph: DirectedGraph[Int, Long] =
+    val random = Random(1)
+    val n = 1000
+    val path = Range(0, n - 1).map(i => AttributedDirectedEdge(1L + random.nextInt(20), i, i + 1))
+    val others = Seq.fill(8 * n)(AttributedDirectedEdge(random.nextInt(21).toLong, random.nextInt(n), random.nextInt(n)))
+    (path ++ others).foldLeft(DirectedGraph[Int, Long])((g, e) => g.addEdge(e))
+
+  private lazy val primGraph: UndirectedGraph[Int, Double] =
+    GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+
+  private def comparisonStrategies[E: Ordering]: Seq[FrontierStrategy[E]] =
+    Seq(FrontierStrategy.dAryHeap[E](), FrontierStrategy.dAryHeap[E](2), FrontierStrategy.pairingHeap[E], FrontierStrategy.lazyBinaryHeap[E])
+
+  // NOTE drives queue as Dijkstra's algorithm would (keys within maxWeight of the last minimum), checking each minimum;
+  // unless monotone is false, in which case the keys are anywhere in 0 to maxWeight.
+  private def exercise(queue: VertexQueue[Long], capacity: Int, maxWeight: Int, monotone: Boolean = true): Unit =
+    val random = Random(2)
+    val keys = mutable.Map[Int, Long]()
+    var last = 0L
+    for _ <- 0 until 10000 do
+      if keys.isEmpty || random.nextInt(3) > 0 then
+        val x = random.nextInt(capacity)
+        val k = (if monotone then last else 0L) + random.nextInt(maxWeight + 1)
+        if keys.get(x).forall(k < _) then
+          queue.insertOrDecrease(x, k)
+          keys(x) = k
+      else
+        val x = queue.removeMin()
+        keys.get(x) shouldBe Some(keys.values.min)
+        last = keys(x)
+        keys -= x: Unit
+    for x <- 0 until capacity do queue.contains(x) shouldBe keys.contains(x)
+    while keys.nonEmpty do
+      queue.isEmpty shouldBe false
+      val x = queue.removeMin()
+      keys(x) shouldBe keys.values.min
+      keys -= x: Unit
+    queue.isEmpty shouldBe true
+
+  behavior of "DAryHeap"
+
+  it should "remove its elements in order of their keys" in :
+    for d <- Seq(2, 4, 8) do
+      exercise(DAryHeap[Long](500, d), 500, 1000, monotone = false)
+      exercise(DAryHeap[Long](500, d), 500, 3, monotone = false)
+
+  it should "throw a GraphException for an arity less than 2" in :
+    a[GraphException] should be thrownBy DAryHeap[Long](10, 1)
+
+  behavior of "PairingHeap"
+
+  it should "remove its elements in order of their keys" in :
+    exercise(PairingHeap[Long](500), 500, 1000, monotone = false)
+    exercise(PairingHeap[Long](500), 500, 3, monotone = false)
+
+  behavior of "LazyBinaryHeap"
+
+  it should "remove its elements in order of their keys" in :
+    exercise(LazyBinaryHeap[Long](500), 500, 1000, monotone = false)
+    exercise(LazyBinaryHeap[Long](500), 500, 3, monotone = false)
+
+  behavior of "RadixHeap"
+
+  it should "remove its elements in order of their keys" in :
+    exercise(RadixHeap[Long](500), 500, 1000)
+    exercise(RadixHeap[Long](500), 500, 3)
+
+  it should "throw a GraphException for a key less than the last minimum" in :
+    val heap = RadixHeap[Long](10)
+    heap.insertOrDecrease(1, 5L)
+    heap.removeMin() shouldBe 1
+    a[GraphException] should be thrownBy heap.insertOrDecrease(2, 4L)
+
+  behavior of "DialQueue"
+
+  it should "remove its elements in order of their keys" in :
+    exercise(DialQueue[Long](500, 1000L), 500, 1000)
+    exercise(DialQueue[Long](500, 3L), 500, 3)
+
+  it should "throw a GraphException for a key out of range" in :
+    val queue = DialQueue[Long](10, 3L)
+    a[GraphException] should be thrownBy queue.insertOrDecrease(1, 4L)
+    a[GraphException] should be thrownBy DialQueue[Long](10, -1L)
+
+  behavior of "DijkstraTraversal with a FrontierStrategy"
+
+  it should "find the same costs as with the IndexedPrioQueue" in :
+    val expected = DijkstraTraversal[Int, Long]().run(longsGraph)(0)
+    for strategy <- Seq(FrontierStrategy.radixHeap[Long], FrontierStrategy.dial(20L)) ++ comparisonStrategies[Long] do
+      val tree = DijkstraTraversal[Int, Long](frontier = Some(strategy)).run(longsGraph)(0)
+      tree.keySet shouldBe expected.keySet
+      for v <- expected.keySet do cost(tree, 0)(v) shouldBe cost(expected, 0)(v)
+
+  it should "respect its bounds" in :
+    val bounds = SearchBounds[Int, Long](budget = 10)
+    DijkstraTraversal[Int, Long](bounds, Some(FrontierStrategy.radixHeap[Long])).run(longsGraph)(0).keySet.size shouldBe 9
+    val target = 500
+    val tree = DijkstraTraversal[Int, Long](SearchBounds.target(target), Some(FrontierStrategy.radixHeap[Long])).run(longsGraph)(0)
+    cost(tree, 0)(target) shouldBe cost(DijkstraTraversal[Int, Long]().run(longsGraph)(0), 0)(target)
+
+  it should "give the same Voronoi partition as with the IndexedPrioQueue" in :
+    val sources = Seq(0, 300, 600)
+    val expected = DijkstraTraversal[Int, Long]().voronoi(longsGraph)(sources)
+    val partition = DijkstraTraversal[Int, Long](frontier = Some(FrontierStrategy.radixHeap[Long])).voronoi(longsGraph)(sources)
+    for v <- longsGraph.keySet do partition.distance(v) shouldBe expected.distance(v)
+
+  it should "give the same tree as with the IndexedPrioQueue for dijkstra.graph" in :
+    val expected = DijkstraTraversal[Int, Double]().run(dijkstraGraph)(0)
+    for strategy <- comparisonStrategies[Double] do
+      DijkstraTraversal[Int, Double](frontier = Some(strategy)).run(dijkstraGraph)(0) shouldBe expected
+
+  behavior of "PrimTraversal with a FrontierStrategy"
+
+  it should "give the same spanning tree as with the IndexedPrioQueue for prim.graph" in :
+    val expected = PrimTraversal[Int, Double]().run(primGraph)(0)
+    for strategy <- comparisonStrategies[Double] do
+      val tree = PrimTraversal[Int, Double](Some(strategy)).run(primGraph)(0)
+      tree.keySet shouldBe expected.keySet
+      tree.keySet.toSeq.flatMap(tree.vertexTraverse).map(_.attribute).sum shouldBe
+              (expected.keySet.toSeq.flatMap(expected.vertexTraverse).map(_.attribute).sum +- 1E-9)
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph, IntDoubleGraph, UndirectedGraph}
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.util.GraphException
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for IntDoubleGraph and the specialized algorithms of IntDoubleTraversal.
+ *
+ * Each specialized algorithm is compared with its generic counterpart.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * prim.graph (Sedgewick tinyEWG) — 8 vertices, 16 undirected weighted edges; MST weight 1.81.
+ */
+class IntDoubleTraversalSpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  private lazy val primGraph: UndirectedGraph[Int, Double] =
+    GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+
+  behavior of "IntDoubleGraph"
+
+  it should "preserve N, M and edges" in :
+    val directed = IntDoubleGraph(dijkstraGraph)
+    directed.N shouldBe 8
+    directed.M shouldBe 16
+    directed.edges.toSet shouldBe dijkstraGraph.edges.toSet
+    val undirected = IntDoubleGraph(primGraph)
+    undirected.M shouldBe 16
+    undirected.edges.toSet shouldBe primGraph.edges.toSet
+
+  it should "reverse a directed graph" in :
+    IntDoubleGraph(dijkstraGraph).reverse.edges.toSet shouldBe dijkstraGraph.reverse.edges.toSet
+
+  it should "reject negative vertices" in :
+    a[GraphException] should be thrownBy IntDoubleGraph.directed(Nil, Seq(AttributedDirectedEdge(1.0, -1, 0)))
+
+  it should "reject vertices which are not 0 until N" in :
+    a[GraphException] should be thrownBy IntDoubleGraph.directed(Nil, Seq(AttributedDirectedEdge(1.0, 0, 5)))
+    a[GraphException] should be thrownBy IntDoubleGraph.undirected(Seq(1, 2), Nil)
+    IntDoubleGraph.directed(Seq(2), Seq(AttributedDirectedEdge(1.0, 0, 1))).N shouldBe 3
+
+  it should "have the same vertices as the graph from which it is built" in :
+    val directed = IntDoubleGraph(dijkstraGraph)
+    directed.keySet shouldBe dijkstraGraph.keySet
+    directed.vertexIndex.size shouldBe dijkstraGraph.N
+    for v <- dijkstraGraph.keySet do directed.vertexIndex.indexOf(v) shouldBe v
+
+  it should "throw a GraphException for an unknown vertex" in :
+    a[GraphException] should be thrownBy IntDoubleGraph(dijkstraGraph).adjacentVertices(8)
+
+  behavior of "IntDoubleTraversal.admits"
+
+  it should "accept the standard Double instances" in :
+    IntDoubleTraversal.admits(given_Monoid_Double, summon[Ordering[Double]]) shouldBe true
+
+  it should "reject a non-standard Ordering" in :
+    IntDoubleTraversal.admits(given_Monoid_Double, summon[Ordering[Double]].reverse) shouldBe false
+
+  behavior of "IntDoubleTraversal.dijkstra"
+
+  it should "give the same distances as DijkstraTraversal" in :
+    val tree = IntDoubleTraversal.dijkstra(IntDoubleGraph(dijkstraGraph), 0)
+    val generic = DijkstraTraversal[Int, Double]().run(dijkstraGraph)(0)
+    tree.cost(0) shouldBe 0.0
+    tree.cost(1) shouldBe 5.0
+    tree.cost(4) shouldBe 9.0
+    tree.cost(7) shouldBe 8.0
+    for v <- 1 until 8 do tree.edgeTo(v) shouldBe generic.vertexTraverse(v)
+
+  it should "be selected automatically by ShortestPaths.dijkstra" in :
+    val frozen = IntDoubleGraph(dijkstraGraph)
+    val result = ShortestPaths.dijkstra[Int, Double](frozen, 0)
+    for v <- 1 until 8 do result.vertexTraverse(v) shouldBe IntDoubleTraversal.dijkstra(frozen, 0).edgeTo(v)
+    result.vertexTraverse(2).map(_.white) shouldBe Some(5)
+
+  behavior of "IntDoubleTraversal.prim"
+
+  it should "give an MST of weight 1.81" in :
+    val tree = IntDoubleTraversal.prim(IntDoubleGraph(primGraph), 0)
+    Range(1, 8).map(tree.cost(_)).sum shouldBe 1.81 +- 0.001
+
+  it should "be selected automatically by MST.prim and PrimTraversal" in :
+    val frozen = IntDoubleGraph(primGraph)
+    val result = MST.prim[Int, Double](frozen, 0)
+    result.size shouldBe 7
+    result.keySet.toSeq.flatMap(result.vertexTraverse).map(_.attribute).sum shouldBe 1.81 +- 0.001
+    val tree = IntDoubleTraversal.prim(frozen, 0)
+    val traversal = PrimTraversal[Int, Double]().run(frozen)(0)
+    for v <- 1 until 8 do traversal.vertexTraverse(v) shouldBe tree.edgeTo(v)
+
+  behavior of "IntDoubleTraversal.kruskal"
+
+  it should "give the same MST as Kruskal.mst" in :
+    IntDoubleTraversal.kruskal(IntDoubleGraph(primGraph)).toSet shouldBe Kruskal.mst(primGraph).toSet
+
+  it should "reject a directed graph" in :
+    a[GraphException] should be thrownBy IntDoubleTraversal.kruskal(IntDoubleGraph(dijkstraGraph))
+
+  behavior of "IntDoubleTraversal.acyclicShortestPaths"
+
+  private val dag: IntDoubleGraph = IntDoubleGraph.directed(Nil, Seq(
+    AttributedDirectedEdge(1.0, 0, 1),
+    AttributedDirectedEdge(4.0, 0, 2),
+    AttributedDirectedEdge(2.0, 1, 2),
+    AttributedDirectedEdge(1.0, 1, 3),
+    AttributedDirectedEdge(-3.0, 2, 3)
+  ))
+
+  it should "relax edges in topological order, allowing negative weights" in :
+    val tree = IntDoubleTraversal.acyclicShortestPaths(dag, 0)
+    tree.cost.toSeq shouldBe Seq(0.0, 1.0, 3.0, 0.0)
+    tree.from.toSeq shouldBe Seq(-1, 0, 1, 2)
+
+  it should "throw IllegalArgumentException for a cyclic graph" in :
+    val cyclic = IntDoubleGraph.directed(Nil, Seq(AttributedDirectedEdge(1.0, 0, 1), AttributedDirectedEdge(1.0, 1, 0)))
+    an[IllegalArgumentException] should be thrownBy IntDoubleTraversal.acyclicShortestPaths(cyclic, 0)
+
+  behavior of "IndexedDoubleHeap"
+
+  it should "remove elements in key order, honouring decreaseKey" in :
+    val heap = IndexedDoubleHeap(5)
+    Seq(3 -> 3.0, 1 -> 1.0, 4 -> 4.0, 0 -> 5.0, 2 -> 2.0).foreach((x, k) => heap.insert(x, k))
+    heap.insertOrDecrease(0, 0.5)
+    Iterator.continually(heap.removeMin()).take(5).toSeq shouldBe Seq(0, 1, 2, 3, 4)
+    heap.isEmpty shouldBe true
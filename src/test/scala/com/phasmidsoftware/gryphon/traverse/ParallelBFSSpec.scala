@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.{DirectedGraph, UndirectedEdge, UndirectedGraph}
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import com.phasmidsoftware.gryphon.core.{Traversable, Vertex, VertexMapBuilder}
+import com.phasmidsoftware.gryphon.util.GraphException
+import java.util.concurrent.ForkJoinPool
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.collection.mutable
+import scala.util.Random
+
+/**
+ * Tests for ParallelBFS and ParallelBFSTraversal.
+ *
+ * Each search is run top-down only (the defaults, on a small graph), and bottom-up only
+ * (alpha and beta so large that the search switches to bottom-up at once, and never back),
+ * and compared with a sequential breadth-first search.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ * prim.graph (Sedgewick tinyEWG) — 8 vertices, 16 undirected weighted edges.
+ */
+class ParallelBFSSpec extends AnyFlatSpec with should.Matchers:
+
+  given Random = Random(0)
+
+  private lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  private lazy val primGraph: UndirectedGraph[Int, Double] =
+    GraphBuilder.undirected[Int, Double].fromResource("prim.graph").get
+
+  // NOTE a grid of side k, whose vertex r * k + c is adjacent to its neighbours in the same row and column.
+  private def grid(k: Int): UndirectedGraph[Int, Unit] =
+    val builder = VertexMapBuilder[Int]
+    Range(0, k * k).foreach(v => builder.ensure(Vertex.createWithSet)(v): Unit)
+    val edges = for r <- 0 until k; c <- 0 until k; (dr, dc) <- Seq(0 -> 1, 1 -> 0) if r + dr < k && c + dc < k
+      yield UndirectedEdge((), r * k + c, (r + dr) * k + c + dc)
+    UndirectedGraph(builder.addEdges(edges).result())
+
+  private def sequential[V](graph: Traversable[V], start: V): Map[V, Int] =
+    val distances = mutable.Map(start -> 0)
+    val queue = mutable.Queue(start)
+    while queue.nonEmpty do
+      val u = queue.dequeue()
+      for w <- graph.filteredAdjacencies(_ => true)(u).map(_.vertex) if !distances.contains(w) do
+        distances(w) = distances(u) + 1
+        queue.enqueue(w): Unit
+    distances.toMap
+
+  // NOTE (alpha, beta) for top-down only, and for bottom-up only.
+  private val strategies: Seq[(Int, Int)] = Seq(14 -> 24, Int.MaxValue -> Int.MaxValue)
+
+  private def check[V](graph: Traversable[V], start: V): Unit =
+    val expected = sequential(graph, start)
+    val pool = new ForkJoinPool(4)
+    try
+      for (alpha, beta) <- strategies do
+        val tree = ParallelBFS.search(graph, start, pool, alpha, beta)
+        for v <- graph.keySet do
+          tree.distanceTo(v) shouldBe expected.get(v)
+          for path <- tree.pathTo(v) do
+            path.head shouldBe start
+            path.size shouldBe expected(v) + 1
+            for (u, w) <- path.zip(path.tail) do graph.filteredAdjacencies(_ => true)(u).exists(_.vertex == w) shouldBe true
+    finally pool.shutdown()
+
+  behavior of "ParallelBFS"
+
+  it should "find the distances and parents in a directed graph" in :
+    for start <- dijkstraGraph.keySet do check(dijkstraGraph, start)
+
+  it should "find the distances and parents in an undirected graph" in :
+    check(primGraph, 0)
+
+  it should "find the distances and parents in a frozen graph" in :
+    check(dijkstraGraph.freeze, 3)
+    check(primGraph.freeze, 0)
+
+  it should "search a graph which has no in-neighbours top-down only" in :
+    check(dijkstraGraph.view(_ != 2), 0)
+
+  it should "search a large grid in parallel" in :
+    val k = 200
+    val tree = ParallelBFS.search(grid(k), 0)
+    tree.distanceTo(k * k - 1) shouldBe Some(2 * (k - 1))
+    tree.distanceTo(k - 1) shouldBe Some(k - 1)
+    tree.parentOf(0) shouldBe None
+
+  it should "throw a GraphException for an unknown start vertex" in :
+    a[GraphException] should be thrownBy ParallelBFS.search(primGraph, 99)
+
+  behavior of "ParallelBFSTraversal"
+
+  it should "visit the same vertices as BFSTraversal" in :
+    for start <- dijkstraGraph.keySet do
+      ParallelBFSTraversal[Int]().run(dijkstraGraph)(start).keySet shouldBe BFSTraversal[Int]().run(dijkstraGraph)(start).keySet
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
+import scala.util.Random
+
+/**
+ * Fixtures shared by the specs of the shortest-path algorithms, which are checked against Dijkstra's algorithm.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ */
+trait ShortestPathFixtures:
+
+  protected lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  /**
+   * A random graph of `m` edges whose weights are in [0, 1), among (at most) `n` vertices,
+   * so that, unless `m` is much more than `n`, some vertices are unreachable from others.
+   *
+   * @param n the number of possible vertices, 0 until `n`.
+   * @param m the number of edges.
+   * @return a `DirectedGraph[Int, Double]`.
+   */
+  protected def randomDirected(n: Int, m: Int): DirectedGraph[Int, Double] =
+    val random = Random(1)
+    val edges = Seq.fill(m)(AttributedDirectedEdge(random.nextDouble(), random.nextInt(n), random.nextInt(n)))
+    edges.foldLeft(DirectedGraph[Int, Double])((g, e) => g.addEdge(e))
+
+  /**
+   * The cost of the path from `source` to `v` in `tree`, found by following the edges back to `source`.
+   *
+   * @tparam E the edge-weight type.
+   * @return `Some(cost)`, or `None` if `v` is not reached.
+   */
+  protected def cost[E](tree: TraversalResult[Int, AttributedDirectedEdge[Int, E]], source: Int)(v: Int)(using numeric: Numeric[E]): Option[E] =
+    if v == source then Some(numeric.zero) else tree.vertexTraverse(v).flatMap(e => cost(tree, source)(e.white).map(numeric.plus(_, e.attribute)))
@@ -2,13 +2,14 @@ package com.phasmidsoftware.gryphon.traverse
 
 import com.phasmidsoftware.gryphon.adjunct.DirectedGraph.triplesToTryGraph
 import com.phasmidsoftware.gryphon.adjunct.{AttributedDirectedEdge, DirectedGraph}
+import com.phasmidsoftware.gryphon.builder.GraphBuilder
 import com.phasmidsoftware.gryphon.core.{EdgeType, Triplet, Vertex}
 import com.phasmidsoftware.gryphon.parse.GraphParser
 import com.phasmidsoftware.gryphon.util.TryUsing
 import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
 import scala.io.Source
-import scala.util.{Failure, Success, Try}
+import scala.util.{Failure, Random, Success, Try}
 
 class ShortestPathsSpec extends AnyFlatSpec with Matchers:
 
@@ -168,3 +169,100 @@ class ShortestPathsSpec extends AnyFlatSpec with Matchers:
           case _ => fail("Graph is not a DirectedGraph[Int, Double]")
       case Failure(x) => fail("parse failed", x)
   }
+
+  behavior of "ShortestPaths.path"
+
+  private lazy val dijkstraGraph: DirectedGraph[Int, Double] =
+    GraphBuilder.directed[Int, Double].fromResource("dijkstra.graph").get
+
+  // NOTE a grid of side k, whose vertex r * k + c is joined in both directions to its neighbours in the same row and column.
+  private def roadGrid(k: Int): DirectedGraph[Int, Double] =
+    val random = Random(0)
+    val edges = for
+      r <- 0 until k
+      c <- 0 until k
+      (dr, dc) <- Seq(0 -> 1, 1 -> 0)
+      if r + dr < k && c + dc < k
+      e <- Seq((r * k + c, (r + dr) * k + c + dc), ((r + dr) * k + c + dc, r * k + c))
+    yield AttributedDirectedEdge(1.0 + random.nextDouble(), e._1, e._2)
+    edges.foldLeft(DirectedGraph[Int, Double])((g, e) => g.addEdge(e))
+
+  it should "find the same cost as Dijkstra for every pair of vertices" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    for source <- dijkstraGraph.keySet do
+      val tree = ShortestPaths.dijkstra[Int, Double](dijkstraGraph, source)
+      def cost(v: Int): Option[Double] =
+        if v == source then Some(0.0) else tree.vertexTraverse(v).flatMap(e => cost(e.white).map(_ + e.attribute))
+      for target <- dijkstraGraph.keySet do
+        val path = ShortestPaths.path[Int, Double](dijkstraGraph, source, target)
+        path.map(_.cost) match
+          case Some(x) => x shouldBe cost(target).get +- 1E-9
+          case None => cost(target) shouldBe None
+        for p <- path do
+          p.vertices.head shouldBe source
+          p.target shouldBe target
+          p.edges.map(_.attribute).sum shouldBe p.cost +- 1E-9
+          for (e, f) <- p.edges.zip(p.edges.drop(1)) do e.black shouldBe f.white
+  }
+
+  it should "return an empty path from a vertex to itself" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    ShortestPaths.path[Int, Double](dijkstraGraph, 3, 3) shouldBe Some(Path(3, Nil, 0.0))
+  }
+
+  it should "settle a small fraction of the vertices of a grid" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    val k = 60
+    val graph = roadGrid(k)
+    val (path, settled) = ShortestPaths.bidirectional[Int, Double](graph, 30 * k + 25, 30 * k + 35)
+    path.map(_.target) shouldBe Some(30 * k + 35)
+    settled should be < k * k / 4
+  }
+
+  // NOTE from 0 in dijkstra.graph, the vertices are settled in the order 0 (0.0), 1 (5.0), 7 (8.0), 4 (9.0),
+  // 5 (13.0), 2 (14.0), 3 (17.0), 6 (25.0).
+
+  behavior of "DijkstraTraversal (bounded)"
+
+  it should "stop when the target is settled" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    given Random = Random(0)
+    DijkstraTraversal[Int, Double](SearchBounds.target(4)).run(dijkstraGraph)(0).keySet shouldBe Set(1, 7, 4)
+  }
+
+  it should "stop when all the targets are settled" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    given Random = Random(0)
+    DijkstraTraversal[Int, Double](SearchBounds(targets = Set(7, 5))).run(dijkstraGraph)(0).keySet shouldBe Set(1, 7, 4, 5)
+  }
+
+  it should "settle only the vertices within the radius" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    given Random = Random(0)
+    val tree = DijkstraTraversal[Int, Double](SearchBounds.within(13.0)).run(dijkstraGraph)(0)
+    tree.keySet shouldBe Set(1, 7, 4, 5)
+    tree.vertexTraverse(5) shouldBe Some(AttributedDirectedEdge(4.0, 4, 5))
+  }
+
+  it should "settle no more vertices than the budget" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    given Random = Random(0)
+    DijkstraTraversal[Int, Double](SearchBounds(budget = 3)).run(dijkstraGraph)(0).keySet shouldBe Set(1, 7)
+  }
+
+  it should "find the nearest of a set of targets" in {
+    given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+    import com.phasmidsoftware.visitor.core.given_Monoid_Double
+    given Random = Random(0)
+    val path = ShortestPaths.nearest[Int, Double](dijkstraGraph, 0, Set(2, 5, 6))
+    path.map(_.vertices) shouldBe Some(Seq(0, 4, 5))
+    path.map(_.cost) shouldBe Some(13.0)
+    ShortestPaths.nearest[Int, Double](dijkstraGraph, 0, Set(0, 5)).map(_.cost) shouldBe Some(0.0)
+  }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.{UndirectedEdge, UndirectedGraph}
+import com.phasmidsoftware.gryphon.core.{Vertex, VertexMapBuilder}
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+
+class UndirectedSearchSpec extends AnyFlatSpec with should.Matchers:
+
+  private def graph(n: Int, edges: Seq[(Int, Int)]): UndirectedGraph[Int, Unit] =
+    val builder = VertexMapBuilder[Int]
+    Range(0, n).foreach(v => builder.ensure(Vertex.createWithBag)(v): Unit)
+    UndirectedGraph(builder.addEdges(edges.map((u, v) => UndirectedEdge((), u, v))).result())
+
+  private def chain(n: Int): Seq[(Int, Int)] = Range(1, n).map(v => (v - 1) -> v)
+
+  // NOTE checks that consecutive vertices of the cycle (including the last and the first) are adjacent.
+  private def isCycleOf(g: UndirectedGraph[Int, Unit], cycle: Seq[Int]): Boolean =
+    cycle.nonEmpty && cycle.zip(cycle.tail :+ cycle.head).forall((u, v) => g.filteredAdjacencies(_ => true)(u).exists(_.vertex == v))
+
+  private val n = 100000
+
+  behavior of "UndirectedSearch.cycle"
+
+  it should "find no cycle in a very long chain" in :
+    graph(n, chain(n)).findCycle shouldBe None
+
+  it should "find the cycle which closes a very long chain" in :
+    val g = graph(n, chain(n) :+ ((n - 1) -> 0))
+    val cycle = g.findCycle
+    cycle.map(_.size) shouldBe Some(n)
+    cycle.exists(isCycleOf(g, _)) shouldBe true
+
+  it should "find a cycle in one of several components" in :
+    val g = graph(7, Seq(0 -> 1, 1 -> 2, 3 -> 4, 4 -> 5, 5 -> 3))
+    g.findCycle.map(_.toSet) shouldBe Some(Set(3, 4, 5))
+
+  it should "treat a self-loop as a cycle" in :
+    graph(3, Seq(0 -> 1, 2 -> 2)).findCycle shouldBe Some(Seq(2))
+
+  it should "treat parallel edges as a cycle" in :
+    graph(3, Seq(0 -> 1, 1 -> 2, 1 -> 2)).findCycle.map(_.toSet) shouldBe Some(Set(1, 2))
+
+  behavior of "UndirectedSearch.twoColoring"
+
+  it should "2-color a very long chain" in :
+    graph(n, chain(n)).twoColoring match
+      case Right(coloring) =>
+        coloring.part(true).size + coloring.part(false).size shouldBe n
+        for (u, v) <- chain(n) do coloring(u) should not be coloring(v)
+      case Left(cycle) => fail(s"unexpected odd cycle: $cycle")
+
+  it should "return the odd cycle which closes a very long chain" in :
+    val g = graph(n + 1, chain(n + 1) :+ (n -> 0))
+    g.twoColoring match
+      case Left(cycle) =>
+        cycle.size shouldBe n + 1
+        isCycleOf(g, cycle) shouldBe true
+      case Right(_) => fail("expected an odd cycle")
+
+  it should "return a short odd cycle" in :
+    val g = graph(6, Seq(0 -> 1, 1 -> 2, 2 -> 3, 3 -> 0, 3 -> 4, 4 -> 5, 5 -> 3))
+    g.twoColoring match
+      case Left(cycle) =>
+        cycle.size % 2 shouldBe 1
+        isCycleOf(g, cycle) shouldBe true
+      case Right(_) => fail("expected an odd cycle")
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026. Phasmid Software
+ */
+
+package com.phasmidsoftware.gryphon.traverse
+
+import com.phasmidsoftware.gryphon.adjunct.DirectedGraph
+import com.phasmidsoftware.visitor.core.given_Monoid_Double
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should
+import scala.util.Random
+
+/**
+ * Tests for the multi-source Dijkstra traversal and VoronoiPartition.
+ *
+ * Each partition is compared with the result of one Dijkstra traversal per source.
+ *
+ * dijkstra.graph (Sedgewick tinyEWD) — 8 vertices, 16 directed weighted edges.
+ */
+class VoronoiPartitionSpec extends AnyFlatSpec with should.Matchers with ShortestPathFixtures:
+
+  given Random = Random(0)
+
+  given Ordering[Double] = scala.math.Ordering.Double.TotalOrdering
+
+  private lazy val randomGraph: DirectedGraph[Int, Double] = randomDirected(300, 2000)
+
+  private def check(graph: DirectedGraph[Int, Double], sources: Seq[Int]): Unit =
+    val partition = ShortestPaths.voronoi[Int, Double](graph, sources)
+    val trees = sources.map(s => s -> ShortestPaths.dijkstra[Int, Double](graph, s)).toMap
+    for v <- graph.keySet do
+      val costs = sources.flatMap(s => cost(trees(s), s)(v).map(s -> _))
+      if costs.isEmpty then
+        partition.owner(v) shouldBe None
+        partition.distance(v) shouldBe None
+      else
+        val expected = costs.map(_._2).min
+        partition.distance(v).getOrElse(Double.NaN) shouldBe expected +- 1E-9
+        partition.owner(v).flatMap(s => cost(trees(s), s)(v)).getOrElse(Double.NaN) shouldBe expected +- 1E-9
+        partition.edgeTo(v).foreach(e => partition.owner(e.white) shouldBe partition.owner(v))
+    val cells = partition.cells
+    cells.keySet.subsetOf(sources.toSet) shouldBe true
+    cells.values.map(_.size).sum shouldBe cells.values.flatten.toSet.size
+    for (s, cell) <- cells; v <- cell do partition.owner(v) shouldBe Some(s)
+
+  behavior of "DijkstraTraversal.voronoi"
+
+  it should "be the same as a single Dijkstra traversal for one source" in :
+    val partition = ShortestPaths.voronoi[Int, Double](dijkstraGraph, Seq(0))
+    val tree = ShortestPaths.dijkstra[Int, Double](dijkstraGraph, 0)
+    for v <- dijkstraGraph.keySet do
+      partition.edgeTo(v) shouldBe tree.vertexTraverse(v)
+      partition.owner(v) shouldBe Some(0)
+
+  it should "attribute each vertex to its nearest source" in :
+    check(dijkstraGraph, Seq(0, 3))
+    check(dijkstraGraph, Seq(6, 1, 5))
+    check(randomGraph, Seq(0, 50, 100, 150, 200))
+
+  it should "put each source in its own cell" in :
+    val partition = ShortestPaths.voronoi[Int, Double](dijkstraGraph, Seq(0, 3))
+    partition.owner(0) shouldBe Some(0)
+    partition.owner(3) shouldBe Some(3)
+    partition.distance(3) shouldBe Some(0.0)
+    partition.edgeTo(3) shouldBe None